@@ -8,9 +8,11 @@
 package org.dspace.app.bulkedit;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Serializable;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -122,6 +124,16 @@ public class DSpaceCSV implements Serializable {
      */
     protected Map<String, String> ignore;
 
+    /**
+     * The headings of the lines being written, see {@link #writeHeadings(Writer)}
+     */
+    protected transient List<String> sortedHeadings;
+
+    /**
+     * The file being read, when its lines are read one at a time
+     */
+    protected transient BufferedReader reader;
+
 
     /**
      * Create a new instance of a CSV line holder
@@ -144,11 +156,25 @@ public class DSpaceCSV implements Serializable {
      * @throws Exception thrown if there is an error reading or processing the file
      */
     public DSpaceCSV(InputStream inputStream, Context c) throws Exception {
+        this(inputStream, c, false);
+    }
+
+    /**
+     * Create a new instance, reading the headings in from file. The lines are either all read in as well, or read
+     * one at a time with {@link #readLine()} without being kept, so that they are never all in memory.
+     *
+     * @param inputStream the input stream to read from
+     * @param c The DSpace Context
+     * @param streaming true to only read the headings, the lines are then read with {@link #readLine()}
+     * @throws Exception thrown if there is an error reading or processing the file
+     */
+    public DSpaceCSV(InputStream inputStream, Context c, boolean streaming) throws Exception {
         // Initialise the class
         init();
 
         // Open the CSV file
         BufferedReader input = null;
+        boolean keepOpen = false;
         try {
             input = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
 
@@ -247,54 +273,105 @@ public class DSpaceCSV implements Serializable {
                 }
             }
 
+            if (streaming) {
+                reader = input;
+                keepOpen = true;
+                return;
+            }
+
             // Read each subsequent line
-            StringBuilder lineBuilder = new StringBuilder();
-            String lineRead;
-
-            while ((lineRead = input.readLine()) != null) {
-                if (lineBuilder.length() > 0) {
-                    // Already have a previously read value - add this line
-                    lineBuilder.append("\n").append(lineRead);
-
-                    // Count the number of quotes in the buffer
-                    int quoteCount = 0;
-                    for (int pos = 0; pos < lineBuilder.length(); pos++) {
-                        if (lineBuilder.charAt(pos) == '"') {
-                            quoteCount++;
-                        }
-                    }
+            String record;
+            while ((record = readRecord(input)) != null) {
+                addItem(record);
+            }
+        } finally {
+            if (input != null && !keepOpen) {
+                input.close();
+            }
+        }
+    }
 
-                    if (quoteCount % 2 == 0) {
-                        // Number of quotes is a multiple of 2, add the item
-                        addItem(lineBuilder.toString());
-                        lineBuilder = new StringBuilder();
-                    }
-                } else if (lineRead.indexOf('"') > -1) {
-                    // Get the number of quotes in the line
-                    int quoteCount = 0;
-                    for (int pos = 0; pos < lineRead.length(); pos++) {
-                        if (lineRead.charAt(pos) == '"') {
-                            quoteCount++;
-                        }
+    /**
+     * Read the next line of a CSV file opened with {@link #DSpaceCSV(InputStream, Context, boolean)} in streaming
+     * mode. The line is not kept in this CSV. The file is closed once its last line is read.
+     *
+     * @return the next line, or null if all the lines were read
+     * @throws Exception thrown if there is an error reading or processing the file
+     */
+    public final DSpaceCSVLine readLine() throws Exception {
+        if (reader == null) {
+            return null;
+        }
+        String record = readRecord(reader);
+        if (record == null) {
+            close();
+            return null;
+        }
+        return parseLine(record);
+    }
+
+    /**
+     * Close the file of a CSV opened in streaming mode, if all its lines were not read
+     *
+     * @throws IOException thrown if there is an error closing the file
+     */
+    public final void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+    }
+
+    /**
+     * Read the next record of a CSV file, which spans several lines when quoted values contain line breaks
+     *
+     * @param input the file
+     * @return the record, or null at the end of the file
+     * @throws IOException thrown if there is an error reading the file
+     */
+    private String readRecord(BufferedReader input) throws IOException {
+        StringBuilder lineBuilder = new StringBuilder();
+        String lineRead;
+
+        while ((lineRead = input.readLine()) != null) {
+            if (lineBuilder.length() > 0) {
+                // Already have a previously read value - add this line
+                lineBuilder.append("\n").append(lineRead);
+
+                // Count the number of quotes in the buffer
+                int quoteCount = 0;
+                for (int pos = 0; pos < lineBuilder.length(); pos++) {
+                    if (lineBuilder.charAt(pos) == '"') {
+                        quoteCount++;
                     }
+                }
 
-                    if (quoteCount % 2 == 0) {
-                        // Number of quotes is a multiple of 2, add the item
-                        addItem(lineRead);
-                    } else {
-                        // Uneven quotes - add to the buffer and leave for later
-                        lineBuilder.append(lineRead);
+                if (quoteCount % 2 == 0) {
+                    // Number of quotes is a multiple of 2, this is the whole record
+                    return lineBuilder.toString();
+                }
+            } else if (lineRead.indexOf('"') > -1) {
+                // Get the number of quotes in the line
+                int quoteCount = 0;
+                for (int pos = 0; pos < lineRead.length(); pos++) {
+                    if (lineRead.charAt(pos) == '"') {
+                        quoteCount++;
                     }
+                }
+
+                if (quoteCount % 2 == 0) {
+                    // Number of quotes is a multiple of 2, this is the whole record
+                    return lineRead;
                 } else {
-                    // No previously read line, and no quotes in the line - add item
-                    addItem(lineRead);
+                    // Uneven quotes - add to the buffer and leave for later
+                    lineBuilder.append(lineRead);
                 }
-            }
-        } finally {
-            if (input != null) {
-                input.close();
+            } else {
+                // No previously read line, and no quotes in the line - this is the whole record
+                return lineRead;
             }
         }
+        return null;
     }
 
     /**
@@ -441,10 +518,27 @@ public class DSpaceCSV implements Serializable {
      * @throws Exception if something goes wrong with adding the Item
      */
     public final void addItem(Item i) throws Exception {
+        DSpaceCSVLine line = toCSVLine(i);
+        if (line != null) {
+            lines.add(line);
+            counter++;
+        }
+    }
+
+    /**
+     * Create the CSV line of an item, and register the headings of its metadata, without adding the line to this
+     * CSV. Together with {@link #writeHeadings(Writer)} and {@link #writeLine(Writer, DSpaceCSVLine)}, this allows
+     * exporting items without keeping all their lines in memory.
+     *
+     * @param i The DSpace item
+     * @return the line, or null if the item has no owning collection
+     * @throws Exception if something goes wrong with reading the Item
+     */
+    public final DSpaceCSVLine toCSVLine(Item i) throws Exception {
         // If the item does not have an "owningCollection" the the below "getHandle()" call will fail
         // This should not happen but is here for safety.
         if (i.getOwningCollection() == null) {
-            return;
+            return null;
         }
 
         // Create the CSV line
@@ -496,8 +590,7 @@ public class DSpaceCSV implements Serializable {
                 }
             }
         }
-        lines.add(line);
-        counter++;
+        return line;
     }
 
     /**
@@ -507,6 +600,18 @@ public class DSpaceCSV implements Serializable {
      * @throws Exception Thrown if an error occurs when adding the item
      */
     public final void addItem(String line) throws Exception {
+        lines.add(parseLine(line));
+        counter++;
+    }
+
+    /**
+     * Parse a CSV line of elements
+     *
+     * @param line The line of elements
+     * @return the parsed line
+     * @throws Exception Thrown if the line is not valid
+     */
+    private DSpaceCSVLine parseLine(String line) throws Exception {
         // Check to see if the last character is a field separator, which hides the last empty column
         boolean last = false;
         if (line.endsWith(fieldSeparator)) {
@@ -603,8 +708,7 @@ public class DSpaceCSV implements Serializable {
             }
             i++;
         }
-        lines.add(csvLine);
-        counter++;
+        return csvLine;
     }
 
     /**
@@ -625,12 +729,9 @@ public class DSpaceCSV implements Serializable {
     public final String[] getCSVLinesAsStringArray() {
         // Create the headings line
         String[] csvLines = new String[counter + 1];
-        csvLines[0] = "id" + fieldSeparator + "collection";
         List<String> headingsCopy = new ArrayList<>(headings);
         Collections.sort(headingsCopy);
-        for (String value : headingsCopy) {
-            csvLines[0] = csvLines[0] + fieldSeparator + value;
-        }
+        csvLines[0] = getHeadingsLine(headingsCopy);
 
         Iterator<DSpaceCSVLine> i = lines.iterator();
         int c = 1;
@@ -641,6 +742,49 @@ public class DSpaceCSV implements Serializable {
         return csvLines;
     }
 
+    /**
+     * Get the CSV formatted headings line
+     *
+     * @param sortedHeadings the headings, in the order of the columns
+     * @return the headings line
+     */
+    protected String getHeadingsLine(List<String> sortedHeadings) {
+        StringBuilder headingsLine = new StringBuilder("id").append(fieldSeparator).append("collection");
+        for (String value : sortedHeadings) {
+            headingsLine.append(fieldSeparator).append(value);
+        }
+        return headingsLine.toString();
+    }
+
+    /**
+     * Write the headings line, with all the headings registered so far. The lines written afterwards with
+     * {@link #writeLine(Writer, DSpaceCSVLine)} have the same columns.
+     *
+     * @param writer where to write the CSV
+     * @throws IOException if the line cannot be written
+     */
+    public final void writeHeadings(Writer writer) throws IOException {
+        sortedHeadings = new ArrayList<>(headings);
+        Collections.sort(sortedHeadings);
+        writer.write(getHeadingsLine(sortedHeadings));
+        writer.write("\n");
+    }
+
+    /**
+     * Write a CSV line, with the columns of the headings line
+     *
+     * @param writer where to write the CSV
+     * @param line   the line, see {@link #toCSVLine(Item)}
+     * @throws IOException if the line cannot be written
+     */
+    public final void writeLine(Writer writer, DSpaceCSVLine line) throws IOException {
+        if (sortedHeadings == null) {
+            throw new IllegalStateException("The headings must be written before the lines");
+        }
+        writer.write(line.toCSV(sortedHeadings, fieldSeparator, valueSeparator));
+        writer.write("\n");
+    }
+
     /**
      * Creates and returns an InputStream from the CSV Lines in this DSpaceCSV
      * @return  The InputStream created from the CSVLines in this DSpaceCSV
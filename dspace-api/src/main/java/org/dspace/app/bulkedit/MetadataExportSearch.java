@@ -8,6 +8,11 @@
 
 package org.dspace.app.bulkedit;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -143,9 +148,19 @@ public class MetadataExportSearch extends DSpaceRunnable<MetadataExportSearchScr
 
         Iterator<Item> itemIterator = searchService.iteratorSearch(context, dso, discoverQuery);
         handler.logDebug("creating dspacecsv");
-        DSpaceCSV dSpaceCSV = metadataDSpaceCsvExportService.export(context, itemIterator, true, handler);
-        handler.logDebug("writing to file " + getFileNameOrExportFile());
-        handler.writeFilestream(context, getFileNameOrExportFile(), dSpaceCSV.getInputStream(), EXPORT_CSV);
+        // stream the CSV through a temporary file, so its lines are never all in memory
+        File csvFile = File.createTempFile("metadata-export", ".csv");
+        try {
+            try (OutputStream output = new FileOutputStream(csvFile)) {
+                metadataDSpaceCsvExportService.export(context, itemIterator, true, output, handler);
+            }
+            handler.logDebug("writing to file " + getFileNameOrExportFile());
+            try (InputStream input = new FileInputStream(csvFile)) {
+                handler.writeFilestream(context, getFileNameOrExportFile(), input, EXPORT_CSV);
+            }
+        } finally {
+            csvFile.delete();
+        }
         context.restoreAuthSystemState();
         context.complete();
 
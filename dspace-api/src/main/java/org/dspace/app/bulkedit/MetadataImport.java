@@ -118,6 +118,12 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
      */
     protected HashMap<UUID, String> entityTypeMap = new HashMap<>();
 
+    /**
+     * Map of csv row number to the entity type in its "dspace.entity.type" column, used to validate the relations
+     * of the rows without reading the CSV again.
+     */
+    protected HashMap<Integer, String> csvEntityTypeMap = new HashMap<>();
+
     /**
      * Map of UUIDs to their relations that are referenced within any import with their referrers.
      *
@@ -192,36 +198,10 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
         if (authorityControlled == null) {
             setAuthorizedMetadataFields();
         }
-        // Read commandLines from the CSV file
-        try {
-
-            Optional<InputStream> optionalFileStream = handler.getFileStream(c, filename);
-            if (optionalFileStream.isPresent()) {
-                csv = new DSpaceCSV(optionalFileStream.get(), c);
-            } else {
-                throw new IllegalArgumentException("Error reading file, the file couldn't be found for filename: " +
-                                                       filename);
-            }
-        } catch (MetadataImportInvalidHeadingException miihe) {
-            throw miihe;
-        } catch (Exception e) {
-            throw new Exception("Error reading file: " + e.getMessage(), e);
-        }
-
         // Perform the first import - just highlight differences
-        initMetadataImport(csv);
-        List<BulkEditChange> changes;
-
         if (!commandLine.hasOption('s') || validateOnly) {
-            // See what has changed
-            try {
-                changes = runImport(c, false, useWorkflow, workflowNotify, useTemplate);
-            } catch (MetadataImportException mie) {
-                throw mie;
-            }
-
-            // Display the changes
-            int changeCounter = displayChanges(changes, false);
+            // See what has changed, and display the changes
+            int changeCounter = runImport(c, readCSV(c), false, useWorkflow, workflowNotify, useTemplate);
 
             // If there were changes, ask if we should execute them
             if (!validateOnly && changeCounter > 0) {
@@ -241,17 +221,9 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
         }
 
         try {
-            // If required, make the change
+            // If required, make the change, reading the CSV file again
             if (change && !validateOnly) {
-                try {
-                    // Make the changes
-                    changes = runImport(c, true, useWorkflow, workflowNotify, useTemplate);
-                } catch (MetadataImportException mie) {
-                    throw mie;
-                }
-
-                // Display the changes
-                displayChanges(changes, true);
+                runImport(c, readCSV(c), true, useWorkflow, workflowNotify, useTemplate);
             }
 
             // Finish off and tidy up
@@ -265,6 +237,31 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
 
     }
 
+    /**
+     * Open the CSV file to import, reading its headings. Its lines are then read one at a time by
+     * {@link #runImport(Context, DSpaceCSV, boolean, boolean, boolean, boolean)}.
+     *
+     * @param c The DSpace Context
+     * @return the CSV file
+     * @throws Exception if the file cannot be read, or its headings are invalid
+     */
+    protected DSpaceCSV readCSV(Context c) throws Exception {
+        try {
+            Optional<InputStream> optionalFileStream = handler.getFileStream(c, filename);
+            if (optionalFileStream.isPresent()) {
+                csv = new DSpaceCSV(optionalFileStream.get(), c, true);
+            } else {
+                throw new IllegalArgumentException("Error reading file, the file couldn't be found for filename: " +
+                                                       filename);
+            }
+        } catch (MetadataImportInvalidHeadingException miihe) {
+            throw miihe;
+        } catch (Exception e) {
+            throw new Exception("Error reading file: " + e.getMessage(), e);
+        }
+        return csv;
+    }
+
     protected void assignCurrentUserInContext(Context context) throws ParseException {
         UUID uuid = getEpersonIdentifier();
         if (uuid != null) {
@@ -360,269 +357,360 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
         // Process each change
         rowCount = 1;
         for (DSpaceCSVLine line : toImport) {
-            // Resolve target references to other items
-            populateRefAndRowMap(line, line.getID());
-            line = resolveEntityRefs(c, line);
-            // Get the DSpace item to compare with
-            UUID id = line.getID();
-
-            // Is there an action column?
-            if (csv.hasActions() && (!"".equals(line.getAction())) && (id == null)) {
-                throw new MetadataImportException("'action' not allowed for new items!");
-            }
-
-            WorkspaceItem wsItem = null;
-            WorkflowItem wfItem = null;
-            Item item = null;
-
-            // Is this an existing item?
-            if (id != null) {
-                // Get the item
-                item = itemService.find(c, id);
-                if (item == null) {
-                    throw new MetadataImportException("Unknown item ID " + id);
-                }
+            BulkEditChange whatHasChanged = runImport(c, line, change, useWorkflow, workflowNotify, useTemplate);
+            if (whatHasChanged != null) {
+                changes.add(whatHasChanged);
+            }
+
+            if (change && (rowCount % configurationService.getIntProperty("bulkedit.change.commit.count", 100) == 0)) {
+                c.commit();
+                handler.logInfo(LogHelper.getHeader(c, "metadata_import_commit", "lineNumber=" + rowCount));
+            }
+            // keep track of current rows processed
+            rowCount++;
+        }
+        if (change) {
+            c.commit();
+        }
+
+        c.setMode(Context.Mode.READ_ONLY);
+
 
-                // Record changes
-                BulkEditChange whatHasChanged = new BulkEditChange(item);
+        // Return the changes
+        if (!change) {
+            validateExpressedRelations(c);
+        }
+        return changes;
+    }
 
-                // Has it moved collection?
-                List<String> collections = line.get("collection");
-                if (collections != null) {
-                    // Sanity check we're not orphaning it
-                    if (collections.size() == 0) {
-                        throw new MetadataImportException("Missing collection from item " + item.getHandle());
+    /**
+     * Run an import reading the lines of the CSV file one at a time, so that they are never all in memory. The
+     * changes are displayed, then discarded, every "bulkedit.change.commit.count" lines.
+     *
+     * @param csv            The CSV file, opened to read its lines one at a time
+     * @param change         Whether or not to write the changes to the database
+     * @param useWorkflow    Whether the workflows should be used when creating new items
+     * @param workflowNotify If the workflows should be used, whether to send notifications or not
+     * @param useTemplate    Use collection template if create new item
+     * @return The number of items that have changed
+     * @throws Exception  if something goes wrong
+     */
+    protected int runImport(Context c, DSpaceCSV csv, boolean change,
+                            boolean useWorkflow,
+                            boolean workflowNotify,
+                            boolean useTemplate)
+        throws Exception {
+        int commitCount = configurationService.getIntProperty("bulkedit.change.commit.count", 100);
+        int changeCounter = 0;
+        List<BulkEditChange> changes = new ArrayList<>();
+
+        // Make the changes
+        c.setMode(Context.Mode.BATCH_EDIT);
+
+        // Process each change
+        rowCount = 1;
+        try {
+            DSpaceCSVLine line;
+            while ((line = csv.readLine()) != null) {
+                BulkEditChange whatHasChanged = runImport(c, line, change, useWorkflow, workflowNotify, useTemplate);
+                if (whatHasChanged != null) {
+                    changes.add(whatHasChanged);
+                }
+
+                if (rowCount % commitCount == 0) {
+                    if (change) {
+                        c.commit();
+                        handler.logInfo(LogHelper.getHeader(c, "metadata_import_commit", "lineNumber=" + rowCount));
                     }
-                    List<Collection> actualCollections = item.getCollections();
-                    compare(c, item, collections, actualCollections, whatHasChanged, change);
+                    changeCounter += displayChanges(changes, change);
+                    changes.clear();
                 }
+                // keep track of current rows processed
+                rowCount++;
+            }
+        } finally {
+            csv.close();
+        }
+        if (change) {
+            c.commit();
+        }
+        changeCounter += displayChanges(changes, change);
 
-                // Iterate through each metadata element in the csv line
-                for (String md : line.keys()) {
-                    // Get the values we already have
-                    if (!"id".equals(md)) {
-                        // Get the values from the CSV
-                        String[] fromCSV = line.get(md).toArray(new String[line.get(md).size()]);
-                        // Remove authority unless the md is not authority controlled
-                        if (!isAuthorityControlledField(md)) {
-                            for (int i = 0; i < fromCSV.length; i++) {
-                                int pos = fromCSV[i].indexOf(csv.getAuthoritySeparator());
-                                if (pos > -1) {
-                                    fromCSV[i] = fromCSV[i].substring(0, pos);
-                                }
+        c.setMode(Context.Mode.READ_ONLY);
+
+        if (!change) {
+            validateExpressedRelations(c);
+        }
+        return changeCounter;
+    }
+
+    /**
+     * Import a line of the CSV file. The import can either be read-only to detect changes, or
+     * can write changes as it goes.
+     *
+     * @param line           The line of the CSV file
+     * @param change         Whether or not to write the changes to the database
+     * @param useWorkflow    Whether the workflows should be used when creating new items
+     * @param workflowNotify If the workflows should be used, whether to send notifications or not
+     * @param useTemplate    Use collection template if create new item
+     * @return The changes of the item, or null if an existing item is not changed
+     * @throws MetadataImportException  if something goes wrong
+     */
+    private BulkEditChange runImport(Context c, DSpaceCSVLine line, boolean change,
+                                     boolean useWorkflow,
+                                     boolean workflowNotify,
+                                     boolean useTemplate)
+        throws MetadataImportException, SQLException, AuthorizeException, WorkflowException, IOException {
+        BulkEditChange recorded = null;
+        List<String> entityTypes = line.get("dspace.entity.type");
+        if (entityTypes != null && !entityTypes.isEmpty()) {
+            csvEntityTypeMap.put(rowCount, entityTypes.get(0));
+        }
+        // Resolve target references to other items
+        populateRefAndRowMap(line, line.getID());
+        line = resolveEntityRefs(c, line);
+        // Get the DSpace item to compare with
+        UUID id = line.getID();
+
+        // Is there an action column?
+        if (csv.hasActions() && (!"".equals(line.getAction())) && (id == null)) {
+            throw new MetadataImportException("'action' not allowed for new items!");
+        }
+
+        WorkspaceItem wsItem = null;
+        WorkflowItem wfItem = null;
+        Item item = null;
+
+        // Is this an existing item?
+        if (id != null) {
+            // Get the item
+            item = itemService.find(c, id);
+            if (item == null) {
+                throw new MetadataImportException("Unknown item ID " + id);
+            }
+
+            // Record changes
+            BulkEditChange whatHasChanged = new BulkEditChange(item);
+
+            // Has it moved collection?
+            List<String> collections = line.get("collection");
+            if (collections != null) {
+                // Sanity check we're not orphaning it
+                if (collections.size() == 0) {
+                    throw new MetadataImportException("Missing collection from item " + item.getHandle());
+                }
+                List<Collection> actualCollections = item.getCollections();
+                compare(c, item, collections, actualCollections, whatHasChanged, change);
+            }
+
+            // Iterate through each metadata element in the csv line
+            for (String md : line.keys()) {
+                // Get the values we already have
+                if (!"id".equals(md)) {
+                    // Get the values from the CSV
+                    String[] fromCSV = line.get(md).toArray(new String[line.get(md).size()]);
+                    // Remove authority unless the md is not authority controlled
+                    if (!isAuthorityControlledField(md)) {
+                        for (int i = 0; i < fromCSV.length; i++) {
+                            int pos = fromCSV[i].indexOf(csv.getAuthoritySeparator());
+                            if (pos > -1) {
+                                fromCSV[i] = fromCSV[i].substring(0, pos);
                             }
                         }
-                        // Compare
-                        compareAndUpdate(c, item, fromCSV, change, md, whatHasChanged, line);
                     }
+                    // Compare
+                    compareAndUpdate(c, item, fromCSV, change, md, whatHasChanged, line);
                 }
+            }
 
-                if (csv.hasActions()) {
-                    // Perform the action
-                    String action = line.getAction();
-                    if ("".equals(action)) {
-                        // Do nothing
-                    } else if ("expunge".equals(action)) {
-                        // Does the configuration allow deletes?
-                        if (!configurationService.getBooleanProperty("bulkedit.allowexpunge", false)) {
-                            throw new MetadataImportException("'expunge' action denied by configuration");
-                        }
+            if (csv.hasActions()) {
+                // Perform the action
+                String action = line.getAction();
+                if ("".equals(action)) {
+                    // Do nothing
+                } else if ("expunge".equals(action)) {
+                    // Does the configuration allow deletes?
+                    if (!configurationService.getBooleanProperty("bulkedit.allowexpunge", false)) {
+                        throw new MetadataImportException("'expunge' action denied by configuration");
+                    }
 
-                        // Remove the item
+                    // Remove the item
 
-                        if (change) {
-                            itemService.delete(c, item);
-                        }
+                    if (change) {
+                        itemService.delete(c, item);
+                    }
 
-                        whatHasChanged.setDeleted();
-                    } else if ("withdraw".equals(action)) {
-                        // Withdraw the item
-                        if (!item.isWithdrawn()) {
-                            if (change) {
-                                itemService.withdraw(c, item);
-                            }
-                            whatHasChanged.setWithdrawn();
+                    whatHasChanged.setDeleted();
+                } else if ("withdraw".equals(action)) {
+                    // Withdraw the item
+                    if (!item.isWithdrawn()) {
+                        if (change) {
+                            itemService.withdraw(c, item);
                         }
-                    } else if ("reinstate".equals(action)) {
-                        // Reinstate the item
-                        if (item.isWithdrawn()) {
-                            if (change) {
-                                itemService.reinstate(c, item);
-                            }
-                            whatHasChanged.setReinstated();
+                        whatHasChanged.setWithdrawn();
+                    }
+                } else if ("reinstate".equals(action)) {
+                    // Reinstate the item
+                    if (item.isWithdrawn()) {
+                        if (change) {
+                            itemService.reinstate(c, item);
                         }
-                    } else {
-                        // Unknown action!
-                        throw new MetadataImportException("Unknown action: " + action);
+                        whatHasChanged.setReinstated();
                     }
+                } else {
+                    // Unknown action!
+                    throw new MetadataImportException("Unknown action: " + action);
                 }
+            }
 
-                // Only record if changes have been made
-                if (whatHasChanged.hasChanges()) {
-                    changes.add(whatHasChanged);
-                }
-            } else {
-                // This is marked as a new item, so no need to compare
+            // Only record if changes have been made
+            if (whatHasChanged.hasChanges()) {
+                recorded = whatHasChanged;
+            }
+        } else {
+            // This is marked as a new item, so no need to compare
 
-                // First check a user is set, otherwise this can't happen
-                if (c.getCurrentUser() == null) {
-                    throw new MetadataImportException(
-                        "When adding new items, a user must be specified with the -e option");
-                }
+            // First check a user is set, otherwise this can't happen
+            if (c.getCurrentUser() == null) {
+                throw new MetadataImportException(
+                    "When adding new items, a user must be specified with the -e option");
+            }
 
-                // Iterate through each metadata element in the csv line
-                BulkEditChange whatHasChanged = new BulkEditChange();
-                for (String md : line.keys()) {
-                    // Get the values we already have
-                    if (!"id".equals(md) && !"rowName".equals(md)) {
-                        // Get the values from the CSV
-                        String[] fromCSV = line.get(md).toArray(new String[line.get(md).size()]);
-
-                        // Remove authority unless the md is not authority controlled
-                        if (!isAuthorityControlledField(md)) {
-                            for (int i = 0; i < fromCSV.length; i++) {
-                                int pos = fromCSV[i].indexOf(csv.getAuthoritySeparator());
-                                if (pos > -1) {
-                                    fromCSV[i] = fromCSV[i].substring(0, pos);
-                                }
+            // Iterate through each metadata element in the csv line
+            BulkEditChange whatHasChanged = new BulkEditChange();
+            for (String md : line.keys()) {
+                // Get the values we already have
+                if (!"id".equals(md) && !"rowName".equals(md)) {
+                    // Get the values from the CSV
+                    String[] fromCSV = line.get(md).toArray(new String[line.get(md).size()]);
+
+                    // Remove authority unless the md is not authority controlled
+                    if (!isAuthorityControlledField(md)) {
+                        for (int i = 0; i < fromCSV.length; i++) {
+                            int pos = fromCSV[i].indexOf(csv.getAuthoritySeparator());
+                            if (pos > -1) {
+                                fromCSV[i] = fromCSV[i].substring(0, pos);
                             }
                         }
-
-                        // Add all the values from the CSV line
-                        add(c, fromCSV, md, whatHasChanged);
                     }
-                }
 
-                // Check it has an owning collection
-                List<String> collections = line.get("collection");
-                if (collections == null) {
-                    throw new MetadataImportException(
-                        "New items must have a 'collection' assigned in the form of a handle");
+                    // Add all the values from the CSV line
+                    add(c, fromCSV, md, whatHasChanged);
                 }
+            }
 
-                // Check collections are really collections
-                ArrayList<Collection> check = new ArrayList<Collection>();
-                Collection collection;
-                for (String handle : collections) {
-                    try {
-                        // Resolve the handle to the collection
-                        collection = (Collection) handleService.resolveToObject(c, handle);
-
-                        // Check it resolved OK
-                        if (collection == null) {
-                            throw new MetadataImportException(
-                                "'" + handle + "' is not a Collection! You must specify a valid collection for " +
-                                    "new items");
-                        }
+            // Check it has an owning collection
+            List<String> collections = line.get("collection");
+            if (collections == null) {
+                throw new MetadataImportException(
+                    "New items must have a 'collection' assigned in the form of a handle");
+            }
 
-                        // Check for duplicate
-                        if (check.contains(collection)) {
-                            throw new MetadataImportException(
-                                "Duplicate collection assignment detected in new item! " + handle);
-                        } else {
-                            check.add(collection);
-                        }
-                    } catch (Exception ex) {
+            // Check collections are really collections
+            ArrayList<Collection> check = new ArrayList<Collection>();
+            Collection collection;
+            for (String handle : collections) {
+                try {
+                    // Resolve the handle to the collection
+                    collection = (Collection) handleService.resolveToObject(c, handle);
+
+                    // Check it resolved OK
+                    if (collection == null) {
                         throw new MetadataImportException(
-                            "'" + handle + "' is not a Collection! You must specify a valid collection for new " +
-                                "items",
-                            ex);
+                            "'" + handle + "' is not a Collection! You must specify a valid collection for " +
+                                "new items");
                     }
-                }
 
-                // Record the addition to collections
-                boolean first = true;
-                for (String handle : collections) {
-                    Collection extra = (Collection) handleService.resolveToObject(c, handle);
-                    if (first) {
-                        whatHasChanged.setOwningCollection(extra);
+                    // Check for duplicate
+                    if (check.contains(collection)) {
+                        throw new MetadataImportException(
+                            "Duplicate collection assignment detected in new item! " + handle);
                     } else {
-                        whatHasChanged.registerNewMappedCollection(extra);
+                        check.add(collection);
                     }
-                    first = false;
+                } catch (Exception ex) {
+                    throw new MetadataImportException(
+                        "'" + handle + "' is not a Collection! You must specify a valid collection for new " +
+                            "items",
+                        ex);
                 }
+            }
 
-                // Create the new item?
-                if (change) {
-                    // Create the item
-                    String collectionHandle = line.get("collection").get(0);
-                    collection = (Collection) handleService.resolveToObject(c, collectionHandle);
-                    wsItem = workspaceItemService.create(c, collection, useTemplate);
-                    item = wsItem.getItem();
-
-                    // Add the metadata to the item
-                    for (BulkEditMetadataValue dcv : whatHasChanged.getAdds()) {
-                        if (!StringUtils.equals(dcv.getSchema(), MetadataSchemaEnum.RELATION.getName())) {
-                            itemService.addMetadata(c, item, dcv.getSchema(),
-                                                    dcv.getElement(),
-                                                    dcv.getQualifier(),
-                                                    dcv.getLanguage(),
-                                                    dcv.getValue(),
-                                                    dcv.getAuthority(),
-                                                    dcv.getConfidence());
-                        }
+            // Record the addition to collections
+            boolean first = true;
+            for (String handle : collections) {
+                Collection extra = (Collection) handleService.resolveToObject(c, handle);
+                if (first) {
+                    whatHasChanged.setOwningCollection(extra);
+                } else {
+                    whatHasChanged.registerNewMappedCollection(extra);
+                }
+                first = false;
+            }
+
+            // Create the new item?
+            if (change) {
+                // Create the item
+                String collectionHandle = line.get("collection").get(0);
+                collection = (Collection) handleService.resolveToObject(c, collectionHandle);
+                wsItem = workspaceItemService.create(c, collection, useTemplate);
+                item = wsItem.getItem();
+
+                // Add the metadata to the item
+                for (BulkEditMetadataValue dcv : whatHasChanged.getAdds()) {
+                    if (!StringUtils.equals(dcv.getSchema(), MetadataSchemaEnum.RELATION.getName())) {
+                        itemService.addMetadata(c, item, dcv.getSchema(),
+                                                dcv.getElement(),
+                                                dcv.getQualifier(),
+                                                dcv.getLanguage(),
+                                                dcv.getValue(),
+                                                dcv.getAuthority(),
+                                                dcv.getConfidence());
                     }
-                    //Add relations after all metadata has been processed
-                    for (BulkEditMetadataValue dcv : whatHasChanged.getAdds()) {
-                        if (StringUtils.equals(dcv.getSchema(), MetadataSchemaEnum.RELATION.getName())) {
-                            addRelationship(c, item, dcv.getElement(), dcv.getValue());
-                        }
+                }
+                //Add relations after all metadata has been processed
+                for (BulkEditMetadataValue dcv : whatHasChanged.getAdds()) {
+                    if (StringUtils.equals(dcv.getSchema(), MetadataSchemaEnum.RELATION.getName())) {
+                        addRelationship(c, item, dcv.getElement(), dcv.getValue());
                     }
+                }
 
 
-                    // Should the workflow be used?
-                    if (useWorkflow) {
-                        WorkflowService workflowService = WorkflowServiceFactory.getInstance().getWorkflowService();
-                        if (workflowNotify) {
-                            wfItem = workflowService.start(c, wsItem);
-                        } else {
-                            wfItem = workflowService.startWithoutNotify(c, wsItem);
-                        }
+                // Should the workflow be used?
+                if (useWorkflow) {
+                    WorkflowService workflowService = WorkflowServiceFactory.getInstance().getWorkflowService();
+                    if (workflowNotify) {
+                        wfItem = workflowService.start(c, wsItem);
                     } else {
-                        // Add provenance info
-                        String provenance = installItemService.getSubmittedByProvenanceMessage(c, wsItem.getItem());
-                        itemService.addMetadata(c, item, MetadataSchemaEnum.DC.getName(),
-                                "description", "provenance", "en", provenance);
-                        // Install the item
-                        installItemService.installItem(c, wsItem);
+                        wfItem = workflowService.startWithoutNotify(c, wsItem);
                     }
+                } else {
+                    // Add provenance info
+                    String provenance = installItemService.getSubmittedByProvenanceMessage(c, wsItem.getItem());
+                    itemService.addMetadata(c, item, MetadataSchemaEnum.DC.getName(),
+                            "description", "provenance", "en", provenance);
+                    // Install the item
+                    installItemService.installItem(c, wsItem);
+                }
 
-                    // Add to extra collections
-                    if (line.get("collection").size() > 0) {
-                        for (int i = 1; i < collections.size(); i++) {
-                            String handle = collections.get(i);
-                            Collection extra = (Collection) handleService.resolveToObject(c, handle);
-                            collectionService.addItem(c, extra, item);
-                        }
+                // Add to extra collections
+                if (line.get("collection").size() > 0) {
+                    for (int i = 1; i < collections.size(); i++) {
+                        String handle = collections.get(i);
+                        Collection extra = (Collection) handleService.resolveToObject(c, handle);
+                        collectionService.addItem(c, extra, item);
                     }
-
-                    whatHasChanged.setItem(item);
                 }
 
-                // Record the changes
-                changes.add(whatHasChanged);
+                whatHasChanged.setItem(item);
             }
 
-            if (change && (rowCount % configurationService.getIntProperty("bulkedit.change.commit.count", 100) == 0)) {
-                c.commit();
-                handler.logInfo(LogHelper.getHeader(c, "metadata_import_commit", "lineNumber=" + rowCount));
-            }
-            populateRefAndRowMap(line, item == null ? null : item.getID());
-            // keep track of current rows processed
-            rowCount++;
+            // Record the changes
+            recorded = whatHasChanged;
         }
-        if (change) {
-            c.commit();
-        }
-
-        c.setMode(Context.Mode.READ_ONLY);
-
 
-        // Return the changes
-        if (!change) {
-            validateExpressedRelations(c);
-        }
-        return changes;
+        populateRefAndRowMap(line, item == null ? null : item.getID());
+        return recorded;
     }
 
     /**
@@ -1725,16 +1813,11 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
                             // Add to errors if Relationship.type cannot be derived.
                             Item originItem = null;
                             if (itemService.find(c, UUID.fromString(targetUUID)) != null) {
-                                DSpaceCSVLine dSpaceCSVLine = this.csv.getCSVLines()
-                                                                      .get(Integer.valueOf(originRow) - 1);
-                                List<String> relTypes = dSpaceCSVLine.get("dspace.entity.type");
-                                if (relTypes == null || relTypes.isEmpty()) {
-                                    dSpaceCSVLine.get("dspace.entity.type[]");
-                                }
+                                String csvEntityType = "N/A".equals(originRow) ? null
+                                    : csvEntityTypeMap.get(Integer.valueOf(originRow));
 
-                                if (relTypes != null && relTypes.size() > 0) {
-                                    String relTypeValue = relTypes.get(0);
-                                    relTypeValue = StringUtils.remove(relTypeValue, "\"").trim();
+                                if (csvEntityType != null) {
+                                    String relTypeValue = StringUtils.remove(csvEntityType, "\"").trim();
                                     originType = entityTypeService.findByEntityType(c, relTypeValue).getLabel();
                                     validateTypesByTypeByTypeName(c, targetType, originType, typeName, originRow);
                                 } else {
@@ -78,6 +78,8 @@ public final class ChecksumChecker {
      * <dd>Report only errors in the logs</dd>
      * <dt>-p</dt>
      * <dd>Don't prune results before running checker</dd>
+     * <dt>-t [threads]</dt>
+     * <dd>number of bitstreams checked concurrently</dd>
      * </dl>
      *
      * @param args the command line arguments given
@@ -99,6 +101,7 @@ public final class ChecksumChecker {
         options.addOption("c", "count", true, "Check count");
         options.addOption("a", "handle", true, "Specify a handle to check");
         options.addOption("v", "verbose", false, "Report all processing");
+        options.addOption("t", "threads", true, "Number of bitstreams checked concurrently");
 
         Option option;
 
@@ -127,6 +130,21 @@ public final class ChecksumChecker {
         if (line.hasOption('h')) {
             printHelp(options);
         }
+
+        // number of bitstreams checked at a time
+        int workers = 1;
+        if (line.hasOption('t')) {
+            try {
+                workers = Integer.parseInt(line.getOptionValue('t'));
+            } catch (NumberFormatException e) {
+                workers = 0;
+            }
+            if (workers < 1) {
+                System.err.println("The following argument: " + line.getOptionValue('t')
+                                       + " is not a positive number of threads");
+                printHelp(options);
+            }
+        }
         Context context = null;
         try {
             context = new Context();
@@ -204,6 +222,8 @@ public final class ChecksumChecker {
                 checker.setReportVerbose(true);
             }
 
+            checker.setWorkers(workers);
+
             checker.setProcessStartDate(processStart);
             checker.setDispatcher(dispatcher);
             checker.setCollector(logger);
@@ -236,6 +256,7 @@ public final class ChecksumChecker {
         System.out.println("\nLoop continuously through all bitstreams: ChecksumChecker -L");
         System.out.println("\nCheck a defined number of bitstreams: ChecksumChecker -c 10");
         System.out.println("\nReport all processing (verbose)(default reports only errors): ChecksumChecker -v");
+        System.out.println("\nCheck 4 bitstreams at a time: ChecksumChecker -l -t 4");
         System.out.println("\nDefault (no arguments) is equivalent to '-c 1'");
         System.exit(0);
     }
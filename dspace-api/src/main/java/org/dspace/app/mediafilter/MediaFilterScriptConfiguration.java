@@ -66,6 +66,9 @@ public class MediaFilterScriptConfiguration<T extends MediaFilterScript> extends
                                   .build();
         options.addOption(skipOption);
 
+        options.addOption("t", "threads", true,
+                          "number of threads filtering the items, each with its own database connection");
+
         return options;
     }
 }
@@ -17,6 +17,17 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -55,6 +66,11 @@ import org.springframework.beans.factory.annotation.Autowired;
  * recreate index after processing bitstreams; -i [identifier] limits processing
  * scope to a community, collection or item; and -m [max] limits processing to a
  * maximum number of items.
+ * <p>
+ * With more than one thread (see {@link #setThreads(int)}), the items are filtered by a pool of workers, each
+ * with its own Context committed once per batch of items. The number of bitstreams a filter processes at the
+ * same time can be limited with "filter.&lt;filter class&gt;.threads", e.g. to run fewer ImageMagick processes
+ * than Tika extractions.
  */
 public class MediaFilterServiceImpl implements MediaFilterService, InitializingBean {
     @Autowired(required = true)
@@ -80,9 +96,16 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
     protected int max2Process = Integer.MAX_VALUE;  // maximum number items to process
 
-    protected int processed = 0;   // number items processed
+    protected final AtomicInteger processed = new AtomicInteger();   // number items processed
 
-    protected Item currentItem = null;   // current item being processed
+    // current item being processed, by each worker thread
+    protected final ThreadLocal<Item> currentItem = new ThreadLocal<>();
+
+    protected int threads = 1; // number of threads filtering the items
+
+    protected Map<FormatFilter, Semaphore> filterPermits = new HashMap<>();
+
+    protected Map<String, FilterStatistics> filterStatistics = new ConcurrentHashMap<>();
 
     protected List<FormatFilter> filterClasses = null;
 
@@ -129,15 +152,11 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                             context,
                             fromDate.atStartOfDay(ZoneId.systemDefault()).toInstant()
                     );
-            while (itemIterator.hasNext() && processed < max2Process) {
-                applyFiltersItem(context, itemIterator.next());
-            }
+            applyFiltersItems(context, itemIterator);
         } else {
             //otherwise, just find every item and process
             Iterator<Item> itemIterator = itemService.findAll(context);
-            while (itemIterator.hasNext() && processed < max2Process) {
-                applyFiltersItem(context, itemIterator.next());
-            }
+            applyFiltersItems(context, itemIterator);
         }
     }
 
@@ -172,9 +191,111 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         //only apply filters if collection not in skip-list
         if (!inSkipList(collection.getHandle())) {
             Iterator<Item> itemIterator = itemService.findAllByCollection(context, collection);
-            while (itemIterator.hasNext() && processed < max2Process) {
-                applyFiltersItem(context, itemIterator.next());
+            applyFiltersItems(context, itemIterator);
+        }
+    }
+
+    /**
+     * Apply the filters to items, on the calling thread or with a pool of workers
+     *
+     * @param context current context
+     * @param items   the items
+     * @throws Exception if error
+     */
+    protected void applyFiltersItems(Context context, Iterator<Item> items) throws Exception {
+        if (threads <= 1) {
+            while (items.hasNext() && processed.get() < max2Process) {
+                applyFiltersItem(context, items.next());
+            }
+            return;
+        }
+        int batchSize = Math.max(1, configurationService.getIntProperty("mediafilter.batch.size", 10));
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        CompletionService<Void> completionService = new ExecutorCompletionService<>(workers);
+        int pending = 0;
+        try {
+            List<UUID> batch = new ArrayList<>(batchSize);
+            while (items.hasNext() && processed.get() < max2Process) {
+                Item item = items.next();
+                if (!inSkipList(item.getHandle())) {
+                    batch.add(item.getID());
+                }
+                // the workers load the item again with their own context
+                context.uncacheEntity(item);
+                if (batch.size() >= batchSize) {
+                    List<UUID> ids = batch;
+                    completionService.submit(() -> filterItems(ids));
+                    pending++;
+                    batch = new ArrayList<>(batchSize);
+                }
+                // don't read ahead more than a few batches per worker
+                while (pending >= threads * 2) {
+                    take(completionService);
+                    pending--;
+                }
+            }
+            if (!batch.isEmpty()) {
+                List<UUID> ids = batch;
+                completionService.submit(() -> filterItems(ids));
+                pending++;
+            }
+            while (pending > 0) {
+                take(completionService);
+                pending--;
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Filter a batch of items with a new Context, committed once all the items are filtered. Executed by a worker
+     * thread.
+     *
+     * @param ids the ids of the items
+     * @return nothing
+     * @throws Exception if error
+     */
+    private Void filterItems(List<UUID> ids) throws Exception {
+        Context workerContext = new Context();
+        try {
+            // have to be super-user to do the filtering
+            workerContext.turnOffAuthorisationSystem();
+            for (UUID id : ids) {
+                if (processed.get() >= max2Process) {
+                    break;
+                }
+                Item item = itemService.find(workerContext, id);
+                if (item == null) {
+                    continue;
+                }
+                currentItem.set(item);
+                try {
+                    if (filterItem(workerContext, item)) {
+                        processed.incrementAndGet();
+                    }
+                } finally {
+                    currentItem.remove();
+                }
+            }
+            workerContext.complete();
+        } finally {
+            if (workerContext.isValid()) {
+                workerContext.abort();
+            }
+        }
+        return null;
+    }
+
+    private void take(CompletionService<Void> completionService) throws Exception {
+        try {
+            completionService.take().get();
+        } catch (ExecutionException e) {
+            // filterItems() only lets errors about the whole batch through, e.g. from the database
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
             }
+            throw e;
         }
     }
 
@@ -184,17 +305,19 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         if (!inSkipList(item.getHandle())) {
             //cache this item in MediaFilterManager
             //so it can be accessed by MediaFilters as necessary
-            currentItem = item;
-
-            if (filterItem(c, item)) {
-                // increment processed count
-                ++processed;
+            currentItem.set(item);
+            try {
+                if (filterItem(c, item)) {
+                    // increment processed count
+                    processed.incrementAndGet();
+                }
+            } finally {
+                currentItem.remove();
             }
             // clear item objects from context cache and internal cache
-            c.uncacheEntity(currentItem);
+            c.uncacheEntity(item);
             // commit after each item to release DB resources
             c.commit();
-            currentItem = null;
         }
     }
 
@@ -244,7 +367,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
             if (fmts.contains(myBitstream.getFormat(context).getShortDescription())) {
                 try {
                     // only update item if bitstream not skipped
-                    if (processBitstream(context, myItem, myBitstream, filterClass)) {
+                    if (applyFilter(context, myItem, myBitstream, filterClass)) {
                         itemService.update(context, myItem); // Make sure new bitstream has a sequence
                         // number
                         filtered = true;
@@ -299,7 +422,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                 if (applyFilter) {
                     try {
                         // only update item if bitstream not skipped
-                        if (processBitstream(context, myItem, myBitstream, filterClass)) {
+                        if (applyFilter(context, myItem, myBitstream, filterClass)) {
                             itemService.update(context, myItem); // Make sure new bitstream has a sequence
                             // number
                             filtered = true;
@@ -315,6 +438,59 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         return filtered;
     }
 
+    /**
+     * Process a bitstream with a filter, waiting for the filter to be available if its concurrency is limited, and
+     * record the outcome in the statistics of the filter.
+     *
+     * @return the result of {@link #processBitstream(Context, Item, Bitstream, FormatFilter)}
+     */
+    private boolean applyFilter(Context context, Item item, Bitstream source, FormatFilter formatFilter)
+        throws Exception {
+        FilterStatistics statistics = filterStatistics.computeIfAbsent(getFilterName(formatFilter),
+                                                                       name -> new FilterStatistics());
+        Semaphore permits = filterPermits.get(formatFilter);
+        if (permits != null) {
+            permits.acquire();
+        }
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            boolean filtered = processBitstream(context, item, source, formatFilter);
+            completed = true;
+            (filtered ? statistics.filtered : statistics.skipped).incrementAndGet();
+            return filtered;
+        } finally {
+            statistics.nanos.addAndGet(System.nanoTime() - start);
+            if (!completed) {
+                statistics.failed.incrementAndGet();
+            }
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    private String getFilterName(FormatFilter formatFilter) {
+        if (formatFilter instanceof SelfNamedPlugin
+            && ((SelfNamedPlugin) formatFilter).getPluginInstanceName() != null) {
+            return ((SelfNamedPlugin) formatFilter).getPluginInstanceName();
+        }
+        return formatFilter.getClass().getSimpleName();
+    }
+
+    @Override
+    public void logStatistics() {
+        for (Map.Entry<String, FilterStatistics> entry : new HashMap<>(filterStatistics).entrySet()) {
+            FilterStatistics statistics = entry.getValue();
+            long count = statistics.filtered.get() + statistics.skipped.get() + statistics.failed.get();
+            long millis = TimeUnit.NANOSECONDS.toMillis(statistics.nanos.get());
+            logInfo(String.format("%s: %d bitstreams filtered, %d skipped, %d failed in %d ms (%.1f bitstreams/s "
+                                      + "per thread)", entry.getKey(), statistics.filtered.get(),
+                                  statistics.skipped.get(), statistics.failed.get(), millis,
+                                  millis > 0 ? count * 1000.0 / millis : 0.0));
+        }
+    }
+
     @Override
     public boolean processBitstream(Context context, Item item, Bitstream source, FormatFilter formatFilter)
         throws Exception {
@@ -493,7 +669,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
     @Override
     public Item getCurrentItem() {
-        return currentItem;
+        return currentItem.get();
     }
 
     @Override
@@ -581,9 +757,28 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         this.max2Process = max2Process;
     }
 
+    @Override
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    @Override
+    public int getThreads() {
+        return threads;
+    }
+
     @Override
     public void setFilterClasses(List<FormatFilter> filterClasses) {
         this.filterClasses = filterClasses;
+        filterStatistics = new ConcurrentHashMap<>();
+        filterPermits = new HashMap<>();
+        for (FormatFilter filterClass : filterClasses) {
+            int limit = configurationService.getIntProperty("filter." + filterClass.getClass().getName() + ".threads",
+                                                            0);
+            if (limit > 0) {
+                filterPermits.put(filterClass, new Semaphore(limit, true));
+            }
+        }
     }
 
     @Override
@@ -605,4 +800,14 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     public void setFromDate(LocalDate fromDate) {
         this.fromDate = fromDate;
     }
+
+    /**
+     * Outcome of the bitstreams processed by a filter
+     */
+    protected static class FilterStatistics {
+        private final AtomicLong filtered = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+    }
 }
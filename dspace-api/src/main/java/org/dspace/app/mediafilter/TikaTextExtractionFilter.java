@@ -7,27 +7,46 @@
  */
 package org.dspace.app.mediafilter;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.util.IOUtils;
 import org.apache.tika.Tika;
 import org.apache.tika.exception.TikaException;
+import org.apache.tika.exception.WriteLimitReachedException;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.AutoDetectParser;
 import org.apache.tika.sax.BodyContentHandler;
 import org.apache.tika.sax.ContentHandlerDecorator;
+import org.apache.tika.sax.WriteOutContentHandler;
+import org.dspace.app.mediafilter.factory.MediaFilterServiceFactory;
 import org.dspace.content.Item;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
 
 /**
@@ -39,6 +58,23 @@ public class TikaTextExtractionFilter
     extends MediaFilter {
     private final static Logger log = LogManager.getLogger();
 
+    // thread safe, and expensive to create as it loads all the parsers
+    private static final AutoDetectParser PARSER = new AutoDetectParser();
+
+    // runs the parsing when its time is limited ("textextractor.timeout"), with as many threads as the media filter
+    // (see #resizeParsingExecutor()): a parser ignoring the interruption at the timeout keeps its thread until it ends
+    private static final ThreadPoolExecutor PARSING_EXECUTOR = new ThreadPoolExecutor(
+        1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        new BasicThreadFactory.Builder().namingPattern("text-extraction-%d").daemon(true).build());
+
+    static {
+        PARSING_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    // parses still running after their timeout, and all the parses abandoned since startup
+    private static final AtomicLong RUNNING_ABANDONED_PARSES = new AtomicLong();
+    private static final AtomicLong ABANDONED_PARSES = new AtomicLong();
+
     @Override
     public String getFilteredName(String oldFilename) {
         return oldFilename + ".txt";
@@ -81,6 +117,9 @@ public class TikaTextExtractionFilter
             IOUtils.setByteArrayMaxOverride(
                     configurationService.getIntProperty("textextractor.max-array", 100_000_000));
             extractedText = tika.parseToString(source);
+            if (maxChars > 0 && extractedText.length() >= maxChars) {
+                log.warn("Extracted text was truncated to {} characters (textextractor.max-chars)", maxChars);
+            }
         } catch (IOException e) {
             System.err.format("Unable to extract text from bitstream in Item %s%n", currentItem.getID().toString());
             e.printStackTrace(System.err);
@@ -109,78 +148,222 @@ public class TikaTextExtractionFilter
     }
 
     /**
-     * Extracts the text out of a given source InputStream, using a temporary file. This decreases the amount of memory
-     * necessary for text extraction, but can be slower as it requires writing extracted text to a temporary file.
+     * Extracts the text out of a given source InputStream, using a temporary file. The text is written to the file as
+     * it is parsed, so the memory used does not depend on the size of the document. The number of characters
+     * ("textextractor.temp-file.max-chars") and the parsing time ("textextractor.timeout") can be limited.
      * @param source source InputStream
      * @param verbose verbose mode enabled/disabled
-     * @return InputStream for temporary file containing extracted text
+     * @return InputStream for temporary file containing extracted text, which deletes the file when closed
      * @throws IOException
      * @throws SAXException
      * @throws TikaException
      */
     private InputStream extractUsingTempFile(InputStream source, boolean verbose)
         throws IOException, TikaException, SAXException {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        int maxChars = configurationService.getIntProperty("textextractor.temp-file.max-chars", -1);
+        long timeout = configurationService.getLongProperty("textextractor.timeout", 0);
         File tempExtractedTextFile = File.createTempFile("dspacetextextract" + source.hashCode(), ".txt");
 
         if (verbose) {
             System.out.println("(Verbose mode) Extracted text was written to temporary file at " +
                                    tempExtractedTextFile.getAbsolutePath());
-        } else {
-            tempExtractedTextFile.deleteOnExit();
         }
 
         // Open temp file for writing
-        try (FileWriter writer = new FileWriter(tempExtractedTextFile, StandardCharsets.UTF_8)) {
-            // Initialize a custom ContentHandlerDecorator which is a BodyContentHandler.
-            // This mimics the behavior of Tika().parseToString(), which only extracts text from the body of the file.
-            // This custom Handler writes any extracted text to the temp file.
-            ContentHandlerDecorator handler = new BodyContentHandler(new ContentHandlerDecorator() {
-                /**
-                 * Write all extracted characters directly to the temp file.
-                 */
-                @Override
-                public void characters(char[] ch, int start, int length) throws SAXException {
-                    try {
-                        writer.append(new String(ch, start, length));
-                    } catch (IOException e) {
-                        String errorMsg = String.format("Could not append to temporary file at %s " +
-                                                            "when performing text extraction",
-                                                        tempExtractedTextFile.getAbsolutePath());
-                        log.error(errorMsg, e);
-                        throw new SAXException(errorMsg, e);
-                    }
+        boolean extracted = false;
+        try (Writer writer = new BufferedWriter(new FileWriter(tempExtractedTextFile, StandardCharsets.UTF_8))) {
+            // Use a BodyContentHandler, which mimics the behavior of Tika().parseToString() and only extracts text
+            // from the body of the file, writing any extracted text (including ignorable whitespace, like blank
+            // lines, indentations, etc.) to the temp file, up to the maximum number of characters.
+            WriteOutContentHandler output = new WriteOutContentHandler(writer, maxChars);
+            ContentHandlerDecorator handler = new BodyContentHandler(new InterruptibleContentHandler(output));
+
+            try {
+                // parse our source InputStream using the above custom handler
+                parse(source, handler, timeout);
+            } catch (SAXException | TikaException e) {
+                if (!WriteLimitReachedException.isWriteLimitReached(e)) {
+                    throw e;
                 }
+                log.warn("Extracted text was truncated to {} characters (textextractor.temp-file.max-chars)",
+                         maxChars);
+            }
+            extracted = true;
+        } finally {
+            if (!extracted) {
+                tempExtractedTextFile.delete();
+            }
+        }
+
+        // At this point, all extracted text is written to our temp file. So, return a stream for that file, which
+        // removes it once the text is stored (unless it was requested to keep it in verbose mode).
+        if (verbose) {
+            return new FileInputStream(tempExtractedTextFile);
+        }
+        return Files.newInputStream(tempExtractedTextFile.toPath(), StandardOpenOption.DELETE_ON_CLOSE);
+    }
 
-                /**
-                 * Write all ignorable whitespace directly to the temp file.
-                 * This mimics the behaviour of Tika().parseToString() which extracts ignorableWhitespace characters
-                 * (like blank lines, indentations, etc.), so that we get the same extracted text either way.
-                 */
-                @Override
-                public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
-                    try {
-                        writer.append(new String(ch, start, length));
-                    } catch (IOException e) {
-                        String errorMsg = String.format("Could not append to temporary file at %s " +
-                                                            "when performing text extraction",
-                                                        tempExtractedTextFile.getAbsolutePath());
-                        log.error(errorMsg, e);
-                        throw new SAXException(errorMsg, e);
+    /**
+     * Parse a document, on another thread if the parsing time is limited, so that a document taking longer than the
+     * timeout is abandoned even when its parser does not report any text for a long time.
+     * @param source        source InputStream
+     * @param handler       handler of the extracted text
+     * @param timeout       maximum parsing time in seconds, 0 for no maximum
+     * @throws IOException
+     * @throws SAXException
+     * @throws TikaException if the parsing failed or timed out
+     */
+    private void parse(InputStream source, ContentHandler handler, long timeout)
+        throws IOException, SAXException, TikaException {
+        if (timeout <= 0) {
+            PARSER.parse(source, handler, new Metadata());
+            return;
+        }
+        resizeParsingExecutor();
+        ParseTask task = new ParseTask(source, handler);
+        Future<?> parsing = PARSING_EXECUTOR.submit(task);
+        try {
+            parsing.get(timeout, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            // interrupt the parser, and stop it at its next read or extracted text
+            parsing.cancel(true);
+            source.close();
+            if (task.abandon()) {
+                log.warn("Text extraction timed out after {} seconds (textextractor.timeout) and its parser is still "
+                             + "running: {} abandoned parses use {} text extraction threads, {} since startup",
+                         timeout, RUNNING_ABANDONED_PARSES.get(), PARSING_EXECUTOR.getMaximumPoolSize(),
+                         ABANDONED_PARSES.get());
+            }
+            throw new TikaException("Text extraction timed out (textextractor.timeout)", e);
+        } catch (InterruptedException e) {
+            parsing.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while extracting text");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof SAXException) {
+                throw (SAXException) cause;
+            } else if (cause instanceof TikaException) {
+                throw (TikaException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new TikaException("Unable to extract text", cause);
+        }
+    }
+
+    /**
+     * Use as many parsing threads as threads filtering the items, each of which parses one document at a time
+     */
+    private static synchronized void resizeParsingExecutor() {
+        int threads = MediaFilterServiceFactory.getInstance().getMediaFilterService().getThreads();
+        if (threads > PARSING_EXECUTOR.getMaximumPoolSize()) {
+            PARSING_EXECUTOR.setMaximumPoolSize(threads);
+            PARSING_EXECUTOR.setCorePoolSize(threads);
+        } else if (threads < PARSING_EXECUTOR.getMaximumPoolSize()) {
+            PARSING_EXECUTOR.setCorePoolSize(threads);
+            PARSING_EXECUTOR.setMaximumPoolSize(threads);
+        }
+    }
+
+    /**
+     * @return the number of parses still running after their timeout, each of which uses a text extraction thread
+     */
+    public static long getRunningAbandonedParseCount() {
+        return RUNNING_ABANDONED_PARSES.get();
+    }
+
+    /**
+     * @return the number of parses which were still running after their timeout, since startup
+     */
+    public static long getAbandonedParseCount() {
+        return ABANDONED_PARSES.get();
+    }
+
+    /**
+     * A parse run by the parsing executor, which knows whether it is still running when it times out
+     */
+    private static class ParseTask implements Callable<Void> {
+        private final InputStream source;
+        private final ContentHandler handler;
+        private boolean started = false;
+        private boolean finished = false;
+        private boolean abandoned = false;
+
+        ParseTask(InputStream source, ContentHandler handler) {
+            this.source = source;
+            this.handler = handler;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            synchronized (this) {
+                started = true;
+            }
+            try {
+                PARSER.parse(source, handler, new Metadata());
+            } finally {
+                synchronized (this) {
+                    finished = true;
+                    if (abandoned) {
+                        RUNNING_ABANDONED_PARSES.decrementAndGet();
                     }
                 }
-            });
-
-            AutoDetectParser parser = new AutoDetectParser();
-            Metadata metadata = new Metadata();
-            // parse our source InputStream using the above custom handler
-            parser.parse(source, handler, metadata);
+            }
+            return null;
         }
 
-        // At this point, all extracted text is written to our temp file. So, return a FileInputStream for that file
-        return new FileInputStream(tempExtractedTextFile);
+        /**
+         * Give up waiting for the parse, which is counted as abandoned until it ends if it is still running
+         *
+         * @return whether the parse is still running
+         */
+        synchronized boolean abandon() {
+            if (!started || finished) {
+                return false;
+            }
+            abandoned = true;
+            RUNNING_ABANDONED_PARSES.incrementAndGet();
+            ABANDONED_PARSES.incrementAndGet();
+            return true;
+        }
     }
 
+    /**
+     * Stops the parsing, by throwing a SAXException, once the parsing thread is interrupted because the document took
+     * longer than the timeout to parse.
+     */
+    private static class InterruptibleContentHandler extends ContentHandlerDecorator {
 
+        InterruptibleContentHandler(ContentHandler handler) {
+            super(handler);
+        }
 
+        private void checkInterrupted() throws SAXException {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new SAXException("Text extraction timed out (textextractor.timeout)");
+            }
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String name, Attributes atts) throws SAXException {
+            checkInterrupted();
+            super.startElement(uri, localName, name, atts);
+        }
 
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            checkInterrupted();
+            super.characters(ch, start, length);
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+            checkInterrupted();
+            super.ignorableWhitespace(ch, start, length);
+        }
+    }
 }
@@ -139,6 +139,19 @@ public interface MediaFilterService {
 
     public void setMax2Process(int max2Process);
 
+    /**
+     * Set the number of threads filtering the items. With more than one, each thread filters batches of items with
+     * its own Context.
+     *
+     * @param threads number of threads, 1 filters the items on the calling thread with its Context
+     */
+    public void setThreads(int threads);
+
+    /**
+     * @return the number of threads filtering the items
+     */
+    public int getThreads();
+
     public void setFilterClasses(List<FormatFilter> filterClasses);
 
     public void setSkipList(List<String> skipList);
@@ -152,4 +165,10 @@ public interface MediaFilterService {
     public void setLogHandler(DSpaceRunnableHandler handler);
 
     public void setFromDate(LocalDate fromDate);
+
+    /**
+     * Log the number of bitstreams filtered, skipped and failed by each filter since the filters were set, and the
+     * time they took.
+     */
+    public void logStatistics();
 }
@@ -166,73 +166,71 @@ public class IPAuthentication implements AuthenticationMethod {
         }
         List<Group> groups = new ArrayList<Group>();
 
-        // Get the user's IP address
+        // Get the user's IP address, parsed once for all matchers
         String addr = clientInfoService.getClientIp(request);
+        byte[] candidate;
+        try {
+            candidate = IPMatcher.parseAddress(addr);
+        } catch (IPMatcherException ipme) {
+            log.warn(LogHelper.getHeader(context, "configuration_error",
+                                          "bad_ip=" + addr), ipme);
+            return groups;
+        }
 
         for (IPMatcher ipm : ipMatchers) {
-            try {
-                if (ipm.match(addr)) {
-                    // Do we know group ID?
-                    UUID g = ipMatcherGroupIDs.get(ipm);
-                    if (g != null) {
-                        groups.add(groupService.find(context, g));
-                    } else {
-                        // See if we have a group name
-                        String groupName = ipMatcherGroupNames.get(ipm);
-
-                        if (groupName != null) {
-                            Group group = groupService.findByName(context, groupName);
-                            if (group != null) {
-                                // Add ID so we won't have to do lookup again
-                                ipMatcherGroupIDs.put(ipm, (group.getID()));
-                                ipMatcherGroupNames.remove(ipm);
-
-                                groups.add(group);
-                            } else {
-                                log.warn(LogHelper.getHeader(context,
-                                                              "configuration_error", "unknown_group="
-                                                                  + groupName));
-                            }
+            if (ipm.match(candidate)) {
+                // Do we know group ID?
+                UUID g = ipMatcherGroupIDs.get(ipm);
+                if (g != null) {
+                    groups.add(groupService.find(context, g));
+                } else {
+                    // See if we have a group name
+                    String groupName = ipMatcherGroupNames.get(ipm);
+
+                    if (groupName != null) {
+                        Group group = groupService.findByName(context, groupName);
+                        if (group != null) {
+                            // Add ID so we won't have to do lookup again
+                            ipMatcherGroupIDs.put(ipm, (group.getID()));
+                            ipMatcherGroupNames.remove(ipm);
+
+                            groups.add(group);
+                        } else {
+                            log.warn(LogHelper.getHeader(context,
+                                                          "configuration_error", "unknown_group="
+                                                              + groupName));
                         }
                     }
                 }
-            } catch (IPMatcherException ipme) {
-                log.warn(LogHelper.getHeader(context, "configuration_error",
-                                              "bad_ip=" + addr), ipme);
             }
         }
 
         // Now remove any negative matches
         for (IPMatcher ipm : ipNegativeMatchers) {
-            try {
-                if (ipm.match(addr)) {
-                    // Do we know group ID?
-                    UUID g = ipMatcherGroupIDs.get(ipm);
-                    if (g != null) {
-                        groups.remove(groupService.find(context, g));
-                    } else {
-                        // See if we have a group name
-                        String groupName = ipMatcherGroupNames.get(ipm);
-
-                        if (groupName != null) {
-                            Group group = groupService.findByName(context, groupName);
-                            if (group != null) {
-                                // Add ID so we won't have to do lookup again
-                                ipMatcherGroupIDs.put(ipm, group.getID());
-                                ipMatcherGroupNames.remove(ipm);
-
-                                groups.remove(group);
-                            } else {
-                                log.warn(LogHelper.getHeader(context,
-                                                              "configuration_error", "unknown_group="
-                                                                  + groupName));
-                            }
+            if (ipm.match(candidate)) {
+                // Do we know group ID?
+                UUID g = ipMatcherGroupIDs.get(ipm);
+                if (g != null) {
+                    groups.remove(groupService.find(context, g));
+                } else {
+                    // See if we have a group name
+                    String groupName = ipMatcherGroupNames.get(ipm);
+
+                    if (groupName != null) {
+                        Group group = groupService.findByName(context, groupName);
+                        if (group != null) {
+                            // Add ID so we won't have to do lookup again
+                            ipMatcherGroupIDs.put(ipm, group.getID());
+                            ipMatcherGroupNames.remove(ipm);
+
+                            groups.remove(group);
+                        } else {
+                            log.warn(LogHelper.getHeader(context,
+                                                          "configuration_error", "unknown_group="
+                                                              + groupName));
                         }
                     }
                 }
-            } catch (IPMatcherException ipme) {
-                log.warn(LogHelper.getHeader(context, "configuration_error",
-                                              "bad_ip=" + addr), ipme);
             }
         }
 
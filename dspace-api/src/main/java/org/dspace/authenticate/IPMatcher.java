@@ -243,7 +243,18 @@ public class IPMatcher {
      *                            malformed)
      */
     public boolean match(String ipIn) throws IPMatcherException {
-        log.debug("ipIn: " + ipIn);
+        log.debug("ipIn: {}", ipIn);
+        return match(parseAddress(ipIn));
+    }
+
+    /**
+     * Parse an IP address once, so it can be tested against many {@code IPMatcher}s with {@link #match(byte[])}.
+     *
+     * @param ipIn IP address as dot-delimited (IPv4) or colon-delimited (IPv6) String
+     * @return the address in the 16 byte form expected by {@link #match(byte[])}
+     * @throws IPMatcherException if the IP cannot be parsed correctly (i.e. is malformed)
+     */
+    public static byte[] parseAddress(String ipIn) throws IPMatcherException {
         byte[] candidate;
 
         if (ipIn.indexOf(':') < 0) {
@@ -256,8 +267,21 @@ public class IPMatcher {
             } catch (UnknownHostException e) {
                 throw new IPMatcherException("Malformed IPv6 address ", e);
             }
+            if (candidate.length == 4) {
+                // IPv4-mapped address, returned as an Inet4Address
+                candidate = ip4ToIp6(candidate);
+            }
         }
+        return candidate;
+    }
 
+    /**
+     * Determine whether the given address falls within the range this {@code IPMatcher} was initialized with.
+     *
+     * @param candidate IP address, as returned by {@link #parseAddress(String)}
+     * @return {@code true} if the IP matches the range of this {@code IPMatcher}; {@code false} otherwise
+     */
+    public boolean match(byte[] candidate) {
         for (int i = 0; i < netmask.length; i++) {
             if ((candidate[i] & netmask[i]) != (network[i] & netmask[i])) {
                 if (log.isDebugEnabled()) {
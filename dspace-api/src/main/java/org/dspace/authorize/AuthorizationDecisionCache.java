@@ -0,0 +1,190 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PostConstruct;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Authorization decisions shared by all the contexts, so that the policies and group memberships of an object are
+ * not loaded again by every request checking the same action.
+ * <p>
+ * A decision is identified by the eperson (or anonymous), the special groups of the current user, the object, the
+ * action and whether inheritance was used. All decisions are forgotten whenever a context changes policies, groups,
+ * epersons or objects, both at the time of the change and when it is committed (see
+ * {@link Context#clearCachedAuthorizationResults()}). They also expire after a configurable time, so that policies
+ * with a start or end date eventually apply.
+ */
+public class AuthorizationDecisionCache {
+
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
+    private volatile Cache<Key, Boolean> decisions;
+
+    /**
+     * Incremented by every invalidation, so that a decision computed before an invalidation is not cached after it
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Create the cache from the configuration, dropping the current decisions. Disabled unless both the size and the
+     * time to live are positive.
+     */
+    @PostConstruct
+    public void init() {
+        long size = configurationService.getLongProperty("core.authorization.cache.size", 0);
+        long ttl = configurationService.getLongProperty("core.authorization.cache.ttl", 60);
+        generation.incrementAndGet();
+        if (size > 0 && ttl > 0) {
+            decisions = CacheBuilder.newBuilder()
+                                    .maximumSize(size)
+                                    .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                                    .recordStats()
+                                    .build();
+        } else {
+            decisions = null;
+        }
+    }
+
+    /**
+     * Build the key of a decision
+     *
+     * @param context        current context
+     * @param dso            object the action is attempted on
+     * @param action         action being attempted
+     * @param eperson        user attempting the action, or null for anonymous
+     * @param useInheritance whether ADMIN on parent objects is taken into account
+     * @return the key, or null if the decision must not be shared: the cache is disabled, or the context made
+     * changes which are not committed yet
+     */
+    public Key getKey(Context context, DSpaceObject dso, int action, EPerson eperson, boolean useInheritance) {
+        if (decisions == null || context.isAuthorizationChanged() || dso.getID() == null) {
+            return null;
+        }
+        // special groups only apply to the current user, see GroupService#isMember
+        Set<UUID> specialGroups = Objects.equals(eperson, context.getCurrentUser())
+            ? Set.copyOf(context.getSpecialGroupUuids()) : Set.of();
+        return new Key(eperson == null ? null : eperson.getID(), specialGroups, dso.getID(), action, useInheritance);
+    }
+
+    /**
+     * @param key the key of the decision, may be null
+     * @return the cached decision, or null
+     */
+    public Boolean get(Key key) {
+        return key == null ? null : decisions.getIfPresent(key);
+    }
+
+    /**
+     * @return the current generation, to read before computing a decision and pass to
+     * {@link #put(Key, boolean, long)}
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Cache a decision, unless the decisions were invalidated while it was computed
+     *
+     * @param key        the key of the decision, may be null
+     * @param result     the decision
+     * @param generation the generation when the computation started
+     */
+    public void put(Key key, boolean result, long generation) {
+        if (key == null || this.generation.get() != generation) {
+            return;
+        }
+        decisions.put(key, result);
+        if (this.generation.get() != generation) {
+            // invalidated meanwhile
+            decisions.invalidate(key);
+        }
+    }
+
+    /**
+     * Forget all the decisions
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        if (decisions != null) {
+            decisions.invalidateAll();
+        }
+    }
+
+    /**
+     * @return the number of decisions found in the cache since startup
+     */
+    public long getHitCount() {
+        return decisions == null ? 0 : decisions.stats().hitCount();
+    }
+
+    /**
+     * @return the number of decisions which had to be computed since startup
+     */
+    public long getMissCount() {
+        return decisions == null ? 0 : decisions.stats().missCount();
+    }
+
+    /**
+     * @return the approximate number of cached decisions
+     */
+    public long getSize() {
+        return decisions == null ? 0 : decisions.size();
+    }
+
+    /**
+     * Identifies an authorization decision
+     */
+    public static final class Key {
+        private final UUID eperson;
+        private final Set<UUID> specialGroups;
+        private final UUID dso;
+        private final int action;
+        private final boolean useInheritance;
+
+        private Key(UUID eperson, Set<UUID> specialGroups, UUID dso, int action, boolean useInheritance) {
+            this.eperson = eperson;
+            this.specialGroups = specialGroups;
+            this.dso = dso;
+            this.action = action;
+            this.useInheritance = useInheritance;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return action == key.action && useInheritance == key.useInheritance
+                && Objects.equals(eperson, key.eperson) && specialGroups.equals(key.specialGroups)
+                && dso.equals(key.dso);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eperson, specialGroups, dso, action, useInheritance);
+        }
+    }
+}
@@ -14,8 +14,11 @@ import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -78,6 +81,8 @@ public class AuthorizeServiceImpl implements AuthorizeService {
     @Autowired(required = true)
     protected ResourcePolicyService resourcePolicyService;
     @Autowired(required = true)
+    protected AuthorizationDecisionCache authorizationDecisionCache;
+    @Autowired(required = true)
     protected WorkspaceItemService workspaceItemService;
     @Autowired(required = true)
     protected WorkflowItemService workflowItemService;
@@ -245,12 +250,47 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             return true;
         }
 
-        // If authorization was given before and cached
-        Boolean cachedResult = c.getCachedAuthorizationResult(o, action, e);
-        if (cachedResult != null) {
-            return cachedResult;
+        // If authorization was given before and cached, in this context or by another one.
+        // The context cache does not distinguish checks without inheritance, which are rare
+        boolean useContextCache = useInheritance || c.isReadOnly();
+        if (useContextCache) {
+            Boolean cachedResult = c.getCachedAuthorizationResult(o, action, e);
+            if (cachedResult != null) {
+                return cachedResult;
+            }
         }
+        AuthorizationDecisionCache.Key key = authorizationDecisionCache.getKey(c, o, action, e, useInheritance);
+        Boolean sharedResult = authorizationDecisionCache.get(key);
+        if (sharedResult != null) {
+            if (useContextCache) {
+                c.cacheAuthorizedAction(o, action, e, sharedResult, null);
+            }
+            return sharedResult;
+        }
+
+        long generation = authorizationDecisionCache.getGeneration();
+        boolean result = authorizePolicies(c, o, action, e, useInheritance, useContextCache);
+        authorizationDecisionCache.put(key, result, generation);
+        return result;
+    }
 
+    /**
+     * Check the policies of an object, and whether the user is an administrator of the object, to see if the
+     * given user can perform the given action.
+     *
+     * @param c               current context
+     * @param o               object action is being attempted on
+     * @param action          ID of action being attempted
+     * @param e               user attempting action
+     * @param useInheritance  flag to say if ADMIN action on the current object or parent
+     *                        object can be used
+     * @param useContextCache whether to cache the decision in the context
+     * @return <code>true</code> if user is authorized to perform the given
+     * action, <code>false</code> otherwise
+     * @throws SQLException if database error
+     */
+    protected boolean authorizePolicies(Context c, DSpaceObject o, int action, EPerson e, boolean useInheritance,
+                                        boolean useContextCache) throws SQLException {
         // is eperson set? if not, userToCheck = null (anonymous)
         EPerson userToCheck = null;
         if (e != null) {
@@ -290,7 +330,7 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             }
         }
 
-        for (ResourcePolicy rp : getPoliciesActionFilter(c, o, action)) {
+        for (ResourcePolicy rp : findPolicies(c, o, action)) {
 
             if (ignoreCustomPolicies
                 && ResourcePolicy.TYPE_CUSTOM.equals(rp.getRpType())) {
@@ -305,7 +345,7 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             // check policies for date validity
             if (resourcePolicyService.isDateValid(rp)) {
                 if (rp.getEPerson() != null && rp.getEPerson().equals(userToCheck)) {
-                    c.cacheAuthorizedAction(o, action, e, true, rp);
+                    cacheResult(c, o, action, e, true, rp, useContextCache);
                     return true; // match
                 }
 
@@ -313,7 +353,7 @@ public class AuthorizeServiceImpl implements AuthorizeService {
                     && groupService.isMember(c, e, rp.getGroup())) {
                     // group was set, and eperson is a member
                     // of that group
-                    c.cacheAuthorizedAction(o, action, e, true, rp);
+                    cacheResult(c, o, action, e, true, rp, useContextCache);
                     return true;
                 }
             }
@@ -331,15 +371,59 @@ public class AuthorizeServiceImpl implements AuthorizeService {
                                                                       .getAdminObject(c, o, action) : null;
 
             if (isAdmin(c, e, adminObject)) {
-                c.cacheAuthorizedAction(o, action, e, true, null);
+                cacheResult(c, o, action, e, true, null, useContextCache);
                 return true;
             }
         }
         // default authorization is denial
-        c.cacheAuthorizedAction(o, action, e, false, null);
+        cacheResult(c, o, action, e, false, null, useContextCache);
         return false;
     }
 
+    @Override
+    public void prefetchPolicies(Context c, List<? extends DSpaceObject> dsos) throws SQLException {
+        List<DSpaceObject> missing = dsos.stream()
+                                         .filter(dso -> dso != null && dso.getID() != null
+                                             && c.getCachedPolicies(dso) == null)
+                                         .distinct()
+                                         .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            Map<UUID, List<ResourcePolicy>> policies = new HashMap<>();
+            for (DSpaceObject dso : missing) {
+                policies.put(dso.getID(), new ArrayList<>());
+            }
+            for (ResourcePolicy rp : resourcePolicyService.findByDsos(c, missing)) {
+                policies.get(rp.getdSpaceObject().getID()).add(rp);
+            }
+            for (DSpaceObject dso : missing) {
+                c.cachePolicies(dso, policies.get(dso.getID()));
+            }
+        }
+        // the group of every policy is checked against the groups of the current user
+        EPerson currentUser = c.getCurrentUser();
+        c.cachePrefetchedMemberGroups(currentUser, groupService.allMemberGroupsSet(c, currentUser));
+    }
+
+    /**
+     * Get the policies of an object for an action, from the policies prefetched in the context if possible
+     *
+     * @see #prefetchPolicies(Context, List)
+     */
+    protected List<ResourcePolicy> findPolicies(Context c, DSpaceObject o, int action) throws SQLException {
+        List<ResourcePolicy> policies = c.getCachedPolicies(o);
+        if (policies == null) {
+            return getPoliciesActionFilter(c, o, action);
+        }
+        return policies.stream().filter(rp -> rp.getAction() == action).collect(Collectors.toList());
+    }
+
+    private void cacheResult(Context c, DSpaceObject o, int action, EPerson e, boolean result, ResourcePolicy rp,
+                             boolean useContextCache) {
+        if (useContextCache) {
+            c.cacheAuthorizedAction(o, action, e, result, rp);
+        }
+    }
+
     // check whether any bundle belongs to any item that passed submission
     // and workflow process
     protected boolean isAnyItemInstalled(Context ctx, List<Bundle> bundles)
@@ -384,7 +468,7 @@ public class AuthorizeServiceImpl implements AuthorizeService {
         //
         // First, check all Resource Policies directly on this object
         //
-        List<ResourcePolicy> policies = getPoliciesActionFilter(c, o, Constants.ADMIN);
+        List<ResourcePolicy> policies = findPolicies(c, o, Constants.ADMIN);
 
         for (ResourcePolicy rp : policies) {
             // check policies for date validity
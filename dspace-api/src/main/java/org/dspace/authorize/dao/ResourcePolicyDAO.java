@@ -39,6 +39,16 @@ public interface ResourcePolicyDAO extends GenericDAO<ResourcePolicy> {
 
     public List<ResourcePolicy> findByDSoAndAction(Context context, DSpaceObject dso, int actionId) throws SQLException;
 
+    /**
+     * Find the policies of several objects at once, with their eperson and group
+     *
+     * @param context  DSpace context
+     * @param dsoIds   the uuids of the objects
+     * @return the policies of all the objects, for all actions
+     * @throws SQLException if database error
+     */
+    public List<ResourcePolicy> findByDsos(Context context, List<UUID> dsoIds) throws SQLException;
+
     public void deleteByDsoAndTypeAndAction(Context context, DSpaceObject dSpaceObject, String type, int action)
         throws SQLException;
 
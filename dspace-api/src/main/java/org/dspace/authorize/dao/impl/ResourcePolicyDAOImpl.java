@@ -91,6 +91,16 @@ public class ResourcePolicyDAOImpl extends AbstractHibernateDAO<ResourcePolicy>
         return list(context, criteriaQuery, false, ResourcePolicy.class, -1, -1);
     }
 
+    @Override
+    public List<ResourcePolicy> findByDsos(Context context, List<UUID> dsoIds) throws SQLException {
+        Query query = createQuery(context, "SELECT rp FROM " + ResourcePolicy.class.getSimpleName() + " rp " +
+                                           "LEFT JOIN FETCH rp.eperson " +
+                                           "LEFT JOIN FETCH rp.epersonGroup " +
+                                           "WHERE rp.dSpaceObject.id IN (:dsoIds)");
+        query.setParameter("dsoIds", dsoIds);
+        return list(query);
+    }
+
     @Override
     public List<ResourcePolicy> findByDSoAndAction(Context context, DSpaceObject dso, int actionId)
         throws SQLException {
@@ -151,6 +151,16 @@ public interface AuthorizeService {
     public boolean authorizeActionBoolean(Context c, EPerson e, DSpaceObject o, int a, boolean useInheritance)
         throws SQLException;
 
+    /**
+     * Load the policies of several objects, and all the groups of the current user, in a few queries before
+     * checking many actions on these objects. They are kept in the context until a change may affect them.
+     *
+     * @param c    current context
+     * @param dsos the objects which are about to be checked
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public void prefetchPolicies(Context c, List<? extends DSpaceObject> dsos) throws SQLException;
+
     ///////////////////////////////////////////////
     // admin check methods
     ///////////////////////////////////////////////
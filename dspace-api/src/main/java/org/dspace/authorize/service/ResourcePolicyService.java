@@ -8,6 +8,7 @@
 package org.dspace.authorize.service;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -61,6 +62,16 @@ public interface ResourcePolicyService {
 
     public List<ResourcePolicy> find(Context c, DSpaceObject o, int actionId) throws SQLException;
 
+    /**
+     * Find the policies of several objects, for all actions, in as few queries as possible
+     *
+     * @param c    DSpace context
+     * @param dsos the objects
+     * @return the policies of all the objects
+     * @throws SQLException if database error
+     */
+    public List<ResourcePolicy> findByDsos(Context c, Collection<? extends DSpaceObject> dsos) throws SQLException;
+
     public List<ResourcePolicy> find(Context c, DSpaceObject dso, Group group, int action) throws SQLException;
 
     public List<ResourcePolicy> find(Context context, Group group) throws SQLException;
@@ -0,0 +1,297 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PostConstruct;
+import org.dspace.authorize.AuthorizationDecisionCache;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.authorize.service.ResourcePolicyService;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Context;
+import org.dspace.discovery.DiscoverResult.FacetResult;
+import org.dspace.discovery.SearchService;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.Group;
+import org.dspace.eperson.service.GroupService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Sorted values of the metadata browse indexes (e.g. all the authors), shared by all the contexts, so that every page
+ * of a browse and every "starts with" jump is read from the same list instead of asking Solr to count and skip all
+ * the values before the page (see {@link SolrBrowseDAO}).
+ * <p>
+ * A list is identified by the browse index, the community or collection it is limited to, and what the current user
+ * can read, as the values of the items the user cannot read are not listed: all the users with the same groups share
+ * a list, unless policies are granted to them directly, and all the administrators share another one. A list loaded
+ * before the last commit of the search core (see {@link SearchService#getIndexGeneration()}) or before a change of
+ * groups or policies (see {@link AuthorizationDecisionCache#getGeneration()}) is loaded again. Lists also expire after
+ * a configurable time.
+ * <p>
+ * Browse indexes with more values than configured are not kept: only the fact that they are too large is, until it
+ * expires, whatever the commits, so that they are not loaded again, and their pages are queried as before. The cache
+ * is bounded by the total number of values of its lists.
+ */
+public class BrowseValueCache {
+
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
+    @Autowired(required = true)
+    protected SearchService searchService;
+
+    @Autowired(required = true)
+    protected AuthorizationDecisionCache authorizationDecisionCache;
+
+    @Autowired(required = true)
+    protected AuthorizeService authorizeService;
+
+    @Autowired(required = true)
+    protected GroupService groupService;
+
+    @Autowired(required = true)
+    protected ResourcePolicyService resourcePolicyService;
+
+    /**
+     * Maximum number of browse indexes remembered as too large
+     */
+    private static final int MAX_TOO_LARGE_INDEXES = 1000;
+
+    private volatile Cache<Key, Values> lists;
+
+    /**
+     * Browse indexes, with their community or collection, which have more values than allowed
+     */
+    private volatile Cache<Key, Boolean> tooLarge;
+
+    private int maxValues;
+
+    // metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Create the cache from the configuration, dropping the current lists. Disabled unless the size, the time to live
+     * and the maximum number of values of a list are positive.
+     */
+    @PostConstruct
+    public void init() {
+        long size = configurationService.getLongProperty("browse.value-cache.size", 50000);
+        long ttl = configurationService.getLongProperty("browse.value-cache.ttl", 3600);
+        // a list heavier than the whole cache would be evicted at once
+        maxValues = (int) Math.min(configurationService.getIntProperty("browse.value-cache.max-values", 5000), size);
+        if (size > 0 && ttl > 0 && maxValues > 0) {
+            lists = CacheBuilder.newBuilder()
+                                .maximumWeight(size)
+                                .weigher((Key key, Values values) -> values.values.size() + 1)
+                                .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                                .build();
+            tooLarge = CacheBuilder.newBuilder()
+                                   .maximumSize(MAX_TOO_LARGE_INDEXES)
+                                   .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                                   .build();
+        } else {
+            lists = null;
+            tooLarge = null;
+        }
+    }
+
+    /**
+     * Build the key of the values of a browse index
+     *
+     * @param context    current context
+     * @param facetField the Solr field of the browse index
+     * @param container  the community or collection the browse is limited to, may be null
+     * @return the key, or null if the values must not be shared: the cache is disabled, or the context made changes
+     * which are not committed yet
+     * @throws SQLException if database error
+     */
+    public Key getKey(Context context, String facetField, DSpaceObject container) throws SQLException {
+        if (lists == null || facetField == null || context.isAuthorizationChanged()) {
+            return null;
+        }
+        UUID scope = container == null ? null : container.getID();
+        if (authorizeService.isAdmin(context)) {
+            // administrators read everything
+            return new Key(facetField, scope, true, null, Set.of());
+        }
+        EPerson currentUser = context.getCurrentUser();
+        Set<UUID> groups = new HashSet<>(context.getSpecialGroupUuids());
+        for (Group group : groupService.allMemberGroupsSet(context, currentUser)) {
+            groups.add(group.getID());
+        }
+        // the users granted policies directly (e.g. on a single item) may read more than the other members
+        UUID eperson = currentUser != null && resourcePolicyService.countByEPerson(context, currentUser) > 0
+            ? currentUser.getID() : null;
+        return new Key(facetField, scope, false, eperson, groups);
+    }
+
+    /**
+     * @param key the key of the values, may be null
+     * @return whether the browse index had more values than allowed when it was last loaded, for any user
+     */
+    public boolean isTooLarge(Key key) {
+        return key != null && tooLarge.getIfPresent(key.getIndexKey()) != null;
+    }
+
+    /**
+     * @param key the key of the values, may be null
+     * @return the cached values, or null if they are not cached or they changed since they were loaded
+     */
+    public Values get(Key key) {
+        if (key == null) {
+            return null;
+        }
+        Values values = lists.getIfPresent(key);
+        if (values == null || values.indexGeneration != getIndexGeneration()
+            || values.authorizationGeneration != getAuthorizationGeneration()) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return values;
+    }
+
+    /**
+     * @return the current generation of the search core, to read before loading values and pass to
+     * {@link #put(Key, List, long, long)}
+     */
+    public long getIndexGeneration() {
+        return searchService.getIndexGeneration();
+    }
+
+    /**
+     * @return the current generation of the authorization decisions, to read before loading values and pass to
+     * {@link #put(Key, List, long, long)}
+     */
+    public long getAuthorizationGeneration() {
+        return authorizationDecisionCache.getGeneration();
+    }
+
+    /**
+     * @return the maximum number of values of a browse index kept in the cache
+     */
+    public int getMaxValues() {
+        return maxValues;
+    }
+
+    /**
+     * Cache the values of a browse index, unless the index, groups or policies changed while they were loaded. If
+     * there are too many values, the browse index is not loaded again for any user until this fact expires.
+     *
+     * @param key                     the key of the values, may be null
+     * @param values                  all the values of the browse index in ascending order, or null if there are
+     *                                more than {@link #getMaxValues()}
+     * @param indexGeneration         the generation of the search core when the loading started
+     * @param authorizationGeneration the generation of the authorization decisions when the loading started
+     * @return the cached values
+     */
+    public Values put(Key key, List<FacetResult> values, long indexGeneration, long authorizationGeneration) {
+        Values cached = new Values(values == null ? null : Collections.unmodifiableList(values),
+                                   indexGeneration, authorizationGeneration);
+        if (key != null && values == null) {
+            tooLarge.put(key.getIndexKey(), Boolean.TRUE);
+        } else if (key != null && getIndexGeneration() == indexGeneration
+            && getAuthorizationGeneration() == authorizationGeneration) {
+            lists.put(key, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * @return the number of browse pages read from the cache since startup
+     */
+    public long getCacheHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of browse index values which had to be loaded since startup
+     */
+    public long getCacheMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * The values of a browse index
+     */
+    public static final class Values {
+        private final List<FacetResult> values;
+        private final long indexGeneration;
+        private final long authorizationGeneration;
+
+        private Values(List<FacetResult> values, long indexGeneration, long authorizationGeneration) {
+            this.values = values;
+            this.indexGeneration = indexGeneration;
+            this.authorizationGeneration = authorizationGeneration;
+        }
+
+        /**
+         * @return all the values of the browse index in ascending order, or null if there are too many to be cached
+         */
+        public List<FacetResult> getValues() {
+            return values;
+        }
+    }
+
+    /**
+     * Identifies the values of a browse index seen by a user
+     */
+    public static final class Key {
+        private final String facetField;
+        private final UUID container;
+        private final boolean admin;
+        private final UUID eperson;
+        private final Set<UUID> groups;
+
+        private Key(String facetField, UUID container, boolean admin, UUID eperson, Set<UUID> groups) {
+            this.facetField = facetField;
+            this.container = container;
+            this.admin = admin;
+            this.eperson = eperson;
+            this.groups = Set.copyOf(groups);
+        }
+
+        /**
+         * @return the key of all the values of the browse index and community or collection, whatever the user
+         */
+        private Key getIndexKey() {
+            return admin ? this : new Key(facetField, container, true, null, Set.of());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return facetField.equals(key.facetField) && Objects.equals(container, key.container)
+                && admin == key.admin && Objects.equals(eperson, key.eperson) && groups.equals(key.groups);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(facetField, container, admin, eperson, groups);
+        }
+    }
+}
@@ -8,6 +8,7 @@
 package org.dspace.browse;
 
 import java.io.Serializable;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -169,8 +170,21 @@ public class SolrBrowseDAO implements BrowseDAO {
     SearchService searcher = DSpaceServicesFactory.getInstance().getServiceManager().getServiceByName(
         SearchService.class.getName(), SearchService.class);
 
+    BrowseValueCache browseValueCache = DSpaceServicesFactory.getInstance().getServiceManager().getServiceByName(
+        BrowseValueCache.class.getName(), BrowseValueCache.class);
+
     private DiscoverResult sResponse = null;
 
+    /**
+     * all the values of the distinct browse, see {@link #getBrowseValues()}
+     */
+    private BrowseValueCache.Values browseValues = null;
+
+    /**
+     * whether the values of the distinct browse are not used, see {@link #getBrowseValues()}
+     */
+    private boolean browseValuesSkipped = false;
+
     private boolean showFrequencies;
 
     private DiscoverResult getSolrResponse() throws BrowseException {
@@ -179,30 +193,7 @@ public class SolrBrowseDAO implements BrowseDAO {
             addLocationScopeFilter(query);
             addDefaultFilterQueries(query);
             if (distinct) {
-                // We use a json.facet query for metadata browsing because it allows us to limit the results
-                // while obtaining the total number of facet values with numBuckets:true and sort in reverse order
-                // Example of json.facet query:
-                // {"<fieldName>": {"type":"terms","field": "<fieldName>_filter", "limit":0, "offset":0,
-                // "sort":"index desc", "numBuckets":true, "prefix":"<startsWith>"}}
-                ObjectNode jsonFacet = JsonNodeFactory.instance.objectNode();
-                ObjectNode entriesFacet = JsonNodeFactory.instance.objectNode();
-                entriesFacet.put("type", "terms");
-                entriesFacet.put("field", facetField + "_filter");
-                entriesFacet.put("limit", limit);
-                entriesFacet.put("offset", offset);
-                entriesFacet.put("numBuckets", true);
-                if (ascending) {
-                    entriesFacet.put("sort", "index");
-                } else {
-                    entriesFacet.put("sort", "index desc");
-                }
-                if (StringUtils.isNotBlank(startsWith)) {
-                    // Add the prefix to the json facet query
-                    entriesFacet.put("prefix", startsWith);
-                }
-                jsonFacet.set(facetField, entriesFacet);
-                query.setMaxResults(0);
-                query.addProperty("json.facet", jsonFacet.toString());
+                addValuesFacet(query, limit, offset, ascending, startsWith, true);
             } else {
                 query.setMaxResults(limit/* > 0 ? limit : 20*/);
                 if (offset > 0) {
@@ -239,6 +230,125 @@ public class SolrBrowseDAO implements BrowseDAO {
         return sResponse;
     }
 
+    /**
+     * Add the json.facet query listing the values of the browse index
+     *
+     * @param query      the query
+     * @param limit      the maximum number of values
+     * @param offset     the number of values to skip
+     * @param ascending  whether the values are sorted in ascending order
+     * @param prefix     the prefix of the values, may be null
+     * @param numBuckets whether the total number of values must be counted
+     */
+    private void addValuesFacet(DiscoverQuery query, int limit, int offset, boolean ascending, String prefix,
+                                boolean numBuckets) {
+        // We use a json.facet query for metadata browsing because it allows us to limit the results
+        // while obtaining the total number of facet values with numBuckets:true and sort in reverse order
+        // Example of json.facet query:
+        // {"<fieldName>": {"type":"terms","field": "<fieldName>_filter", "limit":0, "offset":0,
+        // "sort":"index desc", "numBuckets":true, "prefix":"<startsWith>"}}
+        ObjectNode jsonFacet = JsonNodeFactory.instance.objectNode();
+        ObjectNode entriesFacet = JsonNodeFactory.instance.objectNode();
+        entriesFacet.put("type", "terms");
+        entriesFacet.put("field", facetField + "_filter");
+        entriesFacet.put("limit", limit);
+        entriesFacet.put("offset", offset);
+        entriesFacet.put("numBuckets", numBuckets);
+        if (ascending) {
+            entriesFacet.put("sort", "index");
+        } else {
+            entriesFacet.put("sort", "index desc");
+        }
+        if (StringUtils.isNotBlank(prefix)) {
+            // Add the prefix to the json facet query
+            entriesFacet.put("prefix", prefix);
+        }
+        jsonFacet.set(facetField, entriesFacet);
+        query.setMaxResults(0);
+        query.addProperty("json.facet", jsonFacet.toString());
+    }
+
+    /**
+     * Get all the values of the distinct browse, from the {@link BrowseValueCache} or with a single query, so that
+     * every page and "starts with" jump is read from the same sorted list instead of asking Solr to count and skip
+     * the values before it. The values are not loaded for the first page, which Solr does not need to skip.
+     *
+     * @return all the values in ascending order, or null if they are not used: the cache is disabled, there are
+     * too many values, or they are not cached yet and this is the first page
+     * @throws BrowseException if browse error
+     */
+    private List<FacetResult> getBrowseValues() throws BrowseException {
+        if (browseValues == null && !browseValuesSkipped) {
+            BrowseValueCache.Key key;
+            try {
+                key = browseValueCache.getKey(context, facetField, container);
+            } catch (SQLException e) {
+                throw new BrowseException(e);
+            }
+            browseValues = browseValueCache.get(key);
+            if (browseValues == null && (key == null || offset <= 0 || browseValueCache.isTooLarge(key))) {
+                browseValuesSkipped = true;
+            } else if (browseValues == null) {
+                long indexGeneration = browseValueCache.getIndexGeneration();
+                long authorizationGeneration = browseValueCache.getAuthorizationGeneration();
+                int maxValues = browseValueCache.getMaxValues();
+                DiscoverQuery query = new DiscoverQuery();
+                addLocationScopeFilter(query);
+                addDefaultFilterQueries(query);
+                // one more value than allowed tells whether there are too many
+                addValuesFacet(query, maxValues + 1, 0, true, null, false);
+                List<FacetResult> values;
+                try {
+                    values = new ArrayList<>(searcher.search(context, query).getFacetResult(facetField));
+                } catch (SearchServiceException e) {
+                    throw new BrowseException(e);
+                }
+                if (values.size() > maxValues) {
+                    log.debug("More than " + maxValues + " values in " + facetField + ", pages are queried");
+                    values = null;
+                }
+                browseValues = browseValueCache.put(key, values, indexGeneration, authorizationGeneration);
+            }
+        }
+        return browseValues == null ? null : browseValues.getValues();
+    }
+
+    /**
+     * Find the values of the browse which start with the startsWith value
+     *
+     * @param values all the values in ascending order
+     * @return the first (inclusive) and last (exclusive) index of the values
+     */
+    private int[] getBrowseValuesRange(List<FacetResult> values) {
+        if (StringUtils.isBlank(startsWith)) {
+            return new int[] {0, values.size()};
+        }
+        return new int[] {findBrowseValue(values, true), findBrowseValue(values, false)};
+    }
+
+    /**
+     * Binary search of the values starting with the startsWith value, which are contiguous in ascending order
+     *
+     * @param values all the values in ascending order
+     * @param first  whether to find the first value starting with the startsWith value, or the value after the last
+     * @return the index of the value
+     */
+    private int findBrowseValue(List<FacetResult> values, boolean first) {
+        int low = 0;
+        int high = values.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            String sortValue = StringUtils.defaultString(values.get(middle).getSortValue());
+            int comparison = sortValue.startsWith(startsWith) ? 0 : sortValue.compareTo(startsWith);
+            if (comparison < 0 || (comparison == 0 && !first)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
     private void addLocationScopeFilter(DiscoverQuery query) {
         if (container != null) {
             if (containerIDField.startsWith("collection")) {
@@ -256,6 +366,13 @@ public class SolrBrowseDAO implements BrowseDAO {
 
     @Override
     public int doCountQuery() throws BrowseException {
+        if (distinct) {
+            List<FacetResult> values = getBrowseValues();
+            if (values != null) {
+                int[] range = getBrowseValuesRange(values);
+                return range[1] - range[0];
+            }
+        }
         DiscoverResult resp = getSolrResponse();
         int count = 0;
         if (distinct) {
@@ -273,6 +390,18 @@ public class SolrBrowseDAO implements BrowseDAO {
 
     @Override
     public List doValueQuery() throws BrowseException {
+        List<FacetResult> values = getBrowseValues();
+        if (values != null) {
+            int[] range = getBrowseValuesRange(values);
+            int max = limit < 0 ? range[1] - range[0] : limit;
+            List<String[]> result = new ArrayList<>();
+            for (int i = offset; i < offset + max && i < range[1] - range[0]; i++) {
+                FacetResult c = values.get(ascending ? range[0] + i : range[1] - 1 - i);
+                String freq = showFrequencies ? String.valueOf(c.getCount()) : "";
+                result.add(new String[] {c.getDisplayedValue(), c.getAuthorityKey(), freq});
+            }
+            return result;
+        }
         DiscoverResult resp = getSolrResponse();
         List<FacetResult> facet = resp.getFacetResult(facetField);
         int count = doCountQuery();
@@ -362,6 +491,14 @@ public class SolrBrowseDAO implements BrowseDAO {
     @Override
     public int doDistinctOffsetQuery(String column, String value,
                                      boolean isAscending) throws BrowseException {
+        List<FacetResult> values = getBrowseValues();
+        if (values != null) {
+            int[] range = getBrowseValuesRange(values);
+            Comparator comparator = new SolrBrowseDAO.FacetValueComparator();
+            int x = Collections.binarySearch(values.subList(range[0], range[1]), value, comparator);
+            int ascValue = (x >= 0) ? x : -(x + 1);
+            return isAscending ? ascValue : range[1] - range[0] - ascValue;
+        }
         DiscoverResult resp = getSolrResponse();
         List<FacetResult> facets = resp.getFacetResult(facetField);
         Comparator comparator = new SolrBrowseDAO.FacetValueComparator();
@@ -10,9 +10,20 @@ package org.dspace.checker;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.logging.log4j.Logger;
 import org.dspace.checker.factory.CheckerServiceFactory;
 import org.dspace.checker.service.ChecksumHistoryService;
@@ -20,6 +31,8 @@ import org.dspace.checker.service.ChecksumResultService;
 import org.dspace.checker.service.MostRecentChecksumService;
 import org.dspace.content.Bitstream;
 import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.storage.bitstore.factory.StorageServiceFactory;
 import org.dspace.storage.bitstore.service.BitstreamStorageService;
 
@@ -78,6 +91,11 @@ public final class CheckerCommand {
      */
     private boolean reportVerbose = false;
 
+    /**
+     * Number of worker threads computing checksums
+     */
+    private int workers = 1;
+
     /**
      * Default constructor uses DSpace plugin manager to construct dependencies.
      *
@@ -120,6 +138,11 @@ public final class CheckerCommand {
         // bitstream table - this always done.
         checksumService.updateMissingBitstreams(context);
 
+        if (workers > 1) {
+            processInParallel();
+            return;
+        }
+
         Bitstream bitstream = dispatcher.next();
 
         while (bitstream != null) {
@@ -136,6 +159,167 @@ public final class CheckerCommand {
         }
     }
 
+    /**
+     * <p>
+     * Check the bitstreams of the dispatcher with a pool of worker threads. The
+     * dispatcher, and all database access, remain on the calling thread: each
+     * bitstream to checksum is claimed (its process start date is set) before
+     * it is handed to a worker, so the dispatcher does not return it again, and
+     * the results are written back and committed in batches of
+     * "checker.batch-size".
+     * </p>
+     *
+     * <p>
+     * "checker.store.max-concurrency" (or "checker.store.N.max-concurrency" for
+     * asset store N) limits the number of bitstreams read from a store at the
+     * same time, and "checker.max-throughput" caps the total read throughput
+     * in MB/s. Both are unlimited by default.
+     * </p>
+     *
+     * @throws SQLException if database error
+     */
+    protected void processInParallel() throws SQLException {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        int batchSize = Math.max(1, configurationService.getIntProperty("checker.batch-size", 100));
+        int maxThroughput = configurationService.getIntProperty("checker.max-throughput", 0);
+        // permits are kilobytes
+        RateLimiter rateLimiter = maxThroughput > 0 ? RateLimiter.create(maxThroughput * 1024.0) : null;
+        Map<Integer, Semaphore> storeLimits = new ConcurrentHashMap<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers,
+            new BasicThreadFactory.Builder().namingPattern("checker-%d").daemon(true).build());
+        CompletionService<ChecksumTask> completionService = new ExecutorCompletionService<>(executor);
+        List<MostRecentChecksum> batch = new ArrayList<>();
+        int pending = 0;
+        long checkedBytes = 0;
+        long start = System.currentTimeMillis();
+        try {
+            Bitstream bitstream = dispatcher.next();
+            while (bitstream != null) {
+                LOG.debug("Processing bitstream id = " + bitstream.getID());
+                MostRecentChecksum info = checksumService.findByBitstream(context, bitstream);
+                if (info == null || !info.isToBeProcessed() || info.getBitstream().isDeleted()) {
+                    // nothing to read, handle it right away
+                    collect(checkBitstream(bitstream));
+                    context.uncacheEntity(bitstream);
+                } else {
+                    info.setProcessStartDate(Instant.now());
+                    checksumService.update(context, info);
+                    // read everything the worker needs here, so it never touches the Hibernate session
+                    ChecksumTask task = new ChecksumTask(info, bitstream, bitstream.getStoreNumber(),
+                                                         bitstream.getSizeBytes());
+                    Semaphore storeLimit = storeLimits.computeIfAbsent(task.storeNumber,
+                        storeNumber -> createStoreLimit(configurationService, storeNumber));
+                    completionService.submit(() -> task.compute(rateLimiter, storeLimit));
+                    pending++;
+                }
+
+                // don't read ahead more than a few bitstreams per worker
+                while (pending >= workers * 2 || (pending > 0 && batch.size() >= batchSize)) {
+                    ChecksumTask done = take(completionService);
+                    pending--;
+                    checkedBytes += done.sizeBytes;
+                    recordChecksum(done.info, done.checksumMap, done.error);
+                    collect(done.info);
+                    batch.add(done.info);
+                    if (batch.size() >= batchSize) {
+                        commitBatch(batch, checkedBytes, start);
+                    }
+                }
+                bitstream = dispatcher.next();
+            }
+            while (pending > 0) {
+                ChecksumTask done = take(completionService);
+                pending--;
+                checkedBytes += done.sizeBytes;
+                recordChecksum(done.info, done.checksumMap, done.error);
+                collect(done.info);
+                batch.add(done.info);
+            }
+            commitBatch(batch, checkedBytes, start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Semaphore createStoreLimit(ConfigurationService configurationService, Integer storeNumber) {
+        int limit = configurationService.getIntProperty("checker.store." + storeNumber + ".max-concurrency",
+            configurationService.getIntProperty("checker.store.max-concurrency", 0));
+        return limit > 0 ? new Semaphore(limit) : null;
+    }
+
+    private ChecksumTask take(CompletionService<ChecksumTask> completionService) throws SQLException {
+        try {
+            return completionService.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for checksums", e);
+        } catch (ExecutionException e) {
+            // ChecksumTask.compute handles all checked exceptions
+            throw new IllegalStateException("Error while computing a checksum", e.getCause());
+        }
+    }
+
+    private void commitBatch(List<MostRecentChecksum> batch, long checkedBytes, long start) throws SQLException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        context.commit();
+        for (MostRecentChecksum info : batch) {
+            context.uncacheEntity(info.getBitstream());
+        }
+        batch.clear();
+        long seconds = Math.max(1, (System.currentTimeMillis() - start) / 1000);
+        LOG.info("Checked {} MB in {} s ({} MB/s)", checkedBytes / (1024 * 1024), seconds,
+                 checkedBytes / (1024 * 1024) / seconds);
+    }
+
+    private void collect(MostRecentChecksum info) throws SQLException {
+        if (reportVerbose
+            || !ChecksumResultCode.CHECKSUM_MATCH.equals(info.getChecksumResult().getResultCode())) {
+            collector.collect(context, info);
+        }
+    }
+
+    /**
+     * Checksum computation for a claimed bitstream, executed by a worker thread.
+     * It only reads the asset store, never the database.
+     */
+    private class ChecksumTask {
+        private final MostRecentChecksum info;
+        private final Bitstream bitstream;
+        private final Integer storeNumber;
+        private final long sizeBytes;
+        private Map<String, Object> checksumMap;
+        private IOException error;
+
+        ChecksumTask(MostRecentChecksum info, Bitstream bitstream, Integer storeNumber, long sizeBytes) {
+            this.info = info;
+            this.bitstream = bitstream;
+            this.storeNumber = storeNumber;
+            this.sizeBytes = sizeBytes;
+        }
+
+        ChecksumTask compute(RateLimiter rateLimiter, Semaphore storeLimit) throws InterruptedException {
+            if (rateLimiter != null) {
+                rateLimiter.acquire((int) Math.min(Integer.MAX_VALUE, Math.max(1, sizeBytes / 1024)));
+            }
+            if (storeLimit != null) {
+                storeLimit.acquire();
+            }
+            try {
+                checksumMap = bitstreamStorageService.computeChecksum(context, bitstream);
+            } catch (IOException e) {
+                error = e;
+            } finally {
+                if (storeLimit != null) {
+                    storeLimit.release();
+                }
+            }
+            return this;
+        }
+    }
+
     /**
      * Check a specified bitstream.
      *
@@ -244,9 +428,34 @@ public final class CheckerCommand {
     protected void processBitstream(MostRecentChecksum info) throws SQLException {
         info.setProcessStartDate(Instant.now());
 
+        Map<String, Object> checksumMap = null;
+        IOException error = null;
         try {
-            Map<String, Object> checksumMap = bitstreamStorageService.computeChecksum(context, info.getBitstream());
-            if (MapUtils.isNotEmpty(checksumMap)) {
+            checksumMap = bitstreamStorageService.computeChecksum(context, info.getBitstream());
+        } catch (IOException e) {
+            error = e;
+        }
+        recordChecksum(info, checksumMap, error);
+    }
+
+    /**
+     * Compare a computed checksum with the expected one, and record the result in the database.
+     *
+     * @param info        BitstreamInfo to handle
+     * @param checksumMap the checksum computed by the asset store, if any
+     * @param error       the error raised by the asset store while computing the checksum, if any
+     * @throws SQLException if database error
+     */
+    protected void recordChecksum(MostRecentChecksum info, Map<String, Object> checksumMap, IOException error)
+        throws SQLException {
+        try {
+            if (error != null) {
+                // bitstream located, but file missing from asset store
+                info.setChecksumResult(getChecksumResultByCode(ChecksumResultCode.BITSTREAM_NOT_FOUND));
+                info.setToBeProcessed(false);
+                LOG.error("Error retrieving bitstream ID " + info.getBitstream().getID()
+                              + " from " + "asset store.", error);
+            } else if (MapUtils.isNotEmpty(checksumMap)) {
                 info.setBitstreamFound(true);
                 if (checksumMap.containsKey("checksum")) {
                     info.setCurrentChecksum(checksumMap.get("checksum").toString());
@@ -265,12 +474,6 @@ public final class CheckerCommand {
                 info.setToBeProcessed(false);
             }
 
-        } catch (IOException e) {
-            // bitstream located, but file missing from asset store
-            info.setChecksumResult(getChecksumResultByCode(ChecksumResultCode.BITSTREAM_NOT_FOUND));
-            info.setToBeProcessed(false);
-            LOG.error("Error retrieving bitstream ID " + info.getBitstream().getID()
-                          + " from " + "asset store.", e);
         } catch (SQLException e) {
             // ??this code only executes if an SQL
             // exception occurs in *DSpace* code, probably
@@ -345,6 +548,25 @@ public final class CheckerCommand {
         processStartDate = startDate;
     }
 
+    /**
+     * Get the number of worker threads computing checksums.
+     *
+     * @return the number of worker threads
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Set the number of worker threads computing checksums. With more than one
+     * worker, bitstreams are checked concurrently.
+     *
+     * @param workers the number of worker threads
+     */
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
     /**
      * Determine if any errors are reported
      *
@@ -237,6 +237,11 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return item;
     }
 
+    @Override
+    public List<Item> findByIds(Context context, List<UUID> uuids) throws SQLException {
+        return itemDAO.findByIds(context, uuids);
+    }
+
     @Override
     public Item create(Context context, WorkspaceItem workspaceItem) throws SQLException, AuthorizeException {
         return create(context, workspaceItem, null);
@@ -356,6 +361,11 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return itemDAO.findAllRegularItems(context);
     }
 
+    @Override
+    public Iterator<Item> findAllRegularItems(Context context, UUID fromId, UUID toId) throws SQLException {
+        return itemDAO.findAllRegularItems(context, fromId, toId);
+    }
+
     @Override
     public Iterator<Item> findBySubmitter(Context context, EPerson eperson) throws SQLException {
         return itemDAO.findBySubmitter(context, eperson);
@@ -1699,6 +1709,11 @@ prevent the generation of resource policy entry values with null dspace_object a
         return itemDAO.findByLastModifiedSince(context, last);
     }
 
+    @Override
+    public List<UUID> findExistingIds(Context context, List<UUID> ids) throws SQLException {
+        return itemDAO.findExistingIds(context, ids);
+    }
+
     @Override
     public int countTotal(Context context) throws SQLException {
         return itemDAO.countRows(context);
@@ -1766,6 +1781,12 @@ prevent the generation of resource policy entry values with null dspace_object a
     @Override
     public List<MetadataValue> getMetadata(Item item, String schema, String element, String qualifier, String lang,
                                            boolean enableVirtualMetadata) {
+        return getMetadata(null, item, schema, element, qualifier, lang, enableVirtualMetadata);
+    }
+
+    @Override
+    public List<MetadataValue> getMetadata(Context context, Item item, String schema, String element,
+                                           String qualifier, String lang, boolean enableVirtualMetadata) {
         if (!enableVirtualMetadata) {
             log.debug("Called getMetadata for " + item.getID() + " without enableVirtualMetadata");
             return super.getMetadata(item, schema, element, qualifier, lang);
@@ -1776,7 +1797,9 @@ prevent the generation of resource policy entry values with null dspace_object a
             List<MetadataValue> dbMetadataValues = item.getMetadata();
 
             List<MetadataValue> fullMetadataValueList = new LinkedList<>();
-            fullMetadataValueList.addAll(relationshipMetadataService.getRelationshipMetadata(item, true));
+            fullMetadataValueList.addAll(context != null
+                ? relationshipMetadataService.getRelationshipMetadata(context, item, true)
+                : relationshipMetadataService.getRelationshipMetadata(item, true));
             fullMetadataValueList.addAll(dbMetadataValues);
 
             item.setCachedMetadata(MetadataValueComparators.sort(fullMetadataValueList));
@@ -1795,6 +1818,21 @@ prevent the generation of resource policy entry values with null dspace_object a
         return values;
     }
 
+    @Override
+    public void loadVirtualMetadata(Context context, List<Item> items) {
+        List<Item> toLoad = items.stream().filter(Item::isModifiedMetadataCache).collect(Collectors.toList());
+        if (toLoad.isEmpty()) {
+            return;
+        }
+        Map<UUID, List<RelationshipMetadataValue>> virtualMetadata =
+            relationshipMetadataService.getRelationshipMetadata(context, toLoad, true);
+        for (Item item : toLoad) {
+            List<MetadataValue> fullMetadataValueList = new LinkedList<>(virtualMetadata.get(item.getID()));
+            fullMetadataValueList.addAll(item.getMetadata());
+            item.setCachedMetadata(MetadataValueComparators.sort(fullMetadataValueList));
+        }
+    }
+
     /**
      * Supports moving metadata by adding the metadata value or updating the place of the relationship
      */
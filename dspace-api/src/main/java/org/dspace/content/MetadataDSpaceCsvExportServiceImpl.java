@@ -7,15 +7,24 @@
  */
 package org.dspace.content;
 
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
 
+import com.google.common.collect.Lists;
 import org.dspace.app.bulkedit.DSpaceCSV;
+import org.dspace.app.bulkedit.DSpaceCSVLine;
 import org.dspace.app.util.service.DSpaceObjectUtils;
 import org.dspace.content.service.ItemService;
 import org.dspace.content.service.MetadataDSpaceCsvExportService;
@@ -45,6 +54,30 @@ public class MetadataDSpaceCsvExportServiceImpl implements MetadataDSpaceCsvExpo
     @Override
     public DSpaceCSV handleExport(Context context, boolean exportAllItems, boolean exportAllMetadata, String identifier,
                                   DSpaceRunnableHandler handler) throws Exception {
+        Iterator<Item> toExport = findItemsToExport(context, exportAllItems, identifier, handler);
+        DSpaceCSV csv = this.export(context, toExport, exportAllMetadata, handler);
+        return csv;
+    }
+
+    @Override
+    public void handleExport(Context context, boolean exportAllItems, boolean exportAllMetadata, String identifier,
+                             OutputStream output, DSpaceRunnableHandler handler) throws Exception {
+        Iterator<Item> toExport = findItemsToExport(context, exportAllItems, identifier, handler);
+        this.export(context, toExport, exportAllMetadata, output, handler);
+    }
+
+    /**
+     * Find the items to export: all the items in the repository, or the items of a community, collection or item
+     *
+     * @param context        DSpace context
+     * @param exportAllItems whether the entire repository should be exported
+     * @param identifier     handle or UUID of the community, collection or item to export
+     * @param handler        handler of the script
+     * @return the items
+     * @throws SQLException if database error
+     */
+    private Iterator<Item> findItemsToExport(Context context, boolean exportAllItems, String identifier,
+                                             DSpaceRunnableHandler handler) throws SQLException {
         Iterator<Item> toExport = null;
 
         if (exportAllItems) {
@@ -80,8 +113,45 @@ public class MetadataDSpaceCsvExportServiceImpl implements MetadataDSpaceCsvExpo
             }
         }
 
-        DSpaceCSV csv = this.export(context, toExport, exportAllMetadata, handler);
-        return csv;
+        return toExport;
+    }
+
+    @Override
+    public void export(Context context, Iterator<Item> toExport, boolean exportAll, OutputStream output,
+                       DSpaceRunnableHandler handler) throws Exception {
+        Context.Mode originalMode = context.getCurrentMode();
+        context.setMode(Context.Mode.READ_ONLY);
+        int chunkSize = Math.max(1, configurationService.getIntProperty("bulkedit.export.chunk.size", 1000));
+        DSpaceCSV csv = new DSpaceCSV(exportAll);
+
+        // First pass: find the headings, only keeping the ids of the items to export
+        int itemExportLimit = getCsvExportLimit();
+        List<UUID> ids = new ArrayList<>();
+        for (int itemsAdded = 0; toExport.hasNext() && itemsAdded < itemExportLimit; itemsAdded++) {
+            Item item = toExport.next();
+            if (csv.toCSVLine(item) != null) {
+                ids.add(item.getID());
+            }
+            context.uncacheEntity(item);
+        }
+
+        // Second pass: write the lines, loading the items again one chunk at a time
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        csv.writeHeadings(writer);
+        for (List<UUID> chunk : Lists.partition(ids, chunkSize)) {
+            for (UUID id : chunk) {
+                Item item = itemService.find(context, id);
+                DSpaceCSVLine line = item == null ? null : csv.toCSVLine(item);
+                if (line != null) {
+                    csv.writeLine(writer, line);
+                }
+            }
+            writer.flush();
+            context.uncacheEntities();
+        }
+        writer.flush();
+
+        context.setMode(originalMode);
     }
 
     @Override
@@ -112,38 +182,82 @@ public class MetadataDSpaceCsvExportServiceImpl implements MetadataDSpaceCsvExpo
     }
 
     /**
-     * Build a Java Collection of item IDs that are in a Community (including
-     * its sub-Communities and Collections)
+     * Iterate over the items that are in a Community (including its sub-Communities and Collections), one collection
+     * at a time
      *
      * @param context   DSpace context
      * @param community The community to build from
-     * @return Iterator over the Collection of item ids
+     * @return Iterator over the items, each returned once even if it is mapped to several collections
      * @throws SQLException if database error
      */
     private Iterator<Item> buildFromCommunity(Context context, Community community)
         throws SQLException {
-        Set<Item> result = new HashSet<>();
-
-        // Add all the collections
-        List<Collection> collections = community.getCollections();
-        for (Collection collection : collections) {
-            // Never obtain more items than the configured limit
-            Iterator<Item> items = itemService.findByCollection(context, collection, getCsvExportLimit(), 0);
-            while (result.size() < getCsvExportLimit() && items.hasNext()) {
-                result.add(items.next());
-            }
+        List<Collection> collections = new ArrayList<>();
+        addCollections(community, collections);
+        return new CollectionsItemIterator(context, collections.iterator());
+    }
+
+    /**
+     * Add the collections of a community and of its sub-communities
+     *
+     * @param community   the community
+     * @param collections the list to add the collections to
+     */
+    private void addCollections(Community community, List<Collection> collections) {
+        collections.addAll(community.getCollections());
+        for (Community subCommunity : community.getSubcommunities()) {
+            addCollections(subCommunity, collections);
         }
+    }
 
-        // Add all the sub-communities
-        List<Community> communities = community.getSubcommunities();
-        for (Community subCommunity : communities) {
-            Iterator<Item> items = buildFromCommunity(context, subCommunity);
-            while (result.size() < getCsvExportLimit() && items.hasNext()) {
-                result.add(items.next());
+    /**
+     * Iterates over the items of several collections, reading the items of one collection at a time, and skipping
+     * the items already returned for a previous collection. Only the ids of the returned items are kept. Never
+     * returns more items than the configured limit.
+     */
+    private class CollectionsItemIterator implements Iterator<Item> {
+        private final Context context;
+        private final Iterator<Collection> collections;
+        private final Set<UUID> returned = new HashSet<>();
+        private Iterator<Item> items = Collections.emptyIterator();
+        private Item next;
+
+        CollectionsItemIterator(Context context, Iterator<Collection> collections) {
+            this.context = context;
+            this.collections = collections;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null && returned.size() < getCsvExportLimit()) {
+                    if (items.hasNext()) {
+                        Item item = items.next();
+                        if (returned.add(item.getID())) {
+                            next = item;
+                        }
+                    } else if (collections.hasNext()) {
+                        // Never obtain more items than the configured limit
+                        items = itemService.findByCollection(context, collections.next(), getCsvExportLimit(), 0);
+                    } else {
+                        break;
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Unable to read the items of a collection", e);
             }
+            return next != null;
         }
 
-        return result.iterator();
+        @Override
+        public Item next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Item item = next;
+            next = null;
+            return item;
+        }
     }
 
     @Override
@@ -0,0 +1,56 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+
+/**
+ * Consumer evicting changed items from the virtual metadata cache of the {@link RelationshipMetadataService}, once
+ * the changes are committed: other contexts may cache the virtual metadata computed from the previous values until
+ * then. Relationship changes are covered too, as they update the items on both sides.
+ */
+public class RelationshipMetadataCacheConsumer implements Consumer {
+
+    private final Set<UUID> itemsToEvict = new HashSet<>();
+
+    private RelationshipMetadataService relationshipMetadataService;
+
+    @Override
+    public void initialize() throws Exception {
+        relationshipMetadataService = ContentServiceFactory.getInstance().getRelationshipMetadataService();
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        if (event.getSubjectType() == Constants.ITEM && event.getSubjectID() != null) {
+            itemsToEvict.add(event.getSubjectID());
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        if (!itemsToEvict.isEmpty()) {
+            Set<UUID> items = Set.copyOf(itemsToEvict);
+            itemsToEvict.clear();
+            ctx.runAfterCommit(() -> relationshipMetadataService.clearCache(items));
+        }
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+
+    }
+}
@@ -8,7 +8,10 @@
 package org.dspace.content;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import org.dspace.content.virtual.VirtualMetadataPopulator;
 import org.dspace.core.Context;
@@ -30,6 +33,46 @@ public interface RelationshipMetadataService {
      */
     public List<RelationshipMetadataValue> getRelationshipMetadata(Item item, boolean enableVirtualMetadata);
 
+    /**
+     * This method retrieves a list of MetadataValue objects that get constructed from processing
+     * the given Item's Relationships through the config given to the {@link VirtualMetadataPopulator},
+     * using the given context
+     * @param context               The relevant DSpace context
+     * @param item                  The Item that will be processed through it's Relationships
+     * @param enableVirtualMetadata This parameter will determine whether the list of Relationship metadata
+     *                              should be populated with metadata that is being generated through the
+     *                              VirtualMetadataPopulator functionality or not
+     * @return                      The list of MetadataValue objects constructed through the Relationships
+     */
+    public List<RelationshipMetadataValue> getRelationshipMetadata(Context context, Item item,
+                                                                   boolean enableVirtualMetadata);
+
+    /**
+     * Retrieves the Relationship metadata of several Items at once: the Relationships of all the Items, and the
+     * Items on their other side, are loaded together instead of one Item at a time.
+     * @param context               The relevant DSpace context
+     * @param items                 The Items that will be processed through their Relationships
+     * @param enableVirtualMetadata This parameter will determine whether the list of Relationship metadata
+     *                              should be populated with metadata that is being generated through the
+     *                              VirtualMetadataPopulator functionality or not
+     * @return                      The list of MetadataValue objects constructed through the Relationships,
+     *                              by Item uuid. Every given Item is present
+     */
+    public Map<UUID, List<RelationshipMetadataValue>> getRelationshipMetadata(Context context, Collection<Item> items,
+                                                                              boolean enableVirtualMetadata);
+
+    /**
+     * Forget the cached Relationship metadata of the given Items, and of the Items whose Relationship metadata
+     * was constructed from them
+     * @param items The uuids of Items whose metadata or Relationships changed
+     */
+    public void clearCache(Collection<UUID> items);
+
+    /**
+     * Forget all the cached Relationship metadata
+     */
+    public void clearCache();
+
     /**
      * Retrieves the list of RelationshipMetadataValue objects specific to only one Relationship of the item.
      *
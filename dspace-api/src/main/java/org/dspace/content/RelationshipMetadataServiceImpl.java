@@ -11,13 +11,29 @@ import static org.dspace.content.RelationshipType.Tilted.LEFT;
 import static org.dspace.content.RelationshipType.Tilted.RIGHT;
 
 import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PostConstruct;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.dao.pojo.ItemUuidAndRelationshipId;
@@ -29,8 +45,26 @@ import org.dspace.content.virtual.VirtualMetadataConfiguration;
 import org.dspace.content.virtual.VirtualMetadataPopulator;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.model.Request;
+import org.dspace.utils.DSpace;
+import org.dspace.web.ContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 
+/**
+ * Constructs the virtual metadata of items from their relationships.
+ * <p>
+ * The computed virtual metadata can be cached, shared by all the contexts which have no uncommitted changes, until
+ * the item or one of its related items changes and the change is committed (see
+ * {@link RelationshipMetadataCacheConsumer}) or a configurable time elapses. The cache is disabled by default.
+ * <p>
+ * A change is passed on transitively: the items whose virtual metadata was computed from a changed item are evicted,
+ * then the items computed from those, and so on. The dependencies are kept when an entry is evicted for size or
+ * expiry, so that a change is also passed on through an item which is no longer cached. Only the dependencies on the
+ * related items of an item are known though: virtual metadata copied from an item further away (see
+ * {@link org.dspace.content.virtual.Related}) is evicted through the related item in between only if the virtual
+ * metadata of that item was computed since its last change. Otherwise it is refreshed after the time to live.
+ */
 public class RelationshipMetadataServiceImpl implements RelationshipMetadataService {
 
     /**
@@ -53,38 +87,434 @@ public class RelationshipMetadataServiceImpl implements RelationshipMetadataServ
     @Autowired(required = true)
     protected MetadataFieldService metadataFieldService;
 
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
+    /**
+     * Computed virtual metadata of the items, shared by all the contexts. Weighed by the number of values.
+     */
+    private volatile Cache<CacheKey, CachedMetadata> cache;
+
+    /**
+     * The cache keys of the items whose virtual metadata was computed from the metadata of an item, by item uuid.
+     * Kept when the entries are evicted, and cleared with the whole cache when it holds more than maxDependents items.
+     */
+    private final Map<UUID, Set<CacheKey>> dependents = new ConcurrentHashMap<>();
+
+    private long maxDependents;
+
+    /**
+     * Incremented by every invalidation, so that virtual metadata computed before an invalidation is not cached
+     * after it
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Create the cache from the configuration, dropping the cached virtual metadata. Disabled unless both the size and
+     * the time to live are positive.
+     */
+    @PostConstruct
+    public void init() {
+        long size = configurationService.getLongProperty("relationship.metadata.cache.size", 0);
+        long ttl = configurationService.getLongProperty("relationship.metadata.cache.ttl", 600);
+        clearCache();
+        if (size > 0 && ttl > 0) {
+            cache = CacheBuilder.newBuilder()
+                                .maximumWeight(size)
+                                .weigher((CacheKey key, CachedMetadata value) -> value.values.size() + 1)
+                                .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                                .recordStats()
+                                .build();
+            maxDependents = size;
+        } else {
+            cache = null;
+        }
+    }
+
     @Override
     public List<RelationshipMetadataValue> getRelationshipMetadata(Item item, boolean enableVirtualMetadata) {
-        Context context = new Context();
-        List<RelationshipMetadataValue> fullMetadataValueList = new LinkedList<>();
+        Context context = getCurrentRequestContext();
+        if (context != null) {
+            return getRelationshipMetadata(context, item, enableVirtualMetadata);
+        }
+        // We don't know which changes the caller has made in the transaction of this thread, so they may not be
+        // visible to other threads yet: don't share anything through the cache.
+        // The new Context uses the Hibernate session bound to this thread, the one of the caller, so it holds no
+        // connection of its own. It must not be closed: that would roll back and close the session of the caller.
+        return getRelationshipMetadata(new Context(), List.of(item), enableVirtualMetadata, false)
+            .getOrDefault(item.getID(), new LinkedList<>());
+    }
+
+    @Override
+    public List<RelationshipMetadataValue> getRelationshipMetadata(Context context, Item item,
+                                                                   boolean enableVirtualMetadata) {
+        return getRelationshipMetadata(context, List.of(item), enableVirtualMetadata).get(item.getID());
+    }
+
+    @Override
+    public Map<UUID, List<RelationshipMetadataValue>> getRelationshipMetadata(Context context,
+                                                                              Collection<Item> items,
+                                                                              boolean enableVirtualMetadata) {
+        // uncommitted changes must neither be shared with other contexts, nor hidden by the cache, including while
+        // the event consumers run: the cached virtual metadata of the changed items is only evicted after the commit
+        return getRelationshipMetadata(context, items, enableVirtualMetadata, !context.hasUncommittedEvents());
+    }
+
+    /**
+     * Compute the virtual metadata of the given items, loading the relationships of all the items which are not
+     * cached in a single query.
+     *
+     * @param context               The context
+     * @param items                 The items whose virtual metadata is requested
+     * @param enableVirtualMetadata Determines whether the VirtualMetadataPopulator should be used
+     * @param useCache              Whether virtual metadata may be read from and stored in the shared cache
+     * @return                      The virtual metadata values by item uuid; every item is present
+     */
+    protected Map<UUID, List<RelationshipMetadataValue>> getRelationshipMetadata(
+        Context context, Collection<Item> items, boolean enableVirtualMetadata, boolean useCache
+    ) {
+        Map<UUID, List<RelationshipMetadataValue>> result = new HashMap<>();
+        List<Item> missing = new ArrayList<>();
+        for (Item item : items) {
+            CachedMetadata cached = useCache && cache != null
+                ? cache.getIfPresent(new CacheKey(item.getID(), enableVirtualMetadata)) : null;
+            if (cached != null) {
+                result.put(item.getID(), cached.toMetadataValues(context, item));
+            } else {
+                result.put(item.getID(), new LinkedList<>());
+                missing.add(item);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long generation = this.generation.get();
         try {
-            EntityType entityType = itemService.getEntityType(context, item);
-            if (entityType != null) {
-                // NOTE: The following code will add metadata fields of type relation.*.latestForDiscovery
-                //       (e.g. relation.isAuthorOfPublication.latestForDiscovery).
-                //       These fields contain the UUIDs of the items that have a relationship with current item,
-                //       from the perspective of the other item. In other words, given a relationship with this item,
-                //       the current item should have "latest status" in order for the other item to appear in
-                //       relation.*.latestForDiscovery fields.
-                fullMetadataValueList.addAll(findLatestForDiscoveryMetadataValues(context, item, entityType));
-
-                // NOTE: The following code will, among other things,
-                //       add metadata fields of type relation.* (e.g. relation.isAuthorOfPublication).
-                //       These fields contain the UUIDs of the items that have a relationship with current item,
-                //       from the perspective of this item. In other words, given a relationship with this item,
-                //       the other item should have "latest status" in order to appear in relation.* fields.
-                List<Relationship> relationships = relationshipService.findByItem(context, item, -1, -1, true);
-                for (Relationship relationship : relationships) {
-                    fullMetadataValueList
-                        .addAll(findRelationshipMetadataValueForItemRelationship(context, item, entityType.getLabel(),
-                                relationship, enableVirtualMetadata));
+            Map<Item, EntityType> entityTypes = new LinkedHashMap<>();
+            for (Item item : missing) {
+                EntityType entityType = itemService.getEntityType(context, item);
+                if (entityType != null) {
+                    entityTypes.put(item, entityType);
+                }
+            }
+            Map<UUID, List<Relationship>> relationshipsByItem = new HashMap<>();
+            if (!entityTypes.isEmpty()) {
+                for (Relationship relationship : relationshipService.findByItems(context, entityTypes.keySet())) {
+                    relationshipsByItem.computeIfAbsent(relationship.getLeftItem().getID(), id -> new ArrayList<>())
+                                       .add(relationship);
+                    if (!relationship.getLeftItem().getID().equals(relationship.getRightItem().getID())) {
+                        relationshipsByItem
+                            .computeIfAbsent(relationship.getRightItem().getID(), id -> new ArrayList<>())
+                            .add(relationship);
+                    }
                 }
+            }
 
+            for (Item item : missing) {
+                List<RelationshipMetadataValue> fullMetadataValueList = result.get(item.getID());
+                Set<UUID> relatedItems = new HashSet<>();
+                EntityType entityType = entityTypes.get(item);
+                if (entityType != null) {
+                    List<Relationship> relationships =
+                        relationshipsByItem.getOrDefault(item.getID(), Collections.emptyList());
+
+                    // NOTE: The following code will add metadata fields of type relation.*.latestForDiscovery
+                    //       (e.g. relation.isAuthorOfPublication.latestForDiscovery).
+                    //       These fields contain the UUIDs of the items that have a relationship with current item,
+                    //       from the perspective of the other item. In other words, given a relationship with this
+                    //       item, the current item should have "latest status" in order for the other item to
+                    //       appear in relation.*.latestForDiscovery fields.
+                    fullMetadataValueList.addAll(
+                        findLatestForDiscoveryMetadataValues(context, item, entityType, relationships));
+
+                    // NOTE: The following code will, among other things,
+                    //       add metadata fields of type relation.* (e.g. relation.isAuthorOfPublication).
+                    //       These fields contain the UUIDs of the items that have a relationship with current item,
+                    //       from the perspective of this item. In other words, given a relationship with this item,
+                    //       the other item should have "latest status" in order to appear in relation.* fields.
+                    for (Relationship relationship : findLatestRelationships(item, relationships)) {
+                        fullMetadataValueList
+                            .addAll(findRelationshipMetadataValueForItemRelationship(context, item,
+                                    entityType.getLabel(), relationship, enableVirtualMetadata));
+                        relatedItems.add(relationship.getLeftItem().getID());
+                        relatedItems.add(relationship.getRightItem().getID());
+                    }
+                }
+                if (useCache) {
+                    cacheMetadata(new CacheKey(item.getID(), enableVirtualMetadata), fullMetadataValueList,
+                                  relatedItems, generation);
+                }
             }
         } catch (SQLException e) {
-            log.error("Lookup for Relationships for item with uuid: " + item.getID() + " caused DSpace to crash", e);
+            log.error("Lookup for Relationships for items with uuids: "
+                          + missing.stream().map(Item::getID).collect(Collectors.toList())
+                          + " caused DSpace to crash", e);
+        }
+        return result;
+    }
+
+    /**
+     * Select the relationships of an item in which the other item has "latest status", excluding those whose type
+     * is tilted towards the item, in the same order as
+     * {@link RelationshipService#findByItem(Context, Item, Integer, Integer, boolean, boolean)}
+     *
+     * @param item          The item
+     * @param relationships All the relationships of the item
+     * @return              The relationships from which relation.* metadata is created
+     */
+    protected List<Relationship> findLatestRelationships(Item item, List<Relationship> relationships) {
+        return relationships.stream()
+            .filter(relationship -> {
+                RelationshipType.Tilted tilted = relationship.getRelationshipType().getTilted();
+                Relationship.LatestVersionStatus status = relationship.getLatestVersionStatus();
+                return (isLeftItem(item, relationship) && tilted != RIGHT
+                            && status != Relationship.LatestVersionStatus.LEFT_ONLY)
+                    || (isRightItem(item, relationship) && tilted != LEFT
+                            && status != Relationship.LatestVersionStatus.RIGHT_ONLY);
+            })
+            .sorted(Comparator
+                .comparing((Relationship relationship) -> relationship.getRelationshipType().getLeftwardType())
+                .thenComparingInt(relationship -> isLeftItem(item, relationship)
+                    ? relationship.getLeftPlace() : relationship.getRightPlace()))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Create the list of relation.*.latestForDiscovery virtual metadata values for the given item, from its
+     * relationships which are already loaded.
+     * @param context the DSpace context.
+     * @param item the item.
+     * @param itemEntityType the entity type of the item.
+     * @param relationships all the relationships of the item.
+     * @return a list (may be empty) of metadata values of type relation.*.latestForDiscovery.
+     * @see #findLatestForDiscoveryMetadataValues(Context, Item, EntityType)
+     */
+    protected List<RelationshipMetadataValue> findLatestForDiscoveryMetadataValues(
+        Context context, Item item, EntityType itemEntityType, List<Relationship> relationships
+    ) {
+        final String schema = MetadataSchemaEnum.RELATION.getName();
+        final String qualifier = "latestForDiscovery";
+
+        Map<String, List<ItemUuidAndRelationshipId>> dataByElement = new LinkedHashMap<>();
+        for (Relationship relationship : relationships) {
+            RelationshipType relationshipType = relationship.getRelationshipType();
+            Relationship.LatestVersionStatus status = relationship.getLatestVersionStatus();
+
+            // item is on left side of this relationship, and has "latest status": see the notes below
+            if (relationshipType.getTilted() != RIGHT
+                    && Objects.equals(relationshipType.getLeftType(), itemEntityType)
+                    && isLeftItem(item, relationship) && status != Relationship.LatestVersionStatus.RIGHT_ONLY) {
+                dataByElement.computeIfAbsent(relationshipType.getLeftwardType(), element -> new ArrayList<>())
+                    .add(new ItemUuidAndRelationshipId(relationship.getRightItem().getID(), relationship.getID()));
+            }
+
+            // item is on right side of this relationship, and has "latest status"
+            if (relationshipType.getTilted() != LEFT
+                    && Objects.equals(relationshipType.getRightType(), itemEntityType)
+                    && isRightItem(item, relationship) && status != Relationship.LatestVersionStatus.LEFT_ONLY) {
+                dataByElement.computeIfAbsent(relationshipType.getRightwardType(), element -> new ArrayList<>())
+                    .add(new ItemUuidAndRelationshipId(relationship.getLeftItem().getID(), relationship.getID()));
+            }
+        }
+
+        List<RelationshipMetadataValue> mdvs = new LinkedList<>();
+        for (Map.Entry<String, List<ItemUuidAndRelationshipId>> entry : dataByElement.entrySet()) {
+            mdvs.addAll(constructLatestForDiscoveryMetadataValues(context, schema, entry.getKey(), qualifier,
+                                                                  entry.getValue()));
+        }
+        return mdvs;
+    }
+
+    private boolean isLeftItem(Item item, Relationship relationship) {
+        return item.getID().equals(relationship.getLeftItem().getID());
+    }
+
+    private boolean isRightItem(Item item, Relationship relationship) {
+        return item.getID().equals(relationship.getRightItem().getID());
+    }
+
+    /**
+     * @return the context of the current request, if one was created
+     */
+    private Context getCurrentRequestContext() {
+        Request request = new DSpace().getRequestService().getCurrentRequest();
+        if (request == null) {
+            return null;
+        }
+        Object context = request.getAttribute(ContextUtil.DSPACE_CONTEXT);
+        if (context instanceof Context && ((Context) context).isValid()) {
+            return (Context) context;
+        }
+        return null;
+    }
+
+    /**
+     * Cache the virtual metadata of an item, unless it was invalidated while it was computed
+     */
+    private void cacheMetadata(CacheKey key, List<RelationshipMetadataValue> values, Set<UUID> relatedItems,
+                               long generation) {
+        if (cache == null || this.generation.get() != generation) {
+            return;
+        }
+        relatedItems.remove(key.item);
+        if (dependents.size() > maxDependents) {
+            // the dependencies of evicted entries are kept, start again rather than growing without bounds
+            clearCache();
+            return;
+        }
+        for (UUID relatedItem : relatedItems) {
+            dependents.computeIfAbsent(relatedItem, id -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        cache.put(key, new CachedMetadata(values));
+        if (this.generation.get() != generation) {
+            // invalidated meanwhile
+            cache.invalidate(key);
+        }
+    }
+
+    @Override
+    public void clearCache(Collection<UUID> items) {
+        generation.incrementAndGet();
+        if (cache == null) {
+            return;
+        }
+        // virtual metadata can be copied from items further away than the related items (see Related), so the
+        // items depending on an invalidated item are invalidated too
+        Deque<UUID> queue = new ArrayDeque<>(items);
+        Set<UUID> invalidated = new HashSet<>();
+        while (!queue.isEmpty()) {
+            UUID item = queue.remove();
+            if (!invalidated.add(item)) {
+                continue;
+            }
+            cache.invalidate(new CacheKey(item, true));
+            cache.invalidate(new CacheKey(item, false));
+            Set<CacheKey> keys = dependents.remove(item);
+            if (keys != null) {
+                for (CacheKey key : keys) {
+                    queue.add(key.item);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void clearCache() {
+        generation.incrementAndGet();
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+        dependents.clear();
+    }
+
+    /**
+     * @return the number of items whose virtual metadata was found in the cache since startup
+     */
+    public long getCacheHitCount() {
+        return cache == null ? 0 : cache.stats().hitCount();
+    }
+
+    /**
+     * @return the number of items whose virtual metadata had to be computed since startup
+     */
+    public long getCacheMissCount() {
+        return cache == null ? 0 : cache.stats().missCount();
+    }
+
+    /**
+     * Identifies the virtual metadata of an item
+     */
+    private static final class CacheKey {
+        private final UUID item;
+        private final boolean enableVirtualMetadata;
+
+        private CacheKey(UUID item, boolean enableVirtualMetadata) {
+            this.item = item;
+            this.enableVirtualMetadata = enableVirtualMetadata;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey key = (CacheKey) o;
+            return enableVirtualMetadata == key.enableVirtualMetadata && item.equals(key.item);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(item, enableVirtualMetadata);
+        }
+    }
+
+    /**
+     * The virtual metadata of an item, without any reference to database entities so that it can outlive the
+     * context which computed it
+     */
+    private final class CachedMetadata {
+        private final List<CachedValue> values;
+
+        private CachedMetadata(List<RelationshipMetadataValue> metadataValues) {
+            this.values = metadataValues.stream().map(CachedValue::new).collect(Collectors.toUnmodifiableList());
+        }
+
+        private List<RelationshipMetadataValue> toMetadataValues(Context context, Item item) {
+            Map<Integer, MetadataField> fields = new HashMap<>();
+            List<RelationshipMetadataValue> metadataValues = new LinkedList<>();
+            for (CachedValue value : values) {
+                MetadataField field = fields.computeIfAbsent(value.field, id -> {
+                    try {
+                        return metadataFieldService.find(context, id);
+                    } catch (SQLException e) {
+                        log.error("Could not find metadata field with id: " + id, e);
+                        return null;
+                    }
+                });
+                if (field != null) {
+                    metadataValues.add(value.toMetadataValue(field, item));
+                }
+            }
+            return metadataValues;
+        }
+    }
+
+    private static final class CachedValue {
+        private final int field;
+        private final String value;
+        private final String authority;
+        private final int confidence;
+        private final int place;
+        private final boolean useForPlace;
+        private final boolean linkedToItem;
+
+        private CachedValue(RelationshipMetadataValue metadataValue) {
+            field = metadataValue.getMetadataField().getID();
+            value = metadataValue.getValue();
+            authority = metadataValue.getAuthority();
+            confidence = metadataValue.getConfidence();
+            place = metadataValue.getPlace();
+            useForPlace = metadataValue.isUseForPlace();
+            linkedToItem = metadataValue.getDSpaceObject() != null;
+        }
+
+        private RelationshipMetadataValue toMetadataValue(MetadataField metadataField, Item item) {
+            RelationshipMetadataValue metadataValue = new RelationshipMetadataValue();
+            metadataValue.setMetadataField(metadataField);
+            metadataValue.setValue(value);
+            metadataValue.setAuthority(authority);
+            metadataValue.setConfidence(confidence);
+            metadataValue.setPlace(place);
+            metadataValue.setUseForPlace(useForPlace);
+            if (linkedToItem) {
+                metadataValue.setDSpaceObject(item);
+            }
+            return metadataValue;
         }
-        return fullMetadataValueList;
     }
 
     /**
@@ -9,13 +9,17 @@ package org.dspace.content;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.google.common.collect.Lists;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -41,6 +45,11 @@ public class RelationshipServiceImpl implements RelationshipService {
 
     private static final Logger log = LogManager.getLogger();
 
+    /**
+     * Maximum number of items in one query of {@link #findByItems(Context, Collection)}
+     */
+    private static final int FIND_BY_ITEMS_BATCH_SIZE = 500;
+
     @Autowired(required = true)
     protected RelationshipDAO relationshipDAO;
 
@@ -642,6 +651,19 @@ public class RelationshipServiceImpl implements RelationshipService {
         return list;
     }
 
+    @Override
+    public List<Relationship> findByItems(Context context, Collection<Item> items) throws SQLException {
+        List<UUID> uuids = items.stream().map(Item::getID).distinct().collect(Collectors.toList());
+        // a relationship between items of different batches is returned by both queries
+        Map<Integer, Relationship> relationships = new LinkedHashMap<>();
+        for (List<UUID> batch : Lists.partition(uuids, FIND_BY_ITEMS_BATCH_SIZE)) {
+            for (Relationship relationship : relationshipDAO.findByItems(context, batch)) {
+                relationships.putIfAbsent(relationship.getID(), relationship);
+            }
+        }
+        return new ArrayList<>(relationships.values());
+    }
+
     @Override
     public List<Relationship> findAll(Context context) throws SQLException {
         return findAll(context, -1, -1);
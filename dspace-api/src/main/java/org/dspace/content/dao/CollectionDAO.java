@@ -10,6 +10,7 @@ package org.dspace.content.dao;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import org.dspace.content.Collection;
 import org.dspace.content.Item;
@@ -35,6 +36,16 @@ public interface CollectionDAO extends DSpaceObjectLegacySupportDAO<Collection>
 
     public Collection findByTemplateItem(Context context, Item item) throws SQLException;
 
+    /**
+     * Find collections by their UUIDs, with their metadata values, in bulk.
+     *
+     * @param context Context
+     * @param ids     collection UUIDs to look up
+     * @return the collections found, in no particular order
+     * @throws SQLException if database error
+     */
+    List<Collection> findByIds(Context context, List<UUID> ids) throws SQLException;
+
     /**
      * 
      * @param context DSpace Context
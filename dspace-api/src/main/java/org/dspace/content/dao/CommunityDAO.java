@@ -9,6 +9,7 @@ package org.dspace.content.dao;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.UUID;
 
 import org.dspace.content.Community;
 import org.dspace.content.MetadataField;
@@ -33,6 +34,16 @@ public interface CommunityDAO extends DSpaceObjectLegacySupportDAO<Community> {
 
     public Community findByAdminGroup(Context context, Group group) throws SQLException;
 
+    /**
+     * Find communities by their UUIDs, with their metadata values, in bulk.
+     *
+     * @param context Context
+     * @param ids     community UUIDs to look up
+     * @return the communities found, in no particular order
+     * @throws SQLException if database error
+     */
+    List<Community> findByIds(Context context, List<UUID> ids) throws SQLException;
+
     public List<Community> findAllNoParent(Context context, MetadataField sortField) throws SQLException;
 
     public List<Community> findAuthorized(Context context, EPerson ePerson, List<Integer> actions) throws SQLException;
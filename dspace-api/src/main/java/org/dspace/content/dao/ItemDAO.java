@@ -48,6 +48,20 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
      */
     Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find all regular items (see {@link #findAllRegularItems(Context)}) whose UUID lies in the
+     * half-open range [fromId, toId). A {@code null} bound leaves that side of the range open.
+     * This allows the full set of items to be split into disjoint partitions which can be
+     * processed independently, e.g. by parallel index workers.
+     *
+     * @param context the DSpace context.
+     * @param fromId  inclusive lower bound of the UUID range, or null for no lower bound.
+     * @param toId    exclusive upper bound of the UUID range, or null for no upper bound.
+     * @return iterator over the regular items in the given range.
+     * @throws SQLException if database error.
+     */
+    Iterator<Item> findAllRegularItems(Context context, UUID fromId, UUID toId) throws SQLException;
+
     /**
      * Find all Items modified since a Date.
      *
@@ -59,6 +73,26 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
     Iterator<Item> findByLastModifiedSince(Context context, Instant since)
         throws SQLException;
 
+    /**
+     * Find which of the given item UUIDs still exist in the database.
+     *
+     * @param context Context
+     * @param ids     item UUIDs to look up
+     * @return the subset of the given UUIDs which belong to an existing item
+     * @throws SQLException if database error
+     */
+    List<UUID> findExistingIds(Context context, List<UUID> ids) throws SQLException;
+
+    /**
+     * Find items by their UUIDs, with their metadata values, in bulk.
+     *
+     * @param context Context
+     * @param ids     item UUIDs to look up
+     * @return the items found, in no particular order
+     * @throws SQLException if database error
+     */
+    List<Item> findByIds(Context context, List<UUID> ids) throws SQLException;
+
     Iterator<Item> findBySubmitter(Context context, EPerson eperson) throws SQLException;
 
     /**
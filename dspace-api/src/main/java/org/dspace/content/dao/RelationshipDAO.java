@@ -62,6 +62,18 @@ public interface RelationshipDAO extends GenericDAO<Relationship> {
         Context context, Item item, Integer limit, Integer offset, boolean excludeTilted, boolean excludeNonLatest
     ) throws SQLException;
 
+    /**
+     * This method returns all the Relationship objects that have one of the given items as a leftItem or a
+     * rightItem, fetching their relationship type and the items on both sides in the same query.
+     * No tilted or non-latest relationships are excluded, callers are expected to filter them.
+     * @param context           The relevant DSpace context
+     * @param items             The uuids of the items that should be either a leftItem or a rightItem
+     * @return                  The list of Relationship objects that contain either a left or a
+     *                          right item that is one of the given items
+     * @throws SQLException     If something goes wrong
+     */
+    List<Relationship> findByItems(Context context, List<UUID> items) throws SQLException;
+
     /**
      * This method returns a list of Relationship objects for the given RelationshipType object.
      * It will construct a list of all Relationship objects that have the given RelationshipType object
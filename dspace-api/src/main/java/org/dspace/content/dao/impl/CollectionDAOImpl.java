@@ -12,6 +12,7 @@ import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
@@ -163,6 +164,11 @@ public class CollectionDAOImpl extends AbstractHibernateDSODAO<Collection> imple
                 "s.dSpaceObject"));
     }
 
+    @Override
+    public List<Collection> findByIds(Context context, List<UUID> ids) throws SQLException {
+        return findByIds(context, ids, Collection.class);
+    }
+
     @Override
     public int countRows(Context context) throws SQLException {
         return count(createQuery(context, "SELECT count(*) FROM Collection"));
@@ -10,6 +10,7 @@ package org.dspace.content.dao.impl;
 import java.sql.SQLException;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.UUID;
 
 import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
@@ -188,6 +189,11 @@ public class CommunityDAOImpl extends AbstractHibernateDSODAO<Community> impleme
         return list(persistenceQuery);
     }
 
+    @Override
+    public List<Community> findByIds(Context context, List<UUID> ids) throws SQLException {
+        return findByIds(context, ids, Community.class);
+    }
+
     @Override
     public int countRows(Context context) throws SQLException {
         return count(createQuery(context, "SELECT count(*) FROM Community"));
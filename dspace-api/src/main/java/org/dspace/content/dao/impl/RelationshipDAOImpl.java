@@ -60,6 +60,17 @@ public class RelationshipDAOImpl extends AbstractHibernateDAO<Relationship> impl
         return list(context, criteriaQuery, false, Relationship.class, limit, offset);
     }
 
+    @Override
+    public List<Relationship> findByItems(Context context, List<UUID> items) throws SQLException {
+        Query query = createQuery(context, "SELECT r FROM " + Relationship.class.getSimpleName() + " r " +
+                                           "JOIN FETCH r.relationshipType " +
+                                           "JOIN FETCH r.leftItem " +
+                                           "JOIN FETCH r.rightItem " +
+                                           "WHERE r.leftItem.id IN (:items) OR r.rightItem.id IN (:items)");
+        query.setParameter("items", items);
+        return list(query);
+    }
+
     /**
      * Get the predicate for a criteria query that selects relationships by their left item.
      * @param criteriaBuilder   the criteria builder.
@@ -63,6 +63,26 @@ public interface DSpaceObjectService<T extends DSpaceObject> {
      */
     public T find(Context context, UUID uuid) throws SQLException;
 
+    /**
+     * Find several objects at once. The default implementation finds them one by one; the services of the objects
+     * shown in search results load them, with their metadata, in bulk.
+     *
+     * @param context - the context
+     * @param uuids     - uuids within table of typed dspace objects
+     * @return the dspace objects found, in no particular order. Objects which do not exist are left out.
+     * @throws SQLException only upon failure accessing the database.
+     */
+    public default List<T> findByIds(Context context, List<UUID> uuids) throws SQLException {
+        List<T> dsos = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            T dso = find(context, uuid);
+            if (dso != null) {
+                dsos.add(dso);
+            }
+        }
+        return dsos;
+    }
+
     /**
      * Get a proper name for the object. This may return <code>null</code>.
      * Name should be suitable for display in a user interface.
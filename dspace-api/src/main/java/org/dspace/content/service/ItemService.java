@@ -140,6 +140,18 @@ public interface ItemService
      */
     Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find all regular items (see {@link #findAllRegularItems(Context)}) whose UUID lies in the
+     * half-open range [fromId, toId). A {@code null} bound leaves that side of the range open.
+     *
+     * @param context the DSpace context.
+     * @param fromId  inclusive lower bound of the UUID range, or null for no lower bound.
+     * @param toId    exclusive upper bound of the UUID range, or null for no upper bound.
+     * @return iterator over the regular items in the given range.
+     * @throws SQLException if database error.
+     */
+    Iterator<Item> findAllRegularItems(Context context, UUID fromId, UUID toId) throws SQLException;
+
     /**
      * Find all the items in the archive by a given submitter. The order is
      * indeterminate. Only items with the "in archive" flag set are included.
@@ -856,6 +868,16 @@ public interface ItemService
     Iterator<Item> findByLastModifiedSince(Context context, Instant last)
         throws SQLException;
 
+    /**
+     * Find which of the given item UUIDs still exist in the database.
+     *
+     * @param context DSpace context object
+     * @param ids     item UUIDs to look up
+     * @return the subset of the given UUIDs which belong to an existing item
+     * @throws SQLException if database error
+     */
+    List<UUID> findExistingIds(Context context, List<UUID> ids) throws SQLException;
+
     /**
      * counts items in the given community
      *
@@ -994,6 +1016,34 @@ public interface ItemService
     List<MetadataValue> getMetadata(Item item, String schema, String element, String qualifier,
                                            String lang, boolean enableVirtualMetadata);
 
+    /**
+     * Same as {@link #getMetadata(Item, String, String, String, String, boolean)}, computing the virtual metadata
+     * with the given context rather than the context of the current request
+     *
+     * @param context      DSpace context object, may be null
+     * @param item         Item
+     * @param schema       the schema for the metadata field
+     * @param element      the element name
+     * @param qualifier    the qualifier
+     * @param lang         the ISO639 language code
+     * @param enableVirtualMetadata
+     *                     Enables virtual metadata calculation and inclusion from the
+     *                     relationships.
+     * @return metadata fields that match the parameters
+     */
+    List<MetadataValue> getMetadata(Context context, Item item, String schema, String element, String qualifier,
+                                    String lang, boolean enableVirtualMetadata);
+
+    /**
+     * Compute the virtual metadata of the given items in a single batch (see
+     * {@link org.dspace.content.RelationshipMetadataService#getRelationshipMetadata(Context, java.util.Collection,
+     * boolean)}), so that reading the metadata of these items does not query their relationships one item at a time
+     *
+     * @param context DSpace context object
+     * @param items   the items
+     */
+    void loadVirtualMetadata(Context context, List<Item> items);
+
     /**
      * Retrieve the label of the entity type of the given item.
      * @param item the item.
@@ -7,6 +7,7 @@
  */
 package org.dspace.content.service;
 
+import java.io.OutputStream;
 import java.util.Iterator;
 
 import org.dspace.app.bulkedit.DSpaceCSV;
@@ -36,6 +37,35 @@ public interface MetadataDSpaceCsvExportService {
     public DSpaceCSV handleExport(Context context, boolean exportAllItems, boolean exportAllMetadata,
                                   String identifier, DSpaceRunnableHandler dSpaceRunnableHandler) throws Exception;
 
+    /**
+     * Same as {@link #handleExport(Context, boolean, boolean, String, DSpaceRunnableHandler)}, but the CSV is
+     * written to a stream instead of being built in memory, see
+     * {@link #export(Context, Iterator, boolean, OutputStream, DSpaceRunnableHandler)}
+     * @param context           The relevant DSpace context
+     * @param exportAllItems    A boolean indicating whether or not the entire repository should be exported
+     * @param exportAllMetadata Defines if all metadata should be exported or only the allowed ones
+     * @param identifier        The handle or UUID for the DSpaceObject to be exported, can be a Community,
+     *                          Collection or Item
+     * @param output            Where to write the CSV, in UTF-8
+     * @throws Exception        If something goes wrong
+     */
+    public void handleExport(Context context, boolean exportAllItems, boolean exportAllMetadata,
+                             String identifier, OutputStream output, DSpaceRunnableHandler dSpaceRunnableHandler)
+        throws Exception;
+
+    /**
+     * This method will export all the Items in the given toExport iterator to a CSV stream. The items are read
+     * twice: once to find the headings, keeping only their ids, then in chunks of "bulkedit.export.chunk.size"
+     * items to write their lines, which are never all in memory.
+     * @param context       The relevant DSpace context
+     * @param toExport      The iterator containing the items to export
+     * @param exportAll     Defines if all metadata should be exported or only the allowed ones
+     * @param output        Where to write the CSV, in UTF-8
+     * @throws Exception    If something goes wrong
+     */
+    public void export(Context context, Iterator<Item> toExport, boolean exportAll, OutputStream output,
+                       DSpaceRunnableHandler handler) throws Exception;
+
     /**
      * This method will export all the Items in the given toExport iterator to a DSpaceCSV
      * @param context       The relevant DSpace context
@@ -8,6 +8,7 @@
 package org.dspace.content.service;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -70,6 +71,18 @@ public interface RelationshipService extends DSpaceCRUDService<Relationship> {
         Context context, Item item, Integer limit, Integer offset, boolean excludeTilted, boolean excludeNonLatest
     ) throws SQLException;
 
+    /**
+     * Retrieves the list of Relationships currently in the system for which one of the given Items is either
+     * a leftItem or a rightItem object. The relationship types and the items on both sides are loaded together
+     * with the relationships, in as few queries as possible.
+     * No tilted or non-latest relationships are excluded.
+     * @param context   The relevant DSpace context
+     * @param items     The Items that have to be the left or right item for the relationship to be included
+     * @return          The list of relationships for which each relationship adheres to the above listed constraint
+     * @throws SQLException If something goes wrong
+     */
+    List<Relationship> findByItems(Context context, Collection<Item> items) throws SQLException;
+
     /**
      * Retrieves the full list of relationships currently in the system
      * @param context   The relevant DSpace context
@@ -8,9 +8,13 @@
 package org.dspace.core;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
+import com.google.common.collect.Lists;
+import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
@@ -31,6 +35,11 @@ import org.dspace.content.MetadataField;
  * @param <T> type of DSO represented.
  */
 public abstract class AbstractHibernateDSODAO<T extends DSpaceObject> extends AbstractHibernateDAO<T> {
+    /**
+     * Maximum number of ids in one query of {@link #findByIds(Context, List, Class)}
+     */
+    private static final int FIND_BY_IDS_BATCH_SIZE = 500;
+
     /**
      * Find a DSO by its "legacy ID".  Former versions of DSpace used integer
      * record IDs, and these may still be found in external records such as AIPs.
@@ -51,6 +60,26 @@ public abstract class AbstractHibernateDSODAO<T extends DSpaceObject> extends Ab
         return uniqueResult(context, criteriaQuery, false, clazz);
     }
 
+    /**
+     * Find DSOs by their ids, with their metadata values, in one query per {@link #FIND_BY_IDS_BATCH_SIZE} ids.
+     * @param context current DSpace context.
+     * @param ids the ids of the DSOs.
+     * @param clazz DSO subtype of the records.
+     * @return the DSOs found, in no particular order.
+     * @throws SQLException
+     */
+    protected List<T> findByIds(Context context, List<UUID> ids, Class<T> clazz) throws SQLException {
+        List<T> result = new ArrayList<>(ids.size());
+        for (List<UUID> batch : Lists.partition(ids, FIND_BY_IDS_BATCH_SIZE)) {
+            Query query = createQuery(context, "SELECT o FROM " + clazz.getSimpleName() + " o " +
+                "LEFT JOIN FETCH o.metadata " +
+                "WHERE o.id IN (:ids)");
+            query.setParameter("ids", batch);
+            result.addAll(list(query));
+        }
+        return result;
+    }
+
     /**
      * Add left outer join on all metadata fields which are passed to this function.
      * The identifier of the join will be the toString() representation of the metadata field.
@@ -21,6 +21,7 @@ import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.logging.log4j.Logger;
+import org.dspace.authorize.AuthorizationDecisionCache;
 import org.dspace.authorize.ResourcePolicy;
 import org.dspace.content.DSpaceObject;
 import org.dspace.eperson.EPerson;
@@ -30,6 +31,8 @@ import org.dspace.event.Dispatcher;
 import org.dspace.event.Event;
 import org.dspace.event.factory.EventServiceFactory;
 import org.dspace.event.service.EventService;
+import org.dspace.handle.factory.HandleServiceFactory;
+import org.dspace.handle.service.HandleService;
 import org.dspace.storage.rdbms.DatabaseConfigVO;
 import org.dspace.storage.rdbms.DatabaseUtils;
 import org.dspace.utils.DSpace;
@@ -120,10 +123,35 @@ public class Context implements AutoCloseable {
     private Mode mode;
 
     /**
-     * Cache that is only used the context is in READ_ONLY mode
+     * Cache of authorization decisions, and of group memberships when the context is in READ_ONLY mode
      */
     private final ContextReadOnlyCache readOnlyCache = new ContextReadOnlyCache();
 
+    /**
+     * Whether changes affecting authorization decisions were made since the last commit
+     */
+    private boolean authorizationChanged = false;
+
+    /**
+     * Handles created, unbound or moved to another object in this context since the last commit, null if none
+     */
+    private Set<String> changedHandles = null;
+
+    /**
+     * Whether all the handles were changed (new prefix) in this context since the last commit
+     */
+    private boolean allHandlesChanged = false;
+
+    /**
+     * Actions to run once the changes of this context are committed, null if none
+     */
+    private List<Runnable> commitCallbacks = null;
+
+    /**
+     * Whether events were dispatched since the last commit, so that their changes are not committed yet
+     */
+    private boolean eventsDispatched = false;
+
     protected EventService eventService;
 
     private DBConnection dbConnection;
@@ -448,6 +476,45 @@ public class Context implements AutoCloseable {
                 dbConnection.commit();
                 reloadContextBoundEntities();
             }
+            eventsDispatched = false;
+            if (authorizationChanged) {
+                // other contexts may have cached decisions while our changes were not visible yet
+                authorizationChanged = false;
+                invalidateAuthorizationDecisions();
+            }
+            if (changedHandles != null || allHandlesChanged) {
+                // other contexts may have cached the handles while our changes were not visible yet
+                invalidateChangedHandles();
+            }
+            if (commitCallbacks != null) {
+                runCommitCallbacks();
+            }
+        }
+    }
+
+    /**
+     * Run an action once the changes made in this context so far are committed, e.g. to hand them over to another
+     * thread, which could not see them before. The action is discarded if the changes are rolled back. Event
+     * consumers may call this from {@link org.dspace.event.Consumer#end(Context)}, which runs before the commit.
+     *
+     * @param action the action
+     */
+    public void runAfterCommit(Runnable action) {
+        if (commitCallbacks == null) {
+            commitCallbacks = new ArrayList<>();
+        }
+        commitCallbacks.add(action);
+    }
+
+    private void runCommitCallbacks() {
+        List<Runnable> callbacks = commitCallbacks;
+        commitCallbacks = null;
+        for (Runnable callback : callbacks) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                log.error("Error while running an action after commit", e);
+            }
         }
     }
 
@@ -462,6 +529,7 @@ public class Context implements AutoCloseable {
 
         try {
             if (events != null) {
+                eventsDispatched = true;
 
                 if (dispName == null) {
                     dispName = EventService.DEFAULT_DISPATCHER;
@@ -510,6 +578,11 @@ public class Context implements AutoCloseable {
         }
 
         events.add(event);
+
+        // anything but a metadata change may affect authorization (policies, group members, item state, ...)
+        if (event.getEventType() != Event.MODIFY_METADATA) {
+            clearCachedAuthorizationResults();
+        }
     }
 
     /**
@@ -530,6 +603,17 @@ public class Context implements AutoCloseable {
         return !CollectionUtils.isEmpty(events);
     }
 
+    /**
+     * Whether events were added since the last commit, including the events which were already dispatched (e.g.
+     * while the consumers run, or between {@link #dispatchEvents()} and {@link #commit()}). Their changes are not
+     * visible to other contexts yet.
+     *
+     * @return true or false
+     */
+    public boolean hasUncommittedEvents() {
+        return hasEvents() || eventsDispatched;
+    }
+
     /**
      * Retrieves the first element in the events list and removes it from the list of events once retrieved
      *
@@ -570,6 +654,10 @@ public class Context implements AutoCloseable {
             }
         } finally {
             events = null;
+            eventsDispatched = false;
+            commitCallbacks = null;
+            discardAuthorizationChanges();
+            discardHandleChanges();
         }
     }
 
@@ -608,6 +696,10 @@ public class Context implements AutoCloseable {
                 log.error("Error closing the database connection", ex);
             }
             events = null;
+            eventsDispatched = false;
+            commitCallbacks = null;
+            discardAuthorizationChanges();
+            discardHandleChanges();
         }
     }
 
@@ -665,6 +757,7 @@ public class Context implements AutoCloseable {
      */
     public void setSpecialGroup(UUID groupID) {
         specialGroups.add(groupID);
+        readOnlyCache.clearAuthorizedActions();
     }
 
     /**
@@ -720,6 +813,7 @@ public class Context implements AutoCloseable {
         specialGroupsPreviousState = specialGroups;
         specialGroups = new HashSet<>();
         currentUser = newUser;
+        readOnlyCache.clearAuthorizedActions();
     }
 
     /**
@@ -735,6 +829,7 @@ public class Context implements AutoCloseable {
         specialGroups = specialGroupsPreviousState;
         specialGroupsPreviousState = null;
         currentUserPreviousState = null;
+        readOnlyCache.clearAuthorizedActions();
     }
 
     /**
@@ -907,17 +1002,13 @@ public class Context implements AutoCloseable {
     }
 
     public Boolean getCachedAuthorizationResult(DSpaceObject dspaceObject, int action, EPerson eperson) {
-        if (isReadOnly()) {
-            return readOnlyCache.getCachedAuthorizationResult(dspaceObject, action, eperson);
-        } else {
-            return null;
-        }
+        return readOnlyCache.getCachedAuthorizationResult(dspaceObject, action, eperson);
     }
 
     public void cacheAuthorizedAction(DSpaceObject dspaceObject, int action, EPerson eperson, Boolean result,
                                       ResourcePolicy rp) {
+        readOnlyCache.cacheAuthorizedAction(dspaceObject, action, eperson, result);
         if (isReadOnly()) {
-            readOnlyCache.cacheAuthorizedAction(dspaceObject, action, eperson, result);
             try {
                 uncacheEntity(rp);
             } catch (SQLException e) {
@@ -926,12 +1017,141 @@ public class Context implements AutoCloseable {
         }
     }
 
+    /**
+     * Forget the authorization decisions cached by this context and the ones shared by all contexts, as changes
+     * made in this context (policies, groups, epersons, objects) may affect them. Until these changes are
+     * committed, this context does not use the decisions shared by other contexts.
+     */
+    public void clearCachedAuthorizationResults() {
+        readOnlyCache.clearAuthorizedActions();
+        if (!authorizationChanged) {
+            authorizationChanged = true;
+            invalidateAuthorizationDecisions();
+        }
+    }
+
+    /**
+     * Whether changes which may affect authorization decisions were made in this context and not committed yet
+     *
+     * @return true if such changes were made
+     */
+    public boolean isAuthorizationChanged() {
+        return authorizationChanged;
+    }
+
+    private void discardAuthorizationChanges() {
+        readOnlyCache.clearAuthorizedActions();
+        if (authorizationChanged) {
+            // decisions may have been cached by other contexts sharing our transaction
+            authorizationChanged = false;
+            invalidateAuthorizationDecisions();
+        }
+    }
+
+    private void invalidateAuthorizationDecisions() {
+        AuthorizationDecisionCache authorizationDecisionCache = new DSpace().getServiceManager().getServiceByName(
+            AuthorizationDecisionCache.class.getName(), AuthorizationDecisionCache.class);
+        if (authorizationDecisionCache != null) {
+            authorizationDecisionCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Record that a handle was created, unbound or moved to another object in this context. Until the change is
+     * committed, this context does not use the handle resolutions shared by other contexts for this handle.
+     *
+     * @param handle the handle
+     */
+    public void addChangedHandle(String handle) {
+        if (changedHandles == null) {
+            changedHandles = new HashSet<>();
+        }
+        changedHandles.add(handle);
+    }
+
+    /**
+     * Record that all the handles were changed in this context, e.g. moved to a new prefix
+     */
+    public void setAllHandlesChanged() {
+        allHandlesChanged = true;
+    }
+
+    /**
+     * Whether a handle was changed in this context and the change is not committed yet
+     *
+     * @param handle the handle
+     * @return true if the handle was changed
+     */
+    public boolean isHandleChanged(String handle) {
+        return allHandlesChanged || (changedHandles != null && changedHandles.contains(handle));
+    }
+
+    /**
+     * Whether any handle was changed in this context and the change is not committed yet
+     *
+     * @return true if a handle was changed
+     */
+    public boolean hasChangedHandles() {
+        return allHandlesChanged || changedHandles != null;
+    }
+
+    private void discardHandleChanges() {
+        // nothing to invalidate, the changes were never shared with the other contexts
+        changedHandles = null;
+        allHandlesChanged = false;
+    }
+
+    private void invalidateChangedHandles() {
+        Set<String> handles = allHandlesChanged ? null : changedHandles;
+        changedHandles = null;
+        allHandlesChanged = false;
+        HandleService handleService = HandleServiceFactory.getInstance().getHandleService();
+        if (handleService != null) {
+            handleService.invalidateCachedHandles(handles);
+        }
+    }
+
     public Boolean getCachedGroupMembership(Group group, EPerson eperson) {
         if (isReadOnly()) {
-            return readOnlyCache.getCachedGroupMembership(group, eperson);
+            Boolean isMember = readOnlyCache.getCachedGroupMembership(group, eperson);
+            return isMember != null ? isMember : readOnlyCache.getPrefetchedGroupMembership(group, eperson);
         } else {
+            return readOnlyCache.getPrefetchedGroupMembership(group, eperson);
+        }
+    }
+
+    /**
+     * Keep all the groups an eperson is a member of for the authorization checks of this context, in every mode,
+     * until a change may affect them (see {@link #clearCachedAuthorizationResults()})
+     *
+     * @param ePerson the eperson, or null for anonymous
+     * @param groups  all the groups of the eperson, including parent and special groups
+     */
+    public void cachePrefetchedMemberGroups(EPerson ePerson, Set<Group> groups) {
+        readOnlyCache.cachePrefetchedMemberGroups(ePerson, groups);
+    }
+
+    /**
+     * @param dspaceObject the object
+     * @return the policies of the object prefetched in this context, for all actions, or null if they were not
+     * prefetched
+     */
+    public List<ResourcePolicy> getCachedPolicies(DSpaceObject dspaceObject) {
+        if (dspaceObject == null || dspaceObject.getID() == null) {
             return null;
         }
+        return readOnlyCache.getCachedPolicies(dspaceObject);
+    }
+
+    /**
+     * Keep the policies of an object for the authorization checks of this context, in every mode, until a change
+     * may affect them (see {@link #clearCachedAuthorizationResults()})
+     *
+     * @param dspaceObject the object
+     * @param policies     all the policies of the object
+     */
+    public void cachePolicies(DSpaceObject dspaceObject, List<ResourcePolicy> policies) {
+        readOnlyCache.cachePolicies(dspaceObject, policies);
     }
 
     public void cacheGroupMembership(Group group, EPerson eperson, Boolean isMember) {
@@ -8,24 +8,28 @@
 package org.dspace.core;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.ImmutableTriple;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
+import org.dspace.authorize.ResourcePolicy;
 import org.dspace.content.DSpaceObject;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.springframework.util.CollectionUtils;
 
 /**
- * Object that manages the read-only caches for the Context class
+ * Object that manages the read-only caches for the Context class. The authorized actions cache, and the policies and
+ * groups prefetched for authorization checks, are used in every context mode, the Context clears them whenever a
+ * change may affect authorization.
  */
 public class ContextReadOnlyCache {
 
     /**
-     * Authorized actions cache that is used when the context is in READ_ONLY mode.
+     * Authorized actions cache.
      * The key of the cache is: DSpace Object ID, action ID, Eperson ID.
      */
     private final HashMap<Triple<String, Integer, String>, Boolean> authorizedActionsCache = new HashMap<>();
@@ -41,6 +45,18 @@ public class ContextReadOnlyCache {
      */
     private final HashMap<String, Set<Group>> allMemberGroupsCache = new HashMap<>();
 
+    /**
+     * Policies of objects loaded in bulk, used in every context mode and cleared with the authorized actions.
+     * The key of the cache is the DSpace Object ID.
+     */
+    private final HashMap<String, List<ResourcePolicy>> policiesCache = new HashMap<>();
+
+    /**
+     * All the groups an ePerson is a member of, loaded in bulk together with the policies. Used in every context
+     * mode and cleared with the authorized actions.
+     */
+    private final HashMap<String, Set<Group>> prefetchedMemberGroupsCache = new HashMap<>();
+
     public Boolean getCachedAuthorizationResult(DSpaceObject dspaceObject, int action, EPerson eperson) {
         return authorizedActionsCache.get(buildAuthorizedActionKey(dspaceObject, action, eperson));
     }
@@ -79,8 +95,33 @@ public class ContextReadOnlyCache {
         return allMemberGroupsCache.get(buildAllMembersGroupKey(ePerson));
     }
 
+    public List<ResourcePolicy> getCachedPolicies(DSpaceObject dspaceObject) {
+        return policiesCache.get(dspaceObject.getID().toString());
+    }
+
+    public void cachePolicies(DSpaceObject dspaceObject, List<ResourcePolicy> policies) {
+        policiesCache.put(dspaceObject.getID().toString(), policies);
+    }
+
+    public Boolean getPrefetchedGroupMembership(Group group, EPerson eperson) {
+        Set<Group> groups = prefetchedMemberGroupsCache.get(buildAllMembersGroupKey(eperson));
+        return groups == null ? null : groups.contains(group);
+    }
+
+    public void cachePrefetchedMemberGroups(EPerson ePerson, Set<Group> groups) {
+        prefetchedMemberGroupsCache.put(buildAllMembersGroupKey(ePerson), groups);
+    }
+
+    public void clearAuthorizedActions() {
+        authorizedActionsCache.clear();
+        policiesCache.clear();
+        prefetchedMemberGroupsCache.clear();
+    }
+
     public void clear() {
         authorizedActionsCache.clear();
+        policiesCache.clear();
+        prefetchedMemberGroupsCache.clear();
         groupMembershipCache.clear();
         allMemberGroupsCache.clear();
     }
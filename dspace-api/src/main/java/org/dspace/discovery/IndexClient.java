@@ -7,11 +7,16 @@
  */
 package org.dspace.discovery;
 
+import static org.dspace.discovery.IndexClientOptions.MODIFIED_SINCE_OPTION;
+import static org.dspace.discovery.IndexClientOptions.PARALLEL_OPTION;
 import static org.dspace.discovery.IndexClientOptions.TYPE_OPTION;
 
 import java.io.IOException;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -69,6 +74,16 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             }
         }
 
+        int workers = 1;
+        if (commandLine.hasOption(PARALLEL_OPTION)) {
+            try {
+                workers = Integer.parseInt(commandLine.getOptionValue(PARALLEL_OPTION));
+            } catch (NumberFormatException e) {
+                handler.handleException(String.format("%s is not a valid number of worker threads",
+                        commandLine.getOptionValue(PARALLEL_OPTION)));
+            }
+        }
+
         Optional<IndexableObject> indexableObject = Optional.empty();
 
         if (indexClientOptions == IndexClientOptions.REMOVE || indexClientOptions == IndexClientOptions.INDEX) {
@@ -103,7 +118,12 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
                             TYPE_OPTION));
                 }
                 indexer.deleteIndex();
-                indexer.createIndex(context);
+                if (workers > 1) {
+                    handler.logInfo("Indexing items using " + workers + " worker threads.");
+                    indexer.updateIndex(context, true, null, workers);
+                } else {
+                    indexer.createIndex(context);
+                }
                 if (indexClientOptions == IndexClientOptions.BUILDANDSPELLCHECK) {
                     checkRebuildSpellCheck(commandLine, indexer);
                 }
@@ -127,7 +147,7 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             case UPDATE:
             case UPDATEANDSPELLCHECK:
                 handler.logInfo("Updating Index");
-                indexer.updateIndex(context, false, type);
+                indexer.updateIndex(context, false, type, workers);
                 if (indexClientOptions == IndexClientOptions.UPDATEANDSPELLCHECK) {
                     checkRebuildSpellCheck(commandLine, indexer);
                 }
@@ -135,11 +155,24 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             case FORCEUPDATE:
             case FORCEUPDATEANDSPELLCHECK:
                 handler.logInfo("Updating Index");
-                indexer.updateIndex(context, true, type);
+                indexer.updateIndex(context, true, type, workers);
                 if (indexClientOptions == IndexClientOptions.FORCEUPDATEANDSPELLCHECK) {
                     checkRebuildSpellCheck(commandLine, indexer);
                 }
                 break;
+            case INCREMENTAL:
+                Instant since = null;
+                String modifiedSince = commandLine.getOptionValue(MODIFIED_SINCE_OPTION);
+                if (StringUtils.isNotBlank(modifiedSince)) {
+                    since = parseModifiedSince(modifiedSince);
+                }
+                handler.logInfo("Incrementally updating Index with changes since "
+                                    + (since != null ? since : "the last modification in the index"));
+                final long incrementalStartMillis = Instant.now().toEpochMilli();
+                indexer.updateIndexSince(context, since, type);
+                handler.logInfo("Incremental update done in "
+                                    + (Instant.now().toEpochMilli() - incrementalStartMillis) / 1000 + " seconds");
+                break;
             default:
                 handler.handleException("Invalid index client option.");
                 break;
@@ -164,6 +197,24 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
         indexClientOptions = IndexClientOptions.getIndexClientOption(commandLine);
     }
 
+    /**
+     * Parse the value of the modified-since option, either an ISO-8601 instant or a date (taken as start of day UTC)
+     *
+     * @param value the option value
+     * @return the parsed instant
+     */
+    private Instant parseModifiedSince(String value) {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant();
+            } catch (DateTimeParseException ex) {
+                throw new IllegalArgumentException("Cannot parse " + value + " as a date");
+            }
+        }
+    }
+
     /**
      * Resolves the given parameter to an IndexableObject (Item, Collection, or Community).
      *
@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
 
@@ -32,9 +33,12 @@ public enum IndexClientOptions {
     FORCEUPDATE,
     UPDATEANDSPELLCHECK,
     FORCEUPDATEANDSPELLCHECK,
+    INCREMENTAL,
     HELP;
 
     public static final String TYPE_OPTION = "t";
+    public static final String PARALLEL_OPTION = "p";
+    public static final String MODIFIED_SINCE_OPTION = "m";
 
     /**
      * This method resolves the CommandLine parameters to figure out which action the index-discovery script should
@@ -63,6 +67,8 @@ public enum IndexClientOptions {
             return IndexClientOptions.SPELLCHECK;
         } else if (commandLine.hasOption("i")) {
             return IndexClientOptions.INDEX;
+        } else if (commandLine.hasOption(MODIFIED_SINCE_OPTION)) {
+            return IndexClientOptions.INCREMENTAL;
         } else {
             if (commandLine.hasOption("f") && commandLine.hasOption("s")) {
                 return IndexClientOptions.FORCEUPDATEANDSPELLCHECK;
@@ -95,6 +101,16 @@ public enum IndexClientOptions {
         options.addOption("s", "spellchecker", false, "Rebuild the spellchecker, can be combined with -b and -f.");
         options.addOption("f", "force", false,
                           "if updating existing index, force each handle to be reindexed even if up-to-date");
+        options.addOption(PARALLEL_OPTION, "parallel", true,
+                          "number of worker threads used to index items when (re)building or updating the index;"
+                              + " items are split into UUID range partitions which are indexed concurrently");
+        options.addOption(Option.builder(MODIFIED_SINCE_OPTION).longOpt("modified-since").hasArg().optionalArg(true)
+                                .argName("date")
+                                .desc("incrementally update the index with the items modified since the given date"
+                                          + " (yyyy-MM-dd or ISO-8601 instant), or since the last modification"
+                                          + " already in the index when no date is given; also removes deleted"
+                                          + " items, collections and communities from the index")
+                                .build());
         options.addOption("h", "help", false, "print this help message");
         return options;
     }
@@ -7,8 +7,10 @@
  */
 package org.dspace.discovery;
 
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
 
@@ -50,6 +52,10 @@ public class IndexEventConsumer implements Consumer {
 
     IndexObjectFactoryFactory indexObjectServiceFactory = IndexObjectFactoryFactory.getInstance();
 
+    IndexingQueue indexingQueue = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                       .getServiceByName(IndexingQueue.class.getName(),
+                                                                         IndexingQueue.class);
+
     @Override
     public void initialize() throws Exception {
 
@@ -210,12 +216,47 @@ public class IndexEventConsumer implements Consumer {
     @Override
     public void end(Context ctx) throws Exception {
 
+        if (indexingQueue != null && indexingQueue.isEnabled() && !indexingQueue.isOverloaded()) {
+            Set<String> deletes = uniqueIdsToDelete;
+            Set<IndexableObject> updates = objectsToUpdate;
+            Set<IndexableObject> createdUpdates = createdItemsToUpdate;
+            uniqueIdsToDelete = new HashSet<>();
+            objectsToUpdate = new HashSet<>();
+            createdItemsToUpdate = new HashSet<>();
+            // the workers read the objects in their own context, so they are only queued once the changes are
+            // committed (end() runs before the commit)
+            ctx.runAfterCommit(() -> enqueue(ctx, deletes, updates, createdUpdates));
+            return;
+        }
+
+        try {
+            index(ctx, uniqueIdsToDelete, objectsToUpdate, createdItemsToUpdate);
+        } finally {
+            // "free" the resources
+            objectsToUpdate.clear();
+            uniqueIdsToDelete.clear();
+            createdItemsToUpdate.clear();
+        }
+    }
+
+    /**
+     * Index the objects synchronously, and commit the index
+     *
+     * @param ctx            DSpace context
+     * @param deletes        unique search IDs to delete
+     * @param updates        objects to update
+     * @param createdUpdates freshly created items to update (with a pre-db status)
+     */
+    private void index(Context ctx, Set<String> deletes, Set<IndexableObject> updates,
+                       Set<IndexableObject> createdUpdates) throws SQLException, SearchServiceException {
         // Change the mode to readonly to improve performance
         Context.Mode originalMode = ctx.getCurrentMode();
         ctx.setMode(Context.Mode.READ_ONLY);
 
+        // Send the documents of all updated objects to Solr in batches, they are flushed on commit
+        SolrDocumentBuffer documentBuffer = indexer.openDocumentBuffer();
         try {
-            for (String uid : uniqueIdsToDelete) {
+            for (String uid : deletes) {
                 try {
                     indexer.unIndexContent(ctx, uid, false);
                     if (log.isDebugEnabled()) {
@@ -226,28 +267,61 @@ public class IndexEventConsumer implements Consumer {
                 }
             }
             // update the changed Items not deleted because they were on create list
-            for (IndexableObject iu : objectsToUpdate) {
+            for (IndexableObject iu : updates) {
                 indexObject(ctx, iu, false);
             }
             // update the created Items with a pre-db status
-            for (IndexableObject iu : createdItemsToUpdate) {
+            for (IndexableObject iu : createdUpdates) {
                 indexObject(ctx, iu, true);
             }
         } finally {
-            if (!objectsToUpdate.isEmpty() || !uniqueIdsToDelete.isEmpty()) {
-
+            try {
+                documentBuffer.close();
+            } catch (Exception e) {
+                log.error("Failed while sending buffered documents to the index", e);
+            }
+            if (!updates.isEmpty() || !deletes.isEmpty()) {
                 indexer.commit();
-
-                // "free" the resources
-                objectsToUpdate.clear();
-                uniqueIdsToDelete.clear();
-                createdItemsToUpdate.clear();
             }
 
             ctx.setMode(originalMode);
         }
     }
 
+    /**
+     * Hand the collected objects over to the {@link IndexingQueue}, to be indexed by its background workers. Called
+     * once the changes are committed. If they cannot be queued, they are indexed synchronously.
+     *
+     * @param ctx            DSpace context
+     * @param deletes        unique search IDs to delete
+     * @param updates        objects to update
+     * @param createdUpdates freshly created items to update
+     */
+    private void enqueue(Context ctx, Set<String> deletes, Set<IndexableObject> updates,
+                         Set<IndexableObject> createdUpdates) {
+        if (deletes.isEmpty() && updates.isEmpty() && createdUpdates.isEmpty()) {
+            return;
+        }
+        Set<String> uniqueIdsToUpdate = new LinkedHashSet<>();
+        for (IndexableObject iu : updates) {
+            uniqueIdsToUpdate.add(iu.getUniqueIndexID());
+        }
+        for (IndexableObject iu : createdUpdates) {
+            uniqueIdsToUpdate.add(iu.getUniqueIndexID());
+        }
+        uniqueIdsToUpdate.remove(null);
+        try {
+            indexingQueue.enqueue(deletes, uniqueIdsToUpdate);
+        } catch (IOException e) {
+            log.error("Failed to queue index events, indexing them synchronously", e);
+            try {
+                index(ctx, deletes, updates, createdUpdates);
+            } catch (SQLException | SearchServiceException ex) {
+                log.error("Failed while indexing objects", ex);
+            }
+        }
+    }
+
     private void indexObject(Context ctx, IndexableObject iu, boolean preDb) throws SQLException {
         /* we let all types through here and
          * allow the search indexer to make
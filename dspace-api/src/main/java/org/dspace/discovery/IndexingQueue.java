@@ -0,0 +1,527 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Durable queue used to index content asynchronously, decoupling the {@link IndexEventConsumer} from the request
+ * threads. When "discovery.index.async.enabled" is set, the consumer appends the unique index IDs of the objects to
+ * update or delete to a journal file, and returns immediately. A background thread periodically claims the journal,
+ * coalesces duplicate IDs (the last action for an ID wins), and indexes the remaining IDs on a pool of workers, each
+ * with its own read-only Context.
+ * <p>
+ * The journal is an append-only file in "discovery.index.async.dir". It is claimed by renaming it to a "processing"
+ * segment, which is only removed once all its IDs are indexed. A segment is locked while it is processed, so segments
+ * left behind by a JVM which stopped are picked up by the next drain, in this or any other JVM sharing the directory.
+ * <p>
+ * Index events are dispatched before the database transaction is committed, so the consumer only queues the IDs
+ * once the transaction is committed (see {@link org.dspace.core.Context#runAfterCommit(Runnable)}), and the workers
+ * always read the committed objects. IDs are only processed once they are at least "discovery.index.async.minDelay"
+ * milliseconds old, so that the IDs changed by successive requests are coalesced, and an object which cannot be found
+ * is retried a few times before it is given up. Deletions are always queued explicitly by the consumer.
+ * <p>
+ * When more than "discovery.index.async.maxPending" IDs are waiting, {@link #isOverloaded()} tells the consumer to
+ * index synchronously again, which bounds the queue and slows down producers (back-pressure).
+ */
+public class IndexingQueue {
+
+    private static final Logger log = LogManager.getLogger(IndexingQueue.class);
+
+    private static final String JOURNAL = "queue.journal";
+    private static final String LOCK = "queue.lock";
+    private static final String SEGMENT_SUFFIX = ".processing";
+
+    protected static final char UPDATE = 'U';
+    protected static final char DELETE = 'D';
+
+    @Autowired
+    protected ConfigurationService configurationService;
+    @Autowired
+    protected IndexingService indexingService;
+    @Autowired
+    protected IndexObjectFactoryFactory indexObjectFactoryFactory;
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService workers;
+
+    /**
+     * Serializes the access to the journal within this JVM. The lock file only excludes other processes: a second
+     * {@link FileChannel#lock()} on it in the same JVM would throw an OverlappingFileLockException.
+     */
+    private final ReentrantLock journalLock = new ReentrantLock();
+
+    // metrics
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong indexed = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong synchronousFallbacks = new AtomicLong();
+    private final AtomicLong lastLatencyMillis = new AtomicLong();
+    private final AtomicLong maxLatencyMillis = new AtomicLong();
+
+    /**
+     * Start the background drain when asynchronous indexing is enabled
+     */
+    @PostConstruct
+    public void init() {
+        if (!isEnabled()) {
+            return;
+        }
+        long interval = configurationService.getLongProperty("discovery.index.async.interval", 1000);
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+            new BasicThreadFactory.Builder().namingPattern("discovery-queue-drain").daemon(true).build());
+        workers = Executors.newFixedThreadPool(configurationService.getIntProperty("discovery.index.async.workers", 2),
+            new BasicThreadFactory.Builder().namingPattern("discovery-queue-worker-%d").daemon(true).build());
+        scheduler.scheduleWithFixedDelay(this::drainQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Process the remaining queue and stop the background threads
+     */
+    @PreDestroy
+    public void destroy() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainQuietly();
+        workers.shutdown();
+    }
+
+    /**
+     * @return true if index events should be queued rather than processed synchronously
+     */
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("discovery.index.async.enabled", false);
+    }
+
+    /**
+     * @return true if too many IDs are waiting and events should be processed synchronously again
+     */
+    public boolean isOverloaded() {
+        boolean overloaded = getQueueDepth() >= configurationService.getLongProperty(
+            "discovery.index.async.maxPending", 10000);
+        if (overloaded) {
+            synchronousFallbacks.incrementAndGet();
+        }
+        return overloaded;
+    }
+
+    /**
+     * Durably queue the given unique index IDs. Deletions are written before updates, so an object which is both
+     * deleted and updated (e.g. an Item which is reindexed after its workflow) ends up being updated.
+     * @param uniqueIdsToDelete the unique index IDs to remove from the index
+     * @param uniqueIdsToUpdate the unique index IDs to (re)index
+     * @throws IOException if the IDs could not be written to the journal
+     */
+    public void enqueue(Collection<String> uniqueIdsToDelete, Collection<String> uniqueIdsToUpdate)
+        throws IOException {
+        StringBuilder records = new StringBuilder();
+        long now = Instant.now().toEpochMilli();
+        for (String uniqueId : uniqueIdsToDelete) {
+            appendRecord(records, now, DELETE, 0, uniqueId);
+        }
+        for (String uniqueId : uniqueIdsToUpdate) {
+            appendRecord(records, now, UPDATE, 0, uniqueId);
+        }
+        int count = uniqueIdsToDelete.size() + uniqueIdsToUpdate.size();
+        if (count == 0) {
+            return;
+        }
+        long pending;
+        // count the IDs before the journal can be claimed, which resets the count
+        journalLock.lock();
+        try {
+            append(records.toString());
+            pending = queued.addAndGet(count);
+        } finally {
+            journalLock.unlock();
+        }
+        enqueued.addAndGet(count);
+        if (pending >= getBatchSize() && scheduler != null && !scheduler.isShutdown()) {
+            // don't wait for the next scheduled drain when a full batch is waiting
+            scheduler.execute(this::drainQuietly);
+        }
+    }
+
+    /**
+     * Claim and process all queued IDs which are old enough, including segments left behind by stopped JVMs
+     * @throws IOException if the journal could not be read
+     */
+    public synchronized void drain() throws IOException {
+        Path dir = getDirectory();
+        Path journal = dir.resolve(JOURNAL);
+        if (Files.exists(journal)) {
+            journalLock.lock();
+            try (FileChannel lockChannel = FileChannel.open(dir.resolve(LOCK), StandardOpenOption.CREATE,
+                                                            StandardOpenOption.WRITE);
+                 FileLock lock = lockChannel.lock()) {
+                if (Files.exists(journal)) {
+                    Files.move(journal, dir.resolve("queue-" + Instant.now().toEpochMilli() + "-"
+                                                        + UUID.randomUUID() + SEGMENT_SUFFIX),
+                               StandardCopyOption.ATOMIC_MOVE);
+                    queued.set(0);
+                }
+            } finally {
+                journalLock.unlock();
+            }
+        }
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(null);
+        for (Path segment : segments) {
+            processSegment(segment);
+        }
+    }
+
+    /**
+     * Process a claimed segment, unless another JVM is processing it
+     * @param segment the segment file
+     * @throws IOException if the segment could not be read
+     */
+    protected void processSegment(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                return;
+            }
+            try {
+                Map<String, Record> records = readRecords(channel);
+                long minDelay = configurationService.getLongProperty("discovery.index.async.minDelay", 2000);
+                long now = Instant.now().toEpochMilli();
+                StringBuilder requeue = new StringBuilder();
+                Map<String, Record> ready = new LinkedHashMap<>();
+                long oldest = now;
+                for (Map.Entry<String, Record> entry : records.entrySet()) {
+                    Record record = entry.getValue();
+                    if (now - record.timestamp < minDelay) {
+                        appendRecord(requeue, record.timestamp, record.action, record.attempt, entry.getKey());
+                    } else {
+                        ready.put(entry.getKey(), record);
+                        oldest = Math.min(oldest, record.timestamp);
+                    }
+                }
+                requeue.append(process(ready));
+                if (requeue.length() > 0) {
+                    append(requeue.toString());
+                }
+                if (!ready.isEmpty()) {
+                    long latency = Instant.now().toEpochMilli() - oldest;
+                    lastLatencyMillis.set(latency);
+                    maxLatencyMillis.accumulateAndGet(latency, Math::max);
+                    log.info("Processed {} queued index IDs (max latency {} ms)", ready.size(), latency);
+                }
+            } finally {
+                lock.release();
+            }
+        }
+        Files.delete(segment);
+    }
+
+    /**
+     * Index the given IDs in batches on the worker pool, and commit the index
+     * @param records the coalesced records to process
+     * @return the records to retry, in journal format
+     */
+    protected String process(Map<String, Record> records) {
+        if (records.isEmpty()) {
+            return "";
+        }
+        inFlight.set(records.size());
+        List<Future<String>> results = new ArrayList<>();
+        List<Map.Entry<String, Record>> entries = new ArrayList<>(records.entrySet());
+        int batchSize = getBatchSize();
+        for (int start = 0; start < entries.size(); start += batchSize) {
+            List<Map.Entry<String, Record>> batch = entries.subList(start, Math.min(entries.size(),
+                                                                                     start + batchSize));
+            if (workers != null) {
+                results.add(workers.submit(() -> processBatch(batch)));
+            } else {
+                // not started (asynchronous indexing disabled), process on the calling thread
+                results.add(CompletableFuture.completedFuture(processBatch(batch)));
+            }
+        }
+        StringBuilder retry = new StringBuilder();
+        for (Future<String> result : results) {
+            try {
+                retry.append(result.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                log.error("Failed while processing queued index IDs", e.getCause());
+            }
+        }
+        try {
+            indexingService.commit();
+        } catch (SearchServiceException e) {
+            log.error("Failed to commit the index after processing queued index IDs", e);
+        }
+        inFlight.set(0);
+        return retry.toString();
+    }
+
+    /**
+     * Index a batch of IDs with a dedicated read-only Context. This is executed by a worker thread.
+     * @param batch the records to process
+     * @return the records to retry, in journal format
+     */
+    protected String processBatch(List<Map.Entry<String, Record>> batch) {
+        int maxAttempts = configurationService.getIntProperty("discovery.index.async.maxAttempts", 3);
+        StringBuilder retry = new StringBuilder();
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try (SolrDocumentBuffer documentBuffer = indexingService.openDocumentBuffer()) {
+            context.turnOffAuthorisationSystem();
+            for (Map.Entry<String, Record> entry : batch) {
+                String uniqueId = entry.getKey();
+                Record record = entry.getValue();
+                try {
+                    if (record.action == DELETE) {
+                        indexingService.unIndexContent(context, uniqueId);
+                        deleted.incrementAndGet();
+                        continue;
+                    }
+                    IndexFactory indexFactory = indexObjectFactoryFactory.getIndexableObjectFactory(uniqueId);
+                    Optional<IndexableObject> indexableObject = indexFactory == null ? Optional.empty()
+                        : indexFactory.findIndexableObject(context, StringUtils.substringAfter(uniqueId, "-"));
+                    if (indexableObject.isPresent()) {
+                        indexingService.indexContent(context, indexableObject.get(), true, false);
+                        context.uncacheEntity(indexableObject.get().getIndexedObject());
+                        indexed.incrementAndGet();
+                    } else if (record.attempt + 1 < maxAttempts) {
+                        // the transaction which queued the object may not be committed yet
+                        appendRecord(retry, Instant.now().toEpochMilli(), record.action, record.attempt + 1,
+                                     uniqueId);
+                    } else {
+                        log.warn("Giving up indexing {}, it could not be found", uniqueId);
+                        failed.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    log.error("Failed while indexing queued object: " + uniqueId, e);
+                    failed.incrementAndGet();
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed while sending buffered documents to the index", e);
+        } finally {
+            context.abort();
+        }
+        return retry.toString();
+    }
+
+    /**
+     * Read all records of a segment, coalescing records for the same ID: the last action wins
+     * @param channel the segment channel
+     * @return the coalesced records, by unique index ID
+     * @throws IOException if the segment could not be read
+     */
+    protected Map<String, Record> readRecords(FileChannel channel) throws IOException {
+        Map<String, Record> records = new LinkedHashMap<>();
+        long lines = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel),
+                                                                         StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] parts = StringUtils.split(line, ' ');
+            if (parts.length != 4) {
+                log.warn("Skipping malformed index queue record: {}", line);
+                continue;
+            }
+            lines++;
+            String uniqueId = parts[3];
+            Record previous = records.get(uniqueId);
+            long timestamp = Long.parseLong(parts[0]);
+            Record record = new Record(parts[1].charAt(0), Integer.parseInt(parts[2]),
+                                       previous != null ? Math.max(previous.timestamp, timestamp) : timestamp);
+            records.put(uniqueId, record);
+        }
+        coalesced.addAndGet(lines - records.size());
+        return records;
+    }
+
+    /**
+     * Append records to the journal, holding the queue lock so the journal cannot be claimed while writing. The
+     * journal is synced to disk unless "discovery.index.async.fsync" is disabled.
+     * @param records the records in journal format
+     * @throws IOException if the journal could not be written
+     */
+    protected void append(String records) throws IOException {
+        Path dir = getDirectory();
+        journalLock.lock();
+        try (FileChannel lockChannel = FileChannel.open(dir.resolve(LOCK), StandardOpenOption.CREATE,
+                                                        StandardOpenOption.WRITE);
+             FileLock lock = lockChannel.lock();
+             FileChannel journal = FileChannel.open(dir.resolve(JOURNAL), StandardOpenOption.CREATE,
+                                                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(records.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+            if (configurationService.getBooleanProperty("discovery.index.async.fsync", true)) {
+                journal.force(false);
+            }
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void appendRecord(StringBuilder records, long timestamp, char action, int attempt, String uniqueId) {
+        records.append(timestamp).append(' ').append(action).append(' ').append(attempt).append(' ')
+               .append(uniqueId).append('\n');
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (Exception e) {
+            log.error("Failed while draining the index queue", e);
+        }
+    }
+
+    private Path getDirectory() throws IOException {
+        String dir = configurationService.getProperty("discovery.index.async.dir",
+            configurationService.getProperty("dspace.dir") + "/var/discovery-queue");
+        Path path = Paths.get(dir);
+        Files.createDirectories(path);
+        return path;
+    }
+
+    private int getBatchSize() {
+        return Math.max(1, configurationService.getIntProperty("discovery.index.async.batchSize", 100));
+    }
+
+    /**
+     * @return the number of IDs queued by this JVM and not yet claimed, plus the number of IDs being indexed
+     */
+    public long getQueueDepth() {
+        return queued.get() + inFlight.get();
+    }
+
+    /**
+     * @return the number of IDs queued since startup
+     */
+    public long getEnqueuedCount() {
+        return enqueued.get();
+    }
+
+    /**
+     * @return the number of queued IDs which were dropped because the same ID was queued again
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * @return the number of objects indexed from the queue
+     */
+    public long getIndexedCount() {
+        return indexed.get();
+    }
+
+    /**
+     * @return the number of objects removed from the index by the queue
+     */
+    public long getDeletedCount() {
+        return deleted.get();
+    }
+
+    /**
+     * @return the number of queued IDs which could not be processed
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * @return the number of times events were processed synchronously because the queue was full
+     */
+    public long getSynchronousFallbackCount() {
+        return synchronousFallbacks.get();
+    }
+
+    /**
+     * @return the time between queueing and indexing of the oldest ID of the last processed segment
+     */
+    public long getLastLatencyMillis() {
+        return lastLatencyMillis.get();
+    }
+
+    /**
+     * @return the highest latency observed since startup
+     */
+    public long getMaxLatencyMillis() {
+        return maxLatencyMillis.get();
+    }
+
+    /**
+     * A coalesced journal record
+     */
+    protected static class Record {
+        final char action;
+        final int attempt;
+        final long timestamp;
+
+        Record(char action, int attempt, long timestamp) {
+            this.action = action;
+            this.attempt = attempt;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -9,6 +9,7 @@ package org.dspace.discovery;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.Map;
 
 import org.apache.solr.client.solrj.SolrServerException;
@@ -66,12 +67,53 @@ public interface IndexingService {
 
     void updateIndex(Context context, boolean force, String type);
 
+    /**
+     * Update the index using several worker threads. Items are split into UUID range partitions
+     * which are indexed concurrently, each partition with its own read-only Context. All other
+     * indexable object types are indexed on the calling thread.
+     * @param context   The DSpace Context
+     * @param force     Force update even if not stale
+     * @param type      Only update objects of this indexable type, or all types if null
+     * @param workers   The number of worker threads, a value of 1 or less falls back to
+     *                  {@link #updateIndex(Context, boolean, String)}
+     */
+    void updateIndex(Context context, boolean force, String type, int workers);
+
+    /**
+     * Incrementally update the index. Only items modified after the given watermark are reindexed, found through
+     * their last modified date in the database. Collections and communities, which have no last modified date, are
+     * checked for staleness as in {@link #updateIndex(Context, boolean, String)}. Documents of items, collections
+     * and communities which no longer exist in the database are removed from the index.
+     * @param context   The DSpace Context
+     * @param since     The watermark, or null to use the watermark stored in the index (see
+     *                  {@link #getIndexWatermark()})
+     * @param type      Only update objects of this indexable type, or all supported types if null
+     */
+    void updateIndexSince(Context context, Instant since, String type);
+
+    /**
+     * Determine the watermark of the index for incremental updates: the most recent last modified date of the
+     * items in the index, minus the configured overlap ("discovery.index.incremental.overlap", in seconds) to
+     * also catch changes which were not indexed in order.
+     * @return the watermark, or null if the index contains no items
+     * @throws SearchServiceException if the index could not be queried
+     */
+    Instant getIndexWatermark() throws SearchServiceException;
+
     void cleanIndex() throws IOException, SQLException, SearchServiceException;
 
     void deleteIndex();
 
     void commit() throws SearchServiceException;
 
+    /**
+     * Open a document buffer for the current thread. Until the returned buffer is closed, the documents of all
+     * objects indexed on this thread are sent to the index in batches instead of one by one. Pending documents
+     * are always sent before a commit.
+     * @return the document buffer of the current thread, to be closed by the caller
+     */
+    SolrDocumentBuffer openDocumentBuffer();
+
     void optimize() throws SearchServiceException;
 
     void buildSpellCheck() throws SearchServiceException, IOException;
@@ -0,0 +1,172 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PostConstruct;
+import org.dspace.authorize.AuthorizationDecisionCache;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Read restriction filter queries (see {@link SolrServiceResourceRestrictionPlugin}) shared by all the contexts, so
+ * that the groups and administered locations of a user are not loaded again by every search.
+ * <p>
+ * A filter is identified by the eperson (or anonymous) and the special groups of the current user. It is computed
+ * from the same groups and policies as the authorization decisions, so it is valid as long as the
+ * {@link AuthorizationDecisionCache} is not invalidated: a filter computed in an older generation of the decisions
+ * is computed again. Filters also expire after a configurable time.
+ */
+public class ReadRestrictionFilterCache {
+
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
+    @Autowired(required = true)
+    protected AuthorizationDecisionCache authorizationDecisionCache;
+
+    private volatile Cache<Key, Filter> filters;
+
+    // metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Create the cache from the configuration, dropping the current filters. Disabled unless both the size and the
+     * time to live are positive.
+     */
+    @PostConstruct
+    public void init() {
+        long size = configurationService.getLongProperty("discovery.read-restriction.cache.size", 0);
+        long ttl = configurationService.getLongProperty("discovery.read-restriction.cache.ttl", 300);
+        if (size > 0 && ttl > 0) {
+            filters = CacheBuilder.newBuilder()
+                                  .maximumSize(size)
+                                  .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                                  .build();
+        } else {
+            filters = null;
+        }
+    }
+
+    /**
+     * Build the key of the filter of the current user
+     *
+     * @param context current context
+     * @return the key, or null if the filter must not be shared: the cache is disabled, or the context made changes
+     * which are not committed yet
+     */
+    public Key getKey(Context context) {
+        if (filters == null || context.isAuthorizationChanged()) {
+            return null;
+        }
+        UUID eperson = context.getCurrentUser() == null ? null : context.getCurrentUser().getID();
+        return new Key(eperson, Set.copyOf(context.getSpecialGroupUuids()));
+    }
+
+    /**
+     * @param key the key of the filter, may be null
+     * @return the cached filter, or null if it is not cached or groups or policies changed since it was computed
+     */
+    public String get(Key key) {
+        if (key == null) {
+            return null;
+        }
+        Filter filter = filters.getIfPresent(key);
+        if (filter == null || filter.generation != getGeneration()) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return filter.query;
+    }
+
+    /**
+     * @return the current generation of the authorization decisions, to read before computing a filter and pass to
+     * {@link #put(Key, String, long)}
+     */
+    public long getGeneration() {
+        return authorizationDecisionCache.getGeneration();
+    }
+
+    /**
+     * Cache a filter, unless groups or policies changed while it was computed
+     *
+     * @param key        the key of the filter, may be null
+     * @param query      the filter query
+     * @param generation the generation when the computation started
+     */
+    public void put(Key key, String query, long generation) {
+        if (key == null || getGeneration() != generation) {
+            return;
+        }
+        filters.put(key, new Filter(query, generation));
+    }
+
+    /**
+     * @return the number of filters found in the cache since startup
+     */
+    public long getCacheHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of filters which had to be computed since startup
+     */
+    public long getCacheMissCount() {
+        return misses.get();
+    }
+
+    private static final class Filter {
+        private final String query;
+        private final long generation;
+
+        private Filter(String query, long generation) {
+            this.query = query;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Identifies the filter of a user
+     */
+    public static final class Key {
+        private final UUID eperson;
+        private final Set<UUID> specialGroups;
+
+        private Key(UUID eperson, Set<UUID> specialGroups) {
+            this.eperson = eperson;
+            this.specialGroups = specialGroups;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equals(eperson, key.eperson) && specialGroups.equals(key.specialGroups);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eperson, specialGroups);
+        }
+    }
+}
@@ -124,6 +124,15 @@ public interface SearchService {
      */
     String escapeQueryChars(String query);
 
+    /**
+     * Get a counter which is incremented whenever this DSpace instance commits the search core, so that cached
+     * search results can tell whether the index changed since they were computed. Commits made by other processes
+     * (e.g. the command line) are not counted.
+     *
+     * @return the number of commits since startup
+     */
+    long getIndexGeneration();
+
     FacetYearRange getFacetYearRange(Context context, IndexableObject scope, DiscoverySearchFilterFacet facet,
             List<String> filterQueries, DiscoverQuery parentQuery)
                     throws SearchServiceException;
@@ -0,0 +1,228 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.impl.ConcurrentUpdateSolrClient;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.SolrInputField;
+
+/**
+ * Buffer collecting {@link SolrInputDocument}s so that they can be sent to Solr in a single update request instead
+ * of one request per document. The buffer is flushed when it holds the configured number of documents, when the
+ * (estimated) size of the buffered documents exceeds the configured number of bytes, when the oldest buffered
+ * document has waited longer than the configured time, and when the buffer is closed.
+ * <p>
+ * A buffer is opened for the current thread through {@link SolrSearchCore#openDocumentBuffer()}. While it is open
+ * all documents written through {@link SolrSearchCore#addDocument(SolrInputDocument)} on that thread are buffered.
+ * Opening a buffer on a thread which already has one returns the existing buffer, it is only flushed and released
+ * when the outermost caller closes it.
+ * <p>
+ * If a batch is rejected by Solr, the documents of that batch are resent one by one, so that a single invalid
+ * document does not prevent the others from being indexed.
+ * <p>
+ * The streaming client reports its errors asynchronously, so the documents sent through it are kept until they are
+ * confirmed: when Solr is flushed, when the buffer is closed, and every few batches. If the client reported an
+ * error since they were sent, they are sent again with the regular client.
+ */
+public class SolrDocumentBuffer implements AutoCloseable {
+
+    private static final Logger log = LogManager.getLogger(SolrDocumentBuffer.class);
+
+    private final SolrSearchCore solrSearchCore;
+    private final int maxDocuments;
+    private final long maxBytes;
+    private final long maxAgeMillis;
+
+    /**
+     * Number of batches sent through the streaming client after which they are confirmed
+     */
+    private static final int UNCONFIRMED_BATCHES = 10;
+
+    private final List<SolrInputDocument> documents = new ArrayList<>();
+
+    /**
+     * Documents sent through the streaming client, not confirmed yet
+     */
+    private final List<SolrInputDocument> unconfirmedDocuments = new ArrayList<>();
+    private long streamingFailures = -1;
+    private long bufferedBytes = 0;
+    private long oldestDocumentMillis = 0;
+    private int depth = 0;
+
+    /**
+     * @param solrSearchCore the search core the documents are sent to
+     * @param maxDocuments   the number of documents after which the buffer is flushed
+     * @param maxBytes       the estimated size in bytes after which the buffer is flushed
+     * @param maxAgeMillis   the maximum time a document may wait in the buffer, checked when documents are added
+     */
+    public SolrDocumentBuffer(SolrSearchCore solrSearchCore, int maxDocuments, long maxBytes, long maxAgeMillis) {
+        this.solrSearchCore = solrSearchCore;
+        this.maxDocuments = Math.max(1, maxDocuments);
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    /**
+     * Add a document to the buffer, flushing the buffer if one of its limits is reached.
+     * @param document the document to add
+     * @throws IOException          If IO error
+     * @throws SolrServerException  If the buffered documents could not be written to the search core
+     */
+    public void add(SolrInputDocument document) throws IOException, SolrServerException {
+        if (documents.isEmpty()) {
+            oldestDocumentMillis = Instant.now().toEpochMilli();
+        }
+        documents.add(document);
+        bufferedBytes += estimateSize(document);
+        if (documents.size() >= maxDocuments
+            || (maxBytes > 0 && bufferedBytes >= maxBytes)
+            || (maxAgeMillis > 0 && Instant.now().toEpochMilli() - oldestDocumentMillis >= maxAgeMillis)) {
+            flush();
+        }
+    }
+
+    /**
+     * Send all buffered documents to the search core.
+     * @throws IOException          If IO error
+     * @throws SolrServerException  If the buffered documents could not be written to the search core
+     */
+    public void flush() throws IOException, SolrServerException {
+        if (documents.isEmpty()) {
+            return;
+        }
+        List<SolrInputDocument> batch = new ArrayList<>(documents);
+        documents.clear();
+        bufferedBytes = 0;
+
+        SolrClient solr = solrSearchCore.getUpdateClient();
+        if (solr instanceof ConcurrentUpdateSolrClient) {
+            if (unconfirmedDocuments.isEmpty()) {
+                streamingFailures = solrSearchCore.getStreamingFailureCount();
+            }
+            unconfirmedDocuments.addAll(batch);
+        }
+        send(solr, batch);
+        if (unconfirmedDocuments.size() >= maxDocuments * UNCONFIRMED_BATCHES) {
+            confirm();
+        }
+    }
+
+    /**
+     * Wait until the documents sent through the streaming client are sent to Solr, and send them again with the
+     * regular client if the streaming client reported an error meanwhile.
+     * @throws IOException          If IO error
+     * @throws SolrServerException  If some documents could not be written to the search core
+     */
+    public void confirm() throws IOException, SolrServerException {
+        solrSearchCore.blockUntilStreamed();
+        if (unconfirmedDocuments.isEmpty()) {
+            return;
+        }
+        List<SolrInputDocument> batch = new ArrayList<>(unconfirmedDocuments);
+        unconfirmedDocuments.clear();
+        if (solrSearchCore.getStreamingFailureCount() == streamingFailures) {
+            return;
+        }
+        log.warn("The streaming client failed to send documents, sending {} documents again", batch.size());
+        int failed = send(solrSearchCore.getSolr(), batch);
+        if (failed > 0) {
+            throw new SolrServerException(failed + " documents could not be written to Solr");
+        }
+    }
+
+    /**
+     * Send a batch of documents, or one by one if the batch is rejected
+     * @param solr  the client
+     * @param batch the documents
+     * @return the number of documents which could not be sent
+     */
+    private int send(SolrClient solr, List<SolrInputDocument> batch) {
+        long start = Instant.now().toEpochMilli();
+        try {
+            solr.add(batch);
+            log.debug("Flushed {} documents to Solr in {} ms", batch.size(), Instant.now().toEpochMilli() - start);
+            return 0;
+        } catch (IOException | SolrServerException | RuntimeException e) {
+            log.warn("Error while writing a batch of {} documents to Solr, retrying them one by one",
+                     batch.size(), e);
+            int failed = 0;
+            for (SolrInputDocument document : batch) {
+                try {
+                    solr.add(document);
+                } catch (IOException | SolrServerException | RuntimeException ex) {
+                    failed++;
+                    log.error("Error occurred while writing SOLR document {}",
+                              document.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID), ex);
+                }
+            }
+            return failed;
+        }
+    }
+
+    /**
+     * @return the number of documents currently waiting in the buffer
+     */
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Register an additional (nested) user of this buffer.
+     */
+    void open() {
+        depth++;
+    }
+
+    /**
+     * Release this buffer. When the outermost user closes the buffer, the remaining documents are flushed and
+     * the buffer is detached from the current thread.
+     * @throws IOException If the remaining documents could not be written to the search core
+     */
+    @Override
+    public void close() throws IOException {
+        depth--;
+        if (depth > 0) {
+            return;
+        }
+        try {
+            flush();
+            confirm();
+        } catch (SolrServerException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            solrSearchCore.releaseDocumentBuffer(this);
+        }
+    }
+
+    /**
+     * Roughly estimate the size of a document in bytes, based on the length of its field names and values.
+     * @param document the document
+     * @return the estimated size
+     */
+    protected long estimateSize(SolrInputDocument document) {
+        long size = 0;
+        for (SolrInputField field : document) {
+            size += field.getName().length();
+            for (Object value : field) {
+                if (value != null) {
+                    size += value.toString().length();
+                }
+            }
+        }
+        return size;
+    }
+}
@@ -8,6 +8,7 @@
 package org.dspace.discovery;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jakarta.inject.Named;
 import org.apache.commons.validator.routines.UrlValidator;
@@ -17,7 +18,9 @@ import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrRequest;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.impl.ConcurrentUpdateSolrClient;
 import org.apache.solr.client.solrj.impl.HttpSolrClient;
+import org.apache.solr.common.SolrInputDocument;
 import org.dspace.discovery.indexobject.IndexableItem;
 import org.dspace.service.impl.HttpConnectionPoolService;
 import org.dspace.services.ConfigurationService;
@@ -50,6 +53,21 @@ public class SolrSearchCore {
      */
     public SolrRequest.METHOD REQUEST_METHOD = SolrRequest.METHOD.POST;
 
+    /**
+     * Optional streaming client used to send buffered documents, see "discovery.solr.buffer.streaming.enabled".
+     */
+    protected ConcurrentUpdateSolrClient streamingSolr = null;
+
+    /**
+     * Number of update requests the streaming client failed to send, see {@link #getStreamingFailureCount()}
+     */
+    protected final AtomicLong streamingFailures = new AtomicLong();
+
+    /**
+     * The document buffer opened by the current thread, if any.
+     */
+    protected final ThreadLocal<SolrDocumentBuffer> documentBuffer = new ThreadLocal<>();
+
     /**
      * Get access to current SolrClient. If no current SolrClient exists, a new one is initialized, see initSolr().
      * @return SolrClient Solr client
@@ -69,6 +87,128 @@ public class SolrSearchCore {
         return solr;
     }
 
+    /**
+     * Get the client used to send (buffered) document updates. This is the streaming client when
+     * "discovery.solr.buffer.streaming.enabled" is set, and the regular SolrClient otherwise.
+     * @return SolrClient Solr client for updates
+     */
+    public SolrClient getUpdateClient() {
+        if (!configurationService.getBooleanProperty("discovery.solr.buffer.streaming.enabled", false)) {
+            return getSolr();
+        }
+        if (streamingSolr == null) {
+            initStreamingSolr();
+        }
+        return streamingSolr;
+    }
+
+    /**
+     * Get the number of update requests the streaming client failed to send since startup. The client reports its
+     * errors asynchronously, without the documents, so a buffer which sees this number change after its documents
+     * were sent sends them again (see {@link SolrDocumentBuffer#confirm()}).
+     * @return the number of failed update requests
+     */
+    public long getStreamingFailureCount() {
+        return streamingFailures.get();
+    }
+
+    /**
+     * Open a document buffer for the current thread. Until the returned buffer is closed, documents written
+     * through {@link #addDocument(SolrInputDocument)} on this thread are sent to Solr in batches. If the current
+     * thread already has an open buffer, that buffer is returned.
+     * <pre>
+     * try (SolrDocumentBuffer buffer = solrSearchCore.openDocumentBuffer()) {
+     *     ... index objects ...
+     * }
+     * </pre>
+     * @return the document buffer of the current thread
+     */
+    public SolrDocumentBuffer openDocumentBuffer() {
+        SolrDocumentBuffer buffer = documentBuffer.get();
+        if (buffer == null) {
+            buffer = new SolrDocumentBuffer(this,
+                configurationService.getIntProperty("discovery.solr.buffer.maxDocuments", 100),
+                configurationService.getLongProperty("discovery.solr.buffer.maxBytes", 10 * 1024 * 1024),
+                configurationService.getLongProperty("discovery.solr.buffer.maxAge", 10000));
+            documentBuffer.set(buffer);
+        }
+        buffer.open();
+        return buffer;
+    }
+
+    /**
+     * Detach the given buffer from the current thread, called when the buffer is closed by its outermost user.
+     * @param buffer the buffer to release
+     */
+    protected void releaseDocumentBuffer(SolrDocumentBuffer buffer) {
+        if (documentBuffer.get() == buffer) {
+            documentBuffer.remove();
+        }
+    }
+
+    /**
+     * Write a document to the search core. The document is added to the document buffer of the current thread
+     * if one is open, and sent immediately otherwise.
+     * @param document the document to write
+     * @throws IOException          If IO error
+     * @throws SolrServerException  If the document could not be written to the search core
+     */
+    public void addDocument(SolrInputDocument document) throws IOException, SolrServerException {
+        SolrDocumentBuffer buffer = documentBuffer.get();
+        if (buffer != null) {
+            buffer.add(document);
+        } else {
+            getSolr().add(document);
+        }
+    }
+
+    /**
+     * Send all pending updates to Solr: flush the document buffer of the current thread, if any, and wait for
+     * the streaming client to empty its queue. This must be called before a commit or a delete, so that these
+     * are not overtaken by buffered documents.
+     * @throws IOException          If IO error
+     * @throws SolrServerException  If the buffered documents could not be written to the search core
+     */
+    public void flush() throws IOException, SolrServerException {
+        SolrDocumentBuffer buffer = documentBuffer.get();
+        if (buffer != null) {
+            buffer.flush();
+            buffer.confirm();
+        } else if (streamingSolr != null) {
+            streamingSolr.blockUntilFinished();
+        }
+    }
+
+    /**
+     * Wait for the streaming client, if any, to send all the documents it queued
+     */
+    protected void blockUntilStreamed() {
+        if (streamingSolr != null) {
+            streamingSolr.blockUntilFinished();
+        }
+    }
+
+    /**
+     * Initialize the streaming client used for buffered document updates
+     */
+    protected synchronized void initStreamingSolr() {
+        if (streamingSolr == null) {
+            String solrService = configurationService.getProperty("discovery.search.server");
+            ConcurrentUpdateSolrClient.Builder builder = new ConcurrentUpdateSolrClient.Builder(solrService)
+                .withHttpClient(httpConnectionPoolService.getClient())
+                .withQueueSize(configurationService.getIntProperty("discovery.solr.buffer.streaming.queueSize", 10))
+                .withThreadCount(configurationService.getIntProperty("discovery.solr.buffer.streaming.threads", 2));
+            streamingSolr = new ConcurrentUpdateSolrClient(builder) {
+                @Override
+                public void handleError(Throwable ex) {
+                    // only logged by default: count it, so that the buffers send their documents again
+                    streamingFailures.incrementAndGet();
+                    super.handleError(ex);
+                }
+            };
+        }
+    }
+
     /**
      * Initialize the solr search core
      */
@@ -18,14 +18,22 @@ import java.sql.SQLException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jakarta.mail.MessagingException;
 import org.apache.commons.collections4.CollectionUtils;
@@ -44,6 +52,7 @@ import org.apache.solr.client.solrj.util.ClientUtils;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.FacetParams;
 import org.apache.solr.common.params.HighlightParams;
 import org.apache.solr.common.params.MoreLikeThisParams;
@@ -120,6 +129,11 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     @Autowired
     protected ConfigurationService configurationService;
 
+    /**
+     * Incremented by every commit of the search core, see {@link #getIndexGeneration()}
+     */
+    private final AtomicLong indexGeneration = new AtomicLong();
+
     protected SolrServiceImpl() {
 
     }
@@ -222,7 +236,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             log.info("Try to delete uniqueID:" + uniqueID);
             indexObjectServiceFactory.getIndexableObjectFactory(indexableObject).delete(indexableObject);
             if (commit) {
-                solrSearchCore.getSolr().commit();
+                commitIndex();
             }
         } catch (IOException | SolrServerException exception) {
             log.error(exception.getMessage(), exception);
@@ -263,7 +277,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                     log.warn("Object not found in Solr index: " + searchUniqueID);
                 }
                 if (commit) {
-                    solrSearchCore.getSolr().commit();
+                    commitIndex();
                 }
             }
         } catch (SolrServerException e) {
@@ -338,33 +352,408 @@ public class SolrServiceImpl implements SearchService, IndexingService {
 
     @Override
     public void updateIndex(Context context, boolean force, String type) {
-        try {
+        try (SolrDocumentBuffer documentBuffer = solrSearchCore.openDocumentBuffer()) {
             final List<IndexFactory> indexableObjectServices = indexObjectServiceFactory.
                 getIndexFactories();
-            int indexObject = 0;
             for (IndexFactory indexableObjectService : indexableObjectServices) {
                 if (type == null || StringUtils.equals(indexableObjectService.getType(), type)) {
-                    final Iterator<IndexableObject> indexableObjects = indexableObjectService.findAll(context);
-                    while (indexableObjects.hasNext()) {
-                        final IndexableObject indexableObject = indexableObjects.next();
-                        indexContent(context, indexableObject, force);
-                        context.uncacheEntity(indexableObject.getIndexedObject());
-                        indexObject++;
-                        if ((indexObject % 100) == 0 && indexableObjectService instanceof ItemIndexFactory) {
-                            context.uncacheEntities();
-                        }
-                    }
+                    updateIndex(context, force, indexableObjectService);
                 }
             }
             if (solrSearchCore.getSolr() != null) {
-                solrSearchCore.getSolr().commit();
+                solrSearchCore.flush();
+                commitIndex();
+            }
+
+        } catch (IOException | SQLException | SolrServerException e) {
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Update all objects of a single indexable type on the current thread.
+     *
+     * @param context                   the dspace context
+     * @param force                     whether or not to force the reindexing
+     * @param indexableObjectService    the factory of the indexable type to update
+     * @return the number of processed objects
+     * @throws SQLException if database error
+     */
+    protected long updateIndex(Context context, boolean force, IndexFactory indexableObjectService)
+        throws SQLException {
+        long indexObject = 0;
+        final Iterator<IndexableObject> indexableObjects = indexableObjectService.findAll(context);
+        while (indexableObjects.hasNext()) {
+            final IndexableObject indexableObject = indexableObjects.next();
+            indexContent(context, indexableObject, force);
+            context.uncacheEntity(indexableObject.getIndexedObject());
+            indexObject++;
+            if ((indexObject % 100) == 0 && indexableObjectService instanceof ItemIndexFactory) {
+                context.uncacheEntities();
             }
+        }
+        return indexObject;
+    }
 
+    @Override
+    public void updateIndex(Context context, boolean force, String type, int workers) {
+        if (workers <= 1) {
+            updateIndex(context, force, type);
+            return;
+        }
+        try (SolrDocumentBuffer documentBuffer = solrSearchCore.openDocumentBuffer()) {
+            final List<IndexFactory> indexableObjectServices = indexObjectServiceFactory.
+                getIndexFactories();
+            for (IndexFactory indexableObjectService : indexableObjectServices) {
+                if (type == null || StringUtils.equals(indexableObjectService.getType(), type)) {
+                    if (indexableObjectService instanceof ItemIndexFactory) {
+                        updateItemIndexInParallel(force, (ItemIndexFactory) indexableObjectService, workers);
+                    } else {
+                        updateIndex(context, force, indexableObjectService);
+                    }
+                }
+            }
+            if (solrSearchCore.getSolr() != null) {
+                solrSearchCore.flush();
+                commitIndex();
+            }
         } catch (IOException | SQLException | SolrServerException e) {
             log.error(e.getMessage(), e);
         }
     }
 
+    /**
+     * Split all items into UUID range partitions and index these partitions on a fixed pool of worker threads.
+     * Each partition is processed with its own read-only Context, so workers never share Hibernate sessions.
+     * The number of partitions is a multiple of the number of workers (see
+     * "discovery.index.parallel.partitions-per-worker") so that uneven partitions are balanced across workers.
+     *
+     * @param force             whether or not to force the reindexing
+     * @param itemIndexFactory  the item index factory
+     * @param workers           the number of worker threads
+     * @throws SQLException if a partition failed with a database error
+     */
+    protected void updateItemIndexInParallel(boolean force, ItemIndexFactory itemIndexFactory, int workers)
+        throws SQLException {
+        final int partitionsPerWorker = Math.max(1,
+            configurationService.getIntProperty("discovery.index.parallel.partitions-per-worker", 4));
+        final List<UUID> boundaries = getPartitionBoundaries(workers * partitionsPerWorker);
+        final int partitions = boundaries.size() - 1;
+        final long start = Instant.now().toEpochMilli();
+        log.info("Indexing items in {} partitions using {} workers", partitions, workers);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(workers);
+        final List<Future<Long>> results = new ArrayList<>(partitions);
+        try {
+            for (int i = 0; i < partitions; i++) {
+                final UUID fromId = boundaries.get(i);
+                final UUID toId = boundaries.get(i + 1);
+                final String partition = (i + 1) + "/" + partitions;
+                results.add(executor.submit(() -> indexItemPartition(itemIndexFactory, force, fromId, toId,
+                                                                     partition)));
+            }
+            long total = 0;
+            for (Future<Long> result : results) {
+                total += result.get();
+            }
+            log.info("Indexed {} items in {} partitions in {} seconds", total, partitions,
+                     (Instant.now().toEpochMilli() - start) / 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while indexing item partitions", e);
+        } catch (ExecutionException e) {
+            throw new SQLException("Error while indexing item partitions: " + e.getCause().getMessage(),
+                                   e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Index all items of a single UUID range partition. This method is executed by a worker thread and uses its
+     * own read-only Context, which is aborted when the partition is done, and its own document buffer, so the
+     * Solr documents of the partition are sent in batches.
+     *
+     * @param itemIndexFactory  the item index factory
+     * @param force             whether or not to force the reindexing
+     * @param fromId            inclusive lower bound of the partition, or null
+     * @param toId              exclusive upper bound of the partition, or null
+     * @param partition         label of the partition used when reporting progress
+     * @return the number of processed items
+     * @throws SQLException if database error
+     */
+    protected long indexItemPartition(ItemIndexFactory itemIndexFactory, boolean force, UUID fromId, UUID toId,
+                                      String partition) throws SQLException, IOException {
+        final int batchSize = Math.max(1,
+            configurationService.getIntProperty("discovery.index.parallel.batch-size", 100));
+        final long start = Instant.now().toEpochMilli();
+        long indexed = 0;
+        Context workerContext = new Context(Context.Mode.READ_ONLY);
+        try (SolrDocumentBuffer documentBuffer = solrSearchCore.openDocumentBuffer()) {
+            workerContext.turnOffAuthorisationSystem();
+            final Iterator<IndexableItem> indexableItems = itemIndexFactory.findAll(workerContext, fromId, toId);
+            while (indexableItems.hasNext()) {
+                final IndexableItem indexableItem = indexableItems.next();
+                indexContent(workerContext, indexableItem, force);
+                workerContext.uncacheEntity(indexableItem.getIndexedObject());
+                indexed++;
+                if ((indexed % batchSize) == 0) {
+                    workerContext.uncacheEntities();
+                    log.info("Partition {}: indexed {} items in {} seconds", partition, indexed,
+                             (Instant.now().toEpochMilli() - start) / 1000);
+                }
+            }
+        } finally {
+            workerContext.abort();
+        }
+        log.info("Partition {} done: indexed {} items in {} seconds", partition, indexed,
+                 (Instant.now().toEpochMilli() - start) / 1000);
+        return indexed;
+    }
+
+    /**
+     * Split the UUID space into the given number of contiguous ranges of equal width, using the 32 most
+     * significant bits of the UUID. The returned list contains partitions + 1 boundaries; the first and last
+     * boundary are null, meaning the first and last range are open ended. The boundaries are ordered as the
+     * database orders UUIDs, i.e. as unsigned 128 bit values.
+     *
+     * @param partitions the number of partitions
+     * @return the list of partition boundaries
+     */
+    protected List<UUID> getPartitionBoundaries(int partitions) {
+        final List<UUID> boundaries = new ArrayList<>(partitions + 1);
+        boundaries.add(null);
+        for (long i = 1; i < partitions; i++) {
+            boundaries.add(new UUID(((i << 32) / partitions) << 32, 0L));
+        }
+        boundaries.add(null);
+        return boundaries;
+    }
+
+    @Override
+    public void updateIndexSince(Context context, Instant since, String type) {
+        try (SolrDocumentBuffer documentBuffer = solrSearchCore.openDocumentBuffer()) {
+            if (solrSearchCore.getSolr() == null) {
+                return;
+            }
+            if (since == null) {
+                since = getIndexWatermark();
+                if (since == null) {
+                    log.info("The index contains no items, falling back to a full update");
+                    updateIndex(context, false, type);
+                    return;
+                }
+            }
+            log.info("Incrementally updating the index with changes since {}", since);
+            final long start = Instant.now().toEpochMilli();
+
+            if (type == null || IndexableItem.TYPE.equals(type)) {
+                long modified = updateItemsModifiedSince(context, since);
+                long deleted = removeDeletedItems(context);
+                log.info("Reindexed {} modified and removed {} deleted items", modified, deleted);
+            }
+            for (IndexFactory indexableObjectService : indexObjectServiceFactory.getIndexFactories()) {
+                String factoryType = indexableObjectService.getType();
+                if (type != null && !StringUtils.equals(factoryType, type)) {
+                    continue;
+                }
+                if (IndexableCollection.TYPE.equals(factoryType) || IndexableCommunity.TYPE.equals(factoryType)) {
+                    updateAndRemoveDeleted(context, indexableObjectService);
+                } else if (!IndexableItem.TYPE.equals(factoryType)) {
+                    // workspace and workflow items, tasks...: reindexed with their item, only deletions are left
+                    long deleted = removeDeletedObjects(context, indexableObjectService);
+                    log.info("Removed {} deleted {} documents", deleted, factoryType);
+                }
+            }
+
+            solrSearchCore.flush();
+            commitIndex();
+            log.info("Incremental index update done in {} seconds", (Instant.now().toEpochMilli() - start) / 1000);
+        } catch (IOException | SQLException | SolrServerException | SearchServiceException e) {
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Instant getIndexWatermark() throws SearchServiceException {
+        try {
+            SolrQuery query = new SolrQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + IndexableItem.TYPE);
+            query.setFields("lastModified");
+            query.addSort("lastModified", SolrQuery.ORDER.desc);
+            query.setRows(1);
+            SolrDocumentList docs = solrSearchCore.getSolr().query(query, solrSearchCore.REQUEST_METHOD).getResults();
+            if (docs.isEmpty() || docs.get(0).getFieldValue("lastModified") == null) {
+                return null;
+            }
+            Instant lastModified = ((Date) docs.get(0).getFieldValue("lastModified")).toInstant();
+            return lastModified.minusSeconds(
+                configurationService.getLongProperty("discovery.index.incremental.overlap", 3600));
+        } catch (IOException | SolrServerException e) {
+            throw new SearchServiceException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reindex all items (and the workspace and workflow items wrapping them) whose last modified date in the
+     * database is after the given watermark.
+     *
+     * @param context the dspace context
+     * @param since   the watermark
+     * @return the number of reindexed items
+     * @throws SQLException if database error
+     */
+    protected long updateItemsModifiedSince(Context context, Instant since) throws SQLException {
+        long count = 0;
+        Iterator<Item> items = contentServiceFactory.getItemService().findByLastModifiedSince(context, since);
+        while (items.hasNext()) {
+            Item item = items.next();
+            for (IndexableObject indexableObject : indexObjectServiceFactory.getIndexableObjects(context, item)) {
+                indexContent(context, indexableObject, true);
+            }
+            context.uncacheEntity(item);
+            count++;
+            if ((count % 100) == 0) {
+                context.uncacheEntities();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Remove the documents of deleted items from the index. The item documents are read from the index in pages,
+     * and the existence of each page of items is checked with a single database query.
+     *
+     * @param context the dspace context
+     * @return the number of removed documents
+     * @throws SQLException        if database error
+     * @throws IOException         if IO error
+     * @throws SolrServerException if the index could not be queried
+     */
+    protected long removeDeletedItems(Context context) throws SQLException, IOException, SolrServerException {
+        final int batchSize = configurationService.getIntProperty("discovery.index.incremental.batch-size", 1000);
+        SolrQuery query = new SolrQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + IndexableItem.TYPE);
+        query.setFields(SearchUtils.RESOURCE_UNIQUE_ID, SearchUtils.RESOURCE_ID_FIELD);
+        query.addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+        query.setRows(batchSize);
+
+        long removed = 0;
+        String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        String nextCursorMark = null;
+        while (!cursorMark.equals(nextCursorMark)) {
+            if (nextCursorMark != null) {
+                cursorMark = nextCursorMark;
+            }
+            query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            QueryResponse response = solrSearchCore.getSolr().query(query, solrSearchCore.REQUEST_METHOD);
+            nextCursorMark = response.getNextCursorMark();
+
+            Map<UUID, String> uniqueIds = new HashMap<>();
+            for (SolrDocument doc : response.getResults()) {
+                uniqueIds.put(UUID.fromString((String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD)),
+                              (String) doc.getFirstValue(SearchUtils.RESOURCE_UNIQUE_ID));
+            }
+            if (uniqueIds.isEmpty()) {
+                break;
+            }
+            List<UUID> existing = contentServiceFactory.getItemService()
+                                                       .findExistingIds(context, new ArrayList<>(uniqueIds.keySet()));
+            existing.forEach(uniqueIds::remove);
+            for (String uniqueId : uniqueIds.values()) {
+                log.info("Deleting: " + uniqueId);
+                unIndexContent(context, uniqueId);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Remove the documents of the given type whose object no longer exists. The documents are read from the index in
+     * pages, and the objects of each page are looked up at once.
+     *
+     * @param context                the dspace context
+     * @param indexableObjectService the factory of the indexable type
+     * @return the number of removed documents
+     * @throws SQLException        if database error
+     * @throws IOException         if IO error
+     * @throws SolrServerException if the index could not be queried
+     */
+    protected long removeDeletedObjects(Context context, IndexFactory indexableObjectService)
+        throws SQLException, IOException, SolrServerException {
+        final int batchSize = configurationService.getIntProperty("discovery.index.incremental.batch-size", 1000);
+        SolrQuery query = new SolrQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + indexableObjectService.getType());
+        query.setFields(SearchUtils.RESOURCE_UNIQUE_ID, SearchUtils.RESOURCE_ID_FIELD);
+        query.addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+        query.setRows(batchSize);
+
+        long removed = 0;
+        String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        String nextCursorMark = null;
+        while (!cursorMark.equals(nextCursorMark)) {
+            if (nextCursorMark != null) {
+                cursorMark = nextCursorMark;
+            }
+            query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            QueryResponse response = solrSearchCore.getSolr().query(query, solrSearchCore.REQUEST_METHOD);
+            nextCursorMark = response.getNextCursorMark();
+
+            Map<String, String> uniqueIds = new HashMap<>();
+            for (SolrDocument doc : response.getResults()) {
+                uniqueIds.put((String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD),
+                              (String) doc.getFirstValue(SearchUtils.RESOURCE_UNIQUE_ID));
+            }
+            if (uniqueIds.isEmpty()) {
+                break;
+            }
+            Map<String, ?> existing = indexableObjectService.findIndexableObjects(context,
+                                                                                  new ArrayList<>(uniqueIds.keySet()));
+            existing.keySet().forEach(uniqueIds::remove);
+            for (String uniqueId : uniqueIds.values()) {
+                log.info("Deleting: " + uniqueId);
+                unIndexContent(context, uniqueId);
+                removed++;
+            }
+            context.uncacheEntities();
+        }
+        return removed;
+    }
+
+    /**
+     * Update all objects of the given type, and remove the documents of this type whose object no longer exists.
+     * Meant for types with few objects such as collections and communities, the identifiers of all objects are
+     * kept in memory.
+     *
+     * @param context                   the dspace context
+     * @param indexableObjectService    the factory of the indexable type to update
+     * @throws SQLException        if database error
+     * @throws IOException         if IO error
+     * @throws SolrServerException if the index could not be queried
+     */
+    protected void updateAndRemoveDeleted(Context context, IndexFactory indexableObjectService)
+        throws SQLException, IOException, SolrServerException {
+        Set<String> uniqueIds = new HashSet<>();
+        final Iterator<IndexableObject> indexableObjects = indexableObjectService.findAll(context);
+        while (indexableObjects.hasNext()) {
+            final IndexableObject indexableObject = indexableObjects.next();
+            indexContent(context, indexableObject, false);
+            uniqueIds.add(indexableObject.getUniqueIndexID());
+            context.uncacheEntity(indexableObject.getIndexedObject());
+        }
+
+        SolrQuery query = new SolrQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + indexableObjectService.getType());
+        query.setFields(SearchUtils.RESOURCE_UNIQUE_ID);
+        query.setRows(0);
+        long total = solrSearchCore.getSolr().query(query, solrSearchCore.REQUEST_METHOD).getResults().getNumFound();
+        query.setRows((int) total);
+        for (SolrDocument doc : solrSearchCore.getSolr().query(query, solrSearchCore.REQUEST_METHOD).getResults()) {
+            String uniqueId = (String) doc.getFirstValue(SearchUtils.RESOURCE_UNIQUE_ID);
+            if (!uniqueIds.contains(uniqueId)) {
+                log.info("Deleting: " + uniqueId);
+                unIndexContent(context, uniqueId);
+            }
+        }
+    }
+
     /**
      * Removes all documents from the Lucene index
      */
@@ -493,7 +882,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         solrInputDocument.addField(SearchUtils.RESOURCE_UNIQUE_ID, uniqueIndexId);
         solrInputDocument.addField(field, fieldModifier);
 
-        solrSearchCore.getSolr().add(solrInputDocument);
+        solrSearchCore.addDocument(solrInputDocument);
     }
 
     // //////////////////////////////////
@@ -941,8 +1330,11 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 result.setTotalSearchResults(solrQueryResponse.getResults().getNumFound());
 
                 List<String> searchFields = query.getSearchFields();
-                for (SolrDocument doc : solrQueryResponse.getResults()) {
-                    IndexableObject indexableObject = findIndexableObject(context, doc);
+                SolrDocumentList docs = solrQueryResponse.getResults();
+                List<IndexableObject> indexableObjects = findIndexableObjects(context, docs);
+                for (int i = 0; i < docs.size(); i++) {
+                    SolrDocument doc = docs.get(i);
+                    IndexableObject indexableObject = indexableObjects.get(i);
 
                     if (indexableObject != null) {
                         result.addIndexableObject(indexableObject);
@@ -1006,7 +1398,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 log.info("ZombieDocs ");
                 zombieDocs.forEach(log::info);
                 solrSearchCore.getSolr().deleteById(zombieDocs);
-                solrSearchCore.getSolr().commit();
+                commitIndex();
             } else {
                 valid = true;
             }
@@ -1165,6 +1557,48 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         return indexableObject.orElse(null);
     }
 
+    /**
+     * Find the indexable objects of several solr documents at once, e.g. a page of search results. The documents are
+     * grouped by resource type, and the objects of each type are retrieved together (see
+     * {@link IndexFactory#findIndexableObjects(Context, List)}).
+     *
+     * @param context
+     *            The relevant DSpace Context.
+     * @param docs
+     *            the solr documents, the following fields MUST be present RESOURCE_TYPE_FIELD and RESOURCE_ID_FIELD
+     * @return the indexable object of each document, in the same order, or null if it was not found
+     * @throws SQLException
+     *             An exception that provides information on a database access error or other errors.
+     */
+    @SuppressWarnings("unchecked")
+    protected List<IndexableObject> findIndexableObjects(Context context, List<SolrDocument> docs)
+        throws SQLException {
+        Map<String, List<String>> idsByType = new HashMap<>();
+        for (SolrDocument doc : docs) {
+            String type = (String) doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD);
+            String id = (String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
+            idsByType.computeIfAbsent(type, t -> new ArrayList<>()).add(id);
+        }
+        Map<String, Map<String, IndexableObject>> objectsByType = new HashMap<>();
+        for (Map.Entry<String, List<String>> ids : idsByType.entrySet()) {
+            final IndexFactory indexableObjectService = indexObjectServiceFactory.
+                    getIndexFactoryByType(ids.getKey());
+            objectsByType.put(ids.getKey(), indexableObjectService.findIndexableObjects(context, ids.getValue()));
+        }
+
+        List<IndexableObject> indexableObjects = new ArrayList<>(docs.size());
+        for (SolrDocument doc : docs) {
+            String type = (String) doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD);
+            String id = (String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
+            IndexableObject indexableObject = objectsByType.get(type).get(id);
+            if (indexableObject == null) {
+                log.warn("Not able to retrieve object RESOURCE_ID:" + id + " - RESOURCE_TYPE_ID:" + type);
+            }
+            indexableObjects.add(indexableObject);
+        }
+        return indexableObjects;
+    }
+
     public List<IndexableObject> search(Context context, String query, int offset, int max,
             String... filterquery) {
         return search(context, query, null, true, offset, max, filterquery);
@@ -1194,11 +1628,8 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             QueryResponse rsp = solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
             SolrDocumentList docs = rsp.getResults();
 
-            Iterator iter = docs.iterator();
             List<IndexableObject> result = new ArrayList<>();
-            while (iter.hasNext()) {
-                SolrDocument doc = (SolrDocument) iter.next();
-                IndexableObject o = findIndexableObject(context, doc);
+            for (IndexableObject o : findIndexableObjects(context, docs)) {
                 if (o != null) {
                     result.add(o);
                 }
@@ -1518,11 +1949,30 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         }
     }
 
+    @Override
+    public SolrDocumentBuffer openDocumentBuffer() {
+        return solrSearchCore.openDocumentBuffer();
+    }
+
+    /**
+     * Commit the search core, making the changes visible to the searches
+     */
+    private void commitIndex() throws SolrServerException, IOException {
+        solrSearchCore.getSolr().commit();
+        indexGeneration.incrementAndGet();
+    }
+
+    @Override
+    public long getIndexGeneration() {
+        return indexGeneration.get();
+    }
+
     @Override
     public void commit() throws SearchServiceException {
         try {
             if (solrSearchCore.getSolr() != null) {
-                solrSearchCore.getSolr().commit();
+                solrSearchCore.flush();
+                commitIndex();
             }
         } catch (IOException | SolrServerException e) {
             throw new SearchServiceException(e.getMessage(), e);
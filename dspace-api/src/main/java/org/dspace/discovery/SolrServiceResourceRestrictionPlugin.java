@@ -10,6 +10,8 @@ package org.dspace.discovery;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
@@ -36,6 +38,7 @@ import org.dspace.discovery.indexobject.IndexablePoolTask;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.service.GroupService;
+import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.xmlworkflow.storedcomponents.ClaimedTask;
 import org.dspace.xmlworkflow.storedcomponents.PoolTask;
@@ -64,6 +67,10 @@ public class SolrServiceResourceRestrictionPlugin implements SolrServiceIndexPlu
     protected GroupService groupService;
     @Autowired(required = true)
     protected ResourcePolicyService resourcePolicyService;
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+    @Autowired(required = true)
+    protected ReadRestrictionFilterCache readRestrictionFilterCache;
 
     @Override
     public void additionalIndex(Context context, IndexableObject idxObj, SolrInputDocument document) {
@@ -140,42 +147,66 @@ public class SolrServiceResourceRestrictionPlugin implements SolrServiceIndexPlu
     public void additionalSearchParameters(Context context, DiscoverQuery discoveryQuery, SolrQuery solrQuery) {
         try {
             if (!authorizeService.isAdmin(context)) {
-                StringBuilder resourceQuery = new StringBuilder();
-                //Always add the anonymous group id to the query
-                Group anonymousGroup = groupService.findByName(context, Group.ANONYMOUS);
-                String anonGroupId = "";
-                if (anonymousGroup != null) {
-                    anonGroupId = anonymousGroup.getID().toString();
-                }
-                resourceQuery.append("read:(g" + anonGroupId);
-                EPerson currentUser = context.getCurrentUser();
-                if (currentUser != null) {
-                    resourceQuery.append(" OR e").append(currentUser.getID());
+                ReadRestrictionFilterCache.Key key = readRestrictionFilterCache.getKey(context);
+                String resourceQuery = readRestrictionFilterCache.get(key);
+                if (resourceQuery == null) {
+                    long generation = readRestrictionFilterCache.getGeneration();
+                    resourceQuery = createResourceQuery(context);
+                    readRestrictionFilterCache.put(key, resourceQuery, generation);
                 }
+                solrQuery.addFilterQuery(resourceQuery);
+            }
+        } catch (SQLException e) {
+            log.error(LogHelper.getHeader(context, "Error while adding resource policy information to query", ""), e);
+        }
+    }
 
-                //Retrieve all the groups the current user is a member of !
-                Set<Group> groups = groupService.allMemberGroupsSet(context, currentUser);
-                for (Group group : groups) {
-                    resourceQuery.append(" OR g").append(group.getID());
-                }
+    /**
+     * Build the filter query restricting the results to the objects the current user can read. The groups are
+     * sorted, so that users with the same groups get the same filter, which Solr caches once.
+     *
+     * @param context The relevant DSpace Context.
+     * @return the filter query
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    protected String createResourceQuery(Context context) throws SQLException {
+        SortedSet<String> readers = new TreeSet<>();
+        //Always add the anonymous group id to the query
+        Group anonymousGroup = groupService.findByName(context, Group.ANONYMOUS);
+        String anonGroupId = "";
+        if (anonymousGroup != null) {
+            anonGroupId = anonymousGroup.getID().toString();
+        }
+        readers.add("g" + anonGroupId);
+        EPerson currentUser = context.getCurrentUser();
+        if (currentUser != null) {
+            readers.add("e" + currentUser.getID());
+        }
 
-                resourceQuery.append(")");
+        //Retrieve all the groups the current user is a member of !
+        Set<Group> groups = groupService.allMemberGroupsSet(context, currentUser);
+        for (Group group : groups) {
+            readers.add("g" + group.getID());
+        }
 
-                String locations = DSpaceServicesFactory.getInstance()
-                                                          .getServiceManager()
-                                                          .getServiceByName(SearchService.class.getName(),
-                                                                            SearchService.class)
-                                                          .createLocationQueryForAdministrableItems(context);
+        String locations = DSpaceServicesFactory.getInstance()
+                                                  .getServiceManager()
+                                                  .getServiceByName(SearchService.class.getName(),
+                                                                    SearchService.class)
+                                                  .createLocationQueryForAdministrableItems(context);
 
-                if (StringUtils.isNotBlank(locations)) {
-                    resourceQuery.append(" OR ");
-                    resourceQuery.append(locations);
-                }
+        if (StringUtils.isBlank(locations)
+            && configurationService.getBooleanProperty("discovery.read-restriction.terms-query", false)) {
+            // a terms query on a long list of groups is parsed much faster than the equivalent boolean query
+            return "{!terms f=read}" + String.join(",", readers);
+        }
 
-                solrQuery.addFilterQuery(resourceQuery.toString());
-            }
-        } catch (SQLException e) {
-            log.error(LogHelper.getHeader(context, "Error while adding resource policy information to query", ""), e);
+        StringBuilder resourceQuery = new StringBuilder();
+        resourceQuery.append("read:(").append(String.join(" OR ", readers)).append(")");
+        if (StringUtils.isNotBlank(locations)) {
+            resourceQuery.append(" OR ");
+            resourceQuery.append(locations);
         }
+        return resourceQuery.toString();
     }
 }
@@ -11,8 +11,10 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -121,6 +123,16 @@ public class CommunityIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Inde
         return community == null ? Optional.empty() : Optional.of(new IndexableCommunity(community));
     }
 
+    @Override
+    public Map<String, IndexableCommunity> findIndexableObjects(Context context, List<String> ids)
+        throws SQLException {
+        Map<String, IndexableCommunity> indexableObjects = new HashMap<>();
+        for (Map.Entry<String, Community> dso : findDSpaceObjects(context, ids, communityService).entrySet()) {
+            indexableObjects.put(dso.getKey(), new IndexableCommunity(dso.getValue()));
+        }
+        return indexableObjects;
+    }
+
     @Override
     public List<String> getLocations(Context context, IndexableCommunity indexableDSpaceObject) throws SQLException {
         final Community target = indexableDSpaceObject.getIndexedObject();
@@ -9,11 +9,16 @@ package org.dspace.discovery.indexobject;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.content.DSpaceObject;
+import org.dspace.content.service.DSpaceObjectService;
 import org.dspace.core.Context;
 import org.dspace.discovery.indexobject.factory.DSpaceObjectIndexFactory;
 
@@ -64,6 +69,28 @@ public abstract class DSpaceObjectIndexFactoryImpl<T extends IndexableDSpaceObje
         }
     }
 
+    /**
+     * Load the objects of several search hits at once
+     *
+     * @param context DSpace context object
+     * @param ids     the UUIDs of the objects, as stored in the search core
+     * @param service the service of the objects
+     * @return the objects found, by the identifier they were requested with
+     * @throws SQLException If database error
+     */
+    protected Map<String, S> findDSpaceObjects(Context context, List<String> ids, DSpaceObjectService<S> service)
+        throws SQLException {
+        Map<UUID, String> uuids = new HashMap<>();
+        for (String id : ids) {
+            uuids.put(UUID.fromString(id), id);
+        }
+        Map<String, S> dsos = new HashMap<>();
+        for (S dso : service.findByIds(context, new ArrayList<>(uuids.keySet()))) {
+            dsos.put(uuids.get(dso.getID()), dso);
+        }
+        return dsos;
+    }
+
     @Override
     public void storeCommunityCollectionLocations(SolrInputDocument doc, List<String> locations) {
         if (locations != null) {
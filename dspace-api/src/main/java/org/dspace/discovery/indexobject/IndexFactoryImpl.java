@@ -153,8 +153,8 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
                     doc.addField("fulltext", tikaHandler.toString());
                 }
             }
-            // Add document to index
-            solr.add(doc);
+            // Add document to index, this is buffered if the current thread opened a document buffer
+            solrSearchCore.addDocument(doc);
 
         }
     }
@@ -237,16 +237,20 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
 
     @Override
     public void delete(T indexableObject) throws IOException, SolrServerException {
+        // make sure the delete is not overtaken by a buffered version of the same document
+        solrSearchCore.flush();
         solrSearchCore.getSolr().deleteById(indexableObject.getUniqueIndexID());
     }
 
     @Override
     public void delete(String indexableObjectIdentifier) throws IOException, SolrServerException {
+        solrSearchCore.flush();
         solrSearchCore.getSolr().deleteById(indexableObjectIdentifier);
     }
 
     @Override
     public void deleteAll() throws IOException, SolrServerException {
+        solrSearchCore.flush();
         solrSearchCore.getSolr().deleteByQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + getType());
     }
 }
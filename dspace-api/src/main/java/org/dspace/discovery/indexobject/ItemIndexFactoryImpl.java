@@ -110,7 +110,15 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
 
     @Override
     public Iterator<IndexableItem> findAll(Context context) throws SQLException {
-        Iterator<Item> items = itemService.findAllRegularItems(context);
+        return toIndexableItems(itemService.findAllRegularItems(context));
+    }
+
+    @Override
+    public Iterator<IndexableItem> findAll(Context context, UUID fromId, UUID toId) throws SQLException {
+        return toIndexableItems(itemService.findAllRegularItems(context, fromId, toId));
+    }
+
+    private Iterator<IndexableItem> toIndexableItems(Iterator<Item> items) {
         return new Iterator<IndexableItem>() {
             @Override
             public boolean hasNext() {
@@ -312,7 +320,8 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
             }
 
             List<String> toIgnoreMetadataFields = SearchUtils.getIgnoredMetadataFields(item.getType());
-            List<MetadataValue> mydc = itemService.getMetadata(item, Item.ANY, Item.ANY, Item.ANY, Item.ANY);
+            List<MetadataValue> mydc = itemService.getMetadata(context, item, Item.ANY, Item.ANY, Item.ANY, Item.ANY,
+                                                               true);
             for (MetadataValue meta : mydc) {
                 MetadataField metadataField = meta.getMetadataField();
                 MetadataSchema metadataSchema = metadataField.getMetadataSchema();
@@ -682,6 +691,19 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         return item == null ? Optional.empty() : Optional.of(new IndexableItem(item));
     }
 
+    @Override
+    public Map<String, IndexableItem> findIndexableObjects(Context context, List<String> ids)
+        throws SQLException {
+        Map<String, Item> items = findDSpaceObjects(context, ids, itemService);
+        // the metadata of the hits is displayed next, compute their virtual metadata together
+        itemService.loadVirtualMetadata(context, new ArrayList<>(items.values()));
+        Map<String, IndexableItem> indexableObjects = new HashMap<>();
+        for (Map.Entry<String, Item> dso : items.entrySet()) {
+            indexableObjects.put(dso.getKey(), new IndexableItem(dso.getValue()));
+        }
+        return indexableObjects;
+    }
+
     /**
      * Handles indexing when discoverySearchFilter is of type facet.
      *
@@ -9,7 +9,9 @@ package org.dspace.discovery.indexobject.factory;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.UUID;
 
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.content.Item;
@@ -38,4 +40,15 @@ public interface ItemIndexFactory extends DSpaceObjectIndexFactory<IndexableItem
                             List<DiscoveryConfiguration> discoveryConfigurations)
             throws SQLException, IOException;
 
+    /**
+     * Retrieve all indexable items whose UUID lies in the half-open range [fromId, toId).
+     * A {@code null} bound leaves that side of the range open.
+     * @param context       DSpace context object
+     * @param fromId        Inclusive lower bound of the UUID range, or null
+     * @param toId          Exclusive upper bound of the UUID range, or null
+     * @return              An iterator containing all the items to be indexed in the given range
+     * @throws SQLException If database error
+     */
+    Iterator<IndexableItem> findAll(Context context, UUID fromId, UUID toId) throws SQLException;
+
 }
\ No newline at end of file
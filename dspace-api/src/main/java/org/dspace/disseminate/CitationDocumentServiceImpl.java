@@ -7,9 +7,10 @@
  */
 package org.dspace.disseminate;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -20,6 +21,7 @@ import java.util.Set;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.dspace.authorize.AuthorizeException;
@@ -36,6 +38,7 @@ import org.dspace.core.Context;
 import org.dspace.disseminate.service.CitationDocumentService;
 import org.dspace.handle.service.HandleService;
 import org.dspace.services.ConfigurationService;
+import org.dspace.storage.bitstore.DeleteOnCloseFileInputStream;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -52,6 +55,11 @@ public class CitationDocumentServiceImpl implements CitationDocumentService, Ini
      */
     private static final Logger log = LogManager.getLogger(CitationDocumentServiceImpl.class);
 
+    /**
+     * Documents larger than this are buffered in temporary files rather than in memory while they are processed
+     */
+    private static final long MAX_MAIN_MEMORY_BYTES = 16 * 1024 * 1024;
+
     /**
      * A set of MIME types that can have a citation page added to them. That is,
      * MIME types in this set can be converted to a PDF which is then prepended
@@ -80,6 +88,11 @@ public class CitationDocumentServiceImpl implements CitationDocumentService, Ini
 
     protected File tempDir;
 
+    /**
+     * Cache of generated cited documents, null when disabled
+     */
+    protected CitedDocumentCache citedDocumentCache;
+
     @Autowired(required = true)
     protected AuthorizeService authorizeService;
     @Autowired(required = true)
@@ -171,6 +184,16 @@ public class CitationDocumentServiceImpl implements CitationDocumentService, Ini
                 log.info("Unable to create temp directory at: " + tempDirString);
             }
         }
+
+        // Cache of cited documents, in MB
+        long cacheSize = configurationService.getLongProperty("citation-page.cache.max-size", 1024);
+        if (cacheSize > 0) {
+            String cacheDir = configurationService.getProperty("citation-page.cache.dir",
+                                                               tempDirString + File.separator + "citation-cache");
+            citedDocumentCache = new CitedDocumentCache(new File(cacheDir), cacheSize * 1024 * 1024);
+        } else {
+            citedDocumentCache = null;
+        }
     }
 
     protected CitationDocumentServiceImpl() {
@@ -247,38 +270,73 @@ public class CitationDocumentServiceImpl implements CitationDocumentService, Ini
     @Override
     public Pair<byte[], Long> makeCitedDocument(Context context, Bitstream bitstream)
             throws IOException, SQLException {
+        Pair<InputStream, Long> citedDocument = makeCitedDocumentStream(context, bitstream);
+        try (InputStream in = citedDocument.getLeft()) {
+            byte[] data = in.readAllBytes();
+            return Pair.of(data, (long) data.length);
+        }
+    }
 
-        try (
-                var result = new PDDocument();
-                var source = loadDocumentFromDB(context, bitstream)
-        ) {
-            var item = (Item) bitstreamService.getParentObject(context, bitstream);
-
-            try (var cover = coverPageService.renderCoverDocument(item)) {
-                addCoverPageToDocument(result, source, cover);
+    @Override
+    public Pair<InputStream, Long> makeCitedDocumentStream(Context context, Bitstream bitstream)
+            throws IOException, SQLException {
+        var item = (Item) bitstreamService.getParentObject(context, bitstream);
 
-                return documentAsBytes(result);
+        if (citedDocumentCache == null) {
+            File file = File.createTempFile("cited-" + bitstream.getID(), ".pdf", scratchDir());
+            try {
+                writeCitedDocument(context, bitstream, item, file);
+                return Pair.of(new DeleteOnCloseFileInputStream(file), file.length());
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(file.toPath());
+                throw e;
             }
         }
+
+        // everything the cited document depends on
+        String key = CitedDocumentCache.key(String.valueOf(item.getID()),
+                                            String.valueOf(bitstream.getID()),
+                                            bitstream.getChecksum(),
+                                            String.valueOf(item.getLastModified()),
+                                            String.valueOf(isCitationFirstPage()),
+                                            configurationService.getProperty("citation-page.cover-template"),
+                                            configurationService.getProperty("citation-page.page_format"),
+                                            configurationService.getProperty("citation-page.cache.template-version"));
+        return citedDocumentCache.get(key, file -> writeCitedDocument(context, bitstream, item, file));
     }
 
-    private PDDocument loadDocumentFromDB(Context context, Bitstream bitstream) {
-        try (var inputStream = bitstreamService.retrieve(context, bitstream)) {
-            return PDDocument.load(inputStream);
-        } catch (IOException | SQLException | AuthorizeException e) {
-            throw new RuntimeException(e);
+    /**
+     * Write the cited document to a file, buffering large documents in temporary files instead of memory
+     */
+    private void writeCitedDocument(Context context, Bitstream bitstream, Item item, File file) throws IOException {
+        try (
+                var result = new PDDocument(memoryUsageSetting());
+                var source = loadDocumentFromDB(context, bitstream);
+                var cover = coverPageService.renderCoverDocument(item)
+        ) {
+            addCoverPageToDocument(result, source, cover);
+
+            result.setAllSecurityToBeRemoved(true);
+            result.save(file);
         }
     }
 
-    private static Pair<byte[], Long> documentAsBytes(PDDocument document) throws IOException {
+    private MemoryUsageSetting memoryUsageSetting() {
+        return MemoryUsageSetting.setupMixed(MAX_MAIN_MEMORY_BYTES).setTempDir(scratchDir());
+    }
 
-        document.setAllSecurityToBeRemoved(true);
+    /**
+     * @return the temp directory, or null for the system default one if it could not be created
+     */
+    private File scratchDir() {
+        return tempDir != null && tempDir.isDirectory() ? tempDir : null;
+    }
 
-        //We already have the full PDF in memory, so keep it there
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            document.save(out);
-            byte[] data = out.toByteArray();
-            return Pair.of(data, (long) data.length);
+    private PDDocument loadDocumentFromDB(Context context, Bitstream bitstream) {
+        try (var inputStream = bitstreamService.retrieve(context, bitstream)) {
+            return PDDocument.load(inputStream, memoryUsageSetting());
+        } catch (IOException | SQLException | AuthorizeException e) {
+            throw new RuntimeException(e);
         }
     }
 
@@ -0,0 +1,224 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.disseminate;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+import com.google.common.util.concurrent.Striped;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Utils;
+
+/**
+ * Directory of generated cited documents, so that a popular PDF is not loaded and rendered again on every download.
+ * <p>
+ * Files are named after a hash of everything the cited document depends on (e.g. the item and bitstream identifiers,
+ * the checksum of the bitstream, the last modification of the item and the cover page template name), so a changed
+ * item or template simply misses the cache.
+ * When the total size of the files exceeds the maximum, the least recently used ones are deleted.
+ */
+public class CitedDocumentCache {
+
+    private static final Logger log = LogManager.getLogger(CitedDocumentCache.class);
+
+    private static final String SUFFIX = ".pdf";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File directory;
+    private final long maxSize;
+
+    /**
+     * Avoid rendering the same document in concurrent requests
+     */
+    private final Striped<Lock> locks = Striped.lock(64);
+
+    // metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Writes a cited document to a file
+     */
+    @FunctionalInterface
+    public interface DocumentWriter {
+        void write(File file) throws IOException;
+    }
+
+    /**
+     * @param directory the directory holding the documents
+     * @param maxSize   the maximum total size of the documents, in bytes
+     */
+    public CitedDocumentCache(File directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Build a cache key
+     *
+     * @param parts everything the document depends on
+     * @return a hash of the parts
+     */
+    public static String key(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return Utils.toHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Open the cached document for a key, writing it first if it is not cached yet
+     *
+     * @param key    the cache key, see {@link #key(String...)}
+     * @param writer writes the document when it is not cached
+     * @return a stream of the document, to be closed by the caller, and its length
+     * @throws IOException If the document cannot be written or read
+     */
+    public Pair<InputStream, Long> get(String key, DocumentWriter writer) throws IOException {
+        File file = new File(directory, key + SUFFIX);
+        Pair<InputStream, Long> cached = open(file);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        Lock lock = locks.get(key);
+        lock.lock();
+        try {
+            // another request may have written it meanwhile
+            cached = open(file);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            misses.incrementAndGet();
+            write(file, writer);
+            cached = open(file);
+        } finally {
+            lock.unlock();
+        }
+        evict();
+        if (cached == null) {
+            throw new FileNotFoundException(file.getPath());
+        }
+        return cached;
+    }
+
+    /**
+     * Open a cached document, marking it as recently used
+     *
+     * @return the stream and length of the document, or null if it is not cached
+     */
+    private Pair<InputStream, Long> open(File file) {
+        if (!file.setLastModified(Instant.now().toEpochMilli())) {
+            return null;
+        }
+        try {
+            // once open, the document can be read even if it is evicted
+            return Pair.of(new FileInputStream(file), file.length());
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+    }
+
+    private void write(File file, DocumentWriter writer) throws IOException {
+        if (!directory.exists() && !directory.mkdirs() && !directory.exists()) {
+            throw new IOException("Unable to create the cited document cache directory " + directory);
+        }
+        File tempFile = File.createTempFile(file.getName(), TEMP_SUFFIX, directory);
+        try {
+            writer.write(tempFile);
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    /**
+     * Delete the least recently used documents until the total size is below the maximum, and any temporary file
+     * left by a crash
+     */
+    protected synchronized void evict() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        long staleTemp = Instant.now().toEpochMilli() - TimeUnit.DAYS.toMillis(1);
+        long size = 0;
+        for (File file : files) {
+            if (file.getName().endsWith(TEMP_SUFFIX) && file.lastModified() < staleTemp) {
+                file.delete();
+            } else if (file.getName().endsWith(SUFFIX)) {
+                size += file.length();
+            }
+        }
+        if (size <= maxSize) {
+            return;
+        }
+        File[] documents = Arrays.stream(files)
+                                 .filter(file -> file.getName().endsWith(SUFFIX))
+                                 .sorted(Comparator.comparingLong(File::lastModified))
+                                 .toArray(File[]::new);
+        for (File document : documents) {
+            if (size <= maxSize) {
+                break;
+            }
+            long length = document.length();
+            if (document.delete()) {
+                size -= length;
+                evictions.incrementAndGet();
+                log.debug("Evicted cited document {}", document.getName());
+            }
+        }
+    }
+
+    /**
+     * @return the number of documents served from the cache since startup
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of documents which had to be generated since startup
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of documents deleted to stay below the maximum size since startup
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+}
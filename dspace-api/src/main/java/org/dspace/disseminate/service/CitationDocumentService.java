@@ -8,6 +8,7 @@
 package org.dspace.disseminate.service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.sql.SQLException;
 
 import org.apache.commons.lang3.tuple.Pair;
@@ -82,4 +83,19 @@ public interface CitationDocumentService {
     Pair<byte[], Long> makeCitedDocument(Context context, Bitstream bitstream)
             throws IOException, SQLException, AuthorizeException;
 
+    /**
+     * Same as {@link #makeCitedDocument(Context, Bitstream)}, but the cited document is read from a file rather
+     * than held in memory. The file is reused for later requests of the same bitstream, as long as the item and the
+     * cover page configuration do not change.
+     *
+     * @param context   DSpace context
+     * @param bitstream The source bitstream being cited. This must be a PDF.
+     * @return A stream of the cited document, which the caller must close, and its length.
+     * @throws IOException        if IO error
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     */
+    Pair<InputStream, Long> makeCitedDocumentStream(Context context, Bitstream bitstream)
+            throws IOException, SQLException, AuthorizeException;
+
 }
\ No newline at end of file
@@ -0,0 +1,159 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.handle;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Objects the handles are bound to, shared by all the contexts, so that resolving a handle (handle resolver, pid
+ * endpoint, OAI sets, sitemaps) does not query the handle table every time.
+ * <p>
+ * Only bound handles are cached, as the type and id of their object. A handle is forgotten once its unbinding or
+ * move to another object is committed (see {@link org.dspace.core.Context#addChangedHandle(String)}), and every
+ * handle when a new prefix is committed. Entries also
+ * expire after a configurable time, so that changes made by another process eventually apply.
+ */
+public class HandleResolutionCache {
+
+    private final Cache<String, Target> targets;
+
+    /**
+     * Incremented by every invalidation, so that a handle read before an invalidation is not cached after it
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param maxSize the maximum number of handles
+     * @param ttl     how long a handle is kept, in seconds
+     */
+    public HandleResolutionCache(long maxSize, long ttl) {
+        targets = CacheBuilder.newBuilder()
+                              .maximumSize(maxSize)
+                              .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                              .recordStats()
+                              .build();
+    }
+
+    /**
+     * @param handle the handle
+     * @return the object the handle is bound to, or null if it is not cached
+     */
+    public Target get(String handle) {
+        return targets.getIfPresent(handle);
+    }
+
+    /**
+     * @return the current generation, to read before loading a handle and pass to
+     * {@link #put(String, int, UUID, long)}
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Cache the object a handle is bound to, unless the handles were invalidated while it was loaded
+     *
+     * @param handle         the handle
+     * @param resourceTypeId the type of the object, see {@link org.dspace.core.Constants}
+     * @param id             the id of the object
+     * @param generation     the generation when the handle was loaded
+     */
+    public void put(String handle, int resourceTypeId, UUID id, long generation) {
+        if (this.generation.get() != generation) {
+            return;
+        }
+        targets.put(handle, new Target(resourceTypeId, id));
+        if (this.generation.get() != generation) {
+            // invalidated meanwhile
+            targets.invalidate(handle);
+        }
+    }
+
+    /**
+     * Forget a handle
+     *
+     * @param handle the handle
+     */
+    public void invalidate(String handle) {
+        generation.incrementAndGet();
+        targets.invalidate(handle);
+    }
+
+    /**
+     * Forget all the handles
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        targets.invalidateAll();
+    }
+
+    /**
+     * @return the number of handles found in the cache since startup
+     */
+    public long getCacheHitCount() {
+        return targets.stats().hitCount();
+    }
+
+    /**
+     * @return the number of handles which had to be loaded from the database since startup
+     */
+    public long getCacheMissCount() {
+        return targets.stats().missCount();
+    }
+
+    /**
+     * @return the approximate number of cached handles
+     */
+    public long getSize() {
+        return targets.size();
+    }
+
+    /**
+     * The object a handle is bound to
+     */
+    public static final class Target {
+        private final int resourceTypeId;
+        private final UUID id;
+
+        private Target(int resourceTypeId, UUID id) {
+            this.resourceTypeId = resourceTypeId;
+            this.id = id;
+        }
+
+        public int getResourceTypeId() {
+            return resourceTypeId;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Target)) {
+                return false;
+            }
+            Target target = (Target) o;
+            return resourceTypeId == target.resourceTypeId && id.equals(target.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(resourceTypeId, id);
+        }
+    }
+}
@@ -11,14 +11,20 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import jakarta.annotation.PostConstruct;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.DSpaceObject;
+import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.SiteService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
@@ -59,6 +65,16 @@ public class HandleServiceImpl implements HandleService {
     @Autowired
     protected SiteService siteService;
 
+    /**
+     * Objects the handles are bound to, null if disabled
+     */
+    private HandleResolutionCache resolutionCache;
+
+    /**
+     * Whether the handles of the communities and collections were loaded in the cache
+     */
+    private final AtomicBoolean resolutionCacheWarmed = new AtomicBoolean();
+
     private static final Pattern[] IDENTIFIER_PATTERNS = {
         Pattern.compile("^hdl:(.*)$"),
         Pattern.compile("^info:hdl/(.*)$"),
@@ -72,13 +88,26 @@ public class HandleServiceImpl implements HandleService {
     protected HandleServiceImpl() {
     }
 
+    @PostConstruct
+    public void init() {
+        long size = configurationService.getLongProperty("handle.cache.size", 10000);
+        long ttl = configurationService.getLongProperty("handle.cache.ttl", 3600);
+        if (size > 0 && ttl > 0) {
+            resolutionCache = new HandleResolutionCache(size, ttl);
+        }
+    }
+
     @Override
     public String resolveToURL(Context context, String handle)
         throws SQLException {
-        Handle dbhandle = findHandleInternal(context, handle);
+        if (getCachedTarget(context, handle) == null) {
+            long generation = resolutionCache == null ? 0 : resolutionCache.getGeneration();
+            Handle dbhandle = findHandleInternal(context, handle);
 
-        if (dbhandle == null) {
-            return null;
+            if (dbhandle == null) {
+                return null;
+            }
+            cacheTarget(context, dbhandle, generation);
         }
 
         String url = configurationService.getProperty("dspace.ui.url")
@@ -114,6 +143,9 @@ public class HandleServiceImpl implements HandleService {
         while (handle.startsWith("/")) {
             handle = handle.substring(1);
         }
+        if (getCachedTarget(context, handle) != null) {
+            return handle;
+        }
         Handle dbhandle = findHandleInternal(context, handle);
 
         return (null == dbhandle) ? null : handle;
@@ -146,6 +178,7 @@ public class HandleServiceImpl implements HandleService {
         dso.addHandle(handle);
         handle.setResourceTypeId(dso.getType());
         handleDAO.save(context, handle);
+        context.addChangedHandle(handleId);
 
         log.debug("Created new handle for {} (ID={}) {}",
             () -> Constants.typeText[dso.getType()],
@@ -200,6 +233,7 @@ public class HandleServiceImpl implements HandleService {
         handle.setDSpaceObject(dso);
         dso.addHandle(handle);
         handleDAO.save(context, handle);
+        context.addChangedHandle(suppliedHandle);
 
         log.debug("Created new handle for {} (ID={}) {}",
             () -> Constants.typeText[dso.getType()],
@@ -225,6 +259,7 @@ public class HandleServiceImpl implements HandleService {
 
 
                 handleDAO.save(context, handle);
+                context.addChangedHandle(handle.getHandle());
 
                 log.debug("Unbound Handle {} from object {} id={}",
                     () -> handle.getHandle(),
@@ -241,6 +276,19 @@ public class HandleServiceImpl implements HandleService {
     @Override
     public DSpaceObject resolveToObject(Context context, String handle)
         throws IllegalStateException, SQLException {
+        HandleResolutionCache.Target target = getCachedTarget(context, handle);
+        if (target != null) {
+            DSpaceObject dso = ContentServiceFactory.getInstance()
+                                                    .getDSpaceObjectService(target.getResourceTypeId())
+                                                    .find(context, target.getId());
+            if (dso != null) {
+                return dso;
+            }
+            // deleted by another process, check what the handle is bound to now
+            invalidateCachedTarget(handle);
+        }
+
+        long generation = resolutionCache == null ? 0 : resolutionCache.getGeneration();
         Handle dbhandle = findHandleInternal(context, handle);
         // check if handle was allocated previously, but is currently not
         // associated with a DSpaceObject
@@ -250,6 +298,7 @@ public class HandleServiceImpl implements HandleService {
             //if handle has been unbound, just return null (as this will result in a PageNotFound)
             return null;
         }
+        cacheTarget(context, dbhandle, generation);
 
         return dbhandle.getDSpaceObject();
     }
@@ -304,7 +353,9 @@ public class HandleServiceImpl implements HandleService {
 
     @Override
     public int updateHandlesWithNewPrefix(Context context, String newPrefix, String oldPrefix) throws SQLException {
-        return handleDAO.updateHandlesWithNewPrefix(context, newPrefix, oldPrefix);
+        int updated = handleDAO.updateHandlesWithNewPrefix(context, newPrefix, oldPrefix);
+        context.setAllHandlesChanged();
+        return updated;
     }
 
     @Override
@@ -322,6 +373,7 @@ public class HandleServiceImpl implements HandleService {
             dbHandle.setResourceTypeId(newOwner.getType());
             newOwner.getHandles().add(0, dbHandle);
             handleDAO.save(context, dbHandle);
+            context.addChangedHandle(handle);
         }
 
     }
@@ -346,6 +398,93 @@ public class HandleServiceImpl implements HandleService {
         return handleDAO.findByHandle(context, handle);
     }
 
+    /**
+     * Find the object a handle is bound to in the resolution cache. The first time, the handles of all the
+     * communities and collections are loaded in the cache.
+     *
+     * @param context DSpace context
+     * @param handle  The handle to resolve
+     * @return The type and id of the object, or null if it is not cached
+     * @throws SQLException If a database error occurs
+     */
+    protected HandleResolutionCache.Target getCachedTarget(Context context, String handle)
+        throws SQLException {
+        if (handle == null) {
+            throw new IllegalArgumentException("Handle is null");
+        }
+        if (resolutionCache == null || context.isHandleChanged(handle)) {
+            // the change made by this context is not committed yet
+            return null;
+        }
+        if (!context.hasChangedHandles() && resolutionCacheWarmed.compareAndSet(false, true)) {
+            // not with uncommitted handles of new communities or collections
+            warmResolutionCache(context);
+        }
+        return resolutionCache.get(handle);
+    }
+
+    private void warmResolutionCache(Context context) throws SQLException {
+        long generation = resolutionCache.getGeneration();
+        for (int type : new int[] {Constants.COMMUNITY, Constants.COLLECTION}) {
+            Map<String, UUID> handles = handleDAO.findBoundHandlesByResourceType(context, type);
+            for (Map.Entry<String, UUID> handle : handles.entrySet()) {
+                resolutionCache.put(handle.getKey(), type, handle.getValue(), generation);
+            }
+            log.debug("Loaded {} {} handles in the resolution cache", handles.size(), Constants.typeText[type]);
+        }
+    }
+
+    /**
+     * Share the object a handle is bound to with the other contexts, unless this context changed the handle and did
+     * not commit yet
+     *
+     * @param context    DSpace context
+     * @param dbhandle   The database row of the handle
+     * @param generation The generation of the cache when the row was read
+     */
+    private void cacheTarget(Context context, Handle dbhandle, long generation) {
+        if (resolutionCache == null || context.isHandleChanged(dbhandle.getHandle())
+            || dbhandle.getDSpaceObject() == null || dbhandle.getResourceTypeId() == null) {
+            return;
+        }
+        resolutionCache.put(dbhandle.getHandle(), dbhandle.getResourceTypeId(), dbhandle.getDSpaceObject().getID(),
+                            generation);
+    }
+
+    private void invalidateCachedTarget(String handle) {
+        if (resolutionCache != null) {
+            resolutionCache.invalidate(handle);
+        }
+    }
+
+    @Override
+    public void invalidateCachedHandles(Set<String> handles) {
+        if (resolutionCache == null) {
+            return;
+        }
+        if (handles == null) {
+            resolutionCache.invalidateAll();
+        } else {
+            for (String handle : handles) {
+                resolutionCache.invalidate(handle);
+            }
+        }
+    }
+
+    /**
+     * @return the number of handles resolved from the cache since startup
+     */
+    public long getCacheHitCount() {
+        return resolutionCache == null ? 0 : resolutionCache.getCacheHitCount();
+    }
+
+    /**
+     * @return the number of handles resolved from the database since startup
+     */
+    public long getCacheMissCount() {
+        return resolutionCache == null ? 0 : resolutionCache.getCacheMissCount();
+    }
+
     /**
      * Create/mint a new handle id.
      *
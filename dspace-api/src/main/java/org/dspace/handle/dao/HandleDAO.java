@@ -9,6 +9,8 @@ package org.dspace.handle.dao;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import org.dspace.content.DSpaceObject;
 import org.dspace.core.Context;
@@ -33,6 +35,16 @@ public interface HandleDAO extends GenericDAO<Handle> {
 
     public List<Handle> findByPrefix(Context context, String prefix) throws SQLException;
 
+    /**
+     * Find the handles bound to an object of the given type
+     *
+     * @param context        current DSpace context
+     * @param resourceTypeId the type of the objects, see {@link org.dspace.core.Constants}
+     * @return the id of the object bound to each handle
+     * @throws SQLException if database error
+     */
+    public Map<String, UUID> findBoundHandlesByResourceType(Context context, int resourceTypeId) throws SQLException;
+
     public long countHandlesByPrefix(Context context, String prefix) throws SQLException;
 
     int updateHandlesWithNewPrefix(Context context, String newPrefix, String oldPrefix) throws SQLException;
@@ -12,7 +12,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
@@ -88,6 +91,24 @@ public class HandleDAOImpl extends AbstractHibernateDAO<Handle> implements Handl
         return list(context, criteriaQuery, false, Handle.class, -1, -1);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, UUID> findBoundHandlesByResourceType(Context context, int resourceTypeId)
+        throws SQLException {
+        Query query = createQuery(context,
+                                  "SELECT h.handle, h.dso.id " +
+                                      "FROM Handle h " +
+                                      "WHERE h.resourceTypeId = :resourceTypeId AND h.dso IS NOT NULL");
+        query.setParameter("resourceTypeId", resourceTypeId);
+
+        List<Object[]> list = query.getResultList();
+        Map<String, UUID> handles = new HashMap<>(list.size());
+        for (Object[] o : list) {
+            handles.put((String) o[0], (UUID) o[1]);
+        }
+        return handles;
+    }
+
     @Override
     public long countHandlesByPrefix(Context context, String prefix) throws SQLException {
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
@@ -9,6 +9,7 @@ package org.dspace.handle.service;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Set;
 
 import org.dspace.content.DSpaceObject;
 import org.dspace.core.Context;
@@ -182,6 +183,14 @@ public interface HandleService {
 
     int countTotal(Context context) throws SQLException;
 
+    /**
+     * Forget the objects cached for the given handles, once the changes made to them are committed, so that the
+     * other contexts resolve them from the database again. See {@link Context#addChangedHandle(String)}.
+     *
+     * @param handles the handles, or null for all the handles
+     */
+    void invalidateCachedHandles(Set<String> handles);
+
     /**
      * Format a handle ~
      *   - hdl:123456789/1                     -> 123456789/1
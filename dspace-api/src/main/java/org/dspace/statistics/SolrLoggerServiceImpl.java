@@ -105,6 +105,7 @@ import org.dspace.statistics.service.SolrLoggerService;
 import org.dspace.statistics.util.LocationUtils;
 import org.dspace.statistics.util.SpiderDetector;
 import org.dspace.usage.UsageWorkflowEvent;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -117,7 +118,7 @@ import org.springframework.beans.factory.annotation.Autowired;
  * @author kevinvandevelde at atmire.com
  * @author mdiggory at atmire.com
  */
-public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBean {
+public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBean, DisposableBean {
     private static final Logger log = LogManager.getLogger();
 
     private static final String MULTIPLE_VALUES_SPLITTER = "|";
@@ -153,6 +154,9 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     protected SolrClient solr;
 
+    /** Buffer for usage events, null when they are sent to Solr right away. */
+    protected UsageEventBuffer usageEventBuffer;
+
     /** Name of the current-year statistics core.  Prior-year shards will have a year suffixed. */
     private String statisticsCoreBase;
 
@@ -204,6 +208,23 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             log.error(ex);
         }
         locationService = service;
+
+        if (configurationService.getBooleanProperty("solr-statistics.buffer.enabled", false)) {
+            String spillDirectory = configurationService.getProperty("solr-statistics.buffer.spill.dir");
+            usageEventBuffer = new UsageEventBuffer(solr,
+                configurationService.getIntProperty("solr-statistics.buffer.capacity", 10000),
+                configurationService.getIntProperty("solr-statistics.buffer.batchSize", 500),
+                !configurationService.getBooleanProperty("solr-statistics.autoCommit", true),
+                StringUtils.isBlank(spillDirectory) ? null : new File(spillDirectory));
+            usageEventBuffer.start(configurationService.getLongProperty("solr-statistics.buffer.interval", 5000));
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (usageEventBuffer != null) {
+            usageEventBuffer.close();
+        }
     }
 
     @Override
@@ -253,12 +274,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
 
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            addUsageDocument(doc1);
 
         } catch (RuntimeException re) {
             throw re;
@@ -299,12 +315,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            addUsageDocument(doc1);
 
         } catch (RuntimeException re) {
             throw re;
@@ -314,6 +325,34 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         }
     }
 
+    /**
+     * Store a usage event document. When the usage event buffer is enabled the document is queued and sent in bulk
+     * by a background thread, otherwise it is sent to Solr right away.
+     *
+     * @param doc the usage event document
+     * @throws IOException         If IO error
+     * @throws SolrServerException If the document could not be sent to Solr
+     */
+    protected void addUsageDocument(SolrInputDocument doc) throws IOException, SolrServerException {
+        if (usageEventBuffer != null) {
+            usageEventBuffer.add(doc);
+            return;
+        }
+        solr.add(doc);
+        // commits are executed automatically using the solr autocommit
+        boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
+        if (!useAutoCommit) {
+            solr.commit(false, false);
+        }
+    }
+
+    /**
+     * @return the buffer usage events are queued in, or null when they are sent to Solr right away
+     */
+    public UsageEventBuffer getUsageEventBuffer() {
+        return usageEventBuffer;
+    }
+
     /**
      * Returns a solr input document containing common information about the statistics
      * regardless if we are logging a search or a view of a DSpace object
@@ -568,7 +607,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("page", page);
             }
 
-            solr.add(solrDoc);
+            addUsageDocument(solrDoc);
         } catch (RuntimeException re) {
             throw re;
         } catch (Exception e) {
@@ -0,0 +1,256 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.ContentStreamUpdateRequest;
+import org.apache.solr.client.solrj.request.JavaBinUpdateRequestCodec;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.common.SolrInputDocument;
+
+/**
+ * Bounded buffer of usage event documents, which are sent to the statistics core in bulk by a background thread
+ * instead of one request per event on the request thread.
+ * <p>
+ * When the buffer is full (e.g. because Solr is slow or down), new events are either dropped, or, when a spill
+ * directory is configured, written to a spill file in JavaBin format together with all the queued events, which
+ * empties the buffer. Batches which cannot be sent are spilled as well.
+ * Spill files are sent to Solr again by the background thread once it manages to send a batch.
+ */
+public class UsageEventBuffer implements AutoCloseable {
+
+    private static final Logger log = LogManager.getLogger(UsageEventBuffer.class);
+
+    private static final String SPILL_SUFFIX = ".javabin";
+
+    private final SolrClient solr;
+    private final BlockingQueue<SolrInputDocument> queue;
+    private final int batchSize;
+    private final boolean commit;
+    private final File spillDirectory;
+    private ScheduledExecutorService flusher;
+
+    // metrics
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong lastFlushMillis = new AtomicLong();
+    private final AtomicLong maxFlushMillis = new AtomicLong();
+
+    /**
+     * @param solr           the statistics core
+     * @param capacity       the maximum number of events waiting in memory
+     * @param batchSize      the maximum number of events sent in one request
+     * @param commit         whether to commit after each batch (when the core has no autocommit)
+     * @param spillDirectory directory to write events to when the buffer is full, or null to drop them
+     */
+    public UsageEventBuffer(SolrClient solr, int capacity, int batchSize, boolean commit, File spillDirectory) {
+        this.solr = solr;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.commit = commit;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Start flushing the buffer in the background
+     * @param intervalMillis the time between two flushes
+     */
+    public void start(long intervalMillis) {
+        flusher = Executors.newSingleThreadScheduledExecutor(
+            new BasicThreadFactory.Builder().namingPattern("statistics-flush").daemon(true).build());
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queue a usage event document. This never blocks on Solr: when the buffer is full the event is dropped, or the
+     * event and all the queued ones are spilled to one file.
+     * @param document the usage event document
+     */
+    public void add(SolrInputDocument document) {
+        if (queue.offer(document)) {
+            return;
+        }
+        if (spillDirectory == null) {
+            if (dropped.incrementAndGet() % 1000 == 1) {
+                log.warn("Statistics buffer is full, {} usage events dropped so far", dropped.get());
+            }
+            return;
+        }
+        // move the whole buffer to a single spill file, rather than one file per event while it stays full
+        List<SolrInputDocument> documents = new ArrayList<>(queue.size() + 1);
+        queue.drainTo(documents);
+        documents.add(document);
+        spill(documents);
+    }
+
+    /**
+     * Send all queued events to Solr in batches, then send any spill files
+     * @throws IOException         If IO error
+     * @throws SolrServerException If the events could not be sent to Solr
+     */
+    public synchronized void flush() throws IOException, SolrServerException {
+        List<SolrInputDocument> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            long start = Instant.now().toEpochMilli();
+            try {
+                solr.add(batch);
+                if (commit) {
+                    solr.commit(false, false);
+                }
+            } catch (IOException | SolrServerException | RuntimeException e) {
+                if (spillDirectory == null) {
+                    dropped.addAndGet(batch.size());
+                } else {
+                    spill(batch);
+                }
+                throw e;
+            }
+            long duration = Instant.now().toEpochMilli() - start;
+            lastFlushMillis.set(duration);
+            maxFlushMillis.accumulateAndGet(duration, Math::max);
+            flushed.addAndGet(batch.size());
+            log.debug("Sent {} usage events to Solr in {} ms", batch.size(), duration);
+            batch.clear();
+        }
+        replaySpillFiles();
+    }
+
+    /**
+     * Stop the background thread and send the remaining events
+     */
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushQuietly();
+    }
+
+    /**
+     * Send the spill files to Solr, deleting each one once it is accepted
+     */
+    protected void replaySpillFiles() throws IOException, SolrServerException {
+        if (spillDirectory == null) {
+            return;
+        }
+        File[] files = spillDirectory.listFiles((dir, name) -> name.endsWith(SPILL_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            ContentStreamUpdateRequest request = new ContentStreamUpdateRequest("/update");
+            request.addFile(file, "application/javabin");
+            if (commit) {
+                request.setAction(UpdateRequest.ACTION.COMMIT, false, false);
+            }
+            request.process(solr);
+            if (!file.delete()) {
+                log.warn("Could not delete statistics spill file {}", file);
+            }
+            log.info("Sent spilled usage events of {} to Solr", file.getName());
+        }
+    }
+
+    /**
+     * Write events to a new spill file, or drop them if that fails
+     * @param documents the events
+     */
+    protected void spill(List<SolrInputDocument> documents) {
+        UpdateRequest request = new UpdateRequest();
+        request.add(documents);
+        File file = new File(spillDirectory, "usage-" + Instant.now().toEpochMilli() + "-" + UUID.randomUUID()
+            + SPILL_SUFFIX);
+        try {
+            spillDirectory.mkdirs();
+            try (OutputStream out = new FileOutputStream(file)) {
+                new JavaBinUpdateRequestCodec().marshal(request, out);
+            }
+            spilled.addAndGet(documents.size());
+        } catch (IOException e) {
+            log.error("Could not write {} usage events to {}, dropping them", documents.size(), file, e);
+            dropped.addAndGet(documents.size());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException | SolrServerException | RuntimeException e) {
+            log.error("Error sending usage events to Solr", e);
+        }
+    }
+
+    /**
+     * @return the number of events waiting in memory
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of events sent to Solr since startup
+     */
+    public long getFlushedCount() {
+        return flushed.get();
+    }
+
+    /**
+     * @return the number of events lost since startup
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the number of events written to spill files since startup
+     */
+    public long getSpilledCount() {
+        return spilled.get();
+    }
+
+    /**
+     * @return the duration of the last successful Solr request, in milliseconds
+     */
+    public long getLastFlushMillis() {
+        return lastFlushMillis.get();
+    }
+
+    /**
+     * @return the duration of the slowest successful Solr request since startup, in milliseconds
+     */
+    public long getMaxFlushMillis() {
+        return maxFlushMillis.get();
+    }
+}
@@ -9,8 +9,12 @@ package org.dspace.statistics.util;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
@@ -18,16 +22,27 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
- * A Spare v4 IPTable implementation that uses nested HashMaps
- * to optimize IP address matching over ranges of IP addresses.
+ * A table of IPv4 and IPv6 addresses and address ranges, optimized for matching a single address against many
+ * ranges.
+ * <p>
+ * Ranges are collected by {@link #add(String)}. On the first lookup they are sorted and merged into arrays of
+ * disjoint intervals: primitive {@code long}s for IPv4, pairs of {@code long}s (the high and low 64 bits) for IPv6.
+ * A lookup is then a binary search, whatever the number of ranges. The compiled intervals are immutable and are
+ * shared by concurrent lookups without locking; adding a range discards them.
  *
  * @author mdiggory at atmire.com
  */
 public class IPTable {
     private static final Logger log = LogManager.getLogger(IPTable.class);
 
-    /* A lookup tree for IP addresses and SubnetRanges */
-    private final Set<IPRange> ipRanges = new HashSet<>();
+    /* The IPv4 ranges as added */
+    private final List<IPRange> ipRanges = new ArrayList<>();
+
+    /* The IPv6 ranges as added */
+    private final List<IPv6Range> ipv6Ranges = new ArrayList<>();
+
+    /* The sorted, merged intervals, compiled on the first lookup */
+    private volatile Intervals intervals;
 
     /**
      * Internal class representing an IP range
@@ -62,6 +77,23 @@ public class IPTable {
         }
     }
 
+    /**
+     * Internal class representing an IPv6 range, each address as its high and low 64 bits
+     */
+    static class IPv6Range {
+        private final long loHigh;
+        private final long loLow;
+        private final long hiHigh;
+        private final long hiLow;
+
+        IPv6Range(long loHigh, long loLow, long hiHigh, long hiLow) {
+            this.loHigh = loHigh;
+            this.loLow = loLow;
+            this.hiHigh = hiHigh;
+            this.hiLow = hiLow;
+        }
+    }
+
     /**
      * Can be full v4 IP, subnet or range string.
      * <ul>
@@ -73,11 +105,19 @@ public class IPTable {
      * </ul>
      *
      * Any attempt at CIDR notation is ignored.
+     * <p>
+     * IPv6 addresses are supported as a full address, an address with a prefix length
+     * ({@code "2001:db8::/32"}) or two full addresses separated by a hyphen.
      *
      * @param ip IP address(es)
      * @throws IPFormatException Exception Class to deal with IPFormat errors.
      */
-    public void add(String ip) throws IPFormatException {
+    public synchronized void add(String ip) throws IPFormatException {
+
+        if (ip.contains(":")) {
+            addIPv6(ip);
+            return;
+        }
 
         String start;
 
@@ -93,7 +133,7 @@ public class IPTable {
             try {
                 long ipLo = ipToLong(InetAddress.getByName(start));
                 long ipHi = ipToLong(InetAddress.getByName(end));
-                ipRanges.add(new IPRange(ipLo, ipHi));
+                addRange(new IPRange(ipLo, ipHi));
                 return;
             } catch (UnknownHostException e) {
                 throw new IPFormatException(ip + " - Range format should be similar to 1.2.3.0-1.2.3.255");
@@ -116,7 +156,7 @@ public class IPTable {
                     long mask = (long) Math.pow(2, 32 - Integer.parseInt(parts[1]));
                     long ipLo = (ipLong / mask) * mask;
                     long ipHi = (( (ipLong / mask) + 1) * mask) - 1;
-                    ipRanges.add(new IPRange(ipLo, ipHi));
+                    addRange(new IPRange(ipLo, ipHi));
                     return;
                 } catch (Exception e) {
                     throw new IPFormatException(ip + " - Range format should be similar to 172.16.0.0/12");
@@ -124,7 +164,7 @@ public class IPTable {
             } else {
                 try {
                     long ipLo = ipToLong(InetAddress.getByName(ip));
-                    ipRanges.add(new IPRange(ipLo, ipLo));
+                    addRange(new IPRange(ipLo, ipLo));
                     return;
                 } catch (UnknownHostException e) {
                     throw new IPFormatException(ip + " - IP address format should be similar to 1.2.3.14");
@@ -133,17 +173,88 @@ public class IPTable {
         }
     }
 
+    private void addRange(IPRange range) {
+        ipRanges.add(range);
+        intervals = null;
+    }
+
+    /**
+     * Add an IPv6 address, prefix or range
+     *
+     * @param ip IPv6 address(es)
+     * @throws IPFormatException if the address(es) could not be parsed
+     */
+    private void addIPv6(String ip) throws IPFormatException {
+        try {
+            String[] range = ip.split("-");
+            if (range.length == 2) {
+                byte[] lo = InetAddress.getByName(range[0].trim()).getAddress();
+                byte[] hi = InetAddress.getByName(range[1].trim()).getAddress();
+                if (lo.length != hi.length) {
+                    throw new IPFormatException(ip + " - Range should not mix IPv4 and IPv6 addresses");
+                }
+                if (lo.length == 4) {
+                    addRange(new IPRange(ipToLong(lo), ipToLong(hi)));
+                } else {
+                    addRange(new IPv6Range(high(lo), low(lo), high(hi), low(hi)));
+                }
+                return;
+            }
+            String[] parts = ip.split("/");
+            byte[] address = InetAddress.getByName(parts[0].trim()).getAddress();
+            int prefix = parts.length == 2 ? Integer.parseInt(parts[1].trim()) : 128;
+            if (parts.length > 2 || prefix < 0 || prefix > 128) {
+                throw new IPFormatException(ip + " - Range format should be similar to 2001:db8::/32");
+            }
+            if (address.length == 4) {
+                // IPv4-mapped address, the prefix length includes the 96 bits of the mapping prefix
+                int prefix4 = Math.max(0, prefix - 96);
+                long mask = prefix4 == 0 ? 0 : (0xffffffffL << (32 - prefix4)) & 0xffffffffL;
+                long ipLong = ipToLong(address);
+                addRange(new IPRange(ipLong & mask, (ipLong & mask) | (~mask & 0xffffffffL)));
+                return;
+            }
+            long maskHigh = prefix >= 64 ? -1L : prefix == 0 ? 0 : -1L << (64 - prefix);
+            long maskLow = prefix <= 64 ? 0 : prefix == 128 ? -1L : -1L << (128 - prefix);
+            long high = high(address);
+            long low = low(address);
+            addRange(new IPv6Range(high & maskHigh, low & maskLow, high | ~maskHigh, low | ~maskLow));
+        } catch (UnknownHostException | NumberFormatException e) {
+            throw new IPFormatException(ip + " - IPv6 address format should be similar to 2001:db8::1");
+        }
+    }
+
+    private void addRange(IPv6Range range) {
+        ipv6Ranges.add(range);
+        intervals = null;
+    }
+
     /**
      * Convert an IP address to a long integer
      * @param ip    the IP address
      * @return
      */
     public static long ipToLong(InetAddress ip) {
-        byte[] octets = ip.getAddress();
+        return ipToLong(ip.getAddress());
+    }
+
+    private static long ipToLong(byte[] octets) {
+        return toLong(octets, 0, octets.length);
+    }
+
+    private static long high(byte[] ipv6) {
+        return toLong(ipv6, 0, 8);
+    }
+
+    private static long low(byte[] ipv6) {
+        return toLong(ipv6, 8, 16);
+    }
+
+    private static long toLong(byte[] octets, int from, int to) {
         long result = 0;
-        for (byte octet : octets) {
+        for (int i = from; i < to; i++) {
             result <<= 8;
-            result |= octet & 0xff;
+            result |= octets[i] & 0xff;
         }
         return result;
     }
@@ -169,8 +280,7 @@ public class IPTable {
      * Check whether a given address is contained in this netblock.
      *
      * @param ip the address to be tested
-     * @return true if {@code ip} is within this table's limits.  Returns false
-     *         if {@code ip} looks like an IPv6 address.
+     * @return true if {@code ip} is within this table's limits.
      * @throws IPFormatException Exception Class to deal with IPFormat errors.
      */
     public boolean contains(String ip) throws IPFormatException {
@@ -178,21 +288,39 @@ public class IPTable {
             throw new IPFormatException("Address may not be null");
         }
 
+        byte[] address;
         try {
-            long ipToTest = ipToLong(InetAddress.getByName(ip));
-            return ipRanges.stream()
-                    .anyMatch(ipRange -> (ipToTest >= ipRange.getIpLo() && ipToTest <= ipRange.getIpHi()));
+            address = InetAddress.getByName(ip).getAddress();
         } catch (UnknownHostException e) {
             throw new IPFormatException("ip not valid");
         }
+        Intervals lookup = getIntervals();
+        if (address.length == 4) {
+            return lookup.containsIPv4(ipToLong(address));
+        }
+        return lookup.containsIPv6(high(address), low(address));
+    }
+
+    private Intervals getIntervals() {
+        Intervals lookup = intervals;
+        if (lookup == null) {
+            synchronized (this) {
+                lookup = intervals;
+                if (lookup == null) {
+                    lookup = new Intervals(ipRanges, ipv6Ranges);
+                    intervals = lookup;
+                }
+            }
+        }
+        return lookup;
     }
 
     /**
-     * Convert to a Set. This set contains all IPs in the range
+     * Convert to a Set. This set contains all IPv4 addresses in the ranges, and the IPv6 ranges
      *
      * @return this table's content as a Set
      */
-    public Set<String> toSet() {
+    public synchronized Set<String> toSet() {
         HashSet<String> set = new HashSet<>();
 
         Iterator<IPRange> ipRangeIterator = ipRanges.iterator();
@@ -205,6 +333,10 @@ public class IPTable {
             }
         }
 
+        for (IPv6Range ipRange : ipv6Ranges) {
+            set.add(toString(ipRange));
+        }
+
         return set;
     }
 
@@ -212,8 +344,8 @@ public class IPTable {
      * Return whether IPTable is empty (having no entries)
      * @return true if empty, false otherwise
      */
-    public boolean isEmpty() {
-        return ipRanges.isEmpty();
+    public synchronized boolean isEmpty() {
+        return ipRanges.isEmpty() && ipv6Ranges.isEmpty();
     }
 
     /**
@@ -230,7 +362,7 @@ public class IPTable {
      * @return  a string containing all IP ranges in this IP table
      */
     @Override
-    public String toString() {
+    public synchronized String toString() {
         StringBuilder stringBuilder = new StringBuilder();
         Iterator<IPRange> ipRangeIterator = ipRanges.iterator();
         while (ipRangeIterator.hasNext()) {
@@ -242,6 +374,119 @@ public class IPTable {
                 stringBuilder.append(", ");
             }
         }
+        for (IPv6Range ipRange : ipv6Ranges) {
+            if (stringBuilder.length() > 0) {
+                stringBuilder.append(", ");
+            }
+            stringBuilder.append(toString(ipRange));
+        }
         return stringBuilder.toString();
     }
+
+    private static String toString(IPv6Range ipRange) {
+        String lo = longsToIPv6(ipRange.loHigh, ipRange.loLow);
+        if (ipRange.loHigh == ipRange.hiHigh && ipRange.loLow == ipRange.hiLow) {
+            return lo;
+        }
+        return lo + "-" + longsToIPv6(ipRange.hiHigh, ipRange.hiLow);
+    }
+
+    private static String longsToIPv6(long high, long low) {
+        StringBuilder address = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            long word = i < 4 ? high >>> (48 - 16 * i) : low >>> (48 - 16 * (i - 4));
+            if (i > 0) {
+                address.append(':');
+            }
+            address.append(Long.toHexString(word & 0xffff));
+        }
+        return address.toString();
+    }
+
+    /**
+     * Immutable, sorted and merged intervals, searched by binary search
+     */
+    private static class Intervals {
+        private final long[] v4Lo;
+        private final long[] v4Hi;
+        private final long[] v6LoHigh;
+        private final long[] v6LoLow;
+        private final long[] v6HiHigh;
+        private final long[] v6HiLow;
+
+        Intervals(List<IPRange> ipRanges, List<IPv6Range> ipv6Ranges) {
+            List<IPRange> v4 = new ArrayList<>(ipRanges);
+            v4.sort(Comparator.comparingLong(IPRange::getIpLo));
+            long[] lo = new long[v4.size()];
+            long[] hi = new long[v4.size()];
+            int n = 0;
+            for (IPRange range : v4) {
+                if (n > 0 && range.getIpLo() <= hi[n - 1] + 1) {
+                    hi[n - 1] = Math.max(hi[n - 1], range.getIpHi());
+                } else {
+                    lo[n] = range.getIpLo();
+                    hi[n] = range.getIpHi();
+                    n++;
+                }
+            }
+            v4Lo = Arrays.copyOf(lo, n);
+            v4Hi = Arrays.copyOf(hi, n);
+
+            List<IPv6Range> v6 = new ArrayList<>(ipv6Ranges);
+            v6.sort((a, b) -> compare(a.loHigh, a.loLow, b.loHigh, b.loLow));
+            long[] loHigh = new long[v6.size()];
+            long[] loLow = new long[v6.size()];
+            long[] hiHigh = new long[v6.size()];
+            long[] hiLow = new long[v6.size()];
+            n = 0;
+            for (IPv6Range range : v6) {
+                if (n > 0 && compare(range.loHigh, range.loLow, hiHigh[n - 1], hiLow[n - 1]) <= 0) {
+                    if (compare(range.hiHigh, range.hiLow, hiHigh[n - 1], hiLow[n - 1]) > 0) {
+                        hiHigh[n - 1] = range.hiHigh;
+                        hiLow[n - 1] = range.hiLow;
+                    }
+                } else {
+                    loHigh[n] = range.loHigh;
+                    loLow[n] = range.loLow;
+                    hiHigh[n] = range.hiHigh;
+                    hiLow[n] = range.hiLow;
+                    n++;
+                }
+            }
+            v6LoHigh = Arrays.copyOf(loHigh, n);
+            v6LoLow = Arrays.copyOf(loLow, n);
+            v6HiHigh = Arrays.copyOf(hiHigh, n);
+            v6HiLow = Arrays.copyOf(hiLow, n);
+        }
+
+        boolean containsIPv4(long ip) {
+            // index of the last interval starting at or before ip
+            int index = Arrays.binarySearch(v4Lo, ip);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            return index >= 0 && ip <= v4Hi[index];
+        }
+
+        boolean containsIPv6(long high, long low) {
+            int from = 0;
+            int to = v6LoHigh.length - 1;
+            int index = -1;
+            while (from <= to) {
+                int middle = (from + to) >>> 1;
+                if (compare(v6LoHigh[middle], v6LoLow[middle], high, low) <= 0) {
+                    index = middle;
+                    from = middle + 1;
+                } else {
+                    to = middle - 1;
+                }
+            }
+            return index >= 0 && compare(high, low, v6HiHigh[index], v6HiLow[index]) <= 0;
+        }
+
+        private static int compare(long aHigh, long aLow, long bHigh, long bLow) {
+            int result = Long.compareUnsigned(aHigh, bHigh);
+            return result != 0 ? result : Long.compareUnsigned(aLow, bLow);
+        }
+    }
 }
@@ -0,0 +1,195 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Immutable set of regular expressions, tested with a single {@link #find(CharSequence)} call: does any of the
+ * patterns occur in a string? Patterns which only describe a literal string (possibly with escaped special
+ * characters, and a leading or trailing ".*") are compiled into an Aho-Corasick automaton, which finds all of them
+ * in a single pass over the input. The remaining patterns are tested one by one.
+ * <p>
+ * Instances are immutable and can be used by concurrent threads without locking.
+ */
+public class PatternSetMatcher {
+
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private final Node root;
+    private final Pattern[] regexes;
+    private final int literalCount;
+
+    /**
+     * @param patterns the regular expressions
+     * @throws PatternSyntaxException if one of the patterns is not a valid regular expression
+     */
+    public PatternSetMatcher(Collection<String> patterns) {
+        root = new Node();
+        List<Pattern> remaining = new ArrayList<>();
+        int literals = 0;
+        for (String pattern : patterns) {
+            String literal = toLiteral(pattern);
+            if (literal == null) {
+                remaining.add(Pattern.compile(pattern));
+            } else if (literal.isEmpty()) {
+                // matches everything, e.g. ".*"
+                root.match = true;
+            } else {
+                addLiteral(literal);
+                literals++;
+            }
+        }
+        regexes = remaining.toArray(new Pattern[0]);
+        literalCount = literals;
+        buildFailureLinks();
+    }
+
+    /**
+     * @param input the string to test
+     * @return true if any of the patterns occurs in the input
+     */
+    public boolean find(CharSequence input) {
+        Node node = root;
+        if (node.match) {
+            return true;
+        }
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            Node next = node.children.get(c);
+            while (next == null && node != root) {
+                node = node.failure;
+                next = node.children.get(c);
+            }
+            node = next == null ? root : next;
+            if (node.match) {
+                return true;
+            }
+        }
+        for (Pattern regex : regexes) {
+            if (regex.matcher(input).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of patterns matched by the automaton
+     */
+    public int getLiteralCount() {
+        return literalCount;
+    }
+
+    /**
+     * @return the number of patterns which are tested as regular expressions
+     */
+    public int getRegexCount() {
+        return regexes.length;
+    }
+
+    /**
+     * @return true if this matcher holds no patterns
+     */
+    public boolean isEmpty() {
+        return literalCount == 0 && regexes.length == 0 && !root.match;
+    }
+
+    /**
+     * Convert a regular expression into the literal string it matches, when it is one.
+     * @param pattern the regular expression
+     * @return the literal string, or null if the pattern is not a literal
+     */
+    protected static String toLiteral(String pattern) {
+        String body = stripWildcard(pattern);
+        StringBuilder literal = new StringBuilder(body.length());
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= body.length()) {
+                    return null;
+                }
+                char escaped = body.charAt(++i);
+                // escaped letters and digits are character classes (\d, \w, ...) or back references
+                if (META_CHARACTERS.indexOf(escaped) < 0 && Character.isLetterOrDigit(escaped)) {
+                    return null;
+                }
+                literal.append(escaped);
+            } else if (META_CHARACTERS.indexOf(c) >= 0) {
+                return null;
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.toString();
+    }
+
+    /**
+     * Remove a leading and trailing ".*" or "(.*)", which make no difference for {@link java.util.regex.Matcher#find()}
+     */
+    private static String stripWildcard(String pattern) {
+        String body = pattern;
+        for (String wildcard : new String[] {"(.*)", ".*"}) {
+            if (body.startsWith(wildcard)) {
+                body = body.substring(wildcard.length());
+            }
+            if (body.endsWith(wildcard) && !body.endsWith("\\" + wildcard)) {
+                body = body.substring(0, body.length() - wildcard.length());
+            }
+        }
+        return body;
+    }
+
+    private void addLiteral(String literal) {
+        Node node = root;
+        for (int i = 0; i < literal.length(); i++) {
+            node = node.children.computeIfAbsent(literal.charAt(i), c -> new Node());
+        }
+        node.match = true;
+    }
+
+    /**
+     * Compute the failure link of every node (breadth first), so the input never has to be read twice
+     */
+    private void buildFailureLinks() {
+        Queue<Node> queue = new ArrayDeque<>();
+        for (Node child : root.children.values()) {
+            child.failure = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.remove();
+            for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+                Node child = entry.getValue();
+                Node failure = node.failure;
+                while (failure != root && !failure.children.containsKey(entry.getKey())) {
+                    failure = failure.failure;
+                }
+                Node target = failure.children.get(entry.getKey());
+                child.failure = target != null && target != child ? target : root;
+                // a literal which ends inside another one also matches
+                child.match |= child.failure.match;
+                queue.add(child);
+            }
+        }
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private Node failure;
+        private boolean match;
+    }
+}
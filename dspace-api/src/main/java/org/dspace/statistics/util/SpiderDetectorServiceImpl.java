@@ -12,12 +12,12 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.regex.Pattern;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.NotNull;
 import org.apache.commons.configuration2.ex.ConversionException;
@@ -44,11 +44,14 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
     private Boolean useCaseInsensitiveMatching;
 
-    private final List<Pattern> agents
-        = Collections.synchronizedList(new ArrayList<>());
+    private volatile PatternSetMatcher agents;
 
-    private final List<Pattern> domains
-        = Collections.synchronizedList(new ArrayList<>());
+    private volatile PatternSetMatcher domains;
+
+    /**
+     * Recently seen user agents, and whether they matched any of the agent patterns.
+     */
+    private volatile Cache<String, Boolean> agentCache;
 
     private final ConfigurationService configurationService;
     private final ClientInfoService clientInfoService;
@@ -56,7 +59,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
     /**
      * Sparse HashTable structure to hold IP address ranges.
      */
-    private IPTable table = null;
+    private volatile IPTable table = null;
 
     @Autowired(required = true)
     public SpiderDetectorServiceImpl(ConfigurationService configurationService, ClientInfoService clientInfoService) {
@@ -77,25 +80,13 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
     public boolean isSpider(@NotNull String clientIP, String proxyIPs, String hostname, String agent) {
         // See if any agent patterns match
         if (null != agent) {
-            synchronized (agents) {
-                if (agents.isEmpty()) {
-                    loadPatterns("agents", agents);
-                }
-            }
-
             if (isUseCaseInsensitiveMatching()) {
                 agent = StringUtils.lowerCase(agent);
                 hostname = StringUtils.lowerCase(hostname);
             }
 
-            for (Pattern candidate : agents) {
-
-                // prevent matcher() invocation from a null Pattern object
-                if (null != candidate && candidate.matcher(agent).find()) {
-                    return true;
-                }
-
-
+            if (isAgentSpider(agent)) {
+                return true;
             }
         }
 
@@ -115,16 +106,8 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
         // No.  See if any DNS names match
         if (null != hostname) {
-            synchronized (domains) {
-                if (domains.isEmpty()) {
-                    loadPatterns("domains", domains);
-                }
-            }
-            for (Pattern candidate : domains) {
-                // prevent matcher() invocation from a null Pattern object
-                if (null != candidate && candidate.matcher(hostname).find()) {
-                    return true;
-                }
+            if (getDomains().find(hostname)) {
+                return true;
             }
         }
 
@@ -160,19 +143,66 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
         return patterns;
     }
 
+    /**
+     * Check a user agent against the agent patterns, using the results for recently seen user agents.
+     *
+     * @param agent the (lowercased, if case insensitive matching is enabled) user agent
+     * @return true if the user agent matches any of the agent patterns
+     */
+    private boolean isAgentSpider(String agent) {
+        PatternSetMatcher matcher = getAgents();
+        Cache<String, Boolean> cache = agentCache;
+        if (cache == null) {
+            return matcher.find(agent);
+        }
+        Boolean spider = cache.getIfPresent(agent);
+        if (spider == null) {
+            spider = matcher.find(agent);
+            cache.put(agent, spider);
+        }
+        return spider;
+    }
+
+    private PatternSetMatcher getAgents() {
+        if (agents == null) {
+            synchronized (this) {
+                if (agents == null) {
+                    int cacheSize = configurationService.getIntProperty("usage-statistics.bots.agent-cache-size",
+                                                                        1000);
+                    if (cacheSize > 0) {
+                        agentCache = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+                    }
+                    agents = loadPatterns("agents");
+                }
+            }
+        }
+        return agents;
+    }
+
+    private PatternSetMatcher getDomains() {
+        if (domains == null) {
+            synchronized (this) {
+                if (domains == null) {
+                    domains = loadPatterns("domains");
+                }
+            }
+        }
+        return domains;
+    }
+
     /**
      * Load agent name patterns from all files in a single subdirectory of config/spiders.
      *
      * @param directory   simple directory name (e.g. "agents").
      *                    "${dspace.dir}/config/spiders" will be prepended to yield the path to
      *                    the directory of pattern files.
-     * @param patternList patterns read from the files in {@code directory} will
-     *                    be added to this List.
+     * @return a matcher for the patterns read from the files in {@code directory}.
      */
-    private void loadPatterns(String directory, List<Pattern> patternList) {
+    private PatternSetMatcher loadPatterns(String directory) {
         String dspaceHome = configurationService.getProperty("dspace.dir");
         File spidersDir = new File(dspaceHome, "config/spiders");
         File patternsDir = new File(spidersDir, directory);
+        List<String> patternList = new ArrayList<>();
         if (patternsDir.exists() && patternsDir.isDirectory()) {
             for (File file : patternsDir.listFiles()) {
                 Set<String> patterns;
@@ -188,7 +218,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
                     if (isUseCaseInsensitiveMatching()) {
                         pattern = StringUtils.lowerCase(pattern);
                     }
-                    patternList.add(Pattern.compile(pattern));
+                    patternList.add(pattern);
                 }
 
 
@@ -197,6 +227,10 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
         } else {
             log.info("No patterns loaded from {}", patternsDir::getPath);
         }
+        PatternSetMatcher matcher = new PatternSetMatcher(patternList);
+        log.info("Compiled {} {} patterns: {} literals, {} regular expressions", patternList.size(), directory,
+                 matcher.getLiteralCount(), matcher.getRegexCount());
+        return matcher;
     }
 
     @Override
@@ -209,12 +243,14 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
     @Override
     public boolean isSpider(String ip) {
-        if (table == null) {
+        IPTable spiderTable = table;
+        if (spiderTable == null) {
             loadSpiderIpAddresses();
+            spiderTable = table;
         }
 
         try {
-            if (table.contains(ip)) {
+            if (spiderTable.contains(ip)) {
                 return true;
             }
         } catch (IPTable.IPFormatException e) {
@@ -229,7 +265,8 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
     public synchronized void loadSpiderIpAddresses() {
 
         if (table == null) {
-            table = new IPTable();
+            // fill a new table and only publish it when complete, so lookups never see a partial table
+            IPTable newTable = new IPTable();
 
             String filePath = configurationService.getProperty("dspace.dir");
 
@@ -241,7 +278,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
                         if (file.isFile()) {
                             for (String ip : readPatterns(file)) {
                                 log.debug("Loading {}", ip);
-                                if (!Character.isDigit(ip.charAt(0))) {
+                                if (!Character.isDigit(ip.charAt(0)) && !ip.contains(":")) {
                                     try {
                                         ip = DnsLookup.forward(ip);
                                         log.debug("Resolved to {}", ip);
@@ -250,7 +287,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
                                         continue;
                                     }
                                 }
-                                table.add(ip);
+                                newTable.add(ip);
                             }
                             log.info("Loaded Spider IP file: " + file);
                         }
@@ -262,6 +299,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
                 log.error("Error Loading Spiders:" + e.getMessage(), e);
             }
 
+            table = newTable;
         }
 
     }
@@ -9,6 +9,7 @@ package org.dspace.storage.bitstore;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -45,6 +46,19 @@ public interface BitStoreService {
      */
     public InputStream get(Bitstream bitstream) throws IOException;
 
+    /**
+     * Locate the bits of a bitstream on the local filesystem, so that they can be sent without being copied through
+     * the heap (e.g. with {@link java.nio.channels.FileChannel#transferTo}). By default the bits are not available as
+     * a local file.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @return The file holding the bits, or null if the store does not keep them in a readable local file
+     * @throws java.io.IOException If a problem occurs while locating the bits
+     */
+    public default Path getPath(Bitstream bitstream) throws IOException {
+        return null;
+    }
+
     /**
      * Store a stream of bits.
      *
@@ -12,6 +12,7 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -80,6 +81,22 @@ public class DSBitStoreService extends BaseBitStoreService {
         }
     }
 
+    /**
+     * Locate the file holding the bits of a bitstream.
+     *
+     * @param bitstream The bitstream to locate
+     * @return The file, or null if it does not exist or cannot be read
+     * @throws java.io.IOException If a problem occurs while determining the file
+     */
+    @Override
+    public Path getPath(Bitstream bitstream) throws IOException {
+        File file = getFile(bitstream);
+        if (file == null || !file.isFile() || !file.canRead()) {
+            return null;
+        }
+        return file.toPath();
+    }
+
     /**
      * Store a stream of bits.
      *
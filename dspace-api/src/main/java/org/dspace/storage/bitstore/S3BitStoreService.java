@@ -9,18 +9,29 @@ package org.dspace.storage.bitstore;
 
 import static java.lang.String.valueOf;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.function.Supplier;
 
 import com.amazonaws.AmazonClientException;
@@ -31,13 +42,14 @@ import com.amazonaws.regions.Region;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.transfer.Download;
-import com.amazonaws.services.s3.transfer.TransferManager;
-import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
-import com.amazonaws.services.s3.transfer.Upload;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
 import jakarta.validation.constraints.NotNull;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.DefaultParser;
@@ -45,8 +57,10 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.http.HttpStatus;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -108,6 +122,38 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     private long bufferSize = 5 * 1024 * 1024;
 
+    /**
+     * The number of chunks downloaded ahead of the one being read. Default 2
+     */
+    private int prefetchChunks = 2;
+
+    /**
+     * The minimum size of the parts of a multipart upload (except the last one) accepted by S3
+     */
+    public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    /**
+     * The initial size of the buffer reading the first part of a stream, which grows up to partSize, so that small
+     * bitstreams do not allocate a whole part
+     */
+    private static final int INITIAL_PART_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The size of the parts of a multipart upload, S3 requires at least 5Mb. Streams which fit in a single part
+     * are uploaded with a single request. Default 8Mb
+     */
+    private int partSize = 8 * 1024 * 1024;
+
+    /**
+     * The maximum number of parts of a single upload held in memory and sent concurrently. Default 4
+     */
+    private int uploadThreads = 4;
+
+    /**
+     * The number of threads shared by all uploads and downloads of this store. Default 16
+     */
+    private int transferThreads = 16;
+
     /**
      * container for all the assets
      */
@@ -124,10 +170,10 @@ public class S3BitStoreService extends BaseBitStoreService {
     private AmazonS3 s3Service = null;
 
     /**
-     * S3 transfer manager
-     * this is reused between put calls to use less resources for multiple uploads
+     * Threads sending upload parts and fetching download chunks,
+     * shared between all transfers to limit the number of concurrent connections
      */
-    private TransferManager tm = null;
+    private ExecutorService transferExecutor = null;
 
     private static final ConfigurationService configurationService
             = DSpaceServicesFactory.getInstance().getConfigurationService();
@@ -233,10 +279,9 @@ public class S3BitStoreService extends BaseBitStoreService {
 
         log.info("AWS S3 Assetstore ready to go! bucket:" + bucketName);
 
-        tm = FunctionalUtils.getDefaultOrBuild(tm, () -> TransferManagerBuilder.standard()
-                                                               .withAlwaysCalculateMultipartMd5(true)
-                                                               .withS3Client(s3Service)
-                                                               .build());
+        transferExecutor = FunctionalUtils.getDefaultOrBuild(transferExecutor, () -> Executors.newFixedThreadPool(
+                Math.max(1, transferThreads),
+                new BasicThreadFactory.Builder().namingPattern("s3-transfer-%d").daemon(true).build()));
     }
 
     /**
@@ -281,39 +326,163 @@ public class S3BitStoreService extends BaseBitStoreService {
     @Override
     public void put(Bitstream bitstream, InputStream in) throws IOException {
         String key = getFullKey(bitstream.getInternalId());
-        //Copy istream to temp file, and send the file, with some metadata
-        File scratchFile = File.createTempFile(bitstream.getInternalId(), "s3bs");
-        try (
-                FileOutputStream fos = new FileOutputStream(scratchFile);
-                // Read through a digest input stream that will work out the MD5
-                DigestInputStream dis = new DigestInputStream(in, MessageDigest.getInstance(CSA));
-        ) {
-            Utils.bufferedCopy(dis, fos);
-            in.close();
-
-            Upload upload = tm.upload(bucketName, key, scratchFile);
-
-            upload.waitForUploadResult();
+        // Read through a digest input stream that will work out the MD5 while the parts are sent
+        try (DigestInputStream dis = new DigestInputStream(in, MessageDigest.getInstance(CSA))) {
+            long size;
+            byte[] firstPart = readPart(dis, INITIAL_PART_BUFFER_SIZE);
+            if (firstPart.length < partSize) {
+                ObjectMetadata objectMetadata = new ObjectMetadata();
+                objectMetadata.setContentLength(firstPart.length);
+                s3Service.putObject(bucketName, key, new ByteArrayInputStream(firstPart), objectMetadata);
+                size = firstPart.length;
+            } else {
+                size = multipartUpload(key, dis, firstPart);
+            }
 
-            bitstream.setSizeBytes(scratchFile.length());
+            bitstream.setSizeBytes(size);
             // we cannot use the S3 ETAG here as it could be not a MD5 in case of multipart upload (large files) or if
             // the bucket is encrypted
             bitstream.setChecksum(Utils.toHex(dis.getMessageDigest().digest()));
             bitstream.setChecksumAlgorithm(CSA);
 
-        } catch (AmazonClientException | IOException | InterruptedException e) {
+        } catch (AmazonClientException | IOException e) {
             log.error("put(" + bitstream.getInternalId() + ", is)", e);
             throw new IOException(e);
         } catch (NoSuchAlgorithmException nsae) {
             // Should never happen
             log.warn("Caught NoSuchAlgorithmException", nsae);
-        } finally {
-            if (!scratchFile.delete()) {
-                scratchFile.deleteOnExit();
+        }
+    }
+
+    /**
+     * Upload a stream as a multipart upload, reading the next part while the previous ones are sent. At most
+     * uploadThreads parts are held in memory. The upload is aborted if any part fails, so no object is created.
+     *
+     * @param key       the object key
+     * @param in        the rest of the stream
+     * @param firstPart the first part, already read from the stream
+     * @return the size of the object
+     * @throws IOException If the stream cannot be read or a part cannot be sent
+     */
+    protected long multipartUpload(String key, InputStream in, byte[] firstPart) throws IOException {
+        String uploadId = s3Service.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key))
+                                   .getUploadId();
+        List<Future<PartETag>> parts = new ArrayList<>();
+        Semaphore buffers = new Semaphore(Math.max(1, uploadThreads));
+        try {
+            long size = 0;
+            byte[] part = firstPart;
+            buffers.acquire();
+            while (true) {
+                size += part.length;
+                parts.add(uploadPart(key, uploadId, parts.size() + 1, part, buffers));
+                if (part.length < partSize) {
+                    break;
+                }
+                buffers.acquire();
+                checkParts(parts);
+                part = readPart(in, partSize);
+                if (part.length == 0) {
+                    buffers.release();
+                    break;
+                }
+            }
+
+            List<PartETag> partETags = new ArrayList<>(parts.size());
+            for (Future<PartETag> future : parts) {
+                partETags.add(future.get());
+            }
+            s3Service.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId,
+                                                                                 partETags));
+            return size;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abortMultipartUpload(key, uploadId, parts);
+            throw new InterruptedIOException("Interrupted while uploading " + key);
+        } catch (ExecutionException e) {
+            abortMultipartUpload(key, uploadId, parts);
+            throw new IOException(e.getCause());
+        } catch (IOException | RuntimeException e) {
+            abortMultipartUpload(key, uploadId, parts);
+            throw e;
+        }
+    }
+
+    private Future<PartETag> uploadPart(String key, String uploadId, int partNumber, byte[] part,
+                                        Semaphore buffers) {
+        return submit(() -> {
+            try {
+                return s3Service.uploadPart(new UploadPartRequest()
+                                                .withBucketName(bucketName)
+                                                .withKey(key)
+                                                .withUploadId(uploadId)
+                                                .withPartNumber(partNumber)
+                                                .withPartSize(part.length)
+                                                .withInputStream(new ByteArrayInputStream(part)))
+                                .getPartETag();
+            } finally {
+                buffers.release();
+            }
+        });
+    }
+
+    /**
+     * Fail fast when a part could not be sent, rather than reading the rest of the stream
+     */
+    private void checkParts(List<Future<PartETag>> parts) throws ExecutionException, InterruptedException {
+        for (Future<PartETag> part : parts) {
+            if (part.isDone()) {
+                part.get();
             }
         }
     }
 
+    private void abortMultipartUpload(String key, String uploadId, List<Future<PartETag>> parts) {
+        parts.forEach(part -> part.cancel(true));
+        try {
+            s3Service.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+        } catch (AmazonClientException e) {
+            log.warn("Could not abort the multipart upload of " + key, e);
+        }
+    }
+
+    /**
+     * Read the next part of a stream to upload
+     *
+     * @param in          the stream
+     * @param initialSize the initial size of the buffer, doubled until partSize bytes are read
+     * @return partSize bytes, or less at the end of the stream
+     * @throws IOException If the stream cannot be read
+     */
+    private byte[] readPart(InputStream in, int initialSize) throws IOException {
+        byte[] part = new byte[Math.min(initialSize, partSize)];
+        int length = 0;
+        while (true) {
+            length += IOUtils.read(in, part, length, part.length - length);
+            if (length < part.length || part.length == partSize) {
+                break;
+            }
+            part = Arrays.copyOf(part, (int) Math.min((long) part.length * 2, partSize));
+        }
+        return length < part.length ? Arrays.copyOf(part, length) : part;
+    }
+
+    /**
+     * Run a transfer on the shared transfer threads, or in the calling thread when the store is not initialized
+     */
+    private <T> Future<T> submit(Callable<T> task) {
+        if (transferExecutor != null) {
+            return transferExecutor.submit(task);
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            future.complete(task.call());
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     /**
      * Obtain technical metadata about an asset in the asset store.
      *
@@ -619,78 +788,162 @@ public class S3BitStoreService extends BaseBitStoreService {
         this.bufferSize = bufferSize;
     }
 
+    public void setPrefetchChunks(int prefetchChunks) {
+        this.prefetchChunks = prefetchChunks;
+    }
+
+    /**
+     * @param partSize the size of the parts of a multipart upload, at least {@link #MIN_PART_SIZE}
+     * @throws IllegalArgumentException if the size is lower than S3 accepts
+     */
+    public void setPartSize(int partSize) {
+        if (partSize < MIN_PART_SIZE) {
+            throw new IllegalArgumentException("The part size of the S3 store (assetstore.s3.partSize) must be at "
+                                                   + "least " + MIN_PART_SIZE + " bytes, not " + partSize);
+        }
+        this.partSize = partSize;
+    }
+
+    public void setUploadThreads(int uploadThreads) {
+        this.uploadThreads = uploadThreads;
+    }
+
+    public void setTransferThreads(int transferThreads) {
+        this.transferThreads = transferThreads;
+    }
+
     /**
      * This inner class represent an InputStream that uses temporary files to
-     * represent chunk of the object downloaded from S3. When the input stream is
-     * read the class look first to the current chunk and download a new one once if
-     * the current one as been fully read. The class is responsible to close a chunk
-     * as soon as a new one is retrieved, the last chunk is closed when the input
-     * stream itself is closed or the last byte is read (the first of the two)
+     * represent chunk of the object downloaded from S3. The next prefetchChunks
+     * chunks are downloaded concurrently while the current one is read, so a
+     * large object is not limited to the throughput of a single connection.
+     * The class is responsible to close a chunk as soon as it has been read, the
+     * remaining chunks are discarded when the input stream itself is closed.
      */
     public class S3LazyInputStream extends InputStream {
+        private final Deque<Future<File>> chunks = new ArrayDeque<>();
         private InputStream currentChunkStream;
         private String objectKey;
-        private long endOfChunk = -1;
         private long chunkMaxSize;
-        private long currPos = 0;
+        private long nextChunkStart = 0;
         private long fileSize;
+        private volatile boolean closed = false;
 
         public S3LazyInputStream(String objectKey, long chunkMaxSize, long fileSize) throws IOException {
             this.objectKey = objectKey;
             this.chunkMaxSize = chunkMaxSize;
-            this.endOfChunk = 0;
             this.fileSize = fileSize;
-            downloadChunk();
+            nextChunk();
         }
 
         @Override
         public int read() throws IOException {
-            // is the current chunk completely read and other are available?
-            if (currPos == endOfChunk && currPos < fileSize) {
-                currentChunkStream.close();
-                downloadChunk();
+            while (currentChunkStream != null) {
+                int byteRead = currentChunkStream.read();
+                if (byteRead != -1) {
+                    return byteRead;
+                }
+                nextChunk();
             }
+            return -1;
+        }
 
-            int byteRead = currPos < endOfChunk ? currentChunkStream.read() : -1;
-            // do we get any data or are we at the end of the file?
-            if (byteRead != -1) {
-                currPos++;
-            } else {
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (currentChunkStream != null) {
+                int bytesRead = currentChunkStream.read(b, off, len);
+                if (bytesRead != -1) {
+                    return bytesRead;
+                }
+                nextChunk();
+            }
+            return -1;
+        }
+
+        /**
+         * Close the current chunk and open the next one, waiting for its download if needed
+         *
+         * @throws IOException If the chunk could not be downloaded
+         */
+        private void nextChunk() throws IOException {
+            if (currentChunkStream != null) {
                 currentChunkStream.close();
+                currentChunkStream = null;
+            }
+            prefetch();
+            Future<File> chunk = chunks.poll();
+            if (chunk == null) {
+                return;
+            }
+            prefetch();
+            try {
+                currentChunkStream = new DeleteOnCloseFileInputStream(chunk.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while downloading " + objectKey);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
             }
-            return byteRead;
         }
 
         /**
-         * This method download the next chunk from S3
+         * Start the downloads of the following chunks, up to prefetchChunks of them
+         */
+        private void prefetch() {
+            while (chunks.size() < Math.max(1, prefetchChunks) && nextChunkStart < fileSize) {
+                long startByte = nextChunkStart; // Start byte (inclusive)
+                long endByte = Long.min(startByte + chunkMaxSize - 1, fileSize - 1); // End byte (inclusive)
+                nextChunkStart = endByte + 1;
+                chunks.add(submit(() -> downloadChunk(startByte, endByte)));
+            }
+        }
+
+        /**
+         * This method download a chunk from S3
          *
+         * @param startByte the first byte of the chunk
+         * @param endByte   the last byte of the chunk
+         * @return the temporary file holding the chunk
          * @throws IOException
-         * @throws FileNotFoundException
          */
-        private void downloadChunk() throws IOException, FileNotFoundException {
-            // Create a DownloadFileRequest with the desired byte range
-            long startByte = currPos; // Start byte (inclusive)
-            long endByte = Long.min(startByte + chunkMaxSize - 1, fileSize - 1); // End byte (inclusive)
+        private File downloadChunk(long startByte, long endByte) throws IOException {
             GetObjectRequest getRequest = new GetObjectRequest(bucketName, objectKey)
                     .withRange(startByte, endByte);
 
             File currentChunkFile = File.createTempFile("s3-disk-copy-" + UUID.randomUUID(), "temp");
             currentChunkFile.deleteOnExit();
             try {
-                Download download = tm.download(getRequest, currentChunkFile);
-                download.waitForCompletion();
-                currentChunkStream = new DeleteOnCloseFileInputStream(currentChunkFile);
-                endOfChunk = endOfChunk + download.getProgress().getBytesTransferred();
-            } catch (AmazonClientException | InterruptedException e) {
+                s3Service.getObject(getRequest, currentChunkFile);
+            } catch (AmazonClientException e) {
                 currentChunkFile.delete();
                 throw new IOException(e);
             }
+            if (closed) {
+                // nobody will read this chunk anymore
+                currentChunkFile.delete();
+            }
+            return currentChunkFile;
         }
 
         @Override
         public void close() throws IOException {
+            closed = true;
+            for (Future<File> chunk : chunks) {
+                if (!chunk.cancel(true) && chunk.isDone()) {
+                    try {
+                        chunk.get().delete();
+                    } catch (InterruptedException | ExecutionException e) {
+                        // nothing was downloaded
+                    }
+                }
+            }
+            chunks.clear();
             if (currentChunkStream != null) {
                 currentChunkStream.close();
+                currentChunkStream = null;
             }
         }
 
@@ -9,6 +9,7 @@ package org.dspace.storage.bitstore.service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.Map;
 import java.util.UUID;
@@ -126,6 +127,18 @@ public interface BitstreamStorageService {
     public InputStream retrieve(Context context, Bitstream bitstream)
         throws SQLException, IOException;
 
+    /**
+     * Locate the bits of a bitstream on the local filesystem, when its store keeps them in a local file.
+     *
+     * @param context   The current context
+     * @param bitstream The bitstream to locate
+     * @return The file holding the bits, or null if they are not available as a local file
+     * @throws IOException  If a problem occurs while locating the bits
+     * @throws SQLException If a problem occurs accessing the RDBMS
+     */
+    public Path retrievePath(Context context, Bitstream bitstream)
+        throws SQLException, IOException;
+
     /**
      * Clean up the bitstream storage area. This method deletes any bitstreams
      * which are more than 1 hour old and marked deleted. The deletions cannot
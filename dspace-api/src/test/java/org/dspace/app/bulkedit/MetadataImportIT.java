@@ -43,6 +43,8 @@ import org.dspace.scripts.DSpaceRunnable;
 import org.dspace.scripts.configuration.ScriptConfiguration;
 import org.dspace.scripts.factory.ScriptServiceFactory;
 import org.dspace.scripts.service.ScriptService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -54,6 +56,8 @@ public class MetadataImportIT extends AbstractIntegrationTestWithDatabase {
             = EPersonServiceFactory.getInstance().getEPersonService();
     private final RelationshipService relationshipService
             = ContentServiceFactory.getInstance().getRelationshipService();
+    private final ConfigurationService configurationService
+            = DSpaceServicesFactory.getInstance().getConfigurationService();
 
     private Collection collection;
     private Collection publicationCollection;
@@ -262,6 +266,28 @@ public class MetadataImportIT extends AbstractIntegrationTestWithDatabase {
         assertEquals(0, itemService.getMetadata(item, "dc", "contributor", "author", Item.ANY).size());
     }
 
+    @Test
+    public void metadataImportInSeveralCommitsTest() throws Exception {
+        configurationService.setProperty("bulkedit.change.commit.count", 2);
+        try {
+            String[] csv = {"id,collection,dc.title,dc.description",
+                "+," + collection.getHandle() + ",\"Chunk Import 1\",",
+                "+," + collection.getHandle() + ",\"Chunk Import 2\",\"first line\nsecond line\"",
+                "+," + collection.getHandle() + ",\"Chunk Import 3\",",
+                "+," + collection.getHandle() + ",\"Chunk Import 4\",",
+                "+," + collection.getHandle() + ",\"Chunk Import 5\","};
+            performImportScript(csv);
+        } finally {
+            configurationService.setProperty("bulkedit.change.commit.count", null);
+        }
+        for (int i = 1; i <= 5; i++) {
+            assertEquals(collection, findItemByName("Chunk Import " + i).getOwningCollection());
+        }
+        // a value spanning several lines of the file
+        assertEquals("first line\nsecond line", itemService.getMetadata(findItemByName("Chunk Import 2"),
+            "dc", "description", null, Item.ANY).get(0).getValue());
+    }
+
     private Item findItemByName(String name) throws Exception {
         List<Item> items =
             IteratorUtils.toList(itemService.findByMetadataField(context, "dc", "title", null, name));
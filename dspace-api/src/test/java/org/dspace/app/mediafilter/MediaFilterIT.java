@@ -7,17 +7,21 @@
  */
 package org.dspace.app.mediafilter;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.app.launcher.ScriptLauncher;
+import org.dspace.app.scripts.handler.impl.TestDSpaceRunnableHandler;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.builder.BitstreamBuilder;
 import org.dspace.builder.CollectionBuilder;
@@ -142,6 +146,28 @@ public class MediaFilterIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void mediaFilterScriptAllItemsConcurrentlyTest() throws Exception {
+        performMediaFilterScript(null, "-t", "4");
+        Iterator<Item> items = itemService.findAll(context);
+        while (items.hasNext()) {
+            Item item = items.next();
+            checkItemHasBeenProcessed(item);
+        }
+    }
+
+    @Test
+    public void mediaFilterScriptInvalidThreadsTest() throws Exception {
+        for (String threads : new String[] {"four", "0"}) {
+            TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+            int status = ScriptLauncher.handleScript(new String[] {"filter-media", "-t", threads},
+                                                     ScriptLauncher.getConfig(kernelImpl), handler, kernelImpl);
+            assertEquals(1, status);
+            assertEquals(List.of("Invalid number of threads '" + threads + "': it must be a positive number"),
+                         handler.getErrorMessages());
+        }
+    }
+
     @Test
     public void mediaFilterScriptIdentifiersTest() throws Exception {
         // process the item 1_1_a and verify that no other items has been processed using the "closer" one
@@ -211,12 +237,14 @@ public class MediaFilterIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
-    private void performMediaFilterScript(DSpaceObject dso) throws Exception {
+    private void performMediaFilterScript(DSpaceObject dso, String... options) throws Exception {
+        List<String> args = new ArrayList<>(List.of("filter-media"));
         if (dso != null) {
-            runDSpaceScript("filter-media", "-i", dso.getHandle());
-        } else {
-            runDSpaceScript("filter-media");
+            args.add("-i");
+            args.add(dso.getHandle());
         }
+        args.addAll(List.of(options));
+        runDSpaceScript(args.toArray(new String[0]));
         // reload our items to see the changes
         item1_1_a = context.reloadEntity(item1_1_a);
         item1_1_b = context.reloadEntity(item1_1_b);
@@ -10,12 +10,15 @@ package org.dspace.app.mediafilter;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.charset.StandardCharsets;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.tika.exception.TikaException;
 import org.dspace.AbstractUnitTest;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
@@ -85,6 +88,122 @@ public class TikaTextExtractionFilterTest extends AbstractUnitTest {
         assertFalse("Known ending content was not found", extractedText.contains("Emergency Broadcast System"));
     }
 
+    /**
+     * Test of getDestinationStream method using temp file when max characters is less than file size
+     *
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testGetDestinationStreamWithUseTempFileAndMaxChars()
+        throws Exception {
+        TikaTextExtractionFilter instance = new TikaTextExtractionFilter();
+
+        configurationService.setProperty("textextractor.use-temp-file", "true");
+        configurationService.setProperty("textextractor.temp-file.max-chars", "100");
+        try {
+            InputStream source = getClass().getResourceAsStream("test.pdf");
+            String extractedText;
+            try (InputStream result = instance.getDestinationStream(null, source, false)) {
+                extractedText = readAll(result);
+            }
+
+            // Verify we have exactly the first 100 characters
+            assertEquals(100, extractedText.length());
+            assertTrue("Known beginning content was found", extractedText.contains("This is a text."));
+            assertFalse("Known ending content was not found", extractedText.contains("Emergency Broadcast System"));
+        } finally {
+            configurationService.setProperty("textextractor.use-temp-file", "false");
+            configurationService.setProperty("textextractor.temp-file.max-chars", null);
+        }
+    }
+
+    /**
+     * Test of getDestinationStream method using temp file when the document is not parsed within the timeout
+     *
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testGetDestinationStreamWithUseTempFileAndTimeout()
+        throws Exception {
+        TikaTextExtractionFilter instance = new TikaTextExtractionFilter();
+
+        configurationService.setProperty("textextractor.use-temp-file", "true");
+        configurationService.setProperty("textextractor.timeout", "1");
+        // a source which never returns any data, so the parser never reports any text
+        InputStream source = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                return -1;
+            }
+        };
+        long start = System.currentTimeMillis();
+        try {
+            instance.getDestinationStream(null, source, false);
+            fail("Text extraction should time out");
+        } catch (TikaException e) {
+            assertTrue(e.getMessage().contains("timed out"));
+            assertTrue("Text extraction stopped at the timeout", System.currentTimeMillis() - start < 30_000);
+        } finally {
+            configurationService.setProperty("textextractor.use-temp-file", "false");
+            configurationService.setProperty("textextractor.timeout", null);
+        }
+    }
+
+    /**
+     * Test of getDestinationStream method using temp file when the parser ignores the interruption at the timeout
+     *
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testGetDestinationStreamWithUseTempFileAndAbandonedParse()
+        throws Exception {
+        TikaTextExtractionFilter instance = new TikaTextExtractionFilter();
+
+        configurationService.setProperty("textextractor.use-temp-file", "true");
+        configurationService.setProperty("textextractor.timeout", "1");
+        // a source which takes 3 seconds to return its first byte, whether it is interrupted or not
+        InputStream source = new InputStream() {
+            private boolean waited = false;
+
+            @Override
+            public int read() {
+                long end = System.currentTimeMillis() + 3_000;
+                while (!waited && System.currentTimeMillis() < end) {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        // ignored
+                    }
+                }
+                waited = true;
+                return -1;
+            }
+        };
+        long abandoned = TikaTextExtractionFilter.getAbandonedParseCount();
+        try {
+            instance.getDestinationStream(null, source, false);
+            fail("Text extraction should time out");
+        } catch (TikaException e) {
+            assertTrue(e.getMessage().contains("timed out"));
+        } finally {
+            configurationService.setProperty("textextractor.use-temp-file", "false");
+            configurationService.setProperty("textextractor.timeout", null);
+        }
+        assertEquals(abandoned + 1, TikaTextExtractionFilter.getAbandonedParseCount());
+
+        // the abandoned parse is no longer counted once it ends
+        long end = System.currentTimeMillis() + 30_000;
+        while (TikaTextExtractionFilter.getRunningAbandonedParseCount() > 0 && System.currentTimeMillis() < end) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, TikaTextExtractionFilter.getRunningAbandonedParseCount());
+    }
+
     /**
      * Test of getDestinationStream method using older Microsoft Word document.
      * Read a constant .doc document and examine the extracted text.
@@ -9,6 +9,7 @@
 package org.dspace.authorize;
 
 import java.sql.SQLException;
+import java.util.List;
 
 import org.dspace.AbstractUnitTest;
 import org.dspace.authorize.factory.AuthorizeServiceFactory;
@@ -18,11 +19,14 @@ import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.CommunityService;
 import org.dspace.core.Constants;
+import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.EPersonService;
 import org.dspace.eperson.service.GroupService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -38,6 +42,8 @@ public class AuthorizeServiceTest extends AbstractUnitTest {
                                                                                    .getResourcePolicyService();
     protected CommunityService communityService = ContentServiceFactory.getInstance().getCommunityService();
     protected CollectionService collectionService = ContentServiceFactory.getInstance().getCollectionService();
+    protected ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                               .getConfigurationService();
 
     public AuthorizeServiceTest() {
     }
@@ -127,6 +133,91 @@ public class AuthorizeServiceTest extends AbstractUnitTest {
             throw new AssertionError(ex);
         }
     }
+
+    @Test
+    public void testAuthorizationDecisionsAreSharedAndInvalidated() throws Exception {
+        AuthorizationDecisionCache decisionCache = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(AuthorizationDecisionCache.class.getName(), AuthorizationDecisionCache.class);
+        // the cache is disabled by default
+        configurationService.setProperty("core.authorization.cache.size", 10000);
+        decisionCache.init();
+        try {
+            assertDecisionsAreSharedAndInvalidated(decisionCache);
+        } finally {
+            configurationService.setProperty("core.authorization.cache.size", null);
+            decisionCache.init();
+        }
+    }
+
+    private void assertDecisionsAreSharedAndInvalidated(AuthorizationDecisionCache decisionCache) throws Exception {
+        context.turnOffAuthorisationSystem();
+        EPerson eperson = ePersonService.create(context);
+        Group group = groupService.create(context);
+        // A group has to have a name, otherwise there are queries that break
+        groupService.setName(group, "My test group 3");
+        groupService.addMember(context, group, eperson);
+        groupService.update(context, group);
+        Community dso = communityService.create(null, context);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        Assert.assertFalse(authorizeService.authorizeActionBoolean(context, eperson, dso, Constants.WRITE, true));
+
+        // another context reuses the decision
+        long hits = decisionCache.getHitCount();
+        try (Context other = new Context()) {
+            Assert.assertFalse(authorizeService.authorizeActionBoolean(other, eperson, dso, Constants.WRITE, true));
+        }
+        Assert.assertEquals(hits + 1, decisionCache.getHitCount());
+
+        // a new policy is seen by the context which added it, and by all contexts once committed
+        context.turnOffAuthorisationSystem();
+        authorizeService.addPolicy(context, dso, Constants.WRITE, group);
+        context.restoreAuthSystemState();
+        Assert.assertTrue(authorizeService.authorizeActionBoolean(context, eperson, dso, Constants.WRITE, true));
+        context.commit();
+        try (Context other = new Context()) {
+            Assert.assertTrue(authorizeService.authorizeActionBoolean(other, eperson, dso, Constants.WRITE, true));
+        }
+
+        // so is a group membership change
+        context.turnOffAuthorisationSystem();
+        groupService.removeMember(context, group, eperson);
+        groupService.update(context, group);
+        context.commit();
+        context.restoreAuthSystemState();
+        try (Context other = new Context()) {
+            Assert.assertFalse(authorizeService.authorizeActionBoolean(other, eperson, dso, Constants.WRITE, true));
+        }
+    }
+
+    @Test
+    public void testPrefetchedPoliciesGiveTheSameDecisions() throws Exception {
+        context.turnOffAuthorisationSystem();
+        EPerson eperson = ePersonService.create(context);
+        Group group = groupService.create(context);
+        // A group has to have a name, otherwise there are queries that break
+        groupService.setName(group, "My test group 4");
+        groupService.addMember(context, group, eperson);
+        groupService.update(context, group);
+        Community writable = communityService.create(null, context);
+        Community readOnly = communityService.create(null, context);
+        authorizeService.addPolicy(context, writable, Constants.WRITE, group);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        try (Context other = new Context()) {
+            other.setCurrentUser(eperson);
+            Community otherWritable = other.reloadEntity(writable);
+            Community otherReadOnly = other.reloadEntity(readOnly);
+            authorizeService.prefetchPolicies(other, List.of(otherWritable, otherReadOnly));
+            Assert.assertNotNull(other.getCachedPolicies(otherWritable));
+            Assert.assertTrue(
+                authorizeService.authorizeActionBoolean(other, eperson, otherWritable, Constants.WRITE, true));
+            Assert.assertFalse(
+                authorizeService.authorizeActionBoolean(other, eperson, otherReadOnly, Constants.WRITE, true));
+        }
+    }
 //
 //    @Test
 //    public void testIsCollectionAdmin() throws SQLException, AuthorizeException, IOException {
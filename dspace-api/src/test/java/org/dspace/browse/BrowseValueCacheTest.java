@@ -0,0 +1,136 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dspace.AbstractUnitTest;
+import org.dspace.authorize.AuthorizationDecisionCache;
+import org.dspace.discovery.DiscoverResult.FacetResult;
+import org.dspace.discovery.configuration.DiscoveryConfigurationParameters;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.EPersonService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Test;
+
+public class BrowseValueCacheTest extends AbstractUnitTest {
+
+    private final BrowseValueCache valueCache = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(BrowseValueCache.class.getName(), BrowseValueCache.class);
+
+    private final AuthorizationDecisionCache decisionCache = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(AuthorizationDecisionCache.class.getName(), AuthorizationDecisionCache.class);
+
+    private final EPersonService ePersonService = EPersonServiceFactory.getInstance().getEPersonService();
+
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                                   .getConfigurationService();
+
+    private final List<FacetResult> values = List.of(
+        new FacetResult("Doe, Jane", "Doe, Jane", null, "doe, jane", 2, DiscoveryConfigurationParameters.TYPE_TEXT),
+        new FacetResult("Smith, John", "Smith, John", null, "smith, john", 1,
+                        DiscoveryConfigurationParameters.TYPE_TEXT));
+
+    @Test
+    public void testValuesAreSharedUntilAuthorizationChanges() throws Exception {
+        context.commit();
+        BrowseValueCache.Key key = valueCache.getKey(context, "author", null);
+        valueCache.put(key, values, valueCache.getIndexGeneration(), valueCache.getAuthorizationGeneration());
+        assertNotNull(valueCache.get(key));
+        assertEquals(values, valueCache.get(key).getValues());
+
+        // another browse index, or an administrator, has its own values
+        assertNotEquals(key, valueCache.getKey(context, "subject", null));
+        context.turnOffAuthorisationSystem();
+        assertNotEquals(key, valueCache.getKey(context, "author", null));
+        context.restoreAuthSystemState();
+
+        // groups or policies changed
+        decisionCache.invalidateAll();
+        assertNull(valueCache.get(key));
+    }
+
+    @Test
+    public void testValuesLoadedBeforeAnInvalidationAreNotCached() throws Exception {
+        context.commit();
+        BrowseValueCache.Key key = valueCache.getKey(context, "author", null);
+        long authorizationGeneration = valueCache.getAuthorizationGeneration();
+        decisionCache.invalidateAll();
+        valueCache.put(key, values, valueCache.getIndexGeneration(), authorizationGeneration);
+        assertNull(valueCache.get(key));
+    }
+
+    @Test
+    public void testUsersWithTheSameGroupsShareValues() throws Exception {
+        context.turnOffAuthorisationSystem();
+        EPerson otherUser = ePersonService.create(context);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        // neither is a member of a group, nor granted a policy
+        context.setCurrentUser(null);
+        BrowseValueCache.Key anonymousKey = valueCache.getKey(context, "author", null);
+        context.setCurrentUser(otherUser);
+        assertEquals(anonymousKey, valueCache.getKey(context, "author", null));
+    }
+
+    @Test
+    public void testTooManyValuesAreRememberedForAllUsers() throws Exception {
+        context.commit();
+        BrowseValueCache.Key key = valueCache.getKey(context, "title", null);
+        valueCache.put(key, null, valueCache.getIndexGeneration(), valueCache.getAuthorizationGeneration());
+        assertNull(valueCache.get(key));
+        assertTrue(valueCache.isTooLarge(key));
+
+        // not forgotten when groups or policies change, and known for the other users
+        decisionCache.invalidateAll();
+        assertTrue(valueCache.isTooLarge(key));
+        context.turnOffAuthorisationSystem();
+        assertTrue(valueCache.isTooLarge(valueCache.getKey(context, "title", null)));
+        context.restoreAuthSystemState();
+        assertFalse(valueCache.isTooLarge(valueCache.getKey(context, "author", null)));
+    }
+
+    @Test
+    public void testCacheIsBoundedByTheTotalNumberOfValues() throws Exception {
+        configurationService.setProperty("browse.value-cache.size", 6);
+        configurationService.setProperty("browse.value-cache.max-values", 2);
+        valueCache.init();
+        try {
+            context.commit();
+            // each list weighs its 2 values and itself
+            List<BrowseValueCache.Key> keys = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                BrowseValueCache.Key key = valueCache.getKey(context, "field" + i, null);
+                valueCache.put(key, values, valueCache.getIndexGeneration(), valueCache.getAuthorizationGeneration());
+                keys.add(key);
+            }
+            int cached = 0;
+            for (BrowseValueCache.Key key : keys) {
+                if (valueCache.get(key) != null) {
+                    cached++;
+                }
+            }
+            assertTrue("At most 2 lists of 2 values are cached", cached <= 2);
+        } finally {
+            configurationService.setProperty("browse.value-cache.size", null);
+            configurationService.setProperty("browse.value-cache.max-values", null);
+            valueCache.init();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration test of the distinct browse of {@link SolrBrowseDAO}, read from the values of the
+ * {@link BrowseValueCache} or queried page by page.
+ */
+public class SolrBrowseDAOIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final List<String> AUTHORS = List.of("Adams, Ann", "Brown, Bob", "Smith, Jane", "Smith, John",
+                                                        "Stone, Sam", "Young, Yan", "Zed, Zoe");
+
+    private final BrowseValueCache browseValueCache = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(BrowseValueCache.class.getName(), BrowseValueCache.class);
+
+    private String table;
+
+    @Before
+    public void setUpItems() throws Exception {
+        table = BrowseIndex.getBrowseIndex("author").getDistinctTableName();
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        for (String author : AUTHORS) {
+            ItemBuilder.createItem(context, collection).withTitle("Item of " + author).withAuthor(author).build();
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+    }
+
+    @Test
+    public void testPagesOfTheCachedValuesMatchTheQueriedPages() throws Exception {
+        long misses = browseValueCache.getCacheMissCount();
+        List<List<String>> cachedPages = browseAllPages();
+        // the first page is queried, the next ones read the values loaded once
+        assertTrue(browseValueCache.getCacheMissCount() > misses);
+        assertTrue(browseValueCache.getCacheHitCount() > 0);
+        assertFalse(browseValueCache.isTooLarge(browseValueCache.getKey(context, table, null)));
+
+        // uncommitted changes: the values are not shared, every page is queried with an offset
+        context.clearCachedAuthorizationResults();
+        List<List<String>> queriedPages = browseAllPages();
+        context.commit();
+
+        assertEquals(queriedPages, cachedPages);
+    }
+
+    /**
+     * Browse the authors by pages of 2, in both orders, with and without a "starts with" value, and check the count
+     * and values of every page
+     *
+     * @return the pages
+     */
+    private List<List<String>> browseAllPages() throws Exception {
+        List<List<String>> pages = new ArrayList<>();
+        for (boolean ascending : new boolean[] {true, false}) {
+            for (String startsWith : new String[] {null, "s"}) {
+                List<String> expected = new ArrayList<>();
+                for (String author : AUTHORS) {
+                    if (startsWith == null || author.toLowerCase().startsWith(startsWith)) {
+                        expected.add(author);
+                    }
+                }
+                if (!ascending) {
+                    Collections.reverse(expected);
+                }
+                for (int offset = 0; offset < expected.size(); offset += 2) {
+                    SolrBrowseDAO dao = createDAO(ascending, startsWith, offset, 2);
+                    assertEquals(expected.size(), dao.doCountQuery());
+                    List<String> page = new ArrayList<>();
+                    for (Object value : dao.doValueQuery()) {
+                        page.add(((String[]) value)[0]);
+                    }
+                    assertEquals(expected.subList(offset, Math.min(offset + 2, expected.size())), page);
+                    pages.add(page);
+                }
+            }
+        }
+        return pages;
+    }
+
+    private SolrBrowseDAO createDAO(boolean ascending, String startsWith, int offset, int limit) {
+        SolrBrowseDAO dao = new SolrBrowseDAO(context);
+        dao.setTable(table);
+        dao.setDistinct(true);
+        dao.setAscending(ascending);
+        dao.setStartsWith(startsWith);
+        dao.setOffset(offset);
+        dao.setLimit(limit);
+        return dao;
+    }
+}
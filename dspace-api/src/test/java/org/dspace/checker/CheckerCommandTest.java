@@ -0,0 +1,84 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.dspace.AbstractUnitTest;
+import org.dspace.content.Bitstream;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Test;
+
+public class CheckerCommandTest extends AbstractUnitTest {
+
+    private final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    @After
+    public void resetBatchSize() {
+        configurationService.setProperty("checker.batch-size", null);
+    }
+
+    /**
+     * Test of process method with a pool of workers: each bitstream is checked once, whatever the worker and batch
+     */
+    @Test
+    public void testProcessInParallel() throws Exception {
+        // several batches, each smaller than the read-ahead of the workers
+        configurationService.setProperty("checker.batch-size", 3);
+        List<Bitstream> bitstreams = new ArrayList<>();
+        context.turnOffAuthorisationSystem();
+        for (int i = 0; i < 20; i++) {
+            Bitstream bitstream = bitstreamService.create(context,
+                new ByteArrayInputStream(("bitstream " + i).getBytes(StandardCharsets.UTF_8)));
+            bitstreamService.update(context, bitstream);
+            bitstreams.add(bitstream);
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+        List<UUID> ids = new ArrayList<>();
+        for (Bitstream bitstream : bitstreams) {
+            ids.add(bitstream.getID());
+        }
+
+        Map<UUID, Integer> results = Collections.synchronizedMap(new HashMap<>());
+        List<ChecksumResultCode> resultCodes = Collections.synchronizedList(new ArrayList<>());
+        CheckerCommand checker = new CheckerCommand(context);
+        checker.setDispatcher(new IteratorDispatcher(bitstreams.iterator()));
+        checker.setCollector((ctx, info) -> {
+            results.merge(info.getBitstream().getID(), 1, Integer::sum);
+            resultCodes.add(info.getChecksumResult().getResultCode());
+        });
+        checker.setReportVerbose(true);
+        checker.setWorkers(4);
+        checker.process();
+
+        assertEquals(ids.size(), results.size());
+        for (UUID id : ids) {
+            assertEquals("bitstream " + id + " must be checked once", Integer.valueOf(1), results.get(id));
+        }
+        for (ChecksumResultCode resultCode : resultCodes) {
+            assertEquals(ChecksumResultCode.CHECKSUM_MATCH, resultCode);
+        }
+    }
+}
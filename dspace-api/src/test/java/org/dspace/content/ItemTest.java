@@ -189,6 +189,19 @@ public class ItemTest extends AbstractDSpaceObjectTest {
         assertThat("testItemFind 2", found.getName(), nullValue());
     }
 
+    /**
+     * Test of findByIds method, of class Item.
+     */
+    @Test
+    public void testItemFindByIds() throws Exception {
+        UUID id = it.getID();
+        // unknown ids are left out
+        List<Item> found = itemService.findByIds(context, Arrays.asList(id, UUID.randomUUID()));
+        assertThat("testItemFindByIds 0", found.size(), equalTo(1));
+        assertThat("testItemFindByIds 1", found.get(0).getID(), equalTo(id));
+        assertThat("testItemFindByIds 2", itemService.findByIds(context, new ArrayList<>()).size(), equalTo(0));
+    }
+
     /**
      * Test of create method, of class Item.
      */
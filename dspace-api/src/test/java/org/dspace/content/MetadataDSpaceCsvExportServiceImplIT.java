@@ -10,8 +10,15 @@ package org.dspace.content;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.UUID;
 
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.app.bulkedit.DSpaceCSV;
@@ -20,8 +27,12 @@ import org.dspace.app.scripts.handler.impl.TestDSpaceRunnableHandler;
 import org.dspace.builder.CollectionBuilder;
 import org.dspace.builder.CommunityBuilder;
 import org.dspace.builder.ItemBuilder;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
 import org.dspace.content.service.MetadataDSpaceCsvExportService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -116,4 +127,104 @@ public class MetadataDSpaceCsvExportServiceImplIT
         assertEquals("One item mapped twice should produce one line",
                 1, csvLines.size());
     }
+
+    /**
+     * Test of export of a Community with the Items of its sub-Communities, read one Collection at a time.
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testCommunityWithSubCommunity()
+            throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                .withName("Community")
+                .build();
+        Community subCommunity = CommunityBuilder.createSubCommunity(context, parentCommunity)
+                .withName("Sub-community")
+                .build();
+        Collection collection1 = CollectionBuilder.createCollection(context, parentCommunity)
+                .withName("Collection1")
+                .build();
+        Collection collection2 = CollectionBuilder.createCollection(context, subCommunity)
+                .withName("Collection2")
+                .build();
+        Item item1 = ItemBuilder.createItem(context, collection1).withTitle("Item 1").build();
+        Item item2 = ItemBuilder.createItem(context, collection2).withTitle("Item 2").build();
+        Item item3 = ItemBuilder.createItem(context, collection2).withTitle("Item 3").build();
+        // mapped to a collection of the sub-community too
+        item1.addCollection(collection2);
+        context.restoreAuthSystemState();
+
+        MetadataDSpaceCsvExportService instance = new DSpace()
+                .getServiceManager()
+                .getServiceByName(MetadataDSpaceCsvExportServiceImpl.class.getCanonicalName(),
+                        MetadataDSpaceCsvExportService.class);
+        DSpaceCSV result = instance.export(context, parentCommunity, false, testDSpaceRunnableHandler);
+
+        List<UUID> ids = new ArrayList<>();
+        for (DSpaceCSVLine line : result.getCSVLines()) {
+            ids.add(line.getID());
+        }
+        assertEquals(3, ids.size());
+        assertEquals(new HashSet<>(Arrays.asList(item1.getID(), item2.getID(), item3.getID())),
+                new HashSet<>(ids));
+    }
+
+    /**
+     * Test that streaming the export, in chunks smaller than the number of items, produces the same CSV as building
+     * it in memory.
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testStreamedExportMatchesInMemoryExport()
+            throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                .withName("Community")
+                .build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+                .withName("Collection")
+                .build();
+        ItemBuilder.createItem(context, collection)
+                .withTitle("Item 1")
+                .withIssueDate("1957")
+                .build();
+        ItemBuilder.createItem(context, collection)
+                .withTitle("Item 2")
+                .withAuthor("Author, Item")
+                .build();
+        ItemBuilder.createItem(context, collection)
+                .withTitle("Item 3")
+                .withSubject("subject")
+                .build();
+        context.restoreAuthSystemState();
+
+        ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        MetadataDSpaceCsvExportService instance = new DSpace()
+                .getServiceManager()
+                .getServiceByName(MetadataDSpaceCsvExportServiceImpl.class.getCanonicalName(),
+                        MetadataDSpaceCsvExportService.class);
+
+        String inMemory = instance.export(context, itemService.findByCollection(context, collection), false,
+                testDSpaceRunnableHandler).toString();
+
+        configurationService.setProperty("bulkedit.export.chunk.size", 2);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            instance.export(context, itemService.findByCollection(context, collection), false, output,
+                    testDSpaceRunnableHandler);
+        } finally {
+            configurationService.setProperty("bulkedit.export.chunk.size", null);
+        }
+
+        // same headings, and same lines (in any order)
+        List<String> expected = Arrays.asList(inMemory.split("\n"));
+        List<String> actual = Arrays.asList(output.toString(StandardCharsets.UTF_8).split("\n"));
+        assertEquals("The streamed CSV should have the same headings as the CSV built in memory",
+                expected.get(0), actual.get(0));
+        Collections.sort(expected);
+        Collections.sort(actual);
+        assertEquals("The streamed CSV should have the same lines as the CSV built in memory", expected, actual);
+    }
 }
@@ -16,8 +16,12 @@ import static org.junit.Assert.assertTrue;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.QueryResponse;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.builder.CollectionBuilder;
@@ -36,6 +40,10 @@ import org.dspace.content.service.ItemService;
 import org.dspace.content.service.RelationshipService;
 import org.dspace.content.service.RelationshipTypeService;
 import org.dspace.content.service.WorkspaceItemService;
+import org.dspace.discovery.MockSolrSearchCore;
+import org.dspace.discovery.SearchUtils;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -53,6 +61,9 @@ public class RelationshipMetadataServiceIT extends AbstractIntegrationTestWithDa
     protected ItemService itemService = ContentServiceFactory.getInstance().getItemService();
     protected InstallItemService installItemService = ContentServiceFactory.getInstance().getInstallItemService();
     protected WorkspaceItemService workspaceItemService = ContentServiceFactory.getInstance().getWorkspaceItemService();
+    protected ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+    protected MockSolrSearchCore solrSearchCore = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(null, MockSolrSearchCore.class);
 
     Item leftItem;
     Item rightItem;
@@ -235,6 +246,96 @@ public class RelationshipMetadataServiceIT extends AbstractIntegrationTestWithDa
         assertThat(rightList.get(1).getAuthority(), equalTo("virtual::" + relationship.getID()));
     }
 
+    @Test
+    public void testGetRelationshipMetadataOfSeveralItems() throws Exception {
+        initPublicationAuthor();
+        context.commit();
+
+        Map<UUID, List<RelationshipMetadataValue>> metadata = relationshipMetadataService
+            .getRelationshipMetadata(context, List.of(leftItem, rightItem), true);
+        assertThat(values(metadata.get(leftItem.getID())),
+            equalTo(values(relationshipMetadataService.getRelationshipMetadata(leftItem, true))));
+        assertThat(values(metadata.get(rightItem.getID())),
+            equalTo(values(relationshipMetadataService.getRelationshipMetadata(rightItem, true))));
+    }
+
+    @Test
+    public void testCachedRelationshipMetadataIsEvictedWhenRelatedItemChanges() throws Exception {
+        RelationshipMetadataServiceImpl relationshipMetadataServiceImpl =
+            (RelationshipMetadataServiceImpl) relationshipMetadataService;
+        // the cache is disabled by default
+        configurationService.setProperty("relationship.metadata.cache.size", 100000);
+        relationshipMetadataServiceImpl.init();
+        try {
+            assertCachedRelationshipMetadataIsEvicted(relationshipMetadataServiceImpl);
+        } finally {
+            configurationService.setProperty("relationship.metadata.cache.size", null);
+            relationshipMetadataServiceImpl.init();
+        }
+    }
+
+    private void assertCachedRelationshipMetadataIsEvicted(
+        RelationshipMetadataServiceImpl relationshipMetadataServiceImpl) throws Exception {
+        initPublicationAuthor();
+        context.commit();
+
+        List<String> original = values(relationshipMetadataService.getRelationshipMetadata(context, leftItem, true));
+        long hits = relationshipMetadataServiceImpl.getCacheHitCount();
+        assertThat(values(relationshipMetadataService.getRelationshipMetadata(context, leftItem, true)),
+            equalTo(original));
+        assertThat(relationshipMetadataServiceImpl.getCacheHitCount(), equalTo(hits + 1));
+
+        // the virtual metadata of the publication is computed from the metadata of the author, the publication is
+        // changed too so that it is indexed again by the discovery consumer, before the commit
+        context.turnOffAuthorisationSystem();
+        rightItem = context.reloadEntity(rightItem);
+        leftItem = context.reloadEntity(leftItem);
+        itemService.setMetadataSingleValue(context, rightItem, "person", "familyName", null, null, "otherName");
+        itemService.update(context, rightItem);
+        itemService.setMetadataSingleValue(context, leftItem, "dc", "title", null, null, "Publication");
+        itemService.update(context, leftItem);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        leftItem = context.reloadEntity(leftItem);
+        List<MetadataValue> authors =
+            itemService.getMetadata(context, leftItem, "dc", "contributor", "author", Item.ANY, true);
+        assertThat(authors.size(), equalTo(1));
+        assertThat(authors.get(0).getValue(), equalTo("otherName, firstName"));
+        // compare with the virtual metadata computed without the cache
+        assertThat(values(relationshipMetadataService.getRelationshipMetadata(context, leftItem, true)),
+            equalTo(values(relationshipMetadataService.getRelationshipMetadata(leftItem, true))));
+
+        QueryResponse response = solrSearchCore.getSolr().query(
+            new SolrQuery(SearchUtils.RESOURCE_ID_FIELD + ":" + leftItem.getID()));
+        assertThat(response.getResults().getNumFound(), equalTo(1L));
+        assertThat(response.getResults().get(0).getFieldValues("dc.contributor.author"),
+            equalTo(List.of("otherName, firstName")));
+    }
+
+    @Test
+    public void testLoadVirtualMetadataOfSeveralItems() throws Exception {
+        initPublicationAuthor();
+        context.commit();
+        leftItem = context.reloadEntity(leftItem);
+        rightItem = context.reloadEntity(rightItem);
+
+        itemService.loadVirtualMetadata(context, List.of(leftItem, rightItem));
+        List<MetadataValue> authors =
+            itemService.getMetadata(context, leftItem, "dc", "contributor", "author", Item.ANY, true);
+        assertThat(authors.size(), equalTo(1));
+        assertThat(authors.get(0).getValue(), equalTo("familyName, firstName"));
+        assertThat(authors.get(0).getAuthority(), equalTo("virtual::" + relationship.getID()));
+        assertThat(itemService.getMetadata(context, leftItem, Item.ANY, Item.ANY, Item.ANY, Item.ANY, true),
+            equalTo(itemService.getMetadata(leftItem, Item.ANY, Item.ANY, Item.ANY, Item.ANY, true)));
+    }
+
+    private List<String> values(List<RelationshipMetadataValue> metadataValues) {
+        return metadataValues.stream()
+                             .map(mdv -> mdv.getMetadataField().toString() + "=" + mdv.getValue())
+                             .collect(Collectors.toList());
+    }
+
     @Test
     public void testDeleteAuthorRelationshipCopyToLeftItem() throws Exception {
         initPublicationAuthor();
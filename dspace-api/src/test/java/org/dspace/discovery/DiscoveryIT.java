@@ -18,17 +18,25 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.client.solrj.util.ClientUtils;
 import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrInputDocument;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.app.launcher.ScriptLauncher;
 import org.dspace.app.scripts.handler.impl.TestDSpaceRunnableHandler;
@@ -905,6 +913,155 @@ public class DiscoveryIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void parallelUpdateIndexTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, community).build();
+        for (int i = 0; i < 20; i++) {
+            ItemBuilder.createItem(context, collection)
+                .withTitle("item " + i)
+                .build();
+        }
+        context.restoreAuthSystemState();
+        // the workers use their own Context, so the items must be visible outside of the test Context
+        context.commit();
+
+        indexer.deleteIndex();
+        indexer.commit();
+        assertSearchQuery(IndexableItem.TYPE, 0);
+
+        indexer.updateIndex(context, true, null, 3);
+        assertSearchQuery(IndexableItem.TYPE, 20);
+        assertSearchQuery(IndexableCollection.TYPE, 1);
+    }
+
+    @Test
+    public void incrementalUpdateIndexTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, community).build();
+        Item item = ItemBuilder.createItem(context, collection)
+            .withTitle("modified item")
+            .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        // drop the modified item from the index and add the document of an item which does not exist (anymore)
+        String itemUniqueId = IndexableItem.TYPE + "-" + item.getID();
+        indexer.unIndexContent(context, itemUniqueId);
+        UUID deletedItemId = UUID.randomUUID();
+        SolrInputDocument deletedItemDoc = new SolrInputDocument();
+        deletedItemDoc.addField(SearchUtils.RESOURCE_UNIQUE_ID, IndexableItem.TYPE + "-" + deletedItemId);
+        deletedItemDoc.addField(SearchUtils.RESOURCE_TYPE_FIELD, IndexableItem.TYPE);
+        deletedItemDoc.addField(SearchUtils.RESOURCE_ID_FIELD, deletedItemId.toString());
+        solrSearchCore.getSolr().add(deletedItemDoc);
+        // and the documents of a collection and a workspace item which do not exist either
+        String deletedCollectionId = UUID.randomUUID().toString();
+        solrSearchCore.getSolr().add(staleDocument(IndexableCollection.TYPE, deletedCollectionId));
+        solrSearchCore.getSolr().add(staleDocument(IndexableWorkspaceItem.TYPE, String.valueOf(Integer.MAX_VALUE)));
+        indexer.commit();
+
+        indexer.updateIndexSince(context, Instant.now().minus(1, ChronoUnit.HOURS), null);
+
+        QueryResponse response = solrSearchCore.getSolr().query(
+            new SolrQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + IndexableItem.TYPE));
+        assertEquals(1, response.getResults().getNumFound());
+        assertEquals(itemUniqueId, response.getResults().get(0).getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID));
+        for (String uniqueId : List.of(IndexableCollection.TYPE + "-" + deletedCollectionId,
+                                       IndexableWorkspaceItem.TYPE + "-" + Integer.MAX_VALUE)) {
+            response = solrSearchCore.getSolr().query(
+                new SolrQuery(SearchUtils.RESOURCE_UNIQUE_ID + ":" + ClientUtils.escapeQueryChars(uniqueId)));
+            assertEquals(0, response.getResults().getNumFound());
+        }
+    }
+
+    private SolrInputDocument staleDocument(String type, String id) {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField(SearchUtils.RESOURCE_UNIQUE_ID, type + "-" + id);
+        document.addField(SearchUtils.RESOURCE_TYPE_FIELD, type);
+        document.addField(SearchUtils.RESOURCE_ID_FIELD, id);
+        return document;
+    }
+
+    @Test
+    public void asyncIndexingQueueTest() throws Exception {
+        IndexingQueue indexingQueue = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(IndexingQueue.class.getName(), IndexingQueue.class);
+        configurationService.setProperty("discovery.index.async.enabled", true);
+        configurationService.setProperty("discovery.index.async.minDelay", 0);
+        try {
+            context.turnOffAuthorisationSystem();
+            Community community = CommunityBuilder.createCommunity(context).build();
+            Collection collection = CollectionBuilder.createCollection(context, community).build();
+            Item item = ItemBuilder.createItem(context, collection)
+                .withTitle("queued item")
+                .build();
+            context.restoreAuthSystemState();
+            // the events are dispatched before the commit, the objects are only queued once it is done
+            context.dispatchEvents();
+            assertEquals(0, indexingQueue.getQueueDepth());
+            context.commit();
+            assertTrue(indexingQueue.getQueueDepth() > 0);
+
+            // the events were queued, nothing was indexed yet
+            String itemUniqueId = IndexableItem.TYPE + "-" + item.getID();
+            QueryResponse response = solrSearchCore.getSolr().query(
+                new SolrQuery(SearchUtils.RESOURCE_UNIQUE_ID + ":\"" + itemUniqueId + "\""));
+            assertEquals(0, response.getResults().getNumFound());
+
+            indexingQueue.drain();
+
+            response = solrSearchCore.getSolr().query(
+                new SolrQuery(SearchUtils.RESOURCE_UNIQUE_ID + ":\"" + itemUniqueId + "\""));
+            assertEquals(1, response.getResults().getNumFound());
+            assertEquals(0, indexingQueue.getQueueDepth());
+        } finally {
+            configurationService.setProperty("discovery.index.async.enabled", false);
+            configurationService.setProperty("discovery.index.async.minDelay", null);
+        }
+    }
+
+    @Test
+    public void asyncIndexingQueueConcurrentAppendTest() throws Exception {
+        IndexingQueue indexingQueue = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(IndexingQueue.class.getName(), IndexingQueue.class);
+        configurationService.setProperty("discovery.index.async.minDelay", 0);
+        try {
+            long deleted = indexingQueue.getDeletedCount();
+            int threads = 8;
+            int idsPerThread = 20;
+            ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < idsPerThread; i++) {
+                        indexingQueue.enqueue(List.of(IndexableItem.TYPE + "-" + UUID.randomUUID()), List.of());
+                    }
+                    return null;
+                }));
+            }
+            // the journal is claimed while the other threads are appending to it
+            results.add(executor.submit(() -> {
+                for (int i = 0; i < 5; i++) {
+                    indexingQueue.drain();
+                }
+                return null;
+            }));
+            for (Future<?> result : results) {
+                // fails with an ExecutionException if a journal access failed
+                result.get();
+            }
+            executor.shutdown();
+
+            indexingQueue.drain();
+            assertEquals(deleted + threads * idsPerThread, indexingQueue.getDeletedCount());
+            assertEquals(0, indexingQueue.getQueueDepth());
+        } finally {
+            configurationService.setProperty("discovery.index.async.minDelay", null);
+        }
+    }
+
     private void assertSearchQuery(String resourceType, int size) throws SearchServiceException {
         assertSearchQuery(resourceType, size, size, 0, -1);
     }
@@ -0,0 +1,71 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import org.dspace.AbstractUnitTest;
+import org.dspace.authorize.AuthorizationDecisionCache;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReadRestrictionFilterCacheTest extends AbstractUnitTest {
+
+    private final ReadRestrictionFilterCache filterCache = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(ReadRestrictionFilterCache.class.getName(), ReadRestrictionFilterCache.class);
+
+    private final AuthorizationDecisionCache decisionCache = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(AuthorizationDecisionCache.class.getName(), AuthorizationDecisionCache.class);
+
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                                   .getConfigurationService();
+
+    @Before
+    public void enableCache() {
+        // the cache is disabled by default
+        configurationService.setProperty("discovery.read-restriction.cache.size", 10000);
+        filterCache.init();
+    }
+
+    @After
+    public void disableCache() {
+        configurationService.setProperty("discovery.read-restriction.cache.size", null);
+        filterCache.init();
+    }
+
+    @Test
+    public void testFilterIsSharedUntilAuthorizationChanges() throws Exception {
+        context.commit();
+        ReadRestrictionFilterCache.Key key = filterCache.getKey(context);
+        filterCache.put(key, "read:(g1 OR e2)", filterCache.getGeneration());
+        assertEquals("read:(g1 OR e2)", filterCache.get(key));
+
+        // another user has its own filter
+        context.setCurrentUser(null);
+        assertNotEquals(key, filterCache.getKey(context));
+
+        // groups or policies changed
+        decisionCache.invalidateAll();
+        assertNull(filterCache.get(key));
+    }
+
+    @Test
+    public void testFilterComputedBeforeAnInvalidationIsNotCached() throws Exception {
+        context.commit();
+        ReadRestrictionFilterCache.Key key = filterCache.getKey(context);
+        long generation = filterCache.getGeneration();
+        decisionCache.invalidateAll();
+        filterCache.put(key, "read:(g1 OR e2)", generation);
+        assertNull(filterCache.get(key));
+    }
+}
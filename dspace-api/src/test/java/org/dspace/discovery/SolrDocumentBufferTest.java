@@ -0,0 +1,132 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.impl.ConcurrentUpdateSolrClient;
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SolrDocumentBufferTest {
+
+    @Mock
+    private SolrSearchCore solrSearchCore;
+
+    @Mock
+    private SolrClient solrClient;
+
+    @Before
+    public void setUp() {
+        when(solrSearchCore.getUpdateClient()).thenReturn(solrClient);
+    }
+
+    @Test
+    public void testFlushOnDocumentCount() throws Exception {
+        SolrDocumentBuffer buffer = new SolrDocumentBuffer(solrSearchCore, 3, 0, 0);
+        buffer.open();
+        buffer.add(document("Item-1"));
+        buffer.add(document("Item-2"));
+        verify(solrClient, never()).add(anyCollection());
+        assertEquals(2, buffer.size());
+
+        buffer.add(document("Item-3"));
+        verify(solrClient, times(1)).add(anyCollection());
+        assertEquals(0, buffer.size());
+
+        buffer.add(document("Item-4"));
+        buffer.close();
+        verify(solrClient, times(2)).add(anyCollection());
+        verify(solrSearchCore).releaseDocumentBuffer(buffer);
+    }
+
+    @Test
+    public void testFlushOnSize() throws Exception {
+        SolrDocumentBuffer buffer = new SolrDocumentBuffer(solrSearchCore, 100, 50, 0);
+        SolrInputDocument large = document("Item-1");
+        large.addField("fulltext", "x".repeat(100));
+        buffer.add(large);
+        verify(solrClient, times(1)).add(anyCollection());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void testNestedCloseDoesNotFlush() throws Exception {
+        SolrDocumentBuffer buffer = new SolrDocumentBuffer(solrSearchCore, 100, 0, 0);
+        buffer.open();
+        buffer.open();
+        buffer.add(document("Item-1"));
+        buffer.close();
+        verify(solrClient, never()).add(anyCollection());
+        buffer.close();
+        verify(solrClient, times(1)).add(anyCollection());
+    }
+
+    @Test
+    public void testFailedBatchIsRetriedPerDocument() throws Exception {
+        when(solrClient.add(anyCollection())).thenThrow(new SolrServerException("bad batch"));
+        SolrDocumentBuffer buffer = new SolrDocumentBuffer(solrSearchCore, 100, 0, 0);
+        buffer.add(document("Item-1"));
+        buffer.add(document("Item-2"));
+        buffer.flush();
+        verify(solrClient, times(1)).add(anyCollection());
+        verify(solrClient, times(2)).add(any(SolrInputDocument.class));
+    }
+
+    @Test
+    public void testDocumentsAreSentAgainWhenTheStreamingClientFails() throws Exception {
+        ConcurrentUpdateSolrClient streamingClient = mock(ConcurrentUpdateSolrClient.class);
+        when(solrSearchCore.getUpdateClient()).thenReturn(streamingClient);
+        when(solrSearchCore.getSolr()).thenReturn(solrClient);
+        // an error is reported asynchronously after the batch was queued
+        when(solrSearchCore.getStreamingFailureCount()).thenReturn(0L, 1L);
+        SolrDocumentBuffer buffer = new SolrDocumentBuffer(solrSearchCore, 100, 0, 0);
+        buffer.open();
+        buffer.add(document("Item-1"));
+        buffer.add(document("Item-2"));
+        buffer.close();
+        verify(streamingClient, times(1)).add(anyCollection());
+        verify(solrSearchCore).blockUntilStreamed();
+        verify(solrClient, times(1)).add(anyCollection());
+    }
+
+    @Test
+    public void testDocumentsWhichCannotBeSentAgainAreReported() throws Exception {
+        ConcurrentUpdateSolrClient streamingClient = mock(ConcurrentUpdateSolrClient.class);
+        when(solrSearchCore.getUpdateClient()).thenReturn(streamingClient);
+        when(solrSearchCore.getSolr()).thenReturn(solrClient);
+        when(solrSearchCore.getStreamingFailureCount()).thenReturn(0L, 1L);
+        when(solrClient.add(anyCollection())).thenThrow(new SolrServerException("bad batch"));
+        when(solrClient.add(any(SolrInputDocument.class))).thenThrow(new SolrServerException("bad document"));
+        SolrDocumentBuffer buffer = new SolrDocumentBuffer(solrSearchCore, 100, 0, 0);
+        buffer.add(document("Item-1"));
+        buffer.flush();
+        assertThrows(SolrServerException.class, buffer::confirm);
+    }
+
+    private SolrInputDocument document(String uniqueId) {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField(SearchUtils.RESOURCE_UNIQUE_ID, uniqueId);
+        return document;
+    }
+}
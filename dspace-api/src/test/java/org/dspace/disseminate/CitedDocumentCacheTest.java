@@ -0,0 +1,83 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.disseminate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CitedDocumentCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testDocumentIsWrittenOnce() throws Exception {
+        CitedDocumentCache cache = new CitedDocumentCache(tempFolder.newFolder(), 1024);
+        AtomicInteger writes = new AtomicInteger();
+        CitedDocumentCache.DocumentWriter writer = file -> {
+            writes.incrementAndGet();
+            Files.writeString(file.toPath(), "cited document");
+        };
+
+        String key = CitedDocumentCache.key("checksum", "lastModified");
+        assertThat(read(cache.get(key, writer)), equalTo("cited document"));
+        assertThat(read(cache.get(key, writer)), equalTo("cited document"));
+        assertThat(writes.get(), equalTo(1));
+        assertThat(cache.getMissCount(), equalTo(1L));
+        assertThat(cache.getHitCount(), equalTo(1L));
+
+        // anything the document depends on changes the key
+        assertThat(CitedDocumentCache.key("checksum", "lastModified2"), not(equalTo(key)));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedDocumentIsEvicted() throws Exception {
+        File directory = tempFolder.newFolder();
+        CitedDocumentCache cache = new CitedDocumentCache(directory, 10);
+
+        read(cache.get("a", file -> Files.writeString(file.toPath(), "123456")));
+        new File(directory, "a.pdf").setLastModified(0);
+        read(cache.get("b", file -> Files.writeString(file.toPath(), "123456")));
+
+        assertThat(new File(directory, "a.pdf").exists(), equalTo(false));
+        assertThat(new File(directory, "b.pdf").exists(), equalTo(true));
+        assertThat(cache.getEvictionCount(), equalTo(1L));
+    }
+
+    @Test
+    public void testFailedWriteIsNotCached() throws Exception {
+        File directory = tempFolder.newFolder();
+        CitedDocumentCache cache = new CitedDocumentCache(directory, 1024);
+        assertThrows(IOException.class, () -> cache.get("a", file -> {
+            throw new IOException("corrupt PDF");
+        }));
+        assertThat(directory.list().length, equalTo(0));
+    }
+
+    private String read(Pair<InputStream, Long> document) throws IOException {
+        try (InputStream in = document.getLeft()) {
+            byte[] data = in.readAllBytes();
+            assertThat((long) data.length, equalTo(document.getRight()));
+            return new String(data, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -9,8 +9,18 @@ package org.dspace.handle;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.dspace.AbstractUnitTest;
+import org.dspace.content.Community;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.CommunityService;
+import org.dspace.core.Context;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.services.ConfigurationService;
@@ -21,6 +31,7 @@ import org.junit.Test;
 public class HandleServiceTest extends AbstractUnitTest {
     protected HandleService handleService = HandleServiceFactory.getInstance().getHandleService();
     protected ConfigurationService configurationService = new DSpace().getConfigurationService();
+    protected CommunityService communityService = ContentServiceFactory.getInstance().getCommunityService();
 
     @Before
     @Override
@@ -70,4 +81,69 @@ public class HandleServiceTest extends AbstractUnitTest {
         assertEquals("111222333/111", handleService.parseHandle("https://whatever/handle/111222333/111"));
         assertEquals("111222333/111", handleService.parseHandle("http://whatever/handle/111222333/111"));
     }
+
+    @Test
+    public void testResolveToObjectIsCachedUntilUnbound() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = communityService.create(null, context);
+        String handle = community.getHandle();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        HandleServiceImpl handleServiceImpl = (HandleServiceImpl) handleService;
+        long hits = handleServiceImpl.getCacheHitCount();
+        assertEquals(community.getID(), handleService.resolveToObject(context, handle).getID());
+        assertEquals(community.getID(), handleService.resolveToObject(context, handle).getID());
+        assertTrue(handleServiceImpl.getCacheHitCount() > hits);
+
+        context.turnOffAuthorisationSystem();
+        communityService.delete(context, context.reloadEntity(community));
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertNull(handleService.resolveToObject(context, handle));
+    }
+
+    @Test
+    public void testResolveToObjectAfterMovingHandleToNewOwner() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community oldOwner = communityService.create(null, context);
+        Community newOwner = communityService.create(null, context);
+        String handle = oldOwner.getHandle();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        ExecutorService otherRequest = Executors.newSingleThreadExecutor();
+        try {
+            assertEquals(oldOwner.getID(), resolveInOtherContext(otherRequest, handle));
+
+            context.turnOffAuthorisationSystem();
+            handleService.modifyHandleDSpaceObject(context, handle, context.reloadEntity(newOwner));
+            context.restoreAuthSystemState();
+            // this context sees its uncommitted change, the other contexts still see (and cache) the old owner
+            assertEquals(newOwner.getID(), handleService.resolveToObject(context, handle).getID());
+            assertEquals(oldOwner.getID(), resolveInOtherContext(otherRequest, handle));
+
+            context.commit();
+            assertEquals(newOwner.getID(), resolveInOtherContext(otherRequest, handle));
+            assertEquals(newOwner.getID(), handleService.resolveToObject(context, handle).getID());
+        } finally {
+            otherRequest.shutdownNow();
+        }
+    }
+
+    /**
+     * Resolve a handle in a new context, in another thread so that it does not share the transaction of the test
+     */
+    private UUID resolveInOtherContext(ExecutorService executor, String handle) throws Exception {
+        return executor.submit(() -> {
+            Context otherContext = new Context();
+            try {
+                DSpaceObject dso = handleService.resolveToObject(otherContext, handle);
+                return dso == null ? null : dso.getID();
+            } finally {
+                otherContext.abort();
+            }
+        }).get();
+    }
 }
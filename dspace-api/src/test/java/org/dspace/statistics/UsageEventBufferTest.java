@@ -0,0 +1,110 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class UsageEventBufferTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Mock
+    private SolrClient solrClient;
+
+    @Test
+    public void testFlushInBatches() throws Exception {
+        UsageEventBuffer buffer = new UsageEventBuffer(solrClient, 10, 2, false, null);
+        buffer.add(document());
+        buffer.add(document());
+        buffer.add(document());
+        verify(solrClient, never()).add(anyCollection());
+        assertEquals(3, buffer.getQueueDepth());
+
+        buffer.flush();
+        verify(solrClient, times(2)).add(anyCollection());
+        verify(solrClient, never()).commit(false, false);
+        assertEquals(0, buffer.getQueueDepth());
+        assertEquals(3, buffer.getFlushedCount());
+    }
+
+    @Test
+    public void testCommitWithoutAutoCommit() throws Exception {
+        UsageEventBuffer buffer = new UsageEventBuffer(solrClient, 10, 10, true, null);
+        buffer.add(document());
+        buffer.flush();
+        verify(solrClient).commit(false, false);
+    }
+
+    @Test
+    public void testDropWhenFull() throws Exception {
+        UsageEventBuffer buffer = new UsageEventBuffer(solrClient, 2, 10, false, null);
+        buffer.add(document());
+        buffer.add(document());
+        buffer.add(document());
+        assertEquals(2, buffer.getQueueDepth());
+        assertEquals(1, buffer.getDroppedCount());
+    }
+
+    @Test
+    public void testSpillWhenFull() throws Exception {
+        File spillDirectory = tempFolder.newFolder();
+        UsageEventBuffer buffer = new UsageEventBuffer(solrClient, 3, 10, false, spillDirectory);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(document());
+        }
+        // the fourth event and the three queued ones are spilled to one file, the fifth one is queued
+        assertEquals(1, buffer.getQueueDepth());
+        assertEquals(0, buffer.getDroppedCount());
+        assertEquals(4, buffer.getSpilledCount());
+        assertEquals(1, spillDirectory.listFiles().length);
+    }
+
+    @Test
+    public void testSpillFailedBatch() throws Exception {
+        when(solrClient.add(anyCollection())).thenThrow(new SolrServerException("unavailable"));
+        File spillDirectory = tempFolder.newFolder();
+        UsageEventBuffer buffer = new UsageEventBuffer(solrClient, 10, 10, false, spillDirectory);
+        buffer.add(document());
+        buffer.add(document());
+        try {
+            buffer.flush();
+            fail("Expected the Solr error to be rethrown");
+        } catch (SolrServerException e) {
+            // expected
+        }
+        assertEquals(0, buffer.getQueueDepth());
+        assertEquals(2, buffer.getSpilledCount());
+        assertEquals(1, spillDirectory.listFiles().length);
+    }
+
+    private SolrInputDocument document() {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField("statistics_type", SolrLoggerServiceImpl.StatisticsType.VIEW.text());
+        return document;
+    }
+}
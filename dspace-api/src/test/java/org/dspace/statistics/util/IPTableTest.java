@@ -163,6 +163,44 @@ public class IPTableTest {
         assertFalse("Range should not contain value above upper limit", instance.contains("192.168.2.0"));
     }
 
+    @Test
+    public void testOverlappingRangesContains() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("10.0.0.0/8");
+        instance.add("10.1.0.0/16");
+        instance.add("10.255.255.255 - 11.0.0.10");
+        instance.add("192.168.1.1");
+
+        assertTrue("Address in nested range should match", instance.contains("10.1.2.3"));
+        assertTrue("Address in merged range should match", instance.contains("11.0.0.10"));
+        assertFalse("Address above merged range should not match", instance.contains("11.0.0.11"));
+        assertFalse("Address below all ranges should not match", instance.contains("9.255.255.255"));
+        assertTrue("Single address should match", instance.contains("192.168.1.1"));
+        assertFalse("Address next to single address should not match", instance.contains("192.168.1.2"));
+
+        // adding a range after a lookup should be taken into account
+        instance.add("9.0.0.0/8");
+        assertTrue("Address in range added after lookup should match", instance.contains("9.255.255.255"));
+    }
+
+    @Test
+    public void testIPv6Contains() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("2001:db8::/32");
+        instance.add("fe80::1");
+        instance.add("2001:db9::10 - 2001:db9::20");
+
+        assertTrue("Prefix should contain lower limit", instance.contains("2001:db8::"));
+        assertTrue("Prefix should contain upper limit",
+                   instance.contains("2001:db8:ffff:ffff:ffff:ffff:ffff:ffff"));
+        assertFalse("Prefix should not contain value above upper limit", instance.contains("2001:db9::"));
+        assertTrue("Single address should match", instance.contains("fe80::1"));
+        assertFalse("Address next to single address should not match", instance.contains("fe80::2"));
+        assertTrue("Range should contain value in between limits", instance.contains("2001:db9::15"));
+        assertFalse("Range should not contain value above upper limit", instance.contains("2001:db9::21"));
+        assertFalse("IPv4 address should not match IPv6 ranges", instance.contains("127.0.0.1"));
+    }
+
     /**
      * Test of isEmpty method, of class IPTable.
      * @throws java.lang.Exception passed through.
@@ -0,0 +1,65 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class PatternSetMatcherTest {
+
+    @Test
+    public void testToLiteral() {
+        assertEquals("googlebot", PatternSetMatcher.toLiteral("googlebot"));
+        assertEquals("Googlebot/2.1 (+http://www.googlebot.com/bot.html)",
+                     PatternSetMatcher.toLiteral("Googlebot/2\\.1 \\(\\+http://www\\.googlebot\\.com/bot\\.html\\)"));
+        assertEquals(".yahoo.com.", PatternSetMatcher.toLiteral("(.*)\\.yahoo\\.com\\."));
+        assertEquals("bot", PatternSetMatcher.toLiteral(".*bot.*"));
+        assertNull(PatternSetMatcher.toLiteral("crawl(.*)\\.exabot\\.com\\."));
+        assertNull(PatternSetMatcher.toLiteral("^bot"));
+        assertNull(PatternSetMatcher.toLiteral("bot\\d"));
+    }
+
+    @Test
+    public void testFind() {
+        PatternSetMatcher matcher = new PatternSetMatcher(
+            List.of("bot", "crawler", "spider", "crawl(.*)\\.exabot\\.com\\.", "^java/"));
+        assertEquals(3, matcher.getLiteralCount());
+        assertEquals(2, matcher.getRegexCount());
+
+        assertTrue(matcher.find("Mozilla/5.0 (compatible; Googlebot/2.1)"));
+        assertTrue(matcher.find("ucrawlespider"));
+        assertTrue(matcher.find("crawl-1.exabot.com."));
+        assertTrue(matcher.find("java/1.8"));
+        assertFalse(matcher.find("Mozilla/5.0 (X11; Linux x86_64; rv:91.0) Gecko/20100101 Firefox/91.0"));
+        assertFalse(matcher.find("crawle"));
+        assertFalse(matcher.find("ajava/1.8"));
+        assertFalse(matcher.find(""));
+    }
+
+    @Test
+    public void testOverlappingLiterals() {
+        // "he" only occurs through the failure link of "she"
+        PatternSetMatcher matcher = new PatternSetMatcher(List.of("she", "he", "hers"));
+        assertTrue(matcher.find("ushe"));
+        assertTrue(matcher.find("xhex"));
+        assertFalse(matcher.find("shx"));
+    }
+
+    @Test
+    public void testEmpty() {
+        PatternSetMatcher matcher = new PatternSetMatcher(List.of());
+        assertTrue(matcher.isEmpty());
+        assertFalse(matcher.find("anything"));
+    }
+}
@@ -147,6 +147,45 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testBitstreamPutAndGetWithMultipleParts() throws IOException {
+
+        int partSize = S3BitStoreService.MIN_PART_SIZE;
+        s3BitStoreService.setPartSize(partSize);
+        s3BitStoreService.setUploadThreads(2);
+        s3BitStoreService.setPrefetchChunks(2);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Three parts, the last one is shorter. ".repeat(partSize * 5 / 2 / 38);
+        String contentExactlyTwoParts = "Two parts!".repeat(partSize * 2 / 10);
+        Bitstream bitstream = createBitstream(content);
+        Bitstream bitstreamExactlyTwoParts = createBitstream(contentExactlyTwoParts);
+        context.restoreAuthSystemState();
+
+        checkMultipartGetPut(content, bitstream);
+        checkMultipartGetPut(contentExactlyTwoParts, bitstreamExactlyTwoParts);
+    }
+
+    @Test
+    public void testPartSizeBelowTheS3Minimum() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> s3BitStoreService.setPartSize(S3BitStoreService.MIN_PART_SIZE - 1));
+    }
+
+    private void checkMultipartGetPut(String content, Bitstream bitstream) throws IOException {
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        // the ETag of a multipart upload is not the MD5 of the content, the checksum is computed while uploading
+        assertThat(bitstream.getSizeBytes(), is((long) content.length()));
+        assertThat(bitstream.getChecksum(), is(Utils.toHex(generateChecksum(content))));
+        assertThat(bitstream.getChecksumAlgorithm(), is(CSA));
+
+        try (InputStream inputStream = s3BitStoreService.get(bitstream)) {
+            assertThat(IOUtils.toString(inputStream, UTF_8), is(content));
+        }
+    }
+
     private void checkGetPut(String bucketName, String content, Bitstream bitstream) throws IOException {
         s3BitStoreService.put(bitstream, toInputStream(content));
         String expectedChecksum = Utils.toHex(generateChecksum(content));
@@ -28,6 +28,15 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.xml.stream.XMLStreamException;
 
 import com.lyncode.xoai.dataprovider.exceptions.ConfigurationException;
@@ -90,6 +99,16 @@ public class XOAI {
     private final boolean verbose;
     private boolean clean;
 
+    /**
+     * Number of threads compiling the Solr documents, 1 compiles them on the calling thread with its Context
+     */
+    private int threads = 1;
+
+    /**
+     * Number of items compiled by a worker with one Context
+     */
+    private static final int WORKER_BATCH_SIZE = 100;
+
     @Autowired
     private SolrServerResolver solrServerResolver;
     @Autowired
@@ -107,7 +126,7 @@ public class XOAI {
 
     private List<XOAIExtensionItemCompilePlugin> extensionPlugins;
 
-    private List<String> getFileFormats(Item item) {
+    private List<String> getFileFormats(Context context, Item item) {
         List<String> formats = new ArrayList<>();
         try {
             for (Bundle b : itemService.getBundles(item, "ORIGINAL")) {
@@ -150,12 +169,26 @@ public class XOAI {
         System.out.println(line);
     }
 
+    /**
+     * @param threads number of threads compiling the Solr documents concurrently, each with its own Context.
+     *                With 1 (the default), the documents are compiled on the calling thread.
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    private void printPhase(String phase, long startMillis) {
+        println(String.format("%s took %d ms", phase, Instant.now().toEpochMilli() - startMillis));
+    }
+
     public int index() throws DSpaceSolrIndexerException {
         int result = 0;
         try {
 
             if (clean) {
+                long clearStart = Instant.now().toEpochMilli();
                 clearIndex();
+                printPhase("Clearing the index", clearStart);
                 System.out.println("Using full import.");
                 result = this.indexAll();
             } else {
@@ -172,7 +205,9 @@ public class XOAI {
                 }
 
             }
+            long commitStart = Instant.now().toEpochMilli();
             solrServerResolver.getServer().commit();
+            printPhase("Final Solr commit", commitStart);
 
             // Set last compilation date
             xoaiLastCompilationCacheService.put(Instant.now());
@@ -191,11 +226,15 @@ public class XOAI {
         try {
             Iterator<Item> discoverableChangedItems = itemService
                     .findInArchiveOrWithdrawnDiscoverableModifiedSince(context, last);
+            int result = this.index(discoverableChangedItems, "Indexing modified discoverable items");
             Iterator<Item> nonDiscoverableChangedItems = itemService
                     .findInArchiveOrWithdrawnNonDiscoverableModifiedSince(context, last);
+            result += this.index(nonDiscoverableChangedItems, "Indexing modified non discoverable items");
+            long searchStart = Instant.now().toEpochMilli();
             Iterator<Item> possiblyChangedItems = getItemsWithPossibleChangesBefore(last);
-            return this.index(discoverableChangedItems) + this.index(nonDiscoverableChangedItems)
-                    + this.index(possiblyChangedItems);
+            printPhase("Searching items with a lapsed embargo", searchStart);
+            result += this.index(possiblyChangedItems, "Indexing items with a lapsed embargo");
+            return result;
         } catch (SQLException ex) {
             throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
         }
@@ -204,7 +243,9 @@ public class XOAI {
     /**
      * Get all items already in the index which are viable to change visibility due
      * to an embargo. Only consider those which haven't been modified anyways since
-     * the last update, so they aren't updated twice in one import run.
+     * the last update, so they aren't updated twice in one import run, and whose
+     * embargo start or end date has been reached since the last update, as the
+     * documents of the others would not change.
      *
      * @param last maximum date for an item to be considered for an update
      * @return Iterator over list of items which might have changed their visibility
@@ -236,8 +277,10 @@ public class XOAI {
                     Item item = itemService.find(context, UUID.fromString((String) document.getFieldValue("item.id")));
                     if (nonNull(item)) {
                         if (nonNull(item.getLastModified())) {
-                            if (item.getLastModified().isBefore(last)) {
+                            if (item.getLastModified().isBefore(last) && hasLapsedPolicyDate(context, item, last)) {
                                 items.add(item);
+                            } else {
+                                context.uncacheEntity(item);
                             }
                         } else {
                             log.warn("Skipping item with id " + item.getID());
@@ -256,6 +299,33 @@ public class XOAI {
         }
     }
 
+    /**
+     * Check if an anonymous READ policy of an item starts or ends between the last update and now,
+     * so the visibility of the item may have changed since then.
+     *
+     * @param context current context
+     * @param item    the item
+     * @param last    the last update
+     * @return true if a policy date lapsed since the last update
+     * @throws SQLException
+     */
+    private boolean hasLapsedPolicyDate(Context context, Item item, Instant last) throws SQLException {
+        // policy dates have no time, compare whole days
+        LocalDate lastDay = LocalDate.ofInstant(last, ZoneOffset.UTC);
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
+        for (ResourcePolicy policy : policies) {
+            if ((policy.getGroup() != null) && (policy.getGroup().getName().equals("Anonymous"))) {
+                for (LocalDate date : Arrays.asList(policy.getStartDate(), policy.getEndDate())) {
+                    if (date != null && !date.isBefore(lastDay) && !date.isAfter(today)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
     private int indexAll() throws DSpaceSolrIndexerException {
         System.out.println("Full import");
         try {
@@ -264,9 +334,10 @@ public class XOAI {
             // (in order to notify external OAI harvesters of their new status)
             Iterator<Item> discoverableItems = itemService.findInArchiveOrWithdrawnDiscoverableModifiedSince(context,
                     null);
+            int result = this.index(discoverableItems, "Indexing discoverable items");
             Iterator<Item> nonDiscoverableItems = itemService
                     .findInArchiveOrWithdrawnNonDiscoverableModifiedSince(context, null);
-            return this.index(discoverableItems) + this.index(nonDiscoverableItems);
+            return result + this.index(nonDiscoverableItems, "Indexing non discoverable items");
         } catch (SQLException ex) {
             throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
         }
@@ -309,6 +380,21 @@ public class XOAI {
         }
     }
 
+    /**
+     * Index items, and print how long it took
+     *
+     * @param iterator the items
+     * @param phase    description of the items, for the timing output
+     * @return the number of items
+     * @throws DSpaceSolrIndexerException
+     */
+    private int index(Iterator<Item> iterator, String phase) throws DSpaceSolrIndexerException {
+        long start = Instant.now().toEpochMilli();
+        int result = threads > 1 ? indexConcurrently(iterator) : index(iterator);
+        printPhase(phase, start);
+        return result;
+    }
+
     private int index(Iterator<Item> iterator) throws DSpaceSolrIndexerException {
         try {
             int i = 0;
@@ -321,7 +407,7 @@ public class XOAI {
                     if (item.getHandle() == null) {
                         log.warn("Skipped item without handle: " + item.getID());
                     } else {
-                        list.add(this.index(item));
+                        list.add(this.index(context, item));
                     }
                     // Uncache the item to keep memory consumption low
                     context.uncacheEntity(item);
@@ -359,6 +445,219 @@ public class XOAI {
         }
     }
 
+    /**
+     * Index items with a pool of worker threads. The calling thread only reads the ids of the items, each worker
+     * compiles the documents of a batch of items with its own Context, and a single writer thread sends the
+     * documents to Solr, so that compiling and writing overlap. Solr is only committed at the end.
+     *
+     * @param iterator the items
+     * @return the number of items
+     * @throws DSpaceSolrIndexerException
+     */
+    private int indexConcurrently(Iterator<Item> iterator) throws DSpaceSolrIndexerException {
+        int batchSize = configurationService.getIntProperty("oai.import.batch.size", 1000);
+        SolrClient server = solrServerResolver.getServer();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        CompletionService<List<SolrInputDocument>> completionService = new ExecutorCompletionService<>(workers);
+        AsyncSolrWriter writer = new AsyncSolrWriter(server, batchSize, threads * 2);
+        AtomicLong compileMillis = new AtomicLong();
+        int i = 0;
+        int pending = 0;
+        try {
+            List<UUID> batch = new ArrayList<>(WORKER_BATCH_SIZE);
+            while (iterator.hasNext()) {
+                Item item = iterator.next();
+                if (item.getHandle() == null) {
+                    log.warn("Skipped item without handle: " + item.getID());
+                } else {
+                    batch.add(item.getID());
+                }
+                // Uncache the item to keep memory consumption low
+                context.uncacheEntity(item);
+                i++;
+                if (i % 1000 == 0) {
+                    System.out.println(i + " items queued for import so far...");
+                }
+                if (batch.size() >= WORKER_BATCH_SIZE) {
+                    List<UUID> ids = batch;
+                    completionService.submit(() -> compile(ids, compileMillis));
+                    pending++;
+                    batch = new ArrayList<>(WORKER_BATCH_SIZE);
+                }
+                // don't read ahead more than a few batches per worker
+                while (pending >= threads * 2) {
+                    writer.add(take(completionService));
+                    pending--;
+                }
+            }
+            if (!batch.isEmpty()) {
+                List<UUID> ids = batch;
+                completionService.submit(() -> compile(ids, compileMillis));
+                pending++;
+            }
+            while (pending > 0) {
+                writer.add(take(completionService));
+                pending--;
+            }
+            long writeStart = Instant.now().toEpochMilli();
+            writer.close();
+            System.out.println("Total: " + i + " items");
+            println(String.format("Compiling took %d ms in %d threads, writing to Solr took %d ms (%d ms after the "
+                    + "last document was compiled)", compileMillis.get(), threads, writer.getWriteMillis(),
+                    Instant.now().toEpochMilli() - writeStart));
+            if (i > 0) {
+                server.commit(true, true);
+            }
+            return i;
+        } catch (SQLException | SolrServerException | IOException ex) {
+            throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
+        } finally {
+            workers.shutdownNow();
+            writer.shutdownNow();
+        }
+    }
+
+    /**
+     * Compile the documents of a batch of items, with a new Context. Executed by a worker thread.
+     *
+     * @param ids           the ids of the items
+     * @param compileMillis time spent compiling documents, by all the workers
+     * @return the documents
+     */
+    private List<SolrInputDocument> compile(List<UUID> ids, AtomicLong compileMillis) throws SQLException {
+        long start = Instant.now().toEpochMilli();
+        List<SolrInputDocument> documents = new ArrayList<>(ids.size());
+        Context workerContext = new Context(Context.Mode.READ_ONLY);
+        try {
+            for (UUID id : ids) {
+                try {
+                    Item item = itemService.find(workerContext, id);
+                    if (item != null) {
+                        documents.add(this.index(workerContext, item));
+                        workerContext.uncacheEntity(item);
+                    }
+                } catch (SQLException | IOException | XMLStreamException | WritingXmlException ex) {
+                    log.error(ex.getMessage(), ex);
+                }
+            }
+        } finally {
+            workerContext.abort();
+        }
+        compileMillis.addAndGet(Instant.now().toEpochMilli() - start);
+        return documents;
+    }
+
+    private List<SolrInputDocument> take(CompletionService<List<SolrInputDocument>> completionService)
+            throws IOException {
+        try {
+            return completionService.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for OAI documents", e);
+        } catch (ExecutionException e) {
+            // compile() only lets database errors about the whole batch through
+            throw new IOException("Error while compiling OAI documents", e.getCause());
+        }
+    }
+
+    /**
+     * Sends documents to Solr on its own thread, in batches of the configured size
+     */
+    private static class AsyncSolrWriter {
+        private final SolrClient server;
+        private final int batchSize;
+        private final ExecutorService executor = Executors.newSingleThreadExecutor();
+        /**
+         * Limits the number of document lists waiting to be written
+         */
+        private final Semaphore queued;
+        /**
+         * Only used by the writer thread
+         */
+        private final List<SolrInputDocument> buffer = new ArrayList<>();
+        private final AtomicReference<Exception> error = new AtomicReference<>();
+        private final AtomicLong writeMillis = new AtomicLong();
+
+        AsyncSolrWriter(SolrClient server, int batchSize, int maxQueued) {
+            this.server = server;
+            this.batchSize = batchSize;
+            this.queued = new Semaphore(maxQueued);
+        }
+
+        /**
+         * Queue documents, waiting if too many are already queued
+         */
+        void add(List<SolrInputDocument> documents) throws IOException {
+            checkError();
+            try {
+                queued.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while queuing OAI documents", e);
+            }
+            executor.execute(() -> {
+                try {
+                    buffer.addAll(documents);
+                    if (buffer.size() >= batchSize) {
+                        flush();
+                    }
+                } catch (SolrServerException | IOException | RuntimeException e) {
+                    error.compareAndSet(null, e);
+                } finally {
+                    queued.release();
+                }
+            });
+        }
+
+        /**
+         * Write the remaining documents and wait until all are written
+         */
+        void close() throws IOException {
+            executor.execute(() -> {
+                try {
+                    flush();
+                } catch (SolrServerException | IOException | RuntimeException e) {
+                    error.compareAndSet(null, e);
+                }
+            });
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    log.info("Waiting for the OAI documents to be written to Solr");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while writing OAI documents", e);
+            }
+            checkError();
+        }
+
+        void shutdownNow() {
+            executor.shutdownNow();
+        }
+
+        long getWriteMillis() {
+            return writeMillis.get();
+        }
+
+        private void flush() throws SolrServerException, IOException {
+            if (buffer.isEmpty() || error.get() != null) {
+                return;
+            }
+            long start = Instant.now().toEpochMilli();
+            server.add(buffer);
+            buffer.clear();
+            writeMillis.addAndGet(Instant.now().toEpochMilli() - start);
+        }
+
+        private void checkError() throws IOException {
+            Exception e = error.get();
+            if (e != null) {
+                throw new IOException("Error while writing OAI documents to Solr", e);
+            }
+        }
+    }
+
     /**
      * Method to get the most recent date on which the item changed concerning the
      * OAI deleted status (policy start and end dates for all anonymous READ
@@ -368,7 +667,7 @@ public class XOAI {
      * @return date
      * @throws SQLException
      */
-    private Instant getMostRecentModificationDate(Item item) throws SQLException {
+    private Instant getMostRecentModificationDate(Context context, Item item) throws SQLException {
         List<Instant> dates = new LinkedList<>();
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
@@ -394,7 +693,7 @@ public class XOAI {
         return lastChange;
     }
 
-    private SolrInputDocument index(Item item)
+    private SolrInputDocument index(Context context, Item item)
             throws SQLException, IOException, XMLStreamException, WritingXmlException {
         SolrInputDocument doc = new SolrInputDocument();
         doc.addField("item.id", item.getID().toString());
@@ -402,7 +701,7 @@ public class XOAI {
         String handle = item.getHandle();
         doc.addField("item.handle", handle);
 
-        boolean isEmbargoed = !this.isPublic(item);
+        boolean isEmbargoed = !this.isPublic(context, item);
         boolean isCurrentlyVisible = this.checkIfVisibleInOAI(item);
         boolean isIndexed = this.checkIfIndexed(item);
 
@@ -425,7 +724,7 @@ public class XOAI {
         // if the visibility of the item will change in the future due to an
         // embargo, mark it as such.
 
-        doc.addField("item.willChangeStatus", willChangeStatus(item));
+        doc.addField("item.willChangeStatus", willChangeStatus(context, item));
 
         /*
          * Mark an item as deleted not only if it is withdrawn, but also if it is made
@@ -446,7 +745,7 @@ public class XOAI {
          * date and take the most recent of those which have already passed.
          */
         doc.addField("item.lastmodified",
-                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(item)));
+                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(context, item)));
 
         if (item.getSubmitter() != null) {
             doc.addField("item.submitter", item.getSubmitter().getEmail());
@@ -483,7 +782,7 @@ public class XOAI {
             }
         }
 
-        for (String f : getFileFormats(item)) {
+        for (String f : getFileFormats(context, item)) {
             doc.addField("metadata.dc.format.mimetype", f);
         }
 
@@ -513,7 +812,7 @@ public class XOAI {
         return doc;
     }
 
-    private boolean willChangeStatus(Item item) throws SQLException {
+    private boolean willChangeStatus(Context context, Item item) throws SQLException {
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
             if ((policy.getGroup() != null) && (policy.getGroup().getName().equals("Anonymous"))) {
@@ -529,7 +828,7 @@ public class XOAI {
         return false;
     }
 
-    private boolean isPublic(Item item) {
+    private boolean isPublic(Context context, Item item) {
         boolean pub = false;
         try {
             // Check if READ access allowed on this Item
@@ -598,6 +897,7 @@ public class XOAI {
             Options options = new Options();
             options.addOption("c", "clear", false, "Clear index before indexing");
             options.addOption("v", "verbose", false, "Verbose output");
+            options.addOption("t", "threads", true, "Number of threads compiling the items (import only)");
             options.addOption("h", "help", false, "Shows some help");
             options.addOption("n", "number", true, "FOR DEVELOPMENT MUST DELETE");
             CommandLine line = parser.parse(options, argv);
@@ -631,6 +931,8 @@ public class XOAI {
                 if (COMMAND_IMPORT.equals(command)) {
                     ctx = new Context(Context.Mode.READ_ONLY);
                     XOAI indexer = new XOAI(ctx, line.hasOption('c'), line.hasOption('v'));
+                    indexer.setThreads(line.hasOption('t') ? Integer.parseInt(line.getOptionValue('t'))
+                        : configurationService.getIntProperty("oai.import.threads", 1));
 
                     applicationContext.getAutowireCapableBeanFactory().autowireBean(indexer);
 
@@ -717,6 +1019,8 @@ public class XOAI {
             System.out.println("     " + COMMAND_CLEAN_CACHE + " - Cleans the OAI cached responses");
             System.out.println("> Parameters:");
             System.out.println("     -c Clear index (" + COMMAND_IMPORT + " only)");
+            System.out.println("     -t <threads> Number of threads compiling the items (" + COMMAND_IMPORT
+                + " only)");
             System.out.println("     -v Verbose output");
             System.out.println("     -h Shows this text");
         } else {
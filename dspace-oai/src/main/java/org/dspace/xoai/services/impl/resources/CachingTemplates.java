@@ -0,0 +1,155 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.services.impl.resources;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Properties;
+import javax.xml.transform.ErrorListener;
+import javax.xml.transform.Result;
+import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.URIResolver;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+/**
+ * Compiled stylesheet whose transformers look up their output in a {@link TransformedRecordCache} before running the
+ * stylesheet. Only stream to stream transformations without parameters, which is how the OAI pipeline applies the
+ * stylesheets to the items, are cached. Anything else is passed to the stylesheet as is.
+ */
+public class CachingTemplates implements Templates {
+    private final String path;
+    private final Templates templates;
+    private final TransformedRecordCache cache;
+
+    /**
+     * @param path      path of the stylesheet, identifying it in the cache
+     * @param templates the compiled stylesheet
+     * @param cache     the cached outputs
+     */
+    public CachingTemplates(String path, Templates templates, TransformedRecordCache cache) {
+        this.path = path;
+        this.templates = templates;
+        this.cache = cache;
+    }
+
+    @Override
+    public Transformer newTransformer() throws TransformerConfigurationException {
+        return new CachingTransformer(templates.newTransformer());
+    }
+
+    @Override
+    public Properties getOutputProperties() {
+        return templates.getOutputProperties();
+    }
+
+    private class CachingTransformer extends Transformer {
+        private final Transformer transformer;
+        private boolean parameters = false;
+
+        private CachingTransformer(Transformer transformer) {
+            this.transformer = transformer;
+        }
+
+        @Override
+        public void transform(Source source, Result result) throws TransformerException {
+            if (parameters || !(source instanceof StreamSource) || !(result instanceof StreamResult)
+                || ((StreamSource) source).getInputStream() == null
+                || ((StreamResult) result).getOutputStream() == null) {
+                transformer.transform(source, result);
+                return;
+            }
+            StreamSource streamSource = (StreamSource) source;
+            StreamResult streamResult = (StreamResult) result;
+            try {
+                byte[] input = streamSource.getInputStream().readAllBytes();
+                String key = TransformedRecordCache.key(path, transformer.getOutputProperties(), input);
+                byte[] output = cache.get(key);
+                if (output == null) {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    StreamSource inputSource = new StreamSource(new ByteArrayInputStream(input),
+                                                                streamSource.getSystemId());
+                    transformer.transform(inputSource, new StreamResult(out));
+                    output = out.toByteArray();
+                    cache.put(key, output);
+                }
+                streamResult.getOutputStream().write(output);
+            } catch (IOException e) {
+                throw new TransformerException(e);
+            }
+        }
+
+        @Override
+        public void setParameter(String name, Object value) {
+            parameters = true;
+            transformer.setParameter(name, value);
+        }
+
+        @Override
+        public Object getParameter(String name) {
+            return transformer.getParameter(name);
+        }
+
+        @Override
+        public void clearParameters() {
+            parameters = false;
+            transformer.clearParameters();
+        }
+
+        @Override
+        public void setURIResolver(URIResolver resolver) {
+            transformer.setURIResolver(resolver);
+        }
+
+        @Override
+        public URIResolver getURIResolver() {
+            return transformer.getURIResolver();
+        }
+
+        @Override
+        public void setOutputProperties(Properties oformat) {
+            transformer.setOutputProperties(oformat);
+        }
+
+        @Override
+        public Properties getOutputProperties() {
+            return transformer.getOutputProperties();
+        }
+
+        @Override
+        public void setOutputProperty(String name, String value) throws IllegalArgumentException {
+            transformer.setOutputProperty(name, value);
+        }
+
+        @Override
+        public String getOutputProperty(String name) throws IllegalArgumentException {
+            return transformer.getOutputProperty(name);
+        }
+
+        @Override
+        public void setErrorListener(ErrorListener listener) throws IllegalArgumentException {
+            transformer.setErrorListener(listener);
+        }
+
+        @Override
+        public ErrorListener getErrorListener() {
+            return transformer.getErrorListener();
+        }
+
+        @Override
+        public void reset() {
+            parameters = false;
+            transformer.reset();
+        }
+    }
+}
@@ -26,6 +26,9 @@ public class DSpaceResourceResolver implements ResourceResolver {
     private static final TransformerFactory transformerFactory = TransformerFactory
             .newInstance("net.sf.saxon.TransformerFactoryImpl", null);
 
+    // Output of the stylesheets, shared by all the resolvers
+    private static TransformedRecordCache recordCache;
+
     private final String basePath;
 
     public DSpaceResourceResolver() {
@@ -34,6 +37,16 @@ public class DSpaceResourceResolver implements ResourceResolver {
         basePath = configurationService.getProperty("oai.config.dir");
     }
 
+    private static synchronized TransformedRecordCache getRecordCache(ConfigurationService configurationService) {
+        if (recordCache == null) {
+            long size = configurationService.getLongProperty("oai.cache.records.size", 64);
+            if (size > 0) {
+                recordCache = new TransformedRecordCache(size * 1024 * 1024);
+            }
+        }
+        return recordCache;
+    }
+
     @Override
     public InputStream getResource(String path) throws IOException {
         return new FileInputStream(new File(basePath, path));
@@ -48,6 +61,8 @@ public class DSpaceResourceResolver implements ResourceResolver {
         // XSLT-files (like <xsl:import href="utils.xsl"/>)
         String systemId = basePath + "/" + path;
         mySrc.setSystemId(systemId);
-        return transformerFactory.newTemplates(mySrc);
+        Templates templates = transformerFactory.newTemplates(mySrc);
+        TransformedRecordCache cache = getRecordCache(DSpaceServicesFactory.getInstance().getConfigurationService());
+        return cache == null ? templates : new CachingTemplates(path, templates, cache);
     }
 }
@@ -0,0 +1,91 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.services.impl.resources;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Output of the OAI stylesheets (context transformers and metadata formats), so that the records of a harvest are not
+ * transformed again every time they are requested with the same metadataPrefix.
+ * <p>
+ * An output is identified by a hash of the stylesheet path, the output properties and the transformed document, which
+ * holds the compiled metadata of the item. Any change to the item is reindexed and changes its compiled metadata, so a
+ * modified item simply misses the cache. The least recently used outputs are evicted when their total size exceeds the
+ * maximum.
+ */
+public class TransformedRecordCache {
+
+    private final Cache<String, byte[]> outputs;
+
+    /**
+     * @param maxSize the maximum total size of the cached outputs, in bytes
+     */
+    public TransformedRecordCache(long maxSize) {
+        outputs = CacheBuilder.newBuilder()
+                              .maximumWeight(maxSize)
+                              .weigher((String key, byte[] output) -> output.length)
+                              .recordStats()
+                              .build();
+    }
+
+    /**
+     * Build the key of an output
+     *
+     * @param path             path of the stylesheet
+     * @param outputProperties output properties of the transformer
+     * @param input            the transformed document
+     * @return a hash of all of them
+     */
+    public static String key(String path, Properties outputProperties, byte[] input) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putUnencodedChars(path).putByte((byte) 0);
+        Map<String, String> properties = new TreeMap<>();
+        for (String name : outputProperties.stringPropertyNames()) {
+            properties.put(name, outputProperties.getProperty(name));
+        }
+        hasher.putUnencodedChars(properties.toString()).putByte((byte) 0);
+        return hasher.putBytes(input).hash().toString();
+    }
+
+    /**
+     * @param key the key of the output, see {@link #key(String, Properties, byte[])}
+     * @return the cached output, or null
+     */
+    public byte[] get(String key) {
+        return outputs.getIfPresent(key);
+    }
+
+    /**
+     * @param key    the key of the output
+     * @param output the output of the stylesheet
+     */
+    public void put(String key, byte[] output) {
+        outputs.put(key, output);
+    }
+
+    /**
+     * @return the number of outputs found in the cache since startup
+     */
+    public long getCacheHitCount() {
+        return outputs.stats().hitCount();
+    }
+
+    /**
+     * @return the number of outputs which had to be transformed since startup
+     */
+    public long getCacheMissCount() {
+        return outputs.stats().missCount();
+    }
+}
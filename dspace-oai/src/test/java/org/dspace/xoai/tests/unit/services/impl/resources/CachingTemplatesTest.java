@@ -0,0 +1,70 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.tests.unit.services.impl.resources;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.xoai.services.impl.resources.CachingTemplates;
+import org.dspace.xoai.services.impl.resources.TransformedRecordCache;
+import org.junit.Test;
+
+public class CachingTemplatesTest {
+    private static final TransformerFactory factory = TransformerFactory
+            .newInstance("net.sf.saxon.TransformerFactoryImpl", null);
+
+    @Test
+    public void sameRecordIsTransformedOnce() throws Exception {
+        TransformedRecordCache cache = new TransformedRecordCache(1024 * 1024);
+        Templates templates = new CachingTemplates("oai_dc.xsl", compile("oai_dc.xsl"), cache);
+        String item = resource("item.xml");
+
+        String first = transform(templates, item);
+        String second = transform(templates, item);
+        assertThat(second, equalTo(first));
+        assertThat(first, containsString("Teste"));
+        assertThat(cache.getCacheMissCount(), equalTo(1L));
+        assertThat(cache.getCacheHitCount(), equalTo(1L));
+
+        // a modified item is transformed again
+        String modified = transform(templates, item.replace("Teste", "Modified"));
+        assertThat(modified, containsString("Modified"));
+        assertThat(cache.getCacheMissCount(), equalTo(2L));
+    }
+
+    private Templates compile(String location) throws Exception {
+        try (InputStream xslt = getClass().getClassLoader().getResourceAsStream(location)) {
+            return factory.newTemplates(new StreamSource(xslt));
+        }
+    }
+
+    private String resource(String location) throws Exception {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(location)) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        }
+    }
+
+    private String transform(Templates templates, String input) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        templates.newTransformer().transform(
+            new StreamSource(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))),
+            new StreamResult(out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
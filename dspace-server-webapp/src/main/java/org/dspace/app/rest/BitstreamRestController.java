@@ -44,8 +44,12 @@ import org.dspace.services.ConfigurationService;
 import org.dspace.services.EventService;
 import org.dspace.usage.UsageEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -80,6 +84,12 @@ public class BitstreamRestController {
     //Most file systems are configured to use block sizes of 4096 or 8192 and our buffer should be a multiple of that.
     private static final int BUFFER_SIZE = 4096 * 10;
 
+    // Request attributes of the Tomcat sendfile support, see org.apache.coyote.Constants
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
     @Autowired
     private BitstreamService bitstreamService;
 
@@ -232,6 +242,10 @@ public class BitstreamRestController {
                     return ResponseEntity.ok().headers(httpHeaders).build();
                 }
 
+                ResponseEntity sendfileResponse = sendFile(request, bitstreamResource, httpHeaders);
+                if (sendfileResponse != null) {
+                    return sendfileResponse;
+                }
                 return ResponseEntity.ok().headers(httpHeaders).body(bitstreamResource);
             }
 
@@ -318,6 +332,56 @@ public class BitstreamRestController {
         return download;
     }
 
+    /**
+     * Let the servlet container send a bitstream stored in a local file itself (e.g. with sendfile), so that its
+     * content is not copied through the heap. Only full responses and single Range requests are sent this way.
+     *
+     * @param request           the HTTP request
+     * @param bitstreamResource the bitstream to send
+     * @param httpHeaders       the headers of a full response, see {@link HttpHeadersInitializer}
+     * @return the response without body, or null if the bitstream has to be streamed by Spring
+     * @throws IOException if the file cannot be located
+     */
+    private ResponseEntity<Void> sendFile(HttpServletRequest request, Resource bitstreamResource,
+                                          HttpHeaders httpHeaders) throws IOException {
+        if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))
+                || !configurationService.getBooleanProperty("webui.content_sendfile", true)
+                || !bitstreamResource.isFile() || bitstreamResource.contentLength() == 0) {
+            return null;
+        }
+
+        long length = bitstreamResource.contentLength();
+        long start = 0;
+        long count = length;
+        HttpStatus status = HttpStatus.OK;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (StringUtils.isNotBlank(rangeHeader)) {
+            ResourceRegion region;
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() != 1) {
+                    // multipart/byteranges responses are written by Spring
+                    return null;
+                }
+                region = ranges.get(0).toResourceRegion(bitstreamResource);
+            } catch (IllegalArgumentException e) {
+                // let Spring answer with 416 Requested Range Not Satisfiable
+                return null;
+            }
+            start = region.getPosition();
+            count = region.getCount();
+            status = HttpStatus.PARTIAL_CONTENT;
+            httpHeaders.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + count - 1) + "/" + length);
+        }
+        httpHeaders.setContentLength(count);
+
+        request.setAttribute(SENDFILE_FILENAME_ATTR, bitstreamResource.getFile().getCanonicalPath());
+        request.setAttribute(SENDFILE_START_ATTR, start);
+        request.setAttribute(SENDFILE_END_ATTR, start + count);
+        log.debug("Sending {} bytes of {} with sendfile", count, bitstreamResource.getDescription());
+        return ResponseEntity.status(status).headers(httpHeaders).build();
+    }
+
     /**
      * Quick check to see if request a copy is enabled. If not, for safety, we'll deny any downoads
      * @return true or false
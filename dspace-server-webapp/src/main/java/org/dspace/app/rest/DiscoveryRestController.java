@@ -32,6 +32,7 @@ import org.dspace.app.rest.model.hateoas.SearchResultsResource;
 import org.dspace.app.rest.model.hateoas.SearchSupportResource;
 import org.dspace.app.rest.parameter.SearchFilter;
 import org.dspace.app.rest.repository.DiscoveryRestRepository;
+import org.dspace.app.rest.utils.DiscoveryResponseCache;
 import org.dspace.app.rest.utils.Utils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -70,6 +71,9 @@ public class DiscoveryRestController implements InitializingBean {
     @Autowired
     private ConverterService converter;
 
+    @Autowired
+    private DiscoveryResponseCache discoveryResponseCache;
+
     @Override
     public void afterPropertiesSet() throws Exception {
         discoverableEndpointsService
@@ -111,23 +115,25 @@ public class DiscoveryRestController implements InitializingBean {
                                     List<SearchFilter> searchFilters,
                                     Pageable page) throws Exception {
 
-        dsoTypes = emptyIfNull(dsoTypes);
+        List<String> types = emptyIfNull(dsoTypes);
 
         if (log.isTraceEnabled()) {
             log.trace("Searching with scope: " + StringUtils.trimToEmpty(dsoScope)
                     + ", configuration name: " + StringUtils.trimToEmpty(configuration)
-                    + ", dsoTypes: " + String.join(", ", dsoTypes)
+                    + ", dsoTypes: " + String.join(", ", types)
                     + ", query: " + StringUtils.trimToEmpty(query)
                     + ", filters: " + Objects.toString(searchFilters));
         }
 
-        SearchResultsRest searchResultsRest = discoveryRestRepository
-            .getAllFacets(query, dsoTypes, dsoScope, configuration, searchFilters);
+        return discoveryResponseCache.get(() -> {
+            SearchResultsRest searchResultsRest = discoveryRestRepository
+                .getAllFacets(query, types, dsoScope, configuration, searchFilters);
 
-        FacetsResource facetsResource = new FacetsResource(searchResultsRest, page);
-        halLinkService.addLinks(facetsResource, page);
+            FacetsResource facetsResource = new FacetsResource(searchResultsRest, page);
+            halLinkService.addLinks(facetsResource, page);
 
-        return facetsResource;
+            return facetsResource;
+        });
     }
 
     @RequestMapping(method = RequestMethod.GET, value = "/search/objects")
@@ -140,12 +146,12 @@ public class DiscoveryRestController implements InitializingBean {
                                                   List<SearchFilter> searchFilters,
                                                   Pageable page) throws Exception {
 
-        dsoTypes = emptyIfNull(dsoTypes);
+        List<String> types = emptyIfNull(dsoTypes);
 
         if (log.isTraceEnabled()) {
             log.trace("Searching with scope: " + StringUtils.trimToEmpty(dsoScope)
                     + ", configuration name: " + StringUtils.trimToEmpty(configuration)
-                    + ", dsoTypes: " + String.join(", ", dsoTypes)
+                    + ", dsoTypes: " + String.join(", ", types)
                     + ", query: " + StringUtils.trimToEmpty(query)
                     + ", filters: " + Objects.toString(searchFilters)
                     + ", page: " + Objects.toString(page));
@@ -153,13 +159,16 @@ public class DiscoveryRestController implements InitializingBean {
 
         //Get the Search results in JSON format
         try {
-            SearchResultsRest searchResultsRest = discoveryRestRepository.getSearchObjects(query, dsoTypes, dsoScope,
-                configuration, searchFilters, page, utils.obtainProjection());
-
-            //Convert the Search JSON results to paginated HAL resources
-            SearchResultsResource searchResultsResource = new SearchResultsResource(searchResultsRest, utils, page);
-            halLinkService.addLinks(searchResultsResource, page);
-            return searchResultsResource;
+            return discoveryResponseCache.get(() -> {
+                SearchResultsRest searchResultsRest = discoveryRestRepository.getSearchObjects(query, types,
+                    dsoScope, configuration, searchFilters, page, utils.obtainProjection());
+
+                //Convert the Search JSON results to paginated HAL resources
+                SearchResultsResource searchResultsResource = new SearchResultsResource(searchResultsRest, utils,
+                    page);
+                halLinkService.addLinks(searchResultsResource, page);
+                return searchResultsResource;
+            });
         } catch (IllegalArgumentException e) {
             boolean isParsingException = e.getMessage().contains(SOLR_PARSE_ERROR_CLASS);
             if (isParsingException) {
@@ -199,11 +208,11 @@ public class DiscoveryRestController implements InitializingBean {
                                               List<SearchFilter> searchFilters,
                                               Pageable page) throws Exception {
 
-        dsoTypes = emptyIfNull(dsoTypes);
+        List<String> types = emptyIfNull(dsoTypes);
 
         if (log.isTraceEnabled()) {
             log.trace("Facetting on facet " + facetName + " with scope: " + StringUtils.trimToEmpty(dsoScope)
-                          + ", dsoTypes: " + String.join(", ", dsoTypes)
+                          + ", dsoTypes: " + String.join(", ", types)
                           + ", prefix: " + StringUtils.trimToEmpty(prefix)
                           + ", query: " + StringUtils.trimToEmpty(query)
                           + ", filters: " + Objects.toString(searchFilters)
@@ -211,13 +220,15 @@ public class DiscoveryRestController implements InitializingBean {
         }
 
         try {
-            FacetResultsRest facetResultsRest = discoveryRestRepository
-                .getFacetObjects(facetName, prefix, query, dsoTypes, dsoScope, configuration, searchFilters, page);
+            return discoveryResponseCache.get(() -> {
+                FacetResultsRest facetResultsRest = discoveryRestRepository
+                    .getFacetObjects(facetName, prefix, query, types, dsoScope, configuration, searchFilters, page);
 
-            FacetResultsResource facetResultsResource = converter.toResource(facetResultsRest);
+                FacetResultsResource facetResultsResource = converter.toResource(facetResultsRest);
 
-            halLinkService.addLinks(facetResultsResource, page);
-            return facetResultsResource;
+                halLinkService.addLinks(facetResultsResource, page);
+                return facetResultsResource;
+            });
         } catch (Exception e) {
             boolean isParsingException = e.getMessage().contains(SOLR_PARSE_ERROR_CLASS);
             /*
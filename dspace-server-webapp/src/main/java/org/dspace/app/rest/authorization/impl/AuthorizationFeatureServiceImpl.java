@@ -8,6 +8,9 @@
 package org.dspace.app.rest.authorization.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -53,6 +56,31 @@ public class AuthorizationFeatureServiceImpl implements AuthorizationFeatureServ
         return feature.isAuthorized(context, object);
     }
 
+    @Override
+    public List<Boolean> isAuthorized(Context context, AuthorizationFeature feature, List<BaseObjectRest> objects)
+        throws SQLException, SearchServiceException {
+        List<BaseObjectRest> supported = new ArrayList<>();
+        for (BaseObjectRest object : objects) {
+            if (isSupported(feature, object)) {
+                supported.add(object);
+            }
+        }
+        Iterator<Boolean> supportedResults = supported.isEmpty() ? Collections.emptyIterator()
+            : feature.isAuthorized(context, supported).iterator();
+
+        List<Boolean> results = new ArrayList<>(objects.size());
+        for (BaseObjectRest object : objects) {
+            results.add(isSupported(feature, object) && supportedResults.next());
+        }
+        return results;
+    }
+
+    private boolean isSupported(AuthorizationFeature feature, BaseObjectRest object) {
+        // the authorization interface require that the object is not null
+        return object != null && feature != null
+            && ArrayUtils.contains(feature.getSupportedTypes(), object.getUniqueType());
+    }
+
     @Override
     public List<AuthorizationFeature> findAll() {
         return features;
@@ -13,7 +13,14 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -32,6 +39,7 @@ import org.dspace.app.rest.model.AuthorizationRest;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.content.DSpaceObject;
 import org.dspace.core.Context;
 import org.dspace.discovery.SearchServiceException;
 import org.dspace.eperson.EPerson;
@@ -213,22 +221,93 @@ public class AuthorizationRestRepository extends DSpaceRestRepository<Authorizat
             return new ArrayList<>();
         }
 
-        List<Authorization> authorizations = new ArrayList<>();
-
         List<BaseObjectRest> objects = uuidList.stream()
             .map(uuid -> utils.getBaseObjectRestFromTypeAndUUID(context, type, uuid))
+            .filter(Objects::nonNull)
             .collect(Collectors.toList());
 
-        objects.forEach(object ->
-            featureNames.forEach(featureName -> {
-                try {
-                    authorizations.addAll(authorizationsForObject(context, user, featureName, object));
-                } catch (Exception ex) {
-                    log.error("An error occurred during authorizations check");
-                    throw new RuntimeException(ex);
+        try {
+            prefetchPolicies(context, objects);
+
+            // evaluate each feature once for all the objects it applies to
+            Map<AuthorizationFeature, List<BaseObjectRest>> objectsByFeature = new LinkedHashMap<>();
+            for (BaseObjectRest object : objects) {
+                for (AuthorizationFeature feature : findFeatures(object, featureNames)) {
+                    objectsByFeature.computeIfAbsent(feature, f -> new ArrayList<>()).add(object);
                 }
-            }));
-        return authorizations;
+            }
+            Map<AuthorizationFeature, Set<BaseObjectRest>> authorized = new HashMap<>();
+            for (Map.Entry<AuthorizationFeature, List<BaseObjectRest>> entry : objectsByFeature.entrySet()) {
+                List<BaseObjectRest> featureObjects = entry.getValue();
+                List<Boolean> results =
+                    authorizationFeatureService.isAuthorized(context, entry.getKey(), featureObjects);
+                Set<BaseObjectRest> authorizedObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+                for (int i = 0; i < featureObjects.size(); i++) {
+                    if (results.get(i)) {
+                        authorizedObjects.add(featureObjects.get(i));
+                    }
+                }
+                authorized.put(entry.getKey(), authorizedObjects);
+            }
+
+            // keep the order of the requested objects and features
+            List<Authorization> authorizations = new ArrayList<>();
+            for (BaseObjectRest object : objects) {
+                for (AuthorizationFeature feature : findFeatures(object, featureNames)) {
+                    if (authorized.get(feature).contains(object)) {
+                        authorizations.add(new Authorization(user, feature, object));
+                    }
+                }
+            }
+            return authorizations;
+        } catch (Exception ex) {
+            log.error("An error occurred during authorizations check");
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * Resolve the features requested for an object, a blank feature name standing for all the features supporting
+     * the object type
+     */
+    private List<AuthorizationFeature> findFeatures(BaseObjectRest object, List<String> featureNames) {
+        List<AuthorizationFeature> features = new ArrayList<>();
+        for (String featureName : featureNames) {
+            if (isNotBlank(featureName)) {
+                AuthorizationFeature feature = authorizationFeatureService.find(featureName);
+                if (feature != null && !features.contains(feature)) {
+                    features.add(feature);
+                }
+            } else {
+                for (AuthorizationFeature feature :
+                        authorizationFeatureService.findByResourceType(object.getUniqueType())) {
+                    if (!features.contains(feature)) {
+                        features.add(feature);
+                    }
+                }
+            }
+        }
+        return features;
+    }
+
+    /**
+     * Load the policies of all the requested objects in a few queries, instead of one query per object and feature
+     */
+    private void prefetchPolicies(Context context, List<BaseObjectRest> objects) throws SQLException {
+        List<DSpaceObject> dsos = new ArrayList<>();
+        for (BaseObjectRest object : objects) {
+            try {
+                Object dso = utils.getDSpaceAPIObjectFromRest(context, object);
+                if (dso instanceof DSpaceObject) {
+                    dsos.add((DSpaceObject) dso);
+                }
+            } catch (IllegalArgumentException | ClassCastException e) {
+                // not a DSpace object, its features check it on their own
+            }
+        }
+        if (!dsos.isEmpty()) {
+            authorizeService.prefetchPolicies(context, dsos);
+        }
     }
 
     private List<Authorization> findAuthorizationsForUri(
@@ -7,11 +7,17 @@
  */
 package org.dspace.app.rest.security.jwt;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.text.ParseException;
 import java.time.Instant;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import com.nimbusds.jose.CompressionAlgorithm;
 import com.nimbusds.jose.EncryptionMethod;
 import com.nimbusds.jose.JOSEException;
@@ -50,6 +56,10 @@ import org.springframework.security.crypto.keygen.KeyGenerators;
  * Class responsible for creating and parsing JSON Web Tokens (JWTs), supports both JWS and JWE
  * https://jwt.io/ . This abstract class needs to be extended with a class providing the
  * configuration keys for the particular type of token.
+ * <p>
+ * Verified tokens are cached for a short time (see jwt.cache.size and jwt.cache.ttl), so that the many requests
+ * sent with the same token are not all decrypted, parsed and verified again. A cached token is only accepted while
+ * the session salt of its EPerson is unchanged, so logging out or logging in again still invalidates it at once.
  *
  * @author Frederic Van Reet (frederic dot vanreet at atmire dot com)
  * @author Tom Desair (tom dot desair at atmire dot com)
@@ -79,6 +89,12 @@ public abstract class JWTTokenHandler {
     private String generatedJwtKey;
     private String generatedEncryptionKey;
 
+    /**
+     * Verified tokens, by hash of the token. Built on first use, null when disabled
+     */
+    private Cache<String, VerifiedToken> verifiedTokens;
+    private volatile boolean verifiedTokensInitialized;
+
     /**
      * Get the configuration property key for the token secret.
      * @return the configuration property key
@@ -125,6 +141,23 @@ public abstract class JWTTokenHandler {
         if (StringUtils.isBlank(token)) {
             return null;
         }
+
+        Cache<String, VerifiedToken> cache = getVerifiedTokens();
+        String cacheKey = cache == null ? null : Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+        VerifiedToken verifiedToken = cache == null ? null : cache.getIfPresent(cacheKey);
+        if (verifiedToken != null) {
+            if (isUnexpired(verifiedToken.jwtClaimsSet().getExpirationTime())) {
+                EPerson ePerson = getEPerson(context, verifiedToken.jwtClaimsSet());
+                // the salt changes when the user logs out, or logs in again after the token expiration time
+                if (ePerson != null && verifiedToken.sessionSalt().equals(ePerson.getSessionSalt())) {
+                    parseClaims(context, request, verifiedToken.jwtClaimsSet());
+                    return ePerson;
+                }
+            }
+            // verify it again, to reject it the usual way
+            cache.invalidate(cacheKey);
+        }
+
         // parse/decrypt the token
         SignedJWT signedJWT = getSignedJWT(token);
         // get the claims set from the parsed token
@@ -137,8 +170,9 @@ public abstract class JWTTokenHandler {
 
             log.debug("Received valid token for username: {}", ePerson::getEmail);
 
-            for (JWTClaimProvider jwtClaimProvider : jwtClaimProviders) {
-                jwtClaimProvider.parseClaim(context, request, jwtClaimsSet);
+            parseClaims(context, request, jwtClaimsSet);
+            if (cache != null) {
+                cache.put(cacheKey, new VerifiedToken(jwtClaimsSet, ePerson.getSessionSalt()));
             }
 
             return ePerson;
@@ -148,6 +182,57 @@ public abstract class JWTTokenHandler {
         }
     }
 
+    /**
+     * Apply all the claims of a valid token to the context (current user, special groups...)
+     */
+    private void parseClaims(Context context, HttpServletRequest request, JWTClaimsSet jwtClaimsSet)
+        throws SQLException {
+        for (JWTClaimProvider jwtClaimProvider : jwtClaimProviders) {
+            jwtClaimProvider.parseClaim(context, request, jwtClaimsSet);
+        }
+    }
+
+    /**
+     * Get the cache of verified tokens, building it on first use
+     *
+     * @return the cache, or null if caching is disabled
+     */
+    private Cache<String, VerifiedToken> getVerifiedTokens() {
+        if (!verifiedTokensInitialized) {
+            synchronized (this) {
+                if (!verifiedTokensInitialized) {
+                    long size = configurationService.getLongProperty("jwt.cache.size", 10000);
+                    long ttl = configurationService.getLongProperty("jwt.cache.ttl", 60);
+                    if (size > 0 && ttl > 0) {
+                        verifiedTokens = CacheBuilder.newBuilder()
+                                                     .maximumSize(size)
+                                                     .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                                                     .recordStats()
+                                                     .build();
+                    }
+                    verifiedTokensInitialized = true;
+                }
+            }
+        }
+        return verifiedTokens;
+    }
+
+    /**
+     * @return the number of requests authenticated with a cached token since startup
+     */
+    public long getCacheHitCount() {
+        Cache<String, VerifiedToken> cache = getVerifiedTokens();
+        return cache == null ? 0 : cache.stats().hitCount();
+    }
+
+    /**
+     * @return the number of tokens which had to be verified since startup
+     */
+    public long getCacheMissCount() {
+        Cache<String, VerifiedToken> cache = getVerifiedTokens();
+        return cache == null ? 0 : cache.stats().missCount();
+    }
+
     /**
      * Create a JWT with the EPerson details in it
      *
@@ -199,6 +284,10 @@ public abstract class JWTTokenHandler {
             if (ePerson != null) {
                 ePerson.setSessionSalt("");
             }
+            Cache<String, VerifiedToken> cache = getVerifiedTokens();
+            if (cache != null) {
+                cache.invalidate(Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString());
+            }
 
         }
     }
@@ -281,13 +370,20 @@ public abstract class JWTTokenHandler {
 
             //If token is valid and not expired return eperson in token
             java.util.Date expirationTime = jwtClaimsSet.getExpirationTime();
-            return signedJWT.verify(verifier)
-                && expirationTime != null
-                //Ensure expiration timestamp is after the current time, with a minute of acceptable clock skew.
-                && DateUtils.isAfter(expirationTime, java.util.Date.from(Instant.now()), MAX_CLOCK_SKEW_SECONDS);
+            return signedJWT.verify(verifier) && isUnexpired(expirationTime);
         }
     }
 
+    /**
+     * Ensure expiration timestamp is after the current time, with a minute of acceptable clock skew.
+     * @param expirationTime expiration time of the token
+     * @return true if the token is not expired
+     */
+    protected boolean isUnexpired(Date expirationTime) {
+        return expirationTime != null
+            && DateUtils.isAfter(expirationTime, Date.from(Instant.now()), MAX_CLOCK_SKEW_SECONDS);
+    }
+
     /**
      * Return the signed JWT.
      * If JWT encryption is enabled, decrypt the token and return.
@@ -436,4 +532,9 @@ public abstract class JWTTokenHandler {
         byte[] secretKey = bytesKeyGenerator.generateKey();
         return Base64.encodeBase64String(secretKey);
     }
+
+    /**
+     * A token which was verified, with the session salt of its EPerson at that time
+     */
+    private record VerifiedToken(JWTClaimsSet jwtClaimsSet, String sessionSalt) {}
 }
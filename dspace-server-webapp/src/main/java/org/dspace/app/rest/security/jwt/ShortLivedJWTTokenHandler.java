@@ -49,13 +49,20 @@ public class ShortLivedJWTTokenHandler extends JWTTokenHandler {
 
             //If token is valid and not expired return eperson in token
             java.util.Date expirationTime = jwtClaimsSet.getExpirationTime();
-            return signedJWT.verify(verifier)
-                && expirationTime != null
-                //Ensure expiration timestamp is after the current time
-                && DateUtils.isAfter(expirationTime, java.util.Date.from(Instant.now()), 0);
+            return signedJWT.verify(verifier) && isUnexpired(expirationTime);
         }
     }
 
+    /**
+     * Ensure expiration timestamp is after the current time, without any clock skew.
+     * @param expirationTime expiration time of the token
+     * @return true if the token is not expired
+     */
+    @Override
+    protected boolean isUnexpired(java.util.Date expirationTime) {
+        return expirationTime != null && DateUtils.isAfter(expirationTime, java.util.Date.from(Instant.now()), 0);
+    }
+
     /**
      * The session salt doesn't need to be updated for short lived tokens.
      * @param context current DSpace Context
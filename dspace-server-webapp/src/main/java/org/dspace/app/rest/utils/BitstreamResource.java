@@ -7,14 +7,19 @@
  */
 package org.dspace.app.rest.utils;
 
-import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.Set;
 import java.util.UUID;
 
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
@@ -35,6 +40,8 @@ import org.springframework.util.DigestUtils;
  * streamlined way inside the {@link org.springframework.http.ResponseEntity} body.
  * This class' attributes are being used by Spring's framework in the overridden methods so that the proper
  * attributes are given and used in the response.
+ * When the asset store keeps the bitstream in a local file, the resource is backed by that file (see
+ * {@link #isFile()}), so that it can be sent without copying its content through the heap.
  */
 public class BitstreamResource extends AbstractResource {
 
@@ -64,22 +71,21 @@ public class BitstreamResource extends AbstractResource {
     }
 
     /**
-     * Get Potential cover page by array, this method should only be called when a coverpage should be generated
+     * Get Potential cover page as a stream, this method should only be called when a coverpage should be generated
      * In case of failure the original file will be returned
      *
      * @param context   the DSpace context
      * @param bitstream the pdf for which we want to generate a coverpage
-     * @return a byte array containing the cover page
+     * @return a stream of the document with the cover page, and its length
      */
-    byte[] getCoverpageByteArray(Context context, Bitstream bitstream)
+    Pair<InputStream, Long> getCoverpageStream(Context context, Bitstream bitstream)
             throws IOException, SQLException, AuthorizeException {
         try {
-            var citedDocument = citationDocumentService.makeCitedDocument(context, bitstream);
-            return citedDocument.getLeft();
+            return citationDocumentService.makeCitedDocumentStream(context, bitstream);
         } catch (Exception e) {
             LOG.warn("Could not generate cover page. Will fallback to original document", e);
             // Return the original bitstream without the cover page
-            return IOUtils.toByteArray(bitstreamService.retrieve(context, bitstream));
+            return Pair.of(bitstreamService.retrieve(context, bitstream), bitstream.getSizeBytes());
         }
     }
 
@@ -92,9 +98,39 @@ public class BitstreamResource extends AbstractResource {
     public InputStream getInputStream() throws IOException {
         fetchDocument();
 
+        if (document.path() != null) {
+            return Files.newInputStream(document.path());
+        }
         return document.inputStream();
     }
 
+    @Override
+    public boolean isFile() {
+        fetchDocument();
+
+        return document.path() != null;
+    }
+
+    @Override
+    public File getFile() throws IOException {
+        fetchDocument();
+
+        if (document.path() == null) {
+            throw new FileNotFoundException(getDescription() + " is not stored in a local file");
+        }
+        return document.path().toFile();
+    }
+
+    @Override
+    public ReadableByteChannel readableChannel() throws IOException {
+        fetchDocument();
+
+        if (document.path() != null) {
+            return FileChannel.open(document.path());
+        }
+        return super.readableChannel();
+    }
+
     @Override
     public String getFilename() {
         return name;
@@ -121,15 +157,13 @@ public class BitstreamResource extends AbstractResource {
         try (Context context = initializeContext()) {
             Bitstream bitstream = bitstreamService.find(context, uuid);
             if (shouldGenerateCoverPage) {
-                var coverPage = getCoverpageByteArray(context, bitstream);
+                var coverPage = getCoverpageStream(context, bitstream);
 
                 this.document = new BitstreamDocument(etag(bitstream),
-                        coverPage.length,
-                        new ByteArrayInputStream(coverPage));
+                        coverPage.getRight(),
+                        coverPage.getLeft());
             } else {
-                this.document = new BitstreamDocument(bitstream.getChecksum(),
-                        bitstream.getSizeBytes(),
-                        bitstreamService.retrieve(context, bitstream));
+                this.document = getOriginalDocument(context, bitstream);
             }
         } catch (SQLException | AuthorizeException | IOException e) {
             throw new RuntimeException(e);
@@ -138,6 +172,25 @@ public class BitstreamResource extends AbstractResource {
         LOG.debug("fetched document {} {}", shouldGenerateCoverPage, document);
     }
 
+    /**
+     * Get the bitstream as it is stored, backed by its local file when the asset store has one
+     *
+     * @param context   the DSpace context
+     * @param bitstream the bitstream to send
+     * @return the document
+     */
+    BitstreamDocument getOriginalDocument(Context context, Bitstream bitstream)
+            throws IOException, SQLException, AuthorizeException {
+        Path path = bitstreamService.retrievePath(context, bitstream);
+        if (path != null) {
+            // the file is only opened when the content is sent
+            return new BitstreamDocument(bitstream.getChecksum(), bitstream.getSizeBytes(), null, path);
+        }
+        return new BitstreamDocument(bitstream.getChecksum(),
+                bitstream.getSizeBytes(),
+                bitstreamService.retrieve(context, bitstream));
+    }
+
     String etag(Bitstream bitstream) {
 
          /* Ideally we would calculate the md5 checksum based on the document with coverpage.
@@ -165,5 +218,9 @@ public class BitstreamResource extends AbstractResource {
         return context;
     }
 
-    record BitstreamDocument(String etag, long length, InputStream inputStream) {}
+    record BitstreamDocument(String etag, long length, InputStream inputStream, Path path) {
+        BitstreamDocument(String etag, long length, InputStream inputStream) {
+            this(etag, length, inputStream, null);
+        }
+    }
 }
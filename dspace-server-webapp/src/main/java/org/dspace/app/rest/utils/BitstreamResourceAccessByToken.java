@@ -7,7 +7,6 @@
  */
 package org.dspace.app.rest.utils;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.Set;
@@ -85,15 +84,13 @@ public class BitstreamResourceAccessByToken extends BitstreamResource {
                 throw new AuthorizeException("Authorization to bitstream " + uuid + " by access token FAILED");
             }
             if (shouldGenerateCoverPage) {
-                var coverPage = getCoverpageByteArray(fileRetrievalContext, bitstream);
+                var coverPage = getCoverpageStream(fileRetrievalContext, bitstream);
 
                 this.document = new BitstreamDocument(etag(bitstream),
-                        coverPage.length,
-                        new ByteArrayInputStream(coverPage));
+                        coverPage.getRight(),
+                        coverPage.getLeft());
             } else {
-                this.document = new BitstreamDocument(bitstream.getChecksum(),
-                        bitstream.getSizeBytes(),
-                        bitstreamService.retrieve(fileRetrievalContext, bitstream));
+                this.document = getOriginalDocument(fileRetrievalContext, bitstream);
             }
         } catch (SQLException | AuthorizeException | IOException e) {
             throw new RuntimeException(e);
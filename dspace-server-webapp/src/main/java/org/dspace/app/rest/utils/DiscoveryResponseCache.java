@@ -0,0 +1,156 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.utils;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.dspace.core.Context;
+import org.dspace.discovery.SearchService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.RequestService;
+import org.dspace.services.model.Request;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Responses of the anonymous Discovery requests (search results, facets), shared by all the requests, so that the
+ * home page, community pages and facet listings do not query Solr and the database again for every visitor.
+ * <p>
+ * A response is identified by the request URL with its parameters sorted by name, and the special groups of the
+ * anonymous user (e.g. IP based groups). A response computed before the last commit of the search core (see
+ * {@link SearchService#getIndexGeneration()}) is computed again, and responses expire after a short, configurable
+ * time, so that changes indexed by another process eventually appear.
+ */
+@Component
+public class DiscoveryResponseCache {
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private RequestService requestService;
+
+    private Cache<String, Response> responses;
+
+    // metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Computes a response
+     */
+    @FunctionalInterface
+    public interface ResponseLoader<T> {
+        T load() throws Exception;
+    }
+
+    @PostConstruct
+    public void init() {
+        long size = configurationService.getLongProperty("discovery.response.cache.size", 1000);
+        long ttl = configurationService.getLongProperty("discovery.response.cache.ttl", 60);
+        if (size > 0 && ttl > 0) {
+            responses = CacheBuilder.newBuilder()
+                                    .maximumSize(size)
+                                    .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                                    .build();
+        }
+    }
+
+    /**
+     * Get the response of the current request from the cache, computing it if the request is not anonymous or the
+     * response is not cached yet
+     *
+     * @param loader computes the response
+     * @return the response
+     * @throws Exception if the response cannot be computed
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(ResponseLoader<T> loader) throws Exception {
+        String key = getKey();
+        if (key == null) {
+            return loader.load();
+        }
+        long generation = searchService.getIndexGeneration();
+        Response response = responses.getIfPresent(key);
+        if (response != null && response.generation == generation) {
+            hits.incrementAndGet();
+            return (T) response.value;
+        }
+        misses.incrementAndGet();
+        T value = loader.load();
+        responses.put(key, new Response(value, generation));
+        return value;
+    }
+
+    /**
+     * Build the key of the response of the current request
+     *
+     * @return the key, or null if the response must not be shared: the cache is disabled, or the user is
+     * authenticated
+     */
+    private String getKey() {
+        Request currentRequest = requestService.getCurrentRequest();
+        if (responses == null || currentRequest == null
+            || !configurationService.getBooleanProperty("discovery.response.cache.enabled", true)) {
+            return null;
+        }
+        HttpServletRequest request = currentRequest.getHttpServletRequest();
+        Context context = ContextUtil.obtainContext(request);
+        if (context.getCurrentUser() != null || context.isAuthorizationChanged()) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(request.getRequestURL());
+        // the order of the values of a parameter may matter (e.g. sort), the order of the parameters does not
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+            for (String value : parameter.getValue()) {
+                key.append('\n').append(parameter.getKey()).append('=').append(value);
+            }
+        }
+        for (UUID specialGroup : new TreeSet<>(context.getSpecialGroupUuids())) {
+            key.append("\ngroup=").append(specialGroup);
+        }
+        return key.toString();
+    }
+
+    /**
+     * @return the number of responses found in the cache since startup
+     */
+    public long getCacheHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of anonymous responses which had to be computed since startup
+     */
+    public long getCacheMissCount() {
+        return misses.get();
+    }
+
+    private static final class Response {
+        private final Object value;
+        private final long generation;
+
+        private Response(Object value, long generation) {
+            this.value = value;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.oai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
+import org.dspace.authorize.ResourcePolicy;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.authorize.service.ResourcePolicyService;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.eperson.Group;
+import org.dspace.solr.MockSolrServer;
+import org.dspace.xoai.app.XOAI;
+import org.dspace.xoai.services.api.solr.SolrServerResolver;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration test of the OAI indexer ({@link XOAI}), writing to an embedded "oai" Solr core.
+ */
+@TestPropertySource(properties = {"oai.enabled = true"})
+public class XOAIIT extends AbstractControllerIntegrationTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private AuthorizeService authorizeService;
+
+    @Autowired
+    private ResourcePolicyService resourcePolicyService;
+
+    // Mock to index into the embedded "oai" core (see @Before method)
+    @MockBean
+    private SolrServerResolver solrServerResolver;
+
+    private MockSolrServer oaiSolrServer;
+
+    private SolrClient oaiSolr;
+
+    private Collection collection;
+
+    @Before
+    public void setUpOaiCore() throws Exception {
+        // XOAI and its beans are provided by the 'dspace-oai' module, see OAIpmhIT
+        try {
+            Class.forName("org.dspace.app.configuration.OAIWebConfig");
+        } catch (ClassNotFoundException ce) {
+            Assume.assumeNoException(ce);
+        }
+        oaiSolrServer = new MockSolrServer("oai");
+        oaiSolr = oaiSolrServer.getSolrServer();
+        when(solrServerResolver.getServer()).thenReturn(oaiSolr);
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        context.restoreAuthSystemState();
+        // as the command line, which indexes anonymously
+        context.setCurrentUser(null);
+    }
+
+    @After
+    public void tearDownOaiCore() throws Exception {
+        if (oaiSolrServer != null) {
+            oaiSolrServer.reset();
+            oaiSolr.commit();
+            oaiSolrServer.destroy();
+        }
+    }
+
+    @Test
+    public void indexWithSeveralThreadsTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            items.add(ItemBuilder.createItem(context, collection).withTitle("Item " + i).build());
+        }
+        Item embargoed = ItemBuilder.createItem(context, collection).withTitle("Embargoed item")
+                                    .withEmbargoPeriod(Period.ofMonths(6)).build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertEquals(6, index(true, 3));
+
+        for (Item item : items) {
+            SolrDocument document = getDocument(item);
+            assertEquals(item.getHandle(), document.getFieldValue("item.handle"));
+            assertEquals(true, document.getFieldValue("item.public"));
+            assertEquals(false, document.getFieldValue("item.willChangeStatus"));
+            assertNotNull(document.getFieldValue("item.compile"));
+        }
+        SolrDocument document = getDocument(embargoed);
+        assertEquals(false, document.getFieldValue("item.public"));
+        assertEquals(true, document.getFieldValue("item.willChangeStatus"));
+    }
+
+    @Test
+    public void incrementalIndexAfterEmbargoStartDateTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item embargoed = ItemBuilder.createItem(context, collection).withTitle("Embargoed item")
+                                    .withEmbargoPeriod(Period.ofDays(1)).build();
+        // the most recently modified item, so that the embargoed item was modified before the last update
+        ItemBuilder.createItem(context, collection).withTitle("Public item").build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        index(true, 1);
+        assertEquals(false, getDocument(embargoed).getFieldValue("item.public"));
+        assertEquals(true, getDocument(embargoed).getFieldValue("item.willChangeStatus"));
+
+        // the start date of the embargo is reached, which does not modify the item
+        embargoed = context.reloadEntity(embargoed);
+        Instant lastModified = embargoed.getLastModified();
+        context.turnOffAuthorisationSystem();
+        for (ResourcePolicy policy : authorizeService.getPoliciesActionFilter(context, embargoed, Constants.READ)) {
+            if (policy.getGroup() != null && Group.ANONYMOUS.equals(policy.getGroup().getName())) {
+                policy.setStartDate(LocalDate.now(ZoneOffset.UTC));
+                resourcePolicyService.update(context, policy);
+            }
+        }
+        embargoed = context.reloadEntity(embargoed);
+        embargoed.setLastModified(lastModified.minus(1, ChronoUnit.SECONDS));
+        context.restoreAuthSystemState();
+        context.commit();
+
+        index(false, 2);
+        embargoed = context.reloadEntity(embargoed);
+        SolrDocument document = getDocument(embargoed);
+        assertEquals(true, document.getFieldValue("item.public"));
+        assertEquals(false, document.getFieldValue("item.willChangeStatus"));
+        assertFalse((Boolean) document.getFieldValue("item.deleted"));
+    }
+
+    /**
+     * Run the OAI indexer
+     *
+     * @param clean   true for a full import, false for an incremental one
+     * @param threads number of threads compiling the documents
+     * @return the number of indexed items
+     */
+    private int index(boolean clean, int threads) throws Exception {
+        XOAI indexer = new XOAI(context, clean, false);
+        applicationContext.getAutowireCapableBeanFactory().autowireBean(indexer);
+        indexer.setThreads(threads);
+        return indexer.index();
+    }
+
+    private SolrDocument getDocument(Item item) throws Exception {
+        SolrDocumentList documents = oaiSolr.query(new SolrQuery("item.id:" + item.getID())).getResults();
+        assertEquals(1, documents.getNumFound());
+        return documents.get(0);
+    }
+}
@@ -42,6 +42,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.ByteArrayInputStream;
@@ -347,6 +348,71 @@ public class BitstreamRestControllerIT extends AbstractControllerIntegrationTest
             checkNumberOfStatsRecords(bitstream, 0);
     }
 
+    @Test
+    public void retrieveBitstreamWithSendfile() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        //** GIVEN **
+        //1. A community-collection structure with one parent community and one collections.
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1").build();
+
+        //2. A public item with a bitstream stored in the local assetstore
+        String bitstreamContent = "0123456789";
+
+        try (InputStream is = IOUtils.toInputStream(bitstreamContent, CharEncoding.UTF_8)) {
+
+            Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                          .withTitle("Public item 1")
+                                          .withIssueDate("2017-10-17")
+                                          .build();
+
+            bitstream = BitstreamBuilder
+                .createBitstream(context, publicItem1, is)
+                .withName("Test bitstream")
+                .withMimeType("text/plain")
+                .build();
+        }
+        context.restoreAuthSystemState();
+
+        String path = StorageServiceFactory.getInstance().getBitstreamStorageService()
+                                           .retrievePath(context, bitstream).toFile().getCanonicalPath();
+
+        //** WHEN **
+        //The servlet container supports sendfile
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr("org.apache.tomcat.sendfile.support", true))
+
+                   //** THEN **
+                   .andExpect(status().isOk())
+                   .andExpect(header().longValue("Content-Length", 10))
+                   .andExpect(header().string("ETag", "\"" + bitstream.getChecksum() + "\""))
+                   //The file is left to the container, no content is written by the application
+                   .andExpect(request().attribute("org.apache.tomcat.sendfile.filename", path))
+                   .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 0L))
+                   .andExpect(request().attribute("org.apache.tomcat.sendfile.end", 10L))
+                   .andExpect(content().bytes(new byte[0]));
+
+        //A single range is sent the same way
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr("org.apache.tomcat.sendfile.support", true)
+                                .header("Range", "bytes=4-"))
+                   .andExpect(status().is(206))
+                   .andExpect(header().longValue("Content-Length", 6))
+                   .andExpect(header().string("Content-Range", "bytes 4-9/10"))
+                   .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 4L))
+                   .andExpect(request().attribute("org.apache.tomcat.sendfile.end", 10L));
+
+        //Without sendfile support, the file is streamed
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content"))
+                   .andExpect(status().isOk())
+                   .andExpect(request().attribute("org.apache.tomcat.sendfile.filename", nullValue()))
+                   .andExpect(content().bytes(bitstreamContent.getBytes()));
+    }
+
     @Test
     public void testBitstreamName() throws Exception {
 
@@ -1207,6 +1273,8 @@ public class BitstreamRestControllerIT extends AbstractControllerIntegrationTest
         var bitstreamStorageServiceSpy = spy(bitstreamStorageService);
         ReflectionTestUtils.setField(bitstreamService, "bitstreamStorageService", bitstreamStorageServiceSpy);
         doReturn(inputStreamSpy).when(bitstreamStorageServiceSpy).retrieve(any(), eq(bitstream));
+        // stream the bitstream instead of reading it from its local file
+        doReturn(null).when(bitstreamStorageServiceSpy).retrievePath(any(), eq(bitstream));
 
         //** WHEN **
         //We download the bitstream
@@ -28,6 +28,7 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -54,6 +55,7 @@ import org.dspace.app.rest.matcher.SortOptionMatcher;
 import org.dspace.app.rest.matcher.WorkflowItemMatcher;
 import org.dspace.app.rest.matcher.WorkspaceItemMatcher;
 import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
+import org.dspace.app.rest.utils.DiscoveryResponseCache;
 import org.dspace.builder.BitstreamBuilder;
 import org.dspace.builder.ClaimedTaskBuilder;
 import org.dspace.builder.CollectionBuilder;
@@ -102,6 +104,9 @@ public class DiscoveryRestControllerIT extends AbstractControllerIntegrationTest
     @Autowired
     private ObjectMapper mapper;
 
+    @Autowired
+    private DiscoveryResponseCache discoveryResponseCache;
+
     @Test
     public void rootDiscoverTest() throws Exception {
 
@@ -6685,4 +6690,47 @@ public class DiscoveryRestControllerIT extends AbstractControllerIntegrationTest
             .andExpect(jsonPath("$._links.self.href", containsString("/api/discover/search/objects")));
     }
 
+
+    @Test
+    public void discoverSearchObjectsAnonymousResponseCacheTest() throws Exception {
+        configurationService.setProperty("discovery.response.cache.enabled", true);
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        Collection col = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection").build();
+        ItemBuilder.createItem(context, col).withTitle("Cached item").build();
+        context.restoreAuthSystemState();
+
+        getClient().perform(get("/api/discover/search/objects").param("dsoType", "ITEM"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$._embedded.searchResult.page.totalElements", is(1)));
+
+        // the same request, with the parameters in another order, is answered from the cache
+        long hits = discoveryResponseCache.getCacheHitCount();
+        getClient().perform(get("/api/discover/search/objects").param("size", "20").param("dsoType", "ITEM"))
+                   .andExpect(status().isOk());
+        getClient().perform(get("/api/discover/search/objects").param("dsoType", "ITEM").param("size", "20"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$._embedded.searchResult.page.totalElements", is(1)));
+        assertEquals(hits + 1, discoveryResponseCache.getCacheHitCount());
+
+        // a new item is committed to the index, the response is computed again
+        context.turnOffAuthorisationSystem();
+        ItemBuilder.createItem(context, col).withTitle("New item").build();
+        context.restoreAuthSystemState();
+
+        getClient().perform(get("/api/discover/search/objects").param("dsoType", "ITEM").param("size", "20"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$._embedded.searchResult.page.totalElements", is(2)));
+
+        // authenticated users never share a response
+        hits = discoveryResponseCache.getCacheHitCount();
+        String adminToken = getAuthToken(admin.getEmail(), password);
+        getClient(adminToken).perform(get("/api/discover/search/objects").param("dsoType", "ITEM"))
+                             .andExpect(status().isOk());
+        getClient(adminToken).perform(get("/api/discover/search/objects").param("dsoType", "ITEM"))
+                             .andExpect(status().isOk());
+        assertEquals(hits, discoveryResponseCache.getCacheHitCount());
+    }
+
 }
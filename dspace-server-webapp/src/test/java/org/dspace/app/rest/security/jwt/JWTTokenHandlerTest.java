@@ -9,6 +9,8 @@ package org.dspace.app.rest.security.jwt;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.text.ParseException;
@@ -153,4 +155,41 @@ public class JWTTokenHandlerTest {
         assertEquals(null, parsed);
     }
 
+    @Test
+    public void testVerifiedTokenIsCached() throws Exception {
+        enableCache();
+        when(ePersonClaimProvider.getEPerson(any(Context.class), any(JWTClaimsSet.class))).thenReturn(ePerson);
+        Instant previous = Instant.now().minus(10000000000L, ChronoUnit.MILLIS);
+        String token = loginJWTTokenHandler
+            .createTokenForEPerson(context, new MockHttpServletRequest(), previous);
+
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+
+        // the token was only verified once, and its claims applied to both contexts
+        verify(loginJWTTokenHandler, times(1)).isValidToken(any(), any(), any(), any());
+        verify(ePersonClaimProvider, times(2)).parseClaim(any(), any(), any());
+        assertEquals(1, loginJWTTokenHandler.getCacheHitCount());
+        assertEquals(1, loginJWTTokenHandler.getCacheMissCount());
+    }
+
+    @Test
+    public void testCachedTokenIsRejectedWhenSessionSaltChanges() throws Exception {
+        enableCache();
+        when(ePersonClaimProvider.getEPerson(any(Context.class), any(JWTClaimsSet.class))).thenReturn(ePerson);
+        Instant previous = Instant.now().minus(10000000000L, ChronoUnit.MILLIS);
+        String token = loginJWTTokenHandler
+            .createTokenForEPerson(context, new MockHttpServletRequest(), previous);
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+
+        // e.g. the user logged in again from elsewhere after the token expiration time
+        when(ePerson.getSessionSalt()).thenReturn("98765432109876543210987654321098");
+        assertEquals(null, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+    }
+
+    protected void enableCache() {
+        when(configurationService.getLongProperty("jwt.cache.size", 10000)).thenReturn(100L);
+        when(configurationService.getLongProperty("jwt.cache.ttl", 60)).thenReturn(60L);
+    }
+
 }
@@ -9,6 +9,8 @@ package org.dspace.app.rest.security.jwt;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.text.ParseException;
@@ -117,4 +119,33 @@ public class ShortLivedJWTTokenHandlerTest extends JWTTokenHandlerTest {
         EPerson parsed = shortLivedJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context);
         assertEquals(null, parsed);
     }
+
+    @Test
+    public void testVerifiedTokenIsCached() throws Exception {
+        enableCache();
+        when(configurationService.getLongProperty("jwt.shortLived.token.expiration", 1800000)).thenReturn(60000L);
+        when(ePersonClaimProvider.getEPerson(any(Context.class), any(JWTClaimsSet.class))).thenReturn(ePerson);
+        Instant previous = Instant.now().minus(10000000000L, ChronoUnit.MILLIS);
+        String token = shortLivedJWTTokenHandler
+            .createTokenForEPerson(context, new MockHttpServletRequest(), previous);
+
+        assertEquals(ePerson, shortLivedJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        assertEquals(ePerson, shortLivedJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        verify(shortLivedJWTTokenHandler, times(1)).isValidToken(any(), any(), any(), any());
+        assertEquals(1, shortLivedJWTTokenHandler.getCacheHitCount());
+    }
+
+    @Test
+    public void testCachedTokenIsRejectedWhenSessionSaltChanges() throws Exception {
+        enableCache();
+        when(configurationService.getLongProperty("jwt.shortLived.token.expiration", 1800000)).thenReturn(60000L);
+        when(ePersonClaimProvider.getEPerson(any(Context.class), any(JWTClaimsSet.class))).thenReturn(ePerson);
+        Instant previous = Instant.now().minus(10000000000L, ChronoUnit.MILLIS);
+        String token = shortLivedJWTTokenHandler
+            .createTokenForEPerson(context, new MockHttpServletRequest(), previous);
+        assertEquals(ePerson, shortLivedJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+
+        when(ePerson.getSessionSalt()).thenReturn("98765432109876543210987654321098");
+        assertEquals(null, shortLivedJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+    }
 }